@@ -16,6 +16,8 @@
 package io.gravitee.management.idp.api.identity;
 
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -28,4 +30,25 @@ public interface IdentityLookup {
     User retrieve(IdentityReference identityReference);
 
     Collection<User> search(String query);
+
+    /**
+     * Resolve users from their exact username. Providers able to do so should override this method to resolve all
+     * the usernames with a single query, the default implementation searches for each username one after the other.
+     *
+     * @param usernames the usernames to resolve.
+     * @return the users found by this provider, keyed by the requested username.
+     */
+    default Map<String, User> searchByUsernames(Collection<String> usernames) {
+        final Map<String, User> users = new HashMap<>();
+        for (String username : usernames) {
+            final Collection<User> candidates = search(username);
+            if (candidates != null && !candidates.isEmpty()) {
+                users.put(username, candidates.stream()
+                        .filter(user -> username.equalsIgnoreCase(user.getUsername()))
+                        .findFirst()
+                        .orElse(candidates.iterator().next()));
+            }
+        }
+        return users;
+    }
 }
@@ -19,6 +19,7 @@ import io.gravitee.management.idp.api.identity.SearchableUser;
 import io.gravitee.management.idp.api.identity.User;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -29,5 +30,22 @@ public interface IdentityManager {
 
     Optional<User> lookup(String reference);
 
-    Collection<SearchableUser> search(String query);
+    /**
+     * Search users with all the identity providers.
+     *
+     * @return the users found, possibly partial if some providers did not answer in time.
+     */
+    IdentitySearchResult search(String query);
+
+    /**
+     * Resolve users from their exact username, with a single query by identity provider.
+     *
+     * @return the users found, keyed by the requested username.
+     */
+    Map<String, SearchableUser> searchByUsernames(Collection<String> usernames);
+
+    /**
+     * @return the latency histograms of the searches, keyed by identity provider.
+     */
+    Map<String, LatencyHistogram> getSearchLatencies();
 }
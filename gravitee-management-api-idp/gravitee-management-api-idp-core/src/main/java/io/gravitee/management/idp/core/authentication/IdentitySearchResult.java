@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.idp.core.authentication;
+
+import io.gravitee.management.idp.api.identity.SearchableUser;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Users found by a search, along with the identity providers which did not answer in time and whose users are
+ * therefore missing from the result.
+ *
+ * @author GraviteeSource Team
+ */
+public class IdentitySearchResult {
+
+    private final Set<SearchableUser> users = new HashSet<>();
+
+    private final Set<String> timedOutProviders = new LinkedHashSet<>();
+
+    public void addUsers(Collection<? extends SearchableUser> users) {
+        this.users.addAll(users);
+    }
+
+    public Set<SearchableUser> getUsers() {
+        return Collections.unmodifiableSet(users);
+    }
+
+    public void addTimedOutProvider(String provider) {
+        timedOutProviders.add(provider);
+    }
+
+    public Set<String> getTimedOutProviders() {
+        return Collections.unmodifiableSet(timedOutProviders);
+    }
+
+    public boolean isComplete() {
+        return timedOutProviders.isEmpty();
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.idp.core.authentication;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts of searches by latency bucket, in milliseconds.
+ *
+ * @author GraviteeSource Team
+ */
+public class LatencyHistogram {
+
+    private static final long[] BOUNDS = {10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private final AtomicLongArray counts = new AtomicLongArray(BOUNDS.length + 1);
+    private final AtomicLong totalTime = new AtomicLong();
+
+    public void record(long latency) {
+        int bucket = 0;
+        while (bucket < BOUNDS.length && latency > BOUNDS[bucket]) {
+            bucket++;
+        }
+        counts.incrementAndGet(bucket);
+        totalTime.addAndGet(latency);
+    }
+
+    /**
+     * @return the number of searches by bucket, keyed by the upper bound of the bucket ("+Inf" for the last one).
+     */
+    public Map<String, Long> getCounts() {
+        final Map<String, Long> buckets = new LinkedHashMap<>();
+        for (int i = 0; i < BOUNDS.length; i++) {
+            buckets.put(String.valueOf(BOUNDS[i]), counts.get(i));
+        }
+        buckets.put("+Inf", counts.get(BOUNDS.length));
+        return buckets;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    public long getTotalTime() {
+        return totalTime.get();
+    }
+
+    @Override
+    public String toString() {
+        return "{count=" + getCount() + ", totalTime=" + getTotalTime() + ", buckets=" + getCounts() + '}';
+    }
+}
@@ -20,11 +20,19 @@ import io.gravitee.management.idp.api.identity.IdentityReference;
 import io.gravitee.management.idp.api.identity.SearchableUser;
 import io.gravitee.management.idp.api.identity.User;
 import io.gravitee.management.idp.core.authentication.IdentityManager;
+import io.gravitee.management.idp.core.authentication.IdentitySearchResult;
+import io.gravitee.management.idp.core.authentication.LatencyHistogram;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -32,18 +40,63 @@ import static java.util.Optional.empty;
 import static java.util.Optional.of;
 
 /**
+ * Identity providers are searched in parallel, results of the providers which did not answer within
+ * <code>identity.search.timeout</code> milliseconds (0 to search them one after the other, without timeout) being
+ * left out of the {@link IdentitySearchResult}.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
-public class CompositeIdentityManager implements IdentityManager {
+public class CompositeIdentityManager implements IdentityManager, InitializingBean, DisposableBean {
 
     private final Logger LOGGER = LoggerFactory.getLogger(CompositeIdentityManager.class);
 
+    /**
+     * Searches are logged with the latency histograms of the identity providers every <code>LOG_INTERVAL</code> searches.
+     */
+    private static final int LOG_INTERVAL = 100;
+
     @Autowired
     private ReferenceSerializer referenceSerializer;
 
+    @Value("${identity.search.timeout:5000}")
+    private long searchTimeout;
+
+    @Value("${identity.search.threads:10}")
+    private int searchThreads;
+
     private Collection<IdentityLookup> identityLookups = new ArrayList<>();
 
+    private final Map<IdentityLookup, String> identityLookupNames = new HashMap<>();
+
+    private final Map<String, LatencyHistogram> searchLatencies = new ConcurrentHashMap<>();
+
+    private final AtomicLong searches = new AtomicLong();
+
+    private ExecutorService executor;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (searchTimeout > 0) {
+            final AtomicInteger counter = new AtomicInteger();
+            final ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(searchThreads, searchThreads,
+                    60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                        final Thread thread = new Thread(runnable, "gio-identity-search-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            threadPoolExecutor.allowCoreThreadTimeOut(true);
+            executor = threadPoolExecutor;
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
     @Override
     public Optional<User> lookup(final String reference) {
         LOGGER.debug("Looking for a user: reference[{}]", reference);
@@ -66,23 +119,104 @@ public class CompositeIdentityManager implements IdentityManager {
     }
 
     @Override
-    public Collection<SearchableUser> search(String query) {
-        Set<SearchableUser> users = new HashSet<>();
+    public IdentitySearchResult search(String query) {
+        final IdentitySearchResult users = new IdentitySearchResult();
+        if (executor == null) {
+            for (IdentityLookup identityLookup : identityLookups) {
+                addUsers(users, search(identityLookup, query));
+            }
+        } else {
+            final Map<String, Future<Collection<User>>> futures = new LinkedHashMap<>();
+            for (IdentityLookup identityLookup : identityLookups) {
+                futures.put(identityLookupNames.get(identityLookup),
+                        executor.submit(() -> search(identityLookup, query)));
+            }
+
+            // all the providers share the same deadline
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(searchTimeout);
+            for (Map.Entry<String, Future<Collection<User>>> future : futures.entrySet()) {
+                try {
+                    addUsers(users, future.getValue().get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS));
+                } catch (TimeoutException te) {
+                    LOGGER.warn("Identity provider [{}] did not answer within {} ms while searching for [{}]",
+                            future.getKey(), searchTimeout, query);
+                    future.getValue().cancel(true);
+                    users.addTimedOutProvider(future.getKey());
+                } catch (ExecutionException ee) {
+                    LOGGER.error("Unable to search for [{}] with identity provider [{}]", query, future.getKey(), ee.getCause());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    futures.values().forEach(f -> f.cancel(true));
+                    break;
+                }
+            }
+        }
+
+        if (searches.incrementAndGet() % LOG_INTERVAL == 0) {
+            LOGGER.debug("Identity providers search latencies: {}", searchLatencies);
+        }
+        return users;
+    }
+
+    private Collection<User> search(IdentityLookup identityLookup, String query) {
+        final long start = System.nanoTime();
+        try {
+            return identityLookup.search(query);
+        } finally {
+            searchLatencies
+                    .computeIfAbsent(identityLookupNames.get(identityLookup), name -> new LatencyHistogram())
+                    .record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private void addUsers(IdentitySearchResult users, Collection<User> lookupUsers) {
+        if (lookupUsers != null) {
+            users.addUsers(lookupUsers
+                    .stream()
+                    .map((Function<User, SearchableUser>) DefaultSearchableUser::new)
+                    .collect(Collectors.toSet()));
+        }
+    }
+
+    @Override
+    public Map<String, LatencyHistogram> getSearchLatencies() {
+        return Collections.unmodifiableMap(searchLatencies);
+    }
+
+    @Override
+    public Map<String, SearchableUser> searchByUsernames(Collection<String> usernames) {
+        final Map<String, SearchableUser> users = new HashMap<>();
+        final Set<String> remainingUsernames = new HashSet<>(usernames);
         for (IdentityLookup identityLookup : identityLookups) {
-            Collection<User> lookupUsers = identityLookup.search(query);
+            if (remainingUsernames.isEmpty()) {
+                break;
+            }
+            // a user is resolved by the first identity provider knowing it
+            Map<String, User> lookupUsers = identityLookup.searchByUsernames(remainingUsernames);
             if (lookupUsers != null) {
-                users.addAll(lookupUsers
-                        .stream()
-                        .map((Function<User, SearchableUser>) DefaultSearchableUser::new)
-                        .collect(Collectors.toSet()));
+                lookupUsers.forEach((username, user) -> users.put(username, new DefaultSearchableUser(user)));
+                remainingUsernames.removeAll(lookupUsers.keySet());
             }
         }
 
+        LOGGER.debug("{} users resolved from {} usernames", users.size(), usernames.size());
         return users;
     }
 
     public void addIdentityLookup(IdentityLookup identityLookup) {
         if (identityLookup != null) {
+            addIdentityLookup(identityLookup.getClass().getSimpleName(), identityLookup);
+        }
+    }
+
+    public void addIdentityLookup(String name, IdentityLookup identityLookup) {
+        if (identityLookup != null) {
+            // providers of a same type are numbered, to be told apart in search results and latencies
+            String uniqueName = name;
+            for (int i = 2; identityLookupNames.containsValue(uniqueName); i++) {
+                uniqueName = name + '-' + i;
+            }
+            identityLookupNames.put(identityLookup, uniqueName);
             identityLookups.add(identityLookup);
         }
     }
@@ -73,7 +73,7 @@ public class IdentityProviderManagerImpl implements IdentityProviderManager {
         // By loading an identity provider we are mounting both authentication provider and identity lookup
         AuthenticationProvider authenticationProvider = authenticationProvider(identityProvider, properties);
         IdentityLookup identityLookup = identityLookup(identityProvider, properties);
-        compositeIdentityManager.addIdentityLookup(identityLookup);
+        compositeIdentityManager.addIdentityLookup(identityProvider, identityLookup);
 
         return authenticationProvider;
     }
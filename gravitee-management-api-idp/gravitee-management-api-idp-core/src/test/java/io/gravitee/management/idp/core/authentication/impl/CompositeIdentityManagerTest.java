@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.idp.core.authentication.impl;
+
+import io.gravitee.management.idp.api.identity.IdentityLookup;
+import io.gravitee.management.idp.api.identity.User;
+import io.gravitee.management.idp.core.authentication.IdentitySearchResult;
+import io.gravitee.management.idp.core.authentication.LatencyHistogram;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CompositeIdentityManagerTest {
+
+    private static final String QUERY = "jo";
+
+    @InjectMocks
+    private CompositeIdentityManager identityManager = new CompositeIdentityManager();
+
+    @Mock
+    private ReferenceSerializer referenceSerializer;
+
+    @Mock
+    private IdentityLookup fastLookup;
+
+    @Mock
+    private IdentityLookup slowLookup;
+
+    @Mock
+    private User john;
+
+    @Mock
+    private User jane;
+
+    @After
+    public void destroy() {
+        identityManager.destroy();
+    }
+
+    @Test
+    public void shouldReturnPartialResultWhenProviderTimesOut() {
+        init(200);
+        identityManager.addIdentityLookup("ldap", fastLookup);
+        identityManager.addIdentityLookup("ldap", slowLookup);
+        mockSearches();
+
+        final long start = System.currentTimeMillis();
+        final IdentitySearchResult result = identityManager.search(QUERY);
+
+        // the slow provider is not waited for
+        assertTrue(System.currentTimeMillis() - start < 1000);
+        assertEquals(1, result.getUsers().size());
+        assertEquals("John", result.getUsers().iterator().next().getFirstname());
+        assertFalse(result.isComplete());
+        assertEquals(Collections.singleton("ldap-2"), result.getTimedOutProviders());
+    }
+
+    @Test
+    public void shouldSearchProvidersWithinTimeout() {
+        init(5000);
+        identityManager.addIdentityLookup("ldap", fastLookup);
+        identityManager.addIdentityLookup("memory", slowLookup);
+        when(john.getFirstname()).thenReturn("John");
+        when(jane.getFirstname()).thenReturn("Jane");
+        doReturn(Collections.singleton(john)).when(fastLookup).search(QUERY);
+        doReturn(Collections.singleton(jane)).when(slowLookup).search(QUERY);
+
+        final IdentitySearchResult result = identityManager.search(QUERY);
+
+        assertEquals(2, result.getUsers().size());
+        assertTrue(result.isComplete());
+    }
+
+    @Test
+    public void shouldSearchProvidersOneAfterTheOtherWithoutTimeout() {
+        init(0);
+        identityManager.addIdentityLookup("ldap", fastLookup);
+        identityManager.addIdentityLookup("ldap", slowLookup);
+        mockSearches();
+
+        final IdentitySearchResult result = identityManager.search(QUERY);
+
+        assertEquals(2, result.getUsers().size());
+        assertTrue(result.isComplete());
+    }
+
+    @Test
+    public void shouldRecordSearchLatenciesByProvider() {
+        init(0);
+        identityManager.addIdentityLookup("ldap", fastLookup);
+        identityManager.addIdentityLookup("memory", slowLookup);
+
+        identityManager.search(QUERY);
+        identityManager.search(QUERY);
+
+        final Map<String, LatencyHistogram> latencies = identityManager.getSearchLatencies();
+        assertEquals(2, latencies.size());
+        assertEquals(2, latencies.get("ldap").getCount());
+        assertEquals(2L, (long) latencies.get("memory").getCounts().get("10"));
+    }
+
+    private void init(long searchTimeout) {
+        ReflectionTestUtils.setField(identityManager, "searchTimeout", searchTimeout);
+        ReflectionTestUtils.setField(identityManager, "searchThreads", 2);
+        identityManager.afterPropertiesSet();
+    }
+
+    private void mockSearches() {
+        when(john.getFirstname()).thenReturn("John");
+        when(jane.getFirstname()).thenReturn("Jane");
+        doReturn(Collections.singleton(john)).when(fastLookup).search(QUERY);
+        doAnswer(invocation -> {
+            Thread.sleep(1000);
+            return Collections.singleton(jane);
+        }).when(slowLookup).search(QUERY);
+    }
+}
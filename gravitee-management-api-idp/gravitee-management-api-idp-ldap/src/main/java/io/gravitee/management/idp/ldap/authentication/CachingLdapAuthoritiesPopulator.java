@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.idp.ldap.authentication;
+
+import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.ldap.userdetails.LdapAuthoritiesPopulator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps the authorities of a user for <code>ttl</code> seconds, so that successive logins of a same user do not
+ * search again for its groups. Least recently used entries are evicted once <code>maxSize</code> users are cached.
+ *
+ * @author GraviteeSource Team
+ */
+class CachingLdapAuthoritiesPopulator implements LdapAuthoritiesPopulator {
+
+    private final LdapAuthoritiesPopulator delegate;
+    private final long ttl;
+
+    private final Map<String, CachedAuthorities> authoritiesByDn;
+
+    CachingLdapAuthoritiesPopulator(LdapAuthoritiesPopulator delegate, long ttl, int maxSize) {
+        this.delegate = delegate;
+        this.ttl = ttl;
+        this.authoritiesByDn = new LinkedHashMap<String, CachedAuthorities>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAuthorities> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getGrantedAuthorities(DirContextOperations userData, String username) {
+        final String key = userData.getDn().toString().toLowerCase();
+        final CachedAuthorities cached;
+        synchronized (authoritiesByDn) {
+            cached = authoritiesByDn.get(key);
+        }
+        if (cached != null && System.currentTimeMillis() - cached.cachedAt < ttl * 1000) {
+            return cached.authorities;
+        }
+
+        final Collection<? extends GrantedAuthority> authorities =
+                Collections.unmodifiableList(new ArrayList<>(delegate.getGrantedAuthorities(userData, username)));
+        synchronized (authoritiesByDn) {
+            authoritiesByDn.put(key, new CachedAuthorities(authorities));
+        }
+        return authorities;
+    }
+
+    private static class CachedAuthorities {
+
+        private final long cachedAt = System.currentTimeMillis();
+        private final Collection<? extends GrantedAuthority> authorities;
+
+        CachedAuthorities(Collection<? extends GrantedAuthority> authorities) {
+            this.authorities = authorities;
+        }
+    }
+}
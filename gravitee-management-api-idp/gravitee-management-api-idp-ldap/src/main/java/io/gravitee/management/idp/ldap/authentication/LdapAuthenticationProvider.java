@@ -24,6 +24,7 @@ import org.springframework.security.config.annotation.SecurityConfigurer;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.ldap.DefaultSpringSecurityContextSource;
 import org.springframework.security.ldap.userdetails.DefaultLdapAuthoritiesPopulator;
+import org.springframework.security.ldap.userdetails.LdapAuthoritiesPopulator;
 
 /**
  * @author David BRASSELY (david at gravitee.io)
@@ -70,7 +71,14 @@ public class LdapAuthenticationProvider implements AuthenticationProvider<Securi
                 environment.getProperty("group-search-base", ""));
         populator.setRolePrefix("");
 
-        ldapAuthenticationProviderConfigurer.ldapAuthoritiesPopulator(populator).contextSource(contextSource);
+        LdapAuthoritiesPopulator authoritiesPopulator = populator;
+        long authoritiesCacheTtl = environment.getProperty("authorities-cache-ttl", long.class, 60L);
+        if (authoritiesCacheTtl > 0) {
+            authoritiesPopulator = new CachingLdapAuthoritiesPopulator(populator, authoritiesCacheTtl,
+                    environment.getProperty("authorities-cache-max-size", int.class, 1000));
+        }
+
+        ldapAuthenticationProviderConfigurer.ldapAuthoritiesPopulator(authoritiesPopulator).contextSource(contextSource);
 
         // set up LDAP mapper
         UserDetailsContextPropertiesMapper userDetailsContextPropertiesMapper = new UserDetailsContextPropertiesMapper();
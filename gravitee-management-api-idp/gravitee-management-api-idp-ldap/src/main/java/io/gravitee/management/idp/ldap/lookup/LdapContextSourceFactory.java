@@ -61,6 +61,9 @@ public class LdapContextSourceFactory extends AbstractFactoryBean<LdapContextSou
         }
 
         ldapContextSource = contextSourceBuilder.build();
+
+        // connections are already pooled by the lookup context source (see LdapIdentityLookupConfiguration)
+        ldapContextSource.setPooled(!environment.getProperty("context-source-pool-enabled", boolean.class, true));
         return ldapContextSource;
     }
 
@@ -40,10 +40,12 @@ import org.springframework.ldap.query.SearchScope;
 import org.springframework.ldap.support.LdapNameBuilder;
 
 import javax.naming.ldap.LdapName;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.*;
 
 /**
+ * Users retrieved from their DN are kept for <code>lookup-cache-ttl</code> seconds (0 to disable the cache), least
+ * recently used entries being evicted once <code>lookup-cache-max-size</code> users are cached.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -61,6 +63,15 @@ public class LdapIdentityLookup implements IdentityLookup, InitializingBean {
     private final static String LDAP_ATTRIBUTE_MAIL = "mail";
     private final static String LDAP_ATTRIBUTE_DISPLAYNAME = "displayName";
 
+    /**
+     * Maximum number of usernames resolved by a single LDAP query.
+     */
+    private final static int LDAP_USERNAMES_BATCH_SIZE = 100;
+
+    private final static String[] LDAP_USER_ATTRIBUTES = {
+            LDAP_ATTRIBUTE_GIVENNAME, LDAP_ATTRIBUTE_SURNAME, LDAP_ATTRIBUTE_MAIL, LDAP_ATTRIBUTE_DISPLAYNAME
+    };
+
     @Autowired
     private LdapTemplate ldapTemplate;
 
@@ -71,6 +82,19 @@ public class LdapIdentityLookup implements IdentityLookup, InitializingBean {
 
     private LdapName baseDn;
 
+    private String[] retrievedAttributes;
+
+    private long cacheTtl;
+
+    private int cacheMaxSize;
+
+    private final Map<String, CachedUser> usersByDn = new LinkedHashMap<String, CachedUser>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+            return size() > cacheMaxSize;
+        }
+    };
+
     @Override
     public void afterPropertiesSet() throws Exception {
         String searchFilter = environment.getProperty("user-search-filter");
@@ -90,6 +114,13 @@ public class LdapIdentityLookup implements IdentityLookup, InitializingBean {
                 .build();
 
         LOGGER.info("User search is based on DN [{}]", baseDn);
+
+        retrievedAttributes = new String[LDAP_USER_ATTRIBUTES.length + 1];
+        retrievedAttributes[0] = identifierAttribute;
+        System.arraycopy(LDAP_USER_ATTRIBUTES, 0, retrievedAttributes, 1, LDAP_USER_ATTRIBUTES.length);
+
+        cacheTtl = environment.getProperty("lookup-cache-ttl", long.class, 60L);
+        cacheMaxSize = environment.getProperty("lookup-cache-max-size", int.class, 1000);
     }
 
     @Override
@@ -132,6 +163,61 @@ public class LdapIdentityLookup implements IdentityLookup, InitializingBean {
         }
     }
 
+    @Override
+    public Map<String, User> searchByUsernames(Collection<String> usernames) {
+        final Map<String, String> requestedUsernames = new HashMap<>();
+        usernames.forEach(username -> requestedUsernames.put(username.toLowerCase(), username));
+
+        final Map<String, User> users = new HashMap<>();
+        final List<String> remainingUsernames = new ArrayList<>(requestedUsernames.values());
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        try {
+            Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
+            Filter classFilter = new EqualsFilter("objectclass",
+                    environment.getProperty(
+                            "user-search-objectclass",
+                            LDAP_DEFAULT_OBJECT_CLASS));
+
+            for (int i = 0; i < remainingUsernames.size(); i += LDAP_USERNAMES_BATCH_SIZE) {
+                final List<String> batch = remainingUsernames.subList(i,
+                        Math.min(i + LDAP_USERNAMES_BATCH_SIZE, remainingUsernames.size()));
+
+                OrFilter usernamesFilter = new OrFilter();
+                batch.forEach(username -> usernamesFilter.or(new EqualsFilter(identifierAttribute, username)));
+
+                LdapQuery ldapQuery = LdapQueryBuilder
+                        .query()
+                        .base(baseDn)
+                        .countLimit(batch.size())
+                        .timeLimit(5000)
+                        .searchScope(SearchScope.SUBTREE)
+                        .attributes(
+                                identifierAttribute,
+                                LDAP_ATTRIBUTE_GIVENNAME,
+                                LDAP_ATTRIBUTE_SURNAME,
+                                LDAP_ATTRIBUTE_MAIL,
+                                LDAP_ATTRIBUTE_DISPLAYNAME)
+                        .filter(new AndFilter().and(classFilter).and(usernamesFilter));
+
+                for (User user : ldapTemplate.search(ldapQuery, USER_CONTEXT_MAPPER)) {
+                    if (user.getUsername() != null) {
+                        final String username = requestedUsernames.get(user.getUsername().toLowerCase());
+                        if (username != null) {
+                            users.putIfAbsent(username, user);
+                        }
+                    }
+                }
+            }
+        } catch(LimitExceededException lee) {
+            LOGGER.info("Too much results while searching for {} usernames. Returns the users found so far.", usernames.size());
+        } catch(CommunicationException ce) {
+            LOGGER.error("LDAP server is not reachable.");
+        } finally {
+            Thread.currentThread().setContextClassLoader(classLoader);
+        }
+        return users;
+    }
+
     @Override
     public boolean canHandle(IdentityReference identityReference) {
         return LdapIdentityProvider.PROVIDER_TYPE.equalsIgnoreCase(identityReference.getSource());
@@ -139,16 +225,18 @@ public class LdapIdentityLookup implements IdentityLookup, InitializingBean {
 
     @Override
     public User retrieve(IdentityReference identityReference) {
+        final String dn = identityReference.getReference();
+        final User cachedUser = getCachedUser(dn);
+        if (cachedUser != null) {
+            return cachedUser;
+        }
+
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         try {
             Thread.currentThread().setContextClassLoader(getClass().getClassLoader());
-            return ldapTemplate.lookup(
-                    identityReference.getReference(),
-                    new String [] {
-                            identifierAttribute, LDAP_ATTRIBUTE_GIVENNAME, LDAP_ATTRIBUTE_SURNAME,
-                            LDAP_ATTRIBUTE_MAIL, LDAP_ATTRIBUTE_DISPLAYNAME
-                    },
-                    USER_CONTEXT_MAPPER);
+            final User user = ldapTemplate.lookup(dn, retrievedAttributes, USER_CONTEXT_MAPPER);
+            cacheUser(dn, user);
+            return user;
         } catch (final NameNotFoundException nnfe) {
             return null;
         } finally {
@@ -156,6 +244,36 @@ public class LdapIdentityLookup implements IdentityLookup, InitializingBean {
         }
     }
 
+    private User getCachedUser(String dn) {
+        if (cacheTtl <= 0) {
+            return null;
+        }
+
+        final CachedUser cached;
+        synchronized (usersByDn) {
+            cached = usersByDn.get(dn);
+        }
+        return cached != null && System.currentTimeMillis() - cached.cachedAt < cacheTtl * 1000 ? cached.user : null;
+    }
+
+    private void cacheUser(String dn, User user) {
+        if (cacheTtl > 0 && user != null) {
+            synchronized (usersByDn) {
+                usersByDn.put(dn, new CachedUser(user));
+            }
+        }
+    }
+
+    private static class CachedUser {
+
+        private final long cachedAt = System.currentTimeMillis();
+        private final User user;
+
+        CachedUser(User user) {
+            this.user = user;
+        }
+    }
+
     private final ContextMapper<User> USER_CONTEXT_MAPPER = new AbstractContextMapper<User>() {
 
         @Override
@@ -16,25 +16,59 @@
 package io.gravitee.management.idp.ldap.lookup.spring;
 
 import io.gravitee.management.idp.ldap.lookup.LdapContextSourceFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.ldap.core.ContextSource;
 import org.springframework.ldap.core.LdapTemplate;
 import org.springframework.ldap.core.support.LdapContextSource;
+import org.springframework.ldap.pool2.factory.PoolConfig;
+import org.springframework.ldap.pool2.factory.PoolingContextSource;
+import org.springframework.ldap.pool2.validation.DefaultDirContextValidator;
 
 /**
+ * Lookups go through a pool of validated connections, unless <code>context-source-pool-enabled</code> is false.
+ *
  * @author David BRASSELY (david at gravitee.io)
  * @author GraviteeSource Team
  */
 @Configuration
 public class LdapIdentityLookupConfiguration {
 
+    @Autowired
+    private Environment environment;
+
     @Bean
     public LdapContextSourceFactory contextSourceFactory() {
         return new LdapContextSourceFactory();
     }
 
+    @Bean
+    public ContextSource lookupContextSource(LdapContextSource contextSource) {
+        if (!environment.getProperty("context-source-pool-enabled", boolean.class, true)) {
+            return contextSource;
+        }
+
+        PoolConfig poolConfig = new PoolConfig();
+        poolConfig.setMinIdlePerKey(environment.getProperty("context-source-pool-min-idle", int.class, 0));
+        poolConfig.setMaxIdlePerKey(environment.getProperty("context-source-pool-max-idle", int.class, 8));
+        poolConfig.setMaxTotalPerKey(environment.getProperty("context-source-pool-max-total", int.class, 8));
+        poolConfig.setMaxWaitMillis(environment.getProperty("context-source-pool-max-wait", long.class, 5000L));
+        // connections are checked when borrowed and, in the background, while idle
+        poolConfig.setTestOnBorrow(true);
+        poolConfig.setTestWhileIdle(true);
+        poolConfig.setTimeBetweenEvictionRunsMillis(60000L);
+
+        PoolingContextSource poolingContextSource = new PoolingContextSource();
+        poolingContextSource.setContextSource(contextSource);
+        poolingContextSource.setPoolConfig(poolConfig);
+        poolingContextSource.setDirContextValidator(new DefaultDirContextValidator());
+        return poolingContextSource;
+    }
+
     @Bean
     public LdapTemplate ldapTemplate(LdapContextSource contextSource) {
-        return new LdapTemplate(contextSource);
+        return new LdapTemplate(lookupContextSource(contextSource));
     }
 }
@@ -0,0 +1,88 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.idp.ldap.authentication;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.ldap.core.DirContextOperations;
+import org.springframework.ldap.support.LdapUtils;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.ldap.userdetails.LdapAuthoritiesPopulator;
+
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class CachingLdapAuthoritiesPopulatorTest {
+
+    private static final String USERNAME = "john";
+
+    @Mock
+    private LdapAuthoritiesPopulator delegate;
+
+    @Mock
+    private DirContextOperations userData;
+
+    @Test
+    public void shouldSearchAuthoritiesOncePerUser() {
+        mockAuthorities();
+        CachingLdapAuthoritiesPopulator populator = new CachingLdapAuthoritiesPopulator(delegate, 60, 10);
+
+        populator.getGrantedAuthorities(userData, USERNAME);
+        Collection<? extends GrantedAuthority> authorities = populator.getGrantedAuthorities(userData, USERNAME);
+
+        assertEquals(Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")), authorities);
+        verify(delegate, times(1)).getGrantedAuthorities(userData, USERNAME);
+    }
+
+    @Test
+    public void shouldSearchAuthoritiesAgainOnceExpired() throws InterruptedException {
+        mockAuthorities();
+        CachingLdapAuthoritiesPopulator populator = new CachingLdapAuthoritiesPopulator(delegate, 1, 10);
+
+        populator.getGrantedAuthorities(userData, USERNAME);
+        Thread.sleep(1100);
+        populator.getGrantedAuthorities(userData, USERNAME);
+
+        verify(delegate, times(2)).getGrantedAuthorities(userData, USERNAME);
+    }
+
+    @Test
+    public void shouldNotCacheAuthoritiesWithoutTtl() {
+        mockAuthorities();
+        CachingLdapAuthoritiesPopulator populator = new CachingLdapAuthoritiesPopulator(delegate, 0, 10);
+
+        populator.getGrantedAuthorities(userData, USERNAME);
+        populator.getGrantedAuthorities(userData, USERNAME);
+
+        verify(delegate, times(2)).getGrantedAuthorities(userData, USERNAME);
+    }
+
+    private void mockAuthorities() {
+        when(userData.getDn()).thenReturn(LdapUtils.newLdapName("uid=john,ou=people,dc=example,dc=com"));
+        doReturn(Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                .when(delegate).getGrantedAuthorities(userData, USERNAME);
+    }
+}
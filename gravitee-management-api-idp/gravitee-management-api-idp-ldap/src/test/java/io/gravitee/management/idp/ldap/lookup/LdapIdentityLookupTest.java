@@ -0,0 +1,108 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.idp.ldap.lookup;
+
+import io.gravitee.management.idp.api.identity.IdentityReference;
+import io.gravitee.management.idp.api.identity.User;
+import io.gravitee.management.idp.ldap.LdapIdentityProvider;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.ldap.NameNotFoundException;
+import org.springframework.ldap.core.ContextMapper;
+import org.springframework.ldap.core.LdapTemplate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class LdapIdentityLookupTest {
+
+    private static final String DN = "uid=john,ou=people,dc=example,dc=com";
+
+    @InjectMocks
+    private LdapIdentityLookup identityLookup = new LdapIdentityLookup();
+
+    @Mock
+    private LdapTemplate ldapTemplate;
+
+    @Mock
+    private Environment environment;
+
+    @Test
+    public void shouldRetrieveUserOnce() throws Exception {
+        init(60L);
+        mockUser();
+
+        identityLookup.retrieve(reference());
+        User user = identityLookup.retrieve(reference());
+
+        assertEquals("john", user.getUsername());
+        verify(ldapTemplate, times(1)).lookup(eq(DN), any(String[].class), any(ContextMapper.class));
+    }
+
+    @Test
+    public void shouldRetrieveUserAgainOnceExpired() throws Exception {
+        init(1L);
+        mockUser();
+
+        identityLookup.retrieve(reference());
+        Thread.sleep(1100);
+        identityLookup.retrieve(reference());
+
+        verify(ldapTemplate, times(2)).lookup(eq(DN), any(String[].class), any(ContextMapper.class));
+    }
+
+    @Test
+    public void shouldNotCacheUnknownUser() throws Exception {
+        init(60L);
+        when(ldapTemplate.lookup(eq(DN), any(String[].class), any(ContextMapper.class)))
+                .thenThrow(new NameNotFoundException("unknown"));
+
+        assertNull(identityLookup.retrieve(reference()));
+        assertNull(identityLookup.retrieve(reference()));
+
+        verify(ldapTemplate, times(2)).lookup(eq(DN), any(String[].class), any(ContextMapper.class));
+    }
+
+    private void init(long cacheTtl) throws Exception {
+        when(environment.getProperty("context-source-base")).thenReturn("dc=example,dc=com");
+        when(environment.getProperty("user-search-base")).thenReturn("ou=people");
+        when(environment.getProperty("lookup-cache-ttl", long.class, 60L)).thenReturn(cacheTtl);
+        when(environment.getProperty("lookup-cache-max-size", int.class, 1000)).thenReturn(1000);
+        identityLookup.afterPropertiesSet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockUser() {
+        LdapUser user = new LdapUser(DN);
+        user.setUsername("john");
+        when(ldapTemplate.lookup(eq(DN), any(String[].class), any(ContextMapper.class))).thenReturn(user);
+    }
+
+    private static IdentityReference reference() {
+        return new IdentityReference(LdapIdentityProvider.PROVIDER_TYPE, DN);
+    }
+}
@@ -31,10 +31,7 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 
 import java.lang.reflect.Field;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -75,6 +72,15 @@ public class InMemoryIdentityLookup implements IdentityLookup, InitializingBean
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Map<String, User> searchByUsernames(Collection<String> usernames) {
+        final Map<String, User> found = new HashMap<>();
+        usernames.stream()
+                .filter(users::contains)
+                .forEach(username -> found.put(username, convert(userDetailsService.loadUserByUsername(username))));
+        return found;
+    }
+
     @Override
     public void afterPropertiesSet() throws Exception {
         boolean found = true;
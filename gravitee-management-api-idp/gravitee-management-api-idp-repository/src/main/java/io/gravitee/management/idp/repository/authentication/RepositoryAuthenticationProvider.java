@@ -25,6 +25,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
+import org.springframework.core.env.Environment;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -36,10 +37,23 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
+ * Stateless clients send their credentials on each request. Successfully verified credentials are kept in memory for
+ * <code>credentials-cache-ttl</code> seconds (0 to disable the cache), so that the password hash is not computed again
+ * for each request. Credentials are only kept as a salted digest of the presented password and of the password hash
+ * of the user. The user is always loaded from the repository, so that a changed password or a deleted user is taken
+ * into account on the next request.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
  * @author GraviteeSource Team
@@ -50,12 +64,42 @@ public class RepositoryAuthenticationProvider extends AbstractUserDetailsAuthent
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(RepositoryAuthenticationProvider.class);
 
+	private static final String CREDENTIALS_CACHE_TTL_PROPERTY_NAME = "credentials-cache-ttl";
+
+	private static final long DEFAULT_CREDENTIALS_CACHE_TTL = 60;
+
+	private static final int CREDENTIALS_CACHE_MAX_SIZE = 1000;
+
 	@Autowired
 	private UserService userService;
 
 	@Autowired
 	private PasswordEncoder passwordEncoder;
 
+	@Autowired
+	private Environment environment;
+
+	private long credentialsCacheTtl;
+
+	private final byte[] credentialsSalt = new byte[32];
+
+	/**
+	 * Digests of the verified credentials, with the time they have been verified.
+	 */
+	private final Map<String, CachedEntry<String>> verifiedCredentials = new LinkedHashMap<String, CachedEntry<String>>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedEntry<String>> eldest) {
+			return size() > CREDENTIALS_CACHE_MAX_SIZE;
+		}
+	};
+
+	@Override
+	protected void doAfterPropertiesSet() throws Exception {
+		super.doAfterPropertiesSet();
+		credentialsCacheTtl = environment.getProperty(CREDENTIALS_CACHE_TTL_PROPERTY_NAME, Long.class, DEFAULT_CREDENTIALS_CACHE_TTL);
+		new SecureRandom().nextBytes(credentialsSalt);
+	}
+
 	@Override
 	protected void additionalAuthenticationChecks(UserDetails userDetails, UsernamePasswordAuthenticationToken authentication) throws AuthenticationException {
 		if (authentication.getCredentials() == null) {
@@ -65,10 +109,27 @@ public class RepositoryAuthenticationProvider extends AbstractUserDetailsAuthent
 
 		String presentedPassword = authentication.getCredentials().toString();
 
+		final String credentials = credentialsCacheTtl > 0 ? digest(userDetails, presentedPassword) : null;
+		if (credentials != null) {
+			final CachedEntry<String> verified;
+			synchronized (verifiedCredentials) {
+				verified = verifiedCredentials.get(credentials);
+			}
+			if (verified != null && !verified.isExpired()) {
+				return;
+			}
+		}
+
 		if (!passwordEncoder.matches(presentedPassword, userDetails.getPassword())) {
 			LOGGER.debug("Authentication failed: password does not match stored value");
 			throw new BadCredentialsException(messages.getMessage("AbstractUserDetailsAuthenticationProvider.badCredentials", "Bad credentials"));
 		}
+
+		if (credentials != null) {
+			synchronized (verifiedCredentials) {
+				verifiedCredentials.put(credentials, new CachedEntry<>(userDetails.getUsername()));
+			}
+		}
 	}
 
 	@Override
@@ -93,6 +154,26 @@ public class RepositoryAuthenticationProvider extends AbstractUserDetailsAuthent
 		}
 	}
 
+	/**
+	 * Salted digest of the presented password, bound to the username and to the password hash of the user as currently
+	 * stored in the repository.
+	 */
+	private String digest(UserDetails userDetails, String presentedPassword) {
+		try {
+			final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			digest.update(credentialsSalt);
+			digest.update(userDetails.getUsername().getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(presentedPassword.getBytes(StandardCharsets.UTF_8));
+			digest.update((byte) 0);
+			digest.update(userDetails.getPassword().getBytes(StandardCharsets.UTF_8));
+			return Base64.getEncoder().encodeToString(digest.digest());
+		} catch (NoSuchAlgorithmException nsae) {
+			LOGGER.warn("Unable to compute the digest of the credentials, they will not be cached", nsae);
+			return null;
+		}
+	}
+
 	private UserDetails mapUserEntityToUserDetails(UserEntity userEntity) {
 		List<GrantedAuthority> authorities = AuthorityUtils.NO_AUTHORITIES;
 		if (userEntity.getRoles() != null && userEntity.getRoles().size() > 0) {
@@ -118,4 +199,17 @@ public class RepositoryAuthenticationProvider extends AbstractUserDetailsAuthent
 	public org.springframework.security.authentication.AuthenticationProvider configure() throws Exception {
 		return this;
 	}
+
+	private class CachedEntry<T> {
+		private final T value;
+		private final long loadedAt = System.currentTimeMillis();
+
+		private CachedEntry(T value) {
+			this.value = value;
+		}
+
+		private boolean isExpired() {
+			return System.currentTimeMillis() - loadedAt >= credentialsCacheTtl * 1000;
+		}
+	}
 }
@@ -28,10 +28,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
 
-import java.util.Collection;
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 /**
@@ -90,6 +87,28 @@ public class RepositoryIdentityLookup implements IdentityLookup {
         }
     }
 
+    @Override
+    public Map<String, User> searchByUsernames(Collection<String> usernames) {
+        final Map<String, String> requestedUsernames = new HashMap<>();
+        usernames.forEach(username -> requestedUsernames.put(username.toLowerCase(), username));
+
+        final Map<String, User> users = new HashMap<>();
+        try {
+            userRepository.search(null).getContent().stream()
+                    .filter(user -> MANAGED_USER_TYPES.contains(user.getSource()))
+                    .filter(user -> user.getUsername() != null)
+                    .forEach(user -> {
+                        final String username = requestedUsernames.get(user.getUsername().toLowerCase());
+                        if (username != null) {
+                            users.putIfAbsent(username, convert(user));
+                        }
+                    });
+        } catch (TechnicalException te) {
+            LOGGER.error("Unexpected error while searching for users in repository", te);
+        }
+        return users;
+    }
+
     private User convert(io.gravitee.repository.management.model.User identity) {
         RepositoryUser user = new RepositoryUser(identity.getId());
         user.setUsername(identity.getUsername());
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.idp.repository.authentication;
+
+import io.gravitee.management.idp.repository.RepositoryIdentityProvider;
+import io.gravitee.management.model.UserEntity;
+import io.gravitee.management.service.UserService;
+import io.gravitee.management.service.exceptions.UserNotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RepositoryAuthenticationProviderTest {
+
+    private static final String USERNAME = "admin";
+    private static final String PASSWORD = "secret";
+
+    @InjectMocks
+    private RepositoryAuthenticationProvider authenticationProvider = new RepositoryAuthenticationProvider();
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private Environment environment;
+
+    @Before
+    public void init() throws Exception {
+        when(environment.getProperty("credentials-cache-ttl", Long.class, 60L)).thenReturn(60L);
+        authenticationProvider.afterPropertiesSet();
+    }
+
+    @Test
+    public void shouldNotVerifyPasswordAgainWhenCached() {
+        when(userService.findByUsername(USERNAME, true)).thenReturn(user("hash"));
+        when(passwordEncoder.matches(PASSWORD, "hash")).thenReturn(true);
+
+        assertTrue(authenticate(PASSWORD).isAuthenticated());
+        assertTrue(authenticate(PASSWORD).isAuthenticated());
+
+        verify(passwordEncoder, times(1)).matches(PASSWORD, "hash");
+        verify(userService, times(2)).findByUsername(USERNAME, true);
+    }
+
+    @Test(expected = BadCredentialsException.class)
+    public void shouldNotAuthenticateWithOldPasswordAfterPasswordChange() {
+        when(userService.findByUsername(USERNAME, true)).thenReturn(user("hash"));
+        when(passwordEncoder.matches(PASSWORD, "hash")).thenReturn(true);
+        authenticate(PASSWORD);
+
+        when(userService.findByUsername(USERNAME, true)).thenReturn(user("new-hash"));
+        when(passwordEncoder.matches(PASSWORD, "new-hash")).thenReturn(false);
+
+        authenticate(PASSWORD);
+    }
+
+    @Test(expected = BadCredentialsException.class)
+    public void shouldNotAuthenticateDeletedUser() {
+        when(userService.findByUsername(USERNAME, true)).thenReturn(user("hash"));
+        when(passwordEncoder.matches(PASSWORD, "hash")).thenReturn(true);
+        authenticate(PASSWORD);
+
+        when(userService.findByUsername(USERNAME, true)).thenThrow(new UserNotFoundException(USERNAME));
+
+        authenticate(PASSWORD);
+    }
+
+    @Test
+    public void shouldVerifyPasswordOnlyOncePerFailedAttempt() {
+        when(userService.findByUsername(USERNAME, true)).thenReturn(user("hash"));
+        when(passwordEncoder.matches("wrong", "hash")).thenReturn(false);
+
+        try {
+            authenticate("wrong");
+        } catch (BadCredentialsException bce) {
+            // expected
+        }
+
+        verify(passwordEncoder, times(1)).matches("wrong", "hash");
+        verify(userService, times(1)).findByUsername(USERNAME, true);
+    }
+
+    private Authentication authenticate(String password) {
+        return authenticationProvider.authenticate(new UsernamePasswordAuthenticationToken(USERNAME, password));
+    }
+
+    private UserEntity user(String password) {
+        final UserEntity user = new UserEntity();
+        user.setUsername(USERNAME);
+        user.setPassword(password);
+        user.setSource(RepositoryIdentityProvider.PROVIDER_TYPE);
+        return user;
+    }
+}
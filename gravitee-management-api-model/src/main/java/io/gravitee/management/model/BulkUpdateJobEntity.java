@@ -0,0 +1,150 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Date;
+
+/**
+ * Progress of a background update applied to a set of APIs, such as removing a deleted view or tag from them, or to a
+ * set of users, such as sending them a portal notification.
+ *
+ * @author GraviteeSource Team
+ */
+public class BulkUpdateJobEntity {
+
+    public enum Type {
+        DELETE_VIEW, DELETE_TAG, NOTIFY_USERS
+    }
+
+    public enum State {
+        PENDING, RUNNING, SUCCESS, FAILURE
+    }
+
+    private String id;
+
+    private Type type;
+
+    /**
+     * Identifier of the view or tag being removed, or name of the notification hook.
+     */
+    private String reference;
+
+    private volatile State state = State.PENDING;
+
+    /**
+     * Number of APIs (or users) to update, known once the job is running.
+     */
+    private volatile int total;
+
+    /**
+     * Number of APIs (or users) already updated.
+     */
+    private volatile int processed;
+
+    private volatile String error;
+
+    @JsonProperty("created_at")
+    private Date createdAt;
+
+    @JsonProperty("ended_at")
+    private volatile Date endedAt;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public String getReference() {
+        return reference;
+    }
+
+    public void setReference(String reference) {
+        this.reference = reference;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getProcessed() {
+        return processed;
+    }
+
+    public void setProcessed(int processed) {
+        this.processed = processed;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public Date getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Date createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Date getEndedAt() {
+        return endedAt;
+    }
+
+    public void setEndedAt(Date endedAt) {
+        this.endedAt = endedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkUpdateJobEntity{" +
+                "id='" + id + '\'' +
+                ", type=" + type +
+                ", reference='" + reference + '\'' +
+                ", state=" + state +
+                ", processed=" + processed +
+                "/" + total +
+                '}';
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Date;
+
+/**
+ * A lease held by a management node on a cluster-singleton background job.
+ *
+ * @author GraviteeSource Team
+ */
+public class ClusterLeaseEntity {
+
+    private String job;
+
+    private String owner;
+
+    @JsonProperty("expires_at")
+    private Date expiresAt;
+
+    @JsonProperty("owned_by_current_node")
+    private boolean ownedByCurrentNode;
+
+    public String getJob() {
+        return job;
+    }
+
+    public void setJob(String job) {
+        this.job = job;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public Date getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Date expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isOwnedByCurrentNode() {
+        return ownedByCurrentNode;
+    }
+
+    public void setOwnedByCurrentNode(boolean ownedByCurrentNode) {
+        this.ownedByCurrentNode = ownedByCurrentNode;
+    }
+
+    @Override
+    public String toString() {
+        return "ClusterLeaseEntity{" +
+                "job='" + job + '\'' +
+                ", owner='" + owner + '\'' +
+                ", expiresAt=" + expiresAt +
+                '}';
+    }
+}
@@ -23,6 +23,10 @@ public class InlinePictureEntity implements PictureEntity {
 
     private byte [] content;
     private String type;
+    /**
+     * Hash of the picture content, stable as long as the content does not change.
+     */
+    private String hash;
 
     public byte[] getContent() {
         return content;
@@ -39,4 +43,12 @@ public class InlinePictureEntity implements PictureEntity {
     public void setType(String type) {
         this.type = type;
     }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
 }
@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.gravitee.management.model.permissions.RoleScope;
 
@@ -34,6 +35,12 @@ public class RoleEntity {
     private boolean defaultRole;
     private boolean system;
     private Map<String, char[]> permissions;
+    /**
+     * Same permissions as {@link #permissions}, compiled as a bitset of {@link io.gravitee.management.model.permissions.RolePermissionAction}
+     * masks by permission name.
+     */
+    @JsonIgnore
+    private Map<String, Integer> permissionMasks;
 
     public String getName() {
         return name;
@@ -64,6 +71,13 @@ public class RoleEntity {
         this.permissions = permissions;
     }
 
+    public Map<String, Integer> getPermissionMasks() {
+        return permissionMasks;
+    }
+    public void setPermissionMasks(Map<String, Integer> permissionMasks) {
+        this.permissionMasks = permissionMasks;
+    }
+
     public boolean isDefaultRole() {
         return defaultRole;
     }
@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Map;
+
+/**
+ * Latencies of the searches of an identity provider, in milliseconds.
+ *
+ * @author GraviteeSource Team
+ */
+public class SearchLatencyEntity {
+
+    private long count;
+
+    @JsonProperty("total_time")
+    private long totalTime;
+
+    /**
+     * Number of searches by bucket, keyed by the upper bound of the bucket.
+     */
+    private Map<String, Long> buckets;
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public long getTotalTime() {
+        return totalTime;
+    }
+
+    public void setTotalTime(long totalTime) {
+        this.totalTime = totalTime;
+    }
+
+    public Map<String, Long> getBuckets() {
+        return buckets;
+    }
+
+    public void setBuckets(Map<String, Long> buckets) {
+        this.buckets = buckets;
+    }
+
+    @JsonProperty("average_time")
+    public double getAverageTime() {
+        return count == 0 ? 0 : (double) totalTime / count;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchLatencyEntity{" +
+                "count=" + count +
+                ", totalTime=" + totalTime +
+                ", buckets=" + buckets +
+                '}';
+    }
+}
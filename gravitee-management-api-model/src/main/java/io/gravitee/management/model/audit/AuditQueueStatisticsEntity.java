@@ -0,0 +1,83 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.model.audit;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * State of the queue of the audit logs written asynchronously.
+ *
+ * @author GraviteeSource Team
+ */
+public class AuditQueueStatisticsEntity {
+
+    /**
+     * Whether the audit logs are queued, false when they are written by the caller.
+     */
+    private boolean enabled;
+
+    private int capacity;
+
+    private int depth;
+
+    /**
+     * Number of audit logs written by the caller because the queue was full.
+     */
+    @JsonProperty("overflow_count")
+    private long overflowCount;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public long getOverflowCount() {
+        return overflowCount;
+    }
+
+    public void setOverflowCount(long overflowCount) {
+        this.overflowCount = overflowCount;
+    }
+
+    @Override
+    public String toString() {
+        return "AuditQueueStatisticsEntity{" +
+                "enabled=" + enabled +
+                ", capacity=" + capacity +
+                ", depth=" + depth +
+                ", overflowCount=" + overflowCount +
+                '}';
+    }
+}
@@ -146,7 +146,7 @@ public class PermissionsFilter implements ContainerRequestFilter {
         if (apiId == null) {
             return null;
         }
-        return apiService.findById(apiId);
+        return apiService.findByIdLight(apiId);
     }
 
     private GroupEntity getGroup(ContainerRequestContext requestContext) {
@@ -17,6 +17,8 @@ package io.gravitee.management.rest.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.List;
+
 /**
  * @author Titouan COMPIEGNE
  */
@@ -28,6 +30,9 @@ public class ApiEntity {
     @JsonProperty("is_synchronized")
     private boolean isSynchronized;
 
+    @JsonProperty("changes")
+    private List<String> changes;
+
     public String getApiId() {
         return apiId;
     }
@@ -44,4 +49,12 @@ public class ApiEntity {
         this.isSynchronized = isSynchronized;
     }
 
+    public List<String> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<String> changes) {
+        this.changes = changes;
+    }
+
 }
@@ -16,6 +16,9 @@
 package io.gravitee.management.rest.resource;
 
 import io.gravitee.management.idp.api.authentication.UserDetails;
+import io.gravitee.management.model.InlinePictureEntity;
+import io.gravitee.management.model.RatingSummaryEntity;
+import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.permissions.RolePermission;
 import io.gravitee.management.model.permissions.RolePermissionAction;
 import io.gravitee.management.model.permissions.RoleScope;
@@ -23,12 +26,16 @@ import io.gravitee.management.model.permissions.SystemRole;
 import io.gravitee.management.service.ApiService;
 import io.gravitee.management.service.MembershipService;
 import io.gravitee.management.service.PermissionService;
+import io.gravitee.management.service.RatingService;
 import io.gravitee.management.service.RoleService;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import javax.inject.Inject;
-import javax.ws.rs.core.Context;
-import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.*;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * @author David BRASSELY (david.brassely at graviteesource.com)
@@ -41,6 +48,9 @@ public abstract class AbstractResource {
     public final static String MANAGEMENT_ADMIN = RoleScope.MANAGEMENT.name() + ':' + SystemRole.ADMIN.name();
     public final static String PORTAL_ADMIN = RoleScope.PORTAL.name() + ':' + SystemRole.ADMIN.name();
 
+    private final static int PICTURE_MAX_AGE = 86400;
+    private final static int IMMUTABLE_PICTURE_MAX_AGE = 31536000;
+
     @Context
     protected SecurityContext securityContext;
 
@@ -56,6 +66,9 @@ public abstract class AbstractResource {
     @Inject
     PermissionService permissionService;
 
+    @Inject
+    RatingService ratingService;
+
     protected UserDetails getAuthenticatedUserDetails() {
         return (UserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
     }
@@ -90,6 +103,16 @@ public abstract class AbstractResource {
         return isAuthenticated() && (isAdmin() || permissionService.hasPermission(permission, referenceId, acls));
     }
 
+    /**
+     * @return the rating summaries of the APIs by API id, empty when the rating is disabled
+     */
+    protected Map<String, RatingSummaryEntity> findRatingSummaries(Collection<ApiEntity> apis) {
+        if (!ratingService.isEnabled()) {
+            return Collections.emptyMap();
+        }
+        return ratingService.findSummariesByApis(apis.stream().map(ApiEntity::getId).collect(Collectors.toSet()));
+    }
+
     void checkImageSize(final String picture) {
         if (picture != null) {
             final int imageBase64Length = picture.length();
@@ -99,4 +122,60 @@ public abstract class AbstractResource {
             }
         }
     }
+
+    /**
+     * Adds the version of the API picture to its URL. A picture only changes along with its API, so the update date of
+     * the API identifies the version of the picture.
+     */
+    protected void addPictureVersion(UriBuilder uriBuilder, ApiEntity api) {
+        if (api.getPicture() != null && api.getUpdatedAt() != null) {
+            uriBuilder.queryParam("hash", api.getUpdatedAt().getTime());
+        }
+    }
+
+    /**
+     * @return true if the version requested in the URL of the API picture is the current one.
+     */
+    protected boolean isCurrentPictureVersion(String version, ApiEntity api) {
+        return version != null && api.getUpdatedAt() != null && version.equals(Long.toString(api.getUpdatedAt().getTime()));
+    }
+
+    /**
+     * Cache control of the pictures. When the picture is requested through a versioned URL (immutable), the browser
+     * is allowed to keep it for a year without revalidating it.
+     */
+    protected CacheControl pictureCacheControl(boolean immutable) {
+        CacheControl cc = new CacheControl();
+        cc.setNoTransform(true);
+        cc.setMustRevalidate(false);
+        cc.setNoCache(false);
+        if (immutable) {
+            cc.setMaxAge(IMMUTABLE_PICTURE_MAX_AGE);
+            cc.getCacheExtension().put("immutable", null);
+        } else {
+            cc.setMaxAge(PICTURE_MAX_AGE);
+        }
+        return cc;
+    }
+
+    /**
+     * Builds the response of a picture, tagged with the hash of its content.
+     */
+    protected Response pictureResponse(Request request, InlinePictureEntity image, CacheControl cc) {
+        EntityTag etag = new EntityTag(image.getHash());
+        Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
+
+        if (builder == null) {
+            builder = Response
+                    .ok(image.getContent())
+                    .tag(etag)
+                    .type(image.getType());
+        }
+        // else preconditions are not met, returning HTTP 304 'not-modified'
+
+        if (cc != null) {
+            builder.cacheControl(cc);
+        }
+        return builder.build();
+    }
 }
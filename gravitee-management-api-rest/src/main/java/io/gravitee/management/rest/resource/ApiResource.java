@@ -29,6 +29,7 @@ import io.gravitee.management.rest.security.Permission;
 import io.gravitee.management.rest.security.Permissions;
 import io.gravitee.management.service.MessageService;
 import io.gravitee.management.service.NotifierService;
+import io.gravitee.management.service.PictureService;
 import io.gravitee.management.service.QualityMetricsService;
 import io.gravitee.management.service.exceptions.ApiNotFoundException;
 import io.gravitee.management.service.exceptions.ForbiddenAccessException;
@@ -45,7 +46,6 @@ import javax.ws.rs.*;
 import javax.ws.rs.container.ResourceContext;
 import javax.ws.rs.core.*;
 import javax.ws.rs.core.Response.Status;
-import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -64,6 +64,9 @@ import static java.lang.String.format;
 @Api(tags = {"API"})
 public class ApiResource extends AbstractResource {
 
+    private static final int PICTURE_MIN_SIZE = 16;
+    private static final int PICTURE_MAX_SIZE = 512;
+
     @Context
     private UriInfo uriInfo;
 
@@ -79,6 +82,9 @@ public class ApiResource extends AbstractResource {
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private PictureService pictureService;
+
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @ApiOperation(value = "Get the API definition",
@@ -107,10 +113,8 @@ public class ApiResource extends AbstractResource {
     private void setPicture(final ApiEntity apiEntity) {
         final UriBuilder ub = uriInfo.getAbsolutePathBuilder();
         final UriBuilder uriBuilder = ub.path("picture");
-        if (apiEntity.getPicture() != null) {
-            // force browser to get if updated
-            uriBuilder.queryParam("hash", apiEntity.getPicture().hashCode());
-        }
+        // force browser to get if updated
+        addPictureVersion(uriBuilder, apiEntity);
         apiEntity.setPictureUrl(uriBuilder.build().toString());
         apiEntity.setPicture(null);
     }
@@ -124,38 +128,26 @@ public class ApiResource extends AbstractResource {
             @ApiResponse(code = 500, message = "Internal server error")})
     public Response picture(
             @Context Request request,
-            @PathParam("api") String api) throws ApiNotFoundException {
-        ApiEntity apiEntity = apiService.findById(api);
+            @PathParam("api") String api,
+            @ApiParam(value = "Version of the picture, the picture is considered as immutable when it is the current one")
+            @QueryParam("hash") String hash,
+            @ApiParam(value = "Size (in pixels) of the thumbnail to get instead of the original picture")
+            @QueryParam("size") Integer size) throws ApiNotFoundException {
+        ApiEntity apiEntity = apiService.findByIdLight(api);
         if (Visibility.PUBLIC.equals(apiEntity.getVisibility())
                 || hasPermission(RolePermission.API_DEFINITION, api, RolePermissionAction.READ)) {
 
-            CacheControl cc = new CacheControl();
-            cc.setNoTransform(true);
-            cc.setMustRevalidate(false);
-            cc.setNoCache(false);
-            cc.setMaxAge(86400);
-
             InlinePictureEntity image = apiService.getPicture(api);
-
-            EntityTag etag = new EntityTag(Integer.toString(new String(image.getContent()).hashCode()));
-            Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
-
-            if (builder != null) {
-                // Preconditions are not met, returning HTTP 304 'not-modified'
-                return builder
-                        .cacheControl(cc)
-                        .build();
+            if (size != null && image.getContent() != null) {
+                if (size < PICTURE_MIN_SIZE || size > PICTURE_MAX_SIZE) {
+                    throw new BadRequestException("The size of the picture must be between " + PICTURE_MIN_SIZE +
+                            " and " + PICTURE_MAX_SIZE);
+                }
+                image = pictureService.resize(image, size);
             }
 
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            baos.write(image.getContent(), 0, image.getContent().length);
-
-            return Response
-                    .ok(baos)
-                    .cacheControl(cc)
-                    .tag(etag)
-                    .type(image.getType())
-                    .build();
+            // an outdated version is not cached for long, to not pin a previous picture under its URL
+            return pictureResponse(request, image, pictureCacheControl(isCurrentPictureVersion(hash, apiEntity)));
         }
         throw new ForbiddenAccessException();
     }
@@ -546,6 +538,7 @@ public class ApiResource extends AbstractResource {
             apiEntity.setIsSynchronized(true);
         } else {
             apiEntity.setIsSynchronized(false);
+            apiEntity.setChanges(apiService.getDeploymentChanges(apiEntity.getApiId()));
         }
     }
 
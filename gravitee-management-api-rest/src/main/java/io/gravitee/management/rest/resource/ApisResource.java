@@ -20,6 +20,7 @@ import io.gravitee.common.http.MediaType;
 import io.gravitee.management.model.ImportSwaggerDescriptorEntity;
 import io.gravitee.management.model.RatingSummaryEntity;
 import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.model.api.ApiImportResultEntity;
 import io.gravitee.management.model.api.ApiListItem;
 import io.gravitee.management.model.api.ApiQuery;
 import io.gravitee.management.model.api.NewApiEntity;
@@ -29,11 +30,12 @@ import io.gravitee.management.rest.resource.param.ApisParam;
 import io.gravitee.management.rest.resource.param.VerifyApiParam;
 import io.gravitee.management.rest.security.Permission;
 import io.gravitee.management.rest.security.Permissions;
+import io.gravitee.management.service.ApiArchiveService;
 import io.gravitee.management.service.ApiService;
-import io.gravitee.management.service.RatingService;
 import io.gravitee.management.service.SwaggerService;
 import io.gravitee.management.service.TopApiService;
 import io.gravitee.management.service.exceptions.ApiAlreadyExistsException;
+import io.gravitee.management.service.exceptions.ApiNotFoundException;
 import io.gravitee.management.service.notification.ApiHook;
 import io.gravitee.management.service.notification.Hook;
 import io.gravitee.repository.exceptions.TechnicalException;
@@ -45,9 +47,12 @@ import javax.validation.constraints.NotNull;
 import javax.ws.rs.*;
 import javax.ws.rs.container.ResourceContext;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
+import java.io.InputStream;
 import java.net.URI;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -65,6 +70,8 @@ import static java.util.stream.Collectors.toList;
 @Api(tags = {"API"})
 public class ApisResource extends AbstractResource {
 
+    private static final String APPLICATION_ZIP = "application/zip";
+
     @Context
     private UriInfo uriInfo;
     @Context
@@ -77,7 +84,7 @@ public class ApisResource extends AbstractResource {
     @Inject
     private TopApiService topApiService;
     @Inject
-    private RatingService ratingService;
+    private ApiArchiveService apiArchiveService;
 
     @GET
     @Produces(MediaType.APPLICATION_JSON)
@@ -117,15 +124,19 @@ public class ApisResource extends AbstractResource {
 
         if (apisParam.isTop()) {
             final List<String> visibleApis = apis.stream().map(ApiEntity::getId).collect(toList());
-            return topApiService.findAll().stream()
+            final List<ApiEntity> topApis = topApiService.findAll().stream()
                     .filter(topApi -> visibleApis.contains(topApi.getApi()))
                     .map(topApiEntity -> apiService.findById(topApiEntity.getApi()))
-                    .map(this::convert)
+                    .collect(toList());
+            final Map<String, RatingSummaryEntity> ratingSummaries = findRatingSummaries(topApis);
+            return topApis.stream()
+                    .map(api -> convert(api, ratingSummaries))
                     .collect(toList());
         }
 
+        final Map<String, RatingSummaryEntity> ratingSummaries = findRatingSummaries(apis);
         return apis.stream()
-                .map(this::convert)
+                .map(api -> convert(api, ratingSummaries))
                 .map(this::setManageable)
                 .sorted((o1, o2) -> String.CASE_INSENSITIVE_ORDER.compare(o1.getName(), o2.getName()))
                 .collect(toList());
@@ -181,6 +192,70 @@ public class ApisResource extends AbstractResource {
                 null, apiDefinition, getAuthenticatedUser())).build();
     }
 
+    @GET
+    @Path("export/archive")
+    @Produces(APPLICATION_ZIP)
+    @ApiOperation(
+            value = "Export the definitions of several APIs as a ZIP archive",
+            notes = "The archive holds one JSON definition by API. Only the APIs the user can read are exported, " +
+                    "all of them when no identifier is given.")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "APIs definitions archive"),
+            @ApiResponse(code = 404, message = "API not found"),
+            @ApiResponse(code = 500, message = "Internal server error")})
+    public Response exportArchive(
+            @QueryParam("ids") List<String> ids,
+            @QueryParam("version") @DefaultValue("default") String version,
+            @QueryParam("exclude") @DefaultValue("") String exclude) {
+        final Collection<String> apiIds;
+        if (isAdmin()) {
+            apiIds = ids == null || ids.isEmpty() ?
+                    apiService.findAllLight().stream().map(ApiEntity::getId).collect(toList()) :
+                    ids.stream().distinct().collect(toList());
+            // Fail before streaming, an unknown API would otherwise truncate an archive already sent with a 200 status
+            apiIds.stream()
+                    .filter(apiId -> !apiService.exists(apiId))
+                    .findFirst()
+                    .ifPresent(apiId -> {
+                        throw new ApiNotFoundException(apiId);
+                    });
+        } else {
+            // APIs visible by the user include the public ones, which can only be exported with the read permission
+            final Collection<String> candidateIds = ids == null || ids.isEmpty() ?
+                    apiService.findIdsByUser(getAuthenticatedUser(), null) : ids;
+            apiIds = candidateIds.stream()
+                    .distinct()
+                    .filter(id -> hasPermission(RolePermission.API_DEFINITION, id, RolePermissionAction.READ))
+                    .collect(toList());
+        }
+
+        final StreamingOutput archive = output -> apiArchiveService.export(apiIds, version, output, exclude.split(","));
+        return Response
+                .ok(archive)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=apis.zip")
+                .build();
+    }
+
+    @POST
+    @Path("import/archive")
+    @Consumes(APPLICATION_ZIP)
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(
+            value = "Create or update APIs by importing a ZIP archive of API definitions",
+            notes = "An API is updated when its identifier matches the name of an entry and the user is allowed " +
+                    "to update it, otherwise a new API is created")
+    @ApiResponses({
+            @ApiResponse(code = 200, message = "Import result of each API", response = ApiImportResultEntity.class, responseContainer = "List"),
+            @ApiResponse(code = 500, message = "Internal server error")})
+    @Permissions({
+            @Permission(value = RolePermission.MANAGEMENT_API, acls = RolePermissionAction.CREATE),
+            @Permission(value = RolePermission.MANAGEMENT_API, acls = RolePermissionAction.UPDATE)
+    })
+    public List<ApiImportResultEntity> importArchive(@ApiParam(name = "archive", required = true) InputStream archive) {
+        return apiArchiveService.importArchive(archive, getAuthenticatedUser(),
+                id -> isAdmin() || hasPermission(RolePermission.API_DEFINITION, id, RolePermissionAction.UPDATE));
+    }
+
     @POST
     @Path("import/swagger")
     @Produces(MediaType.APPLICATION_JSON)
@@ -235,25 +310,27 @@ public class ApisResource extends AbstractResource {
             @ApiParam(name = "q", required = true)
             @NotNull @QueryParam("q") String query) {
         try {
-            final Collection<ApiEntity> apis;
+            final Set<String> apiIds;
             if (isAdmin()) {
-                apis = apiService.search(new ApiQuery());
+                apiIds = apiService.search(new ApiQuery()).stream().map(ApiEntity::getId).collect(Collectors.toSet());
             } else {
                 if (isAuthenticated()) {
-                    apis = apiService.findByUser(getAuthenticatedUser(), new ApiQuery());
+                    apiIds = apiService.findIdsByUser(getAuthenticatedUser(), new ApiQuery());
                 } else {
                     ApiQuery apiQuery = new ApiQuery();
                     apiQuery.setVisibility(PUBLIC);
-                    apis = apiService.search(apiQuery);
+                    apiIds = apiService.search(apiQuery).stream().map(ApiEntity::getId).collect(Collectors.toSet());
                 }
             }
 
             Map<String, Object> filters = new HashMap<>();
-            filters.put("api", apis.stream().map(ApiEntity::getId).collect(Collectors.toSet()));
+            filters.put("api", apiIds);
 
-            return Response.ok().entity(apiService.search(query, filters)
+            final Collection<ApiEntity> foundApis = apiService.search(query, filters);
+            final Map<String, RatingSummaryEntity> ratingSummaries = findRatingSummaries(foundApis);
+            return Response.ok().entity(foundApis
                     .stream()
-                    .map(this::convert)
+                    .map(api -> convert(api, ratingSummaries))
                     .map(this::setManageable)
                     .collect(toList())).build();
         } catch (TechnicalException te) {
@@ -266,7 +343,7 @@ public class ApisResource extends AbstractResource {
         return resourceContext.getResource(ApiResource.class);
     }
 
-    private ApiListItem convert(ApiEntity api) {
+    private ApiListItem convert(ApiEntity api, Map<String, RatingSummaryEntity> ratingSummaries) {
         final ApiListItem apiItem = new ApiListItem();
 
         apiItem.setId(api.getId());
@@ -276,10 +353,8 @@ public class ApisResource extends AbstractResource {
 
         final UriBuilder ub = uriInfo.getBaseUriBuilder();
         final UriBuilder uriBuilder = ub.path("apis").path(api.getId()).path("picture");
-        if (api.getPicture() != null) {
-            // force browser to get if updated
-            uriBuilder.queryParam("hash", api.getPicture().hashCode());
-        }
+        // force browser to get if updated
+        addPictureVersion(uriBuilder, api);
         apiItem.setPictureUrl(uriBuilder.build().toString());
         apiItem.setViews(api.getViews());
         apiItem.setCreatedAt(api.getCreatedAt());
@@ -300,8 +375,8 @@ public class ApisResource extends AbstractResource {
             apiItem.setContextPath(api.getProxy().getContextPath());
         }
 
-        if (ratingService.isEnabled()) {
-            final RatingSummaryEntity ratingSummary = ratingService.findSummaryByApi(api.getId());
+        final RatingSummaryEntity ratingSummary = ratingSummaries.get(api.getId());
+        if (ratingSummary != null) {
             apiItem.setRate(ratingSummary.getAverageRate());
             apiItem.setNumberOfRatings(ratingSummary.getNumberOfRatings());
         }
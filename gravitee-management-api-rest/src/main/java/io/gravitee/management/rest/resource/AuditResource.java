@@ -19,6 +19,7 @@ import io.gravitee.common.data.domain.MetadataPage;
 import io.gravitee.common.data.domain.Page;
 import io.gravitee.common.http.MediaType;
 import io.gravitee.management.model.audit.AuditEntity;
+import io.gravitee.management.model.audit.AuditExportFormat;
 import io.gravitee.management.model.audit.AuditQuery;
 import io.gravitee.management.model.permissions.RolePermission;
 import io.gravitee.management.model.permissions.RolePermissionAction;
@@ -28,12 +29,15 @@ import io.gravitee.management.rest.security.Permissions;
 import io.gravitee.management.service.AuditService;
 import io.gravitee.repository.management.model.*;
 import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.ws.rs.*;
 import javax.ws.rs.container.ResourceContext;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import java.util.*;
 
 /**
@@ -57,7 +61,29 @@ public class AuditResource extends AbstractResource  {
             @Permission(value = RolePermission.MANAGEMENT_AUDIT, acls = RolePermissionAction.READ)
     })
     public MetadataPage<AuditEntity> list(@BeanParam AuditParam param){
+        return auditService.search(toQuery(param));
+    }
+
+    @GET
+    @Path("/export")
+    @Produces({"text/csv", "application/x-ndjson"})
+    @Permissions({
+            @Permission(value = RolePermission.MANAGEMENT_AUDIT, acls = RolePermissionAction.READ)
+    })
+    @ApiOperation(
+            value = "Export audit logs as CSV or NDJSON",
+            notes = "All the audit logs matching the filters are exported, whatever the page and size parameters")
+    public Response export(@BeanParam AuditParam param,
+                           @QueryParam("format") @DefaultValue("CSV") AuditExportFormat format) {
+        final AuditQuery query = toQuery(param);
+        final StreamingOutput export = output -> auditService.export(query, format, output);
+        return Response
+                .ok(export, format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment;filename=audit." + format.getExtension())
+                .build();
+    }
 
+    private AuditQuery toQuery(AuditParam param) {
         AuditQuery query = new AuditQuery();
         query.setFrom(param.getFrom());
         query.setTo(param.getTo());
@@ -77,8 +103,7 @@ public class AuditResource extends AbstractResource  {
         if (param.getEvent() != null) {
             query.setEvents(Collections.singletonList(param.getEvent()));
         }
-
-        return auditService.search(query);
+        return query;
     }
 
     @Path("/events")
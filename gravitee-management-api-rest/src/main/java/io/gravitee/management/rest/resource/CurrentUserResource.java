@@ -49,7 +49,6 @@ import javax.validation.constraints.NotNull;
 import javax.ws.rs.*;
 import javax.ws.rs.container.ResourceContext;
 import javax.ws.rs.core.*;
-import java.io.ByteArrayOutputStream;
 import java.net.URI;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -157,23 +156,7 @@ public class CurrentUserResource extends AbstractResource {
             return Response.temporaryRedirect(URI.create(((UrlPictureEntity) picture).getUrl())).build();
         }
 
-        InlinePictureEntity image = (InlinePictureEntity) picture;
-
-        EntityTag etag = new EntityTag(Integer.toString(new String(image.getContent()).hashCode()));
-        Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
-
-        if (builder != null) {
-            return builder.build();
-        }
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        baos.write(image.getContent(), 0, image.getContent().length);
-
-        return ok()
-                .entity(baos)
-                .tag(etag)
-                .type(image.getType())
-                .build();
+        return pictureResponse(request, (InlinePictureEntity) picture, null);
     }
 
     @POST
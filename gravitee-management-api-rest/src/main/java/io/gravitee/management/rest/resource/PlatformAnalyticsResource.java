@@ -16,7 +16,6 @@
 package io.gravitee.management.rest.resource;
 
 import io.gravitee.common.http.MediaType;
-import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.ApplicationEntity;
 import io.gravitee.management.model.analytics.Analytics;
 import io.gravitee.management.model.analytics.query.*;
@@ -83,10 +82,9 @@ public class PlatformAnalyticsResource extends AbstractResource  {
             List<String> ids = null;
             if ("api".equals(analyticsParam.getField()) || "tenant".equals(analyticsParam.getField())) {
                 fieldName = "api";
-                ids = apiService.findByUser(getAuthenticatedUser(), null)
+                ids = apiService.findIdsByUser(getAuthenticatedUser(), null)
                         .stream()
-                        .filter(api -> permissionService.hasPermission(API_ANALYTICS, api.getId(), READ))
-                        .map(ApiEntity::getId)
+                        .filter(apiId -> permissionService.hasPermission(API_ANALYTICS, apiId, READ))
                         .collect(Collectors.toList());
             } else if ("application".equals(analyticsParam.getField())) {
                 fieldName = analyticsParam.getField();
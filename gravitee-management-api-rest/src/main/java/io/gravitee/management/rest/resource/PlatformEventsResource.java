@@ -70,10 +70,10 @@ public class PlatformEventsResource  extends AbstractResource {
         } else if (!isAdmin()) {
             properties.put(
                     Event.EventProperties.API_ID.getValue(),
-                    apiService.findByUser(getAuthenticatedUser(), null)
+                    apiService.findIdsByUser(getAuthenticatedUser(), null)
                             .stream()
-                            .filter(api -> permissionService.hasPermission(API_ANALYTICS, api.getId(), READ))
-                            .map(ApiEntity::getId).collect(Collectors.joining(",")));
+                            .filter(apiId -> permissionService.hasPermission(API_ANALYTICS, apiId, READ))
+                            .collect(Collectors.joining(",")));
         }
 
         Page<EventEntity> events = eventService.search(
@@ -93,7 +93,7 @@ public class PlatformEventsResource  extends AbstractResource {
 
                 // Retrieve additional data
                 String apiId = properties1.get(Event.EventProperties.API_ID.getValue());
-                ApiEntity api = apiService.findById(apiId);
+                ApiEntity api = apiService.findByIdLight(apiId);
                 properties1.put("api_name", api.getName());
                 properties1.put("api_version", api.getVersion());
             }
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.rest.resource;
+
+import io.gravitee.common.http.MediaType;
+import io.gravitee.management.model.BulkUpdateJobEntity;
+import io.gravitee.management.model.permissions.RolePermission;
+import io.gravitee.management.model.permissions.RolePermissionAction;
+import io.gravitee.management.rest.security.Permission;
+import io.gravitee.management.rest.security.Permissions;
+import io.gravitee.management.service.ApiBulkUpdateService;
+import io.gravitee.management.service.PortalNotificationService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Api(tags = {"Gateway"})
+public class PlatformJobsResource extends AbstractResource {
+
+    @Inject
+    private ApiBulkUpdateService apiBulkUpdateService;
+
+    @Inject
+    private PortalNotificationService portalNotificationService;
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "List the running and the most recent background jobs (API updates, portal notifications), with their progress")
+    @Permissions({
+            @Permission(value = RolePermission.MANAGEMENT_PLATFORM, acls = RolePermissionAction.READ)
+    })
+    public Collection<BulkUpdateJobEntity> jobs() {
+        final List<BulkUpdateJobEntity> jobs = new ArrayList<>(apiBulkUpdateService.findJobs());
+        jobs.addAll(portalNotificationService.findJobs());
+        jobs.sort(Comparator.comparing(BulkUpdateJobEntity::getCreatedAt).reversed());
+        return jobs;
+    }
+
+    @POST
+    @Path("{job}/_retry")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Retry a failed portal notification job, the users already notified being skipped")
+    @Permissions({
+            @Permission(value = RolePermission.MANAGEMENT_PLATFORM, acls = RolePermissionAction.UPDATE)
+    })
+    public BulkUpdateJobEntity retry(@PathParam("job") String job) {
+        return portalNotificationService.retry(job);
+    }
+}
@@ -0,0 +1,87 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.rest.resource;
+
+import io.gravitee.common.http.MediaType;
+import io.gravitee.management.model.CacheStatisticsEntity;
+import io.gravitee.management.model.SearchLatencyEntity;
+import io.gravitee.management.model.audit.AuditQueueStatisticsEntity;
+import io.gravitee.management.model.permissions.RolePermission;
+import io.gravitee.management.model.permissions.RolePermissionAction;
+import io.gravitee.management.rest.security.Permission;
+import io.gravitee.management.rest.security.Permissions;
+import io.gravitee.management.service.ApiService;
+import io.gravitee.management.service.AuditService;
+import io.gravitee.management.service.IdentityService;
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import java.util.Map;
+
+/**
+ * In-memory metrics of the current management node.
+ *
+ * @author GraviteeSource Team
+ */
+@Api(tags = {"Gateway"})
+public class PlatformMetricsResource extends AbstractResource {
+
+    @Inject
+    private ApiService apiService;
+
+    @Inject
+    private IdentityService identityService;
+
+    @Inject
+    private AuditService auditService;
+
+    @GET
+    @Path("apis-cache")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get the hits and misses of the cache of the APIs found by id, by caller")
+    @Permissions({
+            @Permission(value = RolePermission.MANAGEMENT_PLATFORM, acls = RolePermissionAction.READ)
+    })
+    public Map<String, CacheStatisticsEntity> apisCache() {
+        return apiService.getCacheStatistics();
+    }
+
+    @GET
+    @Path("identity-search")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get the latencies of the user searches, by identity provider")
+    @Permissions({
+            @Permission(value = RolePermission.MANAGEMENT_PLATFORM, acls = RolePermissionAction.READ)
+    })
+    public Map<String, SearchLatencyEntity> identitySearch() {
+        return identityService.getSearchLatencies();
+    }
+
+    @GET
+    @Path("audit-queue")
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiOperation(value = "Get the state of the queue of the audit logs written asynchronously")
+    @Permissions({
+            @Permission(value = RolePermission.MANAGEMENT_PLATFORM, acls = RolePermissionAction.READ)
+    })
+    public AuditQueueStatisticsEntity auditQueue() {
+        return auditService.getQueueStatistics();
+    }
+}
@@ -38,11 +38,26 @@ public class PlatformResource {
         return resourceContext.getResource(PlatformAnalyticsResource.class);
     }
 
+    @Path("cluster")
+    public PlatformClusterResource getPlatformClusterResource() {
+        return resourceContext.getResource(PlatformClusterResource.class);
+    }
+
     @Path("events")
     public PlatformEventsResource getPlatformEventsResource() {
         return resourceContext.getResource(PlatformEventsResource.class);
     }
 
+    @Path("jobs")
+    public PlatformJobsResource getPlatformJobsResource() {
+        return resourceContext.getResource(PlatformJobsResource.class);
+    }
+
+    @Path("metrics")
+    public PlatformMetricsResource getPlatformMetricsResource() {
+        return resourceContext.getResource(PlatformMetricsResource.class);
+    }
+
     @Path("tickets")
     public PlatformTicketsResource getPlatformTicketsResource() {
         return resourceContext.getResource(PlatformTicketsResource.class);
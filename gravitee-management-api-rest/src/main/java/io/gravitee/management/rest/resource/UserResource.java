@@ -32,7 +32,6 @@ import javax.inject.Inject;
 import javax.ws.rs.*;
 import javax.ws.rs.container.ResourceContext;
 import javax.ws.rs.core.*;
-import java.io.ByteArrayOutputStream;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -152,33 +151,6 @@ public class UserResource extends AbstractResource {
             return Response.temporaryRedirect(URI.create(((UrlPictureEntity)picture).getUrl())).build();
         }
 
-        CacheControl cc = new CacheControl();
-        cc.setNoTransform(true);
-        cc.setMustRevalidate(false);
-        cc.setNoCache(false);
-        cc.setMaxAge(86400);
-
-        InlinePictureEntity image = (InlinePictureEntity) picture;
-
-        EntityTag etag = new EntityTag(Integer.toString(new String(image.getContent()).hashCode()));
-        Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
-
-        if (builder != null) {
-            // Preconditions are not met, returning HTTP 304 'not-modified'
-            return builder
-                    .cacheControl(cc)
-                    .build();
-        }
-
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        baos.write(image.getContent(), 0, image.getContent().length);
-
-        return Response
-                .ok()
-                .entity(baos)
-                .cacheControl(cc)
-                .tag(etag)
-                .type(image.getType())
-                .build();
+        return pictureResponse(request, (InlinePictureEntity) picture, pictureCacheControl(false));
     }
 }
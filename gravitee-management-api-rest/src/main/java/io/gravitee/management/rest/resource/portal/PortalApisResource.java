@@ -23,7 +23,6 @@ import io.gravitee.management.model.api.ApiListItem;
 import io.gravitee.management.model.api.ApiQuery;
 import io.gravitee.management.rest.resource.AbstractResource;
 import io.gravitee.management.service.ApiService;
-import io.gravitee.management.service.RatingService;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.swagger.annotations.*;
 
@@ -38,6 +37,7 @@ import javax.ws.rs.core.UriInfo;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import static io.gravitee.management.model.Visibility.PUBLIC;
@@ -55,9 +55,6 @@ public class PortalApisResource extends AbstractResource {
     @Inject
     private ApiService apiService;
 
-    @Inject
-    private RatingService ratingService;
-
     @Context
     private ResourceContext resourceContext;
 
@@ -75,32 +72,34 @@ public class PortalApisResource extends AbstractResource {
             @ApiParam(name = "q", required = true)
             @NotNull @QueryParam("q") String query) {
         try {
-            final Collection<ApiEntity> apis;
+            final Set<String> apiIds;
             if (isAdmin()) {
-                apis = apiService.search(new ApiQuery());
+                apiIds = apiService.search(new ApiQuery()).stream().map(ApiEntity::getId).collect(Collectors.toSet());
             } else {
                 if (isAuthenticated()) {
-                    apis = apiService.findByUser(getAuthenticatedUser(), new ApiQuery());
+                    apiIds = apiService.findIdsByUser(getAuthenticatedUser(), new ApiQuery());
                 } else {
                     ApiQuery apiQuery = new ApiQuery();
                     apiQuery.setVisibility(PUBLIC);
-                    apis = apiService.search(apiQuery);
+                    apiIds = apiService.search(apiQuery).stream().map(ApiEntity::getId).collect(Collectors.toSet());
                 }
             }
 
             Map<String, Object> filters = new HashMap<>();
-            filters.put("api", apis.stream().map(ApiEntity::getId).collect(Collectors.toSet()));
+            filters.put("api", apiIds);
 
-            return Response.ok().entity(apiService.search(query, filters)
+            final Collection<ApiEntity> foundApis = apiService.search(query, filters);
+            final Map<String, RatingSummaryEntity> ratingSummaries = findRatingSummaries(foundApis);
+            return Response.ok().entity(foundApis
                     .stream()
-                    .map(this::convert)
+                    .map(api -> convert(api, ratingSummaries))
                     .collect(toList())).build();
         } catch (TechnicalException te) {
             return Response.status(Response.Status.INTERNAL_SERVER_ERROR).entity(te).build();
         }
     }
 
-    private ApiListItem convert(ApiEntity api) {
+    private ApiListItem convert(ApiEntity api, Map<String, RatingSummaryEntity> ratingSummaries) {
         final ApiListItem apiItem = new ApiListItem();
 
         apiItem.setId(api.getId());
@@ -110,10 +109,8 @@ public class PortalApisResource extends AbstractResource {
 
         final UriBuilder ub = uriInfo.getBaseUriBuilder();
         final UriBuilder uriBuilder = ub.path("apis").path(api.getId()).path("picture");
-        if (api.getPicture() != null) {
-            // force browser to get if updated
-            uriBuilder.queryParam("hash", api.getPicture().hashCode());
-        }
+        // force browser to get if updated
+        addPictureVersion(uriBuilder, api);
         apiItem.setPictureUrl(uriBuilder.build().toString());
         apiItem.setViews(api.getViews());
         apiItem.setCreatedAt(api.getCreatedAt());
@@ -134,8 +131,8 @@ public class PortalApisResource extends AbstractResource {
             apiItem.setContextPath(api.getProxy().getContextPath());
         }
 
-        if (ratingService.isEnabled()) {
-            final RatingSummaryEntity ratingSummary = ratingService.findSummaryByApi(api.getId());
+        final RatingSummaryEntity ratingSummary = ratingSummaries.get(api.getId());
+        if (ratingSummary != null) {
             apiItem.setRate(ratingSummary.getAverageRate());
             apiItem.setNumberOfRatings(ratingSummary.getNumberOfRatings());
         }
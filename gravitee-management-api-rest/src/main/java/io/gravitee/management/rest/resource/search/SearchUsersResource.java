@@ -17,6 +17,7 @@ package io.gravitee.management.rest.resource.search;
 
 import io.gravitee.common.http.MediaType;
 import io.gravitee.management.idp.api.identity.SearchableUser;
+import io.gravitee.management.idp.core.authentication.IdentitySearchResult;
 import io.gravitee.management.service.IdentityService;
 import io.swagger.annotations.*;
 
@@ -26,7 +27,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.GET;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
-import java.util.Collection;
+import javax.ws.rs.core.Response;
 import java.util.Comparator;
 import java.util.stream.Collectors;
 
@@ -37,6 +38,11 @@ import java.util.stream.Collectors;
 @Api(tags = {"Search", "User"})
 public class SearchUsersResource {
 
+    /**
+     * Header listing the identity providers which did not answer in time, and whose users are missing from the result.
+     */
+    static final String TIMED_OUT_PROVIDERS_HEADER = "X-Timed-Out-Identity-Providers";
+
     @Inject
     private IdentityService identityService;
 
@@ -48,12 +54,17 @@ public class SearchUsersResource {
             @ApiResponse(code = 200, message = "List of users", response = SearchableUser.class, responseContainer = "List"),
             @ApiResponse(code = 400, message = "Bad query parameter"),
             @ApiResponse(code = 500, message = "Internal server error")})
-    public Collection<SearchableUser> searchUsers(
+    public Response searchUsers(
             @ApiParam(name = "q", required = true) @NotNull @QueryParam("q") String query) {
-        return identityService.search(query)
+        final IdentitySearchResult users = identityService.search(query);
+        final Response.ResponseBuilder response = Response.ok(users.getUsers()
                 .stream()
                 .sorted((o1, o2) -> CASE_INSENSITIVE_ORDER.compare(o1.getLastname(), o2.getLastname()))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+        if (!users.isComplete()) {
+            response.header(TIMED_OUT_PROVIDERS_HEADER, String.join(",", users.getTimedOutProviders()));
+        }
+        return response.build();
     }
 
     private static final Comparator<String> CASE_INSENSITIVE_ORDER = new CaseInsensitiveComparator();
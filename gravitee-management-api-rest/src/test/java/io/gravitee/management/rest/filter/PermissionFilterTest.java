@@ -94,7 +94,7 @@ public class PermissionFilterTest {
         ApiEntity api = new ApiEntity();
         api.setId(API_ID);
         Principal user = () -> USERNAME;
-        when(apiService.findById(api.getId())).thenReturn(api);
+        when(apiService.findByIdLight(api.getId())).thenReturn(api);
         when(securityContext.getUserPrincipal()).thenReturn(user);
         Permission perm = mock(Permission.class);
         when(perm.value()).thenReturn(RolePermission.API_ANALYTICS);
@@ -116,7 +116,7 @@ public class PermissionFilterTest {
         try {
             permissionFilter.filter(permissions, containerRequestContext);
         } catch(ForbiddenAccessException e) {
-            verify(apiService, times(1)).findById(api.getId());
+            verify(apiService, times(1)).findByIdLight(api.getId());
             verify(applicationService, never()).findById(any());
             verify(roleService, times(1)).hasPermission(any(), any(), any());
             verify(membershipService, times(1)).getMemberPermissions(api, USERNAME);
@@ -133,7 +133,7 @@ public class PermissionFilterTest {
         when(roleService.hasPermission(any(), any(), any())).thenReturn(true);
 
         permissionFilter.filter(permissions, containerRequestContext);
-        verify(apiService, times(1)).findById(api.getId());
+        verify(apiService, times(1)).findByIdLight(api.getId());
         verify(applicationService, never()).findById(any());
         verify(roleService, times(1)).hasPermission(any(), any(), any());
         verify(membershipService, times(1)).getMemberPermissions(api, USERNAME);
@@ -170,7 +170,7 @@ public class PermissionFilterTest {
             permissionFilter.filter(permissions, containerRequestContext);
         } catch(ForbiddenAccessException e) {
             verify(applicationService, times(1)).findById(application.getId());
-            verify(apiService, never()).findById(any());
+            verify(apiService, never()).findByIdLight(any());
             verify(roleService, times(1)).hasPermission(any(), any(), any());
             verify(membershipService, times(1)).getMemberPermissions(application, USERNAME);
             verify(membershipService, never()).getRole(any(), any(), any(), any());
@@ -186,7 +186,7 @@ public class PermissionFilterTest {
         when(roleService.hasPermission(any(), any(), any())).thenReturn(true);
 
         permissionFilter.filter(permissions, containerRequestContext);
-        verify(apiService, never()).findById(any());
+        verify(apiService, never()).findByIdLight(any());
         verify(applicationService, times(1)).findById(application.getId());
         verify(roleService, times(1)).hasPermission(any(), any(), any());
         verify(membershipService, times(1)).getMemberPermissions(application, USERNAME);
@@ -218,7 +218,7 @@ public class PermissionFilterTest {
             permissionFilter.filter(permissions, containerRequestContext);
         } catch(ForbiddenAccessException e) {
             verify(applicationService, never()).findById(any());
-            verify(apiService, never()).findById(any());
+            verify(apiService, never()).findByIdLight(any());
             verify(roleService, times(1)).hasPermission(any(), any(), any());
             verify(membershipService, never()).getMemberPermissions(any(ApiEntity.class), any());
             verify(membershipService, never()).getMemberPermissions(any(ApplicationEntity.class), any());
@@ -237,7 +237,7 @@ public class PermissionFilterTest {
         permissionFilter.filter(permissions, containerRequestContext);
 
         verify(applicationService, never()).findById(any());
-        verify(apiService, never()).findById(any());
+        verify(apiService, never()).findByIdLight(any());
         verify(roleService, times(1)).hasPermission(any(), any(), any());
         verify(membershipService, never()).getMemberPermissions(any(ApiEntity.class), any());
         verify(membershipService, never()).getMemberPermissions(any(ApplicationEntity.class), any());
@@ -269,7 +269,7 @@ public class PermissionFilterTest {
             permissionFilter.filter(permissions, containerRequestContext);
         } catch(ForbiddenAccessException e) {
             verify(applicationService, never()).findById(any());
-            verify(apiService, never()).findById(any());
+            verify(apiService, never()).findByIdLight(any());
             verify(roleService, times(1)).hasPermission(any(), any(), any());
             verify(membershipService, never()).getMemberPermissions(any(ApiEntity.class), any());
             verify(membershipService, never()).getMemberPermissions(any(ApplicationEntity.class), any());
@@ -288,7 +288,7 @@ public class PermissionFilterTest {
         permissionFilter.filter(permissions, containerRequestContext);
 
         verify(applicationService, never()).findById(any());
-        verify(apiService, never()).findById(any());
+        verify(apiService, never()).findByIdLight(any());
         verify(roleService, times(1)).hasPermission(any(), any(), any());
         verify(membershipService, never()).getMemberPermissions(any(ApiEntity.class), any());
         verify(membershipService, never()).getMemberPermissions(any(ApplicationEntity.class), any());
@@ -111,6 +111,15 @@ public abstract class AbstractResourceTest extends JerseySpringTest {
     @Autowired
     protected MessageService messageService;
 
+    @Autowired
+    protected PictureService pictureService;
+
+    @Autowired
+    protected ApiArchiveService apiArchiveService;
+
+    @Autowired
+    protected IdentityService identityService;
+
     @Configuration
     @PropertySource("classpath:/io/gravitee/management/rest/resource/jwt.properties")
     static class ContextConfiguration {
@@ -209,5 +218,20 @@ public abstract class AbstractResourceTest extends JerseySpringTest {
         public MessageService messageService() {
             return mock(MessageService.class);
         }
+
+        @Bean
+        public PictureService pictureService() {
+            return mock(PictureService.class);
+        }
+
+        @Bean
+        public ApiArchiveService apiArchiveService() {
+            return mock(ApiArchiveService.class);
+        }
+
+        @Bean
+        public IdentityService identityService() {
+            return mock(IdentityService.class);
+        }
     }
 }
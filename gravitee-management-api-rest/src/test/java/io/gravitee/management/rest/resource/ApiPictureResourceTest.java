@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.rest.resource;
+
+import io.gravitee.management.model.InlinePictureEntity;
+import io.gravitee.management.model.Visibility;
+import io.gravitee.management.model.api.ApiEntity;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import java.util.Date;
+
+import static io.gravitee.common.http.HttpStatusCode.OK_200;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ApiPictureResourceTest extends AbstractResourceTest {
+
+    private static final String API = "my-api";
+    private static final Date UPDATED_AT = new Date(1500000000000L);
+
+    @Override
+    protected String contextPath() {
+        return "apis/" + API + "/picture";
+    }
+
+    @Before
+    public void init() {
+        reset(apiService);
+        final ApiEntity api = new ApiEntity();
+        api.setId(API);
+        api.setVisibility(Visibility.PUBLIC);
+        api.setUpdatedAt(UPDATED_AT);
+        doReturn(api).when(apiService).findByIdLight(API);
+
+        final InlinePictureEntity picture = new InlinePictureEntity();
+        picture.setType("image/png");
+        picture.setContent(new byte[]{1, 2, 3});
+        picture.setHash("0a1b2c");
+        doReturn(picture).when(apiService).getPicture(API);
+    }
+
+    @Test
+    public void shouldServeCurrentVersionAsImmutable() {
+        final Response response = target().queryParam("hash", UPDATED_AT.getTime()).request().get();
+
+        assertEquals(OK_200, response.getStatus());
+        assertTrue(response.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("immutable"));
+    }
+
+    @Test
+    public void shouldNotServeOutdatedVersionAsImmutable() {
+        final Response response = target().queryParam("hash", UPDATED_AT.getTime() - 1).request().get();
+
+        assertEquals(OK_200, response.getStatus());
+        assertFalse(response.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("immutable"));
+        assertTrue(response.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("max-age=86400"));
+    }
+}
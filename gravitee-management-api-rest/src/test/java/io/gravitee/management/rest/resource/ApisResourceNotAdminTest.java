@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.rest.resource;
+
+import io.gravitee.management.model.permissions.RolePermission;
+import io.gravitee.management.model.permissions.RolePermissionAction;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Matchers;
+
+import javax.annotation.Priority;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.SecurityContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+
+import static io.gravitee.common.http.HttpStatusCode.OK_200;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class ApisResourceNotAdminTest extends AbstractResourceTest {
+
+    private static final String PUBLIC_API = "public-api";
+    private static final String MY_API = "my-api";
+
+    @Override
+    protected String contextPath() {
+        return "apis";
+    }
+
+    @Override
+    protected void decorate(ResourceConfig resourceConfig) {
+        resourceConfig.register(AuthenticationFilter.class);
+    }
+
+    @Priority(50)
+    public static class AuthenticationFilter implements ContainerRequestFilter {
+        @Override
+        public void filter(final ContainerRequestContext requestContext) throws IOException {
+            requestContext.setSecurityContext(new SecurityContext() {
+                @Override
+                public Principal getUserPrincipal() {
+                    return () -> USER_NAME;
+                }
+                @Override
+                public boolean isUserInRole(String string) {
+                    return false;
+                }
+                @Override
+                public boolean isSecure() { return true; }
+                @Override
+                public String getAuthenticationScheme() { return "BASIC"; }
+            });
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldNotExportVisiblePublicApiWithoutReadPermission() {
+        reset(apiService, permissionService, apiArchiveService);
+        when(apiService.findIdsByUser(USER_NAME, null)).thenReturn(new HashSet<>(Arrays.asList(PUBLIC_API, MY_API)));
+        when(permissionService.hasPermission(RolePermission.API_DEFINITION, MY_API, RolePermissionAction.READ))
+                .thenReturn(true);
+
+        final Response response = target().path("export").path("archive").request().get();
+
+        assertEquals(OK_200, response.getStatus());
+        response.readEntity(byte[].class);
+        final ArgumentCaptor<Collection> apiIds = ArgumentCaptor.forClass(Collection.class);
+        verify(apiArchiveService).export(apiIds.capture(), eq("default"), any(OutputStream.class), Matchers.<String>anyVararg());
+        assertEquals(singletonList(MY_API), apiIds.getValue());
+    }
+}
@@ -25,7 +25,8 @@ import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.Response;
 
 import static org.junit.Assert.assertEquals;
-import static org.mockito.Mockito.doReturn;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
 
 /**
  * @author David BRASSELY (brasseld at gmail.com)
@@ -75,4 +76,18 @@ public class ApisResourceTest extends AbstractResourceTest {
         final Response response = target().request().post(Entity.json(apiEntity));
         assertEquals(HttpStatusCode.CREATED_201, response.getStatus());
     }
+
+    @Test
+    public void shouldNotExportArchiveWithUnknownApi() {
+        reset(apiService, apiArchiveService);
+        doReturn(true).when(apiService).exists("api1");
+
+        final Response response = target().path("export").path("archive")
+                .queryParam("ids", "api1")
+                .queryParam("ids", "unknown")
+                .request().get();
+
+        assertEquals(HttpStatusCode.NOT_FOUND_404, response.getStatus());
+        verify(apiArchiveService, never()).export(any(), any(), any(), Mockito.<String>anyVararg());
+    }
 }
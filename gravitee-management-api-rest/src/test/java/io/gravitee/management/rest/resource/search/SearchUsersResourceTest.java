@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.rest.resource.search;
+
+import io.gravitee.management.idp.core.authentication.IdentitySearchResult;
+import io.gravitee.management.rest.resource.AbstractResourceTest;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+
+import static io.gravitee.common.http.HttpStatusCode.OK_200;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.reset;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class SearchUsersResourceTest extends AbstractResourceTest {
+
+    @Override
+    protected String contextPath() {
+        return "search/users";
+    }
+
+    @Before
+    public void init() {
+        reset(identityService);
+    }
+
+    @Test
+    public void shouldReportTimedOutProviders() {
+        final IdentitySearchResult result = new IdentitySearchResult();
+        result.addTimedOutProvider("ldap");
+        result.addTimedOutProvider("ldap-2");
+        doReturn(result).when(identityService).search("jo");
+
+        final Response response = target().queryParam("q", "jo").request().get();
+
+        assertEquals(OK_200, response.getStatus());
+        assertEquals("ldap,ldap-2", response.getHeaderString(SearchUsersResource.TIMED_OUT_PROVIDERS_HEADER));
+    }
+
+    @Test
+    public void shouldNotReportTimedOutProvidersOfCompleteSearch() {
+        doReturn(new IdentitySearchResult()).when(identityService).search("jo");
+
+        final Response response = target().queryParam("q", "jo").request().get();
+
+        assertEquals(OK_200, response.getStatus());
+        assertNull(response.getHeaderString(SearchUsersResource.TIMED_OUT_PROVIDERS_HEADER));
+    }
+}
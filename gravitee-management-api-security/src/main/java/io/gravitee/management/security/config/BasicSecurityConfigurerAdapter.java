@@ -43,7 +43,6 @@ import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
 import java.util.Collection;
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -125,7 +124,7 @@ public class BasicSecurityConfigurerAdapter extends WebSecurityConfigurerAdapter
         config.setAllowedMethods(getPropertiesAsList("http.cors.allow-methods", "OPTIONS, GET, POST, PUT, DELETE"));
         config.setExposedHeaders(getPropertiesAsList("http.cors.exposed-headers", "ETag"));
         config.setMaxAge(environment.getProperty("http.cors.max-age", Long.class, 1728000L));
-        config.setExposedHeaders(Collections.singletonList("ETag"));
+        config.setExposedHeaders(asList("ETag", "X-Timed-Out-Identity-Providers"));
 
         final UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", config);
@@ -170,7 +169,8 @@ public class BasicSecurityConfigurerAdapter extends WebSecurityConfigurerAdapter
         cors(http);
 
         http
-                .addFilterBefore(new JWTAuthenticationFilter(jwtSecret, jwtCookieGenerator), BasicAuthenticationFilter.class);
+                .addFilterBefore(new JWTAuthenticationFilter(jwtSecret, jwtCookieGenerator,
+                        environment.getProperty("jwt.cache.maxSize", Integer.class, 1000)), BasicAuthenticationFilter.class);
     }
 
     private HttpSecurity authentication(HttpSecurity security) throws Exception {
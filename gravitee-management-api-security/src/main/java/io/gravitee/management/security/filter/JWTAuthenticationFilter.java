@@ -24,6 +24,7 @@ import io.gravitee.management.service.common.JWTHelper.Claims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.GenericFilterBean;
@@ -36,7 +37,11 @@ import javax.servlet.http.Cookie;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static java.net.URLDecoder.decode;
@@ -44,6 +49,10 @@ import static java.nio.charset.Charset.defaultCharset;
 import static org.apache.commons.lang3.StringUtils.isEmpty;
 
 /**
+ * The same token is sent with each request of a page. Verified tokens are kept, by digest, with their claims and
+ * authorities already decoded until they expire, in a cache of <code>jwt.cache.maxSize</code> tokens (0 to verify
+ * the token on each request).
+ *
  * @author Azize Elamrani (azize at gravitee.io)
  * @author GraviteeSource Team
  */
@@ -51,12 +60,29 @@ public class JWTAuthenticationFilter extends GenericFilterBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JWTAuthenticationFilter.class);
 
+    private static final String EXPIRATION_CLAIM = "exp";
+
     private final JWTVerifier jwtVerifier;
     private JWTCookieGenerator jwtCookieGenerator;
+    private final int cacheMaxSize;
+
+    /**
+     * Verified tokens by digest.
+     */
+    private final Map<String, VerifiedToken> verifiedTokens;
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
 
-    public JWTAuthenticationFilter(final String jwtSecret, final JWTCookieGenerator jwtCookieGenerator) {
+    public JWTAuthenticationFilter(final String jwtSecret, final JWTCookieGenerator jwtCookieGenerator, final int cacheMaxSize) {
         this.jwtVerifier = new JWTVerifier(jwtSecret);
         this.jwtCookieGenerator = jwtCookieGenerator;
+        this.cacheMaxSize = cacheMaxSize;
+        this.verifiedTokens = new LinkedHashMap<String, VerifiedToken>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > cacheMaxSize;
+            }
+        };
     }
 
     @Override
@@ -74,7 +100,7 @@ public class JWTAuthenticationFilter extends GenericFilterBean {
                     .filter(cookie -> authCookieName.equals(cookie.getName()))
                     .findAny();
             if (optionalStringToken.isPresent()) {
-                stringToken = decode(optionalStringToken.get().getValue(), defaultCharset().name());
+                stringToken = decodeCookie(optionalStringToken.get().getValue());
             }
         }
 
@@ -85,24 +111,13 @@ public class JWTAuthenticationFilter extends GenericFilterBean {
             if (stringToken.contains(authorizationSchema)) {
                 final String jwtToken = stringToken.substring(authorizationSchema.length()).trim();
                 try {
-                    final Map<String, Object> verify = jwtVerifier.verify(jwtToken);
+                    final VerifiedToken verifiedToken = verify(jwtToken);
 
-                    List<Map> permissions = (List<Map>) verify.get(Claims.PERMISSIONS);
-                    List<SimpleGrantedAuthority> authorities;
-
-                    if (permissions != null) {
-                        authorities = ((List<Map>) verify.get(Claims.PERMISSIONS)).stream()
-                                .map(map -> new SimpleGrantedAuthority(map.get("authority").toString()))
-                                .collect(Collectors.toList());
-                    } else {
-                        authorities = Collections.emptyList();
-                    }
-
-                    final UserDetails userDetails = new UserDetails(getStringValue(verify.get(Claims.SUBJECT)), "",
-                            authorities);
-                    userDetails.setEmail((String) verify.get(Claims.EMAIL));
-                    userDetails.setFirstname((String) verify.get(Claims.FIRSTNAME));
-                    userDetails.setLastname((String) verify.get(Claims.LASTNAME));
+                    // The principal is mutable, a new one is created for each request
+                    final UserDetails userDetails = new UserDetails(verifiedToken.subject, "", verifiedToken.authorities);
+                    userDetails.setEmail(verifiedToken.email);
+                    userDetails.setFirstname(verifiedToken.firstname);
+                    userDetails.setLastname(verifiedToken.lastname);
 
                     SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
                 } catch (final Exception e) {
@@ -123,6 +138,72 @@ public class JWTAuthenticationFilter extends GenericFilterBean {
         chain.doFilter(request, response);
     }
 
+    private VerifiedToken verify(final String jwtToken) throws Exception {
+        final String digest = cacheMaxSize > 0 ? digest(jwtToken) : null;
+        if (digest != null) {
+            final VerifiedToken verifiedToken;
+            synchronized (verifiedTokens) {
+                verifiedToken = verifiedTokens.get(digest);
+            }
+            if (verifiedToken != null && verifiedToken.expiresAt > System.currentTimeMillis()) {
+                logCacheStatistics(cacheHits.incrementAndGet(), cacheMisses.get());
+                return verifiedToken;
+            }
+        }
+
+        final VerifiedToken verifiedToken = convert(jwtVerifier.verify(jwtToken));
+        if (digest != null) {
+            synchronized (verifiedTokens) {
+                verifiedTokens.put(digest, verifiedToken);
+            }
+            logCacheStatistics(cacheHits.get(), cacheMisses.incrementAndGet());
+        }
+        return verifiedToken;
+    }
+
+    @SuppressWarnings(value = "unchecked")
+    private VerifiedToken convert(final Map<String, Object> claims) {
+        final List<Map> permissions = (List<Map>) claims.get(Claims.PERMISSIONS);
+        final List<GrantedAuthority> authorities;
+        if (permissions != null) {
+            authorities = Collections.unmodifiableList(permissions.stream()
+                    .map(map -> new SimpleGrantedAuthority(map.get("authority").toString()))
+                    .collect(Collectors.toList()));
+        } else {
+            authorities = Collections.emptyList();
+        }
+
+        final Object expiration = claims.get(EXPIRATION_CLAIM);
+        final long expiresAt = expiration instanceof Number ? ((Number) expiration).longValue() * 1000 : Long.MAX_VALUE;
+
+        return new VerifiedToken(getStringValue(claims.get(Claims.SUBJECT)), (String) claims.get(Claims.EMAIL),
+                (String) claims.get(Claims.FIRSTNAME), (String) claims.get(Claims.LASTNAME), authorities, expiresAt);
+    }
+
+    private String digest(final String jwtToken) {
+        try {
+            return Base64.getEncoder().encodeToString(
+                    MessageDigest.getInstance("SHA-256").digest(jwtToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException nsae) {
+            LOGGER.warn("Unable to compute the digest of the token, it will not be cached", nsae);
+            return null;
+        }
+    }
+
+    private void logCacheStatistics(long hits, long misses) {
+        if (LOGGER.isDebugEnabled() && (hits + misses) % 1000 == 0) {
+            LOGGER.debug("JWT cache: {} hits, {} misses, {} cached tokens", hits, misses, verifiedTokens.size());
+        }
+    }
+
+    private static String decodeCookie(final String value) throws IOException {
+        // Tokens are made of URL safe characters, only decode the values which have been encoded
+        if (value.indexOf('%') == -1 && value.indexOf('+') == -1) {
+            return value;
+        }
+        return decode(value, defaultCharset().name());
+    }
+
     private String getStringValue(final Object object) {
         if (object == null) {
             return "";
@@ -130,4 +211,22 @@ public class JWTAuthenticationFilter extends GenericFilterBean {
         return object.toString();
     }
 
+    private static class VerifiedToken {
+        private final String subject;
+        private final String email;
+        private final String firstname;
+        private final String lastname;
+        private final List<GrantedAuthority> authorities;
+        private final long expiresAt;
+
+        private VerifiedToken(String subject, String email, String firstname, String lastname,
+                              List<GrantedAuthority> authorities, long expiresAt) {
+            this.subject = subject;
+            this.email = email;
+            this.firstname = firstname;
+            this.lastname = lastname;
+            this.authorities = authorities;
+            this.expiresAt = expiresAt;
+        }
+    }
 }
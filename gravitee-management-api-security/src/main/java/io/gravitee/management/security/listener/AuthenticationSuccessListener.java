@@ -30,20 +30,29 @@ import io.gravitee.management.service.exceptions.UserNotFoundException;
 import io.gravitee.repository.management.model.MembershipDefaultReferenceId;
 import io.gravitee.repository.management.model.MembershipReferenceType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationListener;
 import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
 import org.springframework.security.core.GrantedAuthority;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 /**
+ * Stateless clients (HTTP Basic) are authenticated on each request. The connection of a user is recorded at most once
+ * every <code>user.connection.throttle</code> seconds, the following authentications within this period only resolve
+ * the technical identifier of the user from memory.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
  * @author GraviteeSource Team
  */
 public class AuthenticationSuccessListener implements ApplicationListener<AuthenticationSuccessEvent> {
 
+    private static final int MAX_CONNECTIONS = 1000;
+
     @Autowired
     private UserService userService;
 
@@ -53,9 +62,35 @@ public class AuthenticationSuccessListener implements ApplicationListener<Authen
     @Autowired
     private RoleService roleService;
 
+    @Value("${user.connection.throttle:300}")
+    private long connectionThrottle;
+
+    /**
+     * Last recorded connection by username.
+     */
+    private final Map<String, Connection> connections = new LinkedHashMap<String, Connection>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Connection> eldest) {
+            return size() > MAX_CONNECTIONS;
+        }
+    };
+
     @Override
     public void onApplicationEvent(AuthenticationSuccessEvent event) {
         final UserDetails details = (UserDetails) event.getAuthentication().getPrincipal();
+        final String username = details.getUsername();
+
+        if (connectionThrottle > 0) {
+            final Connection connection;
+            synchronized (connections) {
+                connection = connections.get(username);
+            }
+            if (connection != null && System.currentTimeMillis() - connection.connectedAt < connectionThrottle * 1000) {
+                // Principal username is the technical identifier of the user
+                details.setUsername(connection.userId);
+                return;
+            }
+        }
 
         try {
             UserEntity registeredUser = userService.findByUsername(details.getUsername(), false);
@@ -87,6 +122,12 @@ public class AuthenticationSuccessListener implements ApplicationListener<Authen
 
 
         userService.connect(details.getUsername());
+
+        if (connectionThrottle > 0) {
+            synchronized (connections) {
+                connections.put(username, new Connection(details.getUsername()));
+            }
+        }
     }
 
     private void updateRegisteredUser(UserEntity registeredUser, UserDetails details) {
@@ -197,4 +238,13 @@ public class AuthenticationSuccessListener implements ApplicationListener<Authen
             return MembershipReferenceType.PORTAL;
         }
     }
+
+    private static class Connection {
+        private final String userId;
+        private final long connectedAt = System.currentTimeMillis();
+
+        private Connection(String userId) {
+            this.userId = userId;
+        }
+    }
 }
@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.security.filter;
+
+import com.auth0.jwt.JWTSigner;
+import io.gravitee.common.http.HttpHeaders;
+import io.gravitee.management.idp.api.authentication.UserDetails;
+import io.gravitee.management.security.cookies.JWTCookieGenerator;
+import io.gravitee.management.service.common.JWTHelper.Claims;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.Cookie;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class JWTAuthenticationFilterTest {
+
+    private static final String JWT_SECRET = "s3cr3t";
+
+    private JWTAuthenticationFilter filter;
+
+    @Mock
+    private JWTCookieGenerator jwtCookieGenerator;
+
+    @Mock
+    private FilterChain chain;
+
+    @Before
+    public void init() {
+        filter = new JWTAuthenticationFilter(JWT_SECRET, jwtCookieGenerator, 10);
+        when(jwtCookieGenerator.generate(null)).thenReturn(new Cookie("Auth-Graviteeio-APIM", null));
+    }
+
+    @After
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void shouldAuthenticateTheSameTokenTwice() throws Exception {
+        final String token = sign(JWT_SECRET, System.currentTimeMillis() / 1000 + 3600);
+
+        final Authentication first = authenticate(token);
+        final Authentication second = authenticate(token);
+
+        assertEquals("user-id", ((UserDetails) first.getPrincipal()).getUsername());
+        assertEquals("user@gravitee.io", ((UserDetails) second.getPrincipal()).getEmail());
+        assertEquals(1, second.getAuthorities().size());
+        assertEquals("MANAGEMENT:USER", second.getAuthorities().iterator().next().getAuthority());
+        assertNotSame(first.getPrincipal(), second.getPrincipal());
+        verify(chain, times(2)).doFilter(any(), any());
+    }
+
+    @Test
+    public void shouldRejectExpiredToken() throws Exception {
+        final String token = sign(JWT_SECRET, System.currentTimeMillis() / 1000 - 60);
+
+        final MockHttpServletResponse response = filter(token);
+
+        assertEquals(401, response.getStatus());
+        verify(chain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    public void shouldRejectTokenSignedWithAnotherSecret() throws Exception {
+        final String token = sign("an0th3r", System.currentTimeMillis() / 1000 + 3600);
+
+        final MockHttpServletResponse response = filter(token);
+
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(chain, never()).doFilter(any(), any());
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        filter(token);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private MockHttpServletResponse filter(String token) throws Exception {
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private String sign(String secret, long expiration) {
+        final Map<String, Object> claims = new HashMap<>();
+        claims.put(Claims.SUBJECT, "user-id");
+        claims.put(Claims.EMAIL, "user@gravitee.io");
+        claims.put(Claims.PERMISSIONS, Collections.singletonList(Collections.singletonMap("authority", "MANAGEMENT:USER")));
+        claims.put("exp", expiration);
+        return new JWTSigner(secret).sign(claims);
+    }
+}
@@ -33,12 +33,15 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.*;
 
 /**
@@ -227,4 +230,26 @@ public class AuthenticationSuccessListenerTest {
                         new MembershipService.MembershipRole(RoleScope.PORTAL, "ADMIN"));
         verify(userServiceMock, times(1)).connect(userDetailsMock.getUsername());
     }
+
+    @Test
+    public void shouldThrottleConnections() {
+        ReflectionTestUtils.setField(listener, "connectionThrottle", 300L);
+        UserEntity registeredUser = new UserEntity();
+        registeredUser.setId("user-id");
+        when(userServiceMock.findByUsername(USERNAME, false)).thenReturn(registeredUser);
+
+        UserDetails firstDetails = new UserDetails(USERNAME, "", AuthorityUtils.NO_AUTHORITIES);
+        when(eventMock.getAuthentication()).thenReturn(authenticationMock);
+        when(authenticationMock.getPrincipal()).thenReturn(firstDetails);
+        listener.onApplicationEvent(eventMock);
+
+        UserDetails secondDetails = new UserDetails(USERNAME, "", AuthorityUtils.NO_AUTHORITIES);
+        when(authenticationMock.getPrincipal()).thenReturn(secondDetails);
+        listener.onApplicationEvent(eventMock);
+
+        assertEquals("user-id", firstDetails.getUsername());
+        assertEquals("user-id", secondDetails.getUsername());
+        verify(userServiceMock, times(1)).findByUsername(USERNAME, false);
+        verify(userServiceMock, times(1)).connect("user-id");
+    }
 }
@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.model.api.ApiImportResultEntity;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Bulk export and import of API definitions as a ZIP archive holding one JSON entry by API, named after the API
+ * identifier.
+ *
+ * @author GraviteeSource Team
+ */
+public interface ApiArchiveService {
+
+    /**
+     * Write the definitions of the given APIs to the output stream, one API at a time.
+     */
+    void export(Collection<String> apiIds, String exportVersion, OutputStream outputStream, String... filteredFields);
+
+    /**
+     * Import the definitions of an archive. An API already existing with the identifier of an entry is updated if
+     * <code>canUpdate</code> accepts it, other entries create new APIs. Each API is imported in its own transaction,
+     * so that a failing API does not prevent the others from being imported.
+     */
+    List<ApiImportResultEntity> importArchive(InputStream inputStream, String userId, Predicate<String> canUpdate);
+}
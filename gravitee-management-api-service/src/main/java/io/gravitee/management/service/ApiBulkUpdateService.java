@@ -0,0 +1,38 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.model.BulkUpdateJobEntity;
+
+import java.util.Collection;
+
+/**
+ * Updates applied to all the APIs referencing a view or a tag, run in the background as they can take a while on
+ * large catalogs.
+ *
+ * @author GraviteeSource Team
+ */
+public interface ApiBulkUpdateService {
+
+    BulkUpdateJobEntity deleteViewFromAPIs(String viewId);
+
+    BulkUpdateJobEntity deleteTagFromAPIs(String tagId);
+
+    /**
+     * @return the running and the most recent jobs.
+     */
+    Collection<BulkUpdateJobEntity> findJobs();
+}
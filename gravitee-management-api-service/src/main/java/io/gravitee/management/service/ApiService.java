@@ -16,6 +16,7 @@
 package io.gravitee.management.service;
 
 import io.gravitee.management.model.ApiModelEntity;
+import io.gravitee.management.model.CacheStatisticsEntity;
 import io.gravitee.management.model.EventType;
 import io.gravitee.management.model.InlinePictureEntity;
 import io.gravitee.management.model.Visibility;
@@ -26,6 +27,7 @@ import io.gravitee.management.model.api.UpdateApiEntity;
 import io.gravitee.management.model.api.header.ApiHeaderEntity;
 import io.gravitee.repository.exceptions.TechnicalException;
 
+import java.io.OutputStream;
 import java.util.*;
 
 /**
@@ -35,14 +37,42 @@ import java.util.*;
  */
 public interface ApiService {
 
+    /**
+     * Find an API, possibly from a cache. Its definition models (proxy, paths, services, resources and properties) may
+     * be shared with the other callers, they must not be modified: set new ones instead.
+     */
     ApiEntity findById(String apiId);
 
+    /**
+     * Get the hits and misses of the cache of the APIs found by id, by caller.
+     */
+    Map<String, CacheStatisticsEntity> getCacheStatistics();
+
+    /**
+     * Find an API without its definition, picture and primary owner, for the callers only requiring its header
+     * (name, version, visibility, groups...).
+     */
+    ApiEntity findByIdLight(String apiId);
+
     Set<ApiEntity> findAll();
 
     Set<ApiEntity> findAllLight();
 
+    /**
+     * Find the APIs visible by the user, for the lists of APIs: only the context path and the tags are read from their
+     * definition.
+     */
     Set<ApiEntity> findByUser(String userId, ApiQuery apiQuery);
 
+    /**
+     * Find the ids of the APIs visible by the user (public APIs, APIs and groups the user is member of), without
+     * reading their definition.
+     */
+    Set<String> findIdsByUser(String userId, ApiQuery apiQuery);
+
+    /**
+     * Like {@link #findByUser(String, ApiQuery)}, only the context path and the tags are read from the definitions.
+     */
     Set<ApiEntity> findByVisibility(Visibility visibility);
 
     ApiEntity create(NewApiEntity api, String userId);
@@ -65,6 +95,15 @@ public interface ApiService {
      * @return
      */
     boolean isSynchronized(String apiId);
+
+    /**
+     * Get the names of the API definition fields which have been updated since the last deployment of the API.
+     * The plans are not taken into account.
+     *
+     * @param apiId the API id
+     * @return the names of the updated fields, empty if the API has never been deployed
+     */
+    List<String> getDeploymentChanges(String apiId);
     
     ApiEntity deploy(String apiId, String userId, EventType eventType);
     
@@ -72,6 +111,11 @@ public interface ApiService {
 
     String exportAsJson(String apiId, String exportVersion, String... filteredFields);
 
+    /**
+     * Stream the export definition of the API to the given output stream, which is left open.
+     */
+    void exportAsJson(String apiId, String exportVersion, OutputStream outputStream, String... filteredFields);
+
     ApiEntity createOrUpdateWithDefinition(ApiEntity apiEntity, String apiDefinition, String userId);
 
     InlinePictureEntity getPicture(String apiId);
@@ -80,8 +124,28 @@ public interface ApiService {
 
     void deleteViewFromAPIs(String viewId);
 
+    /**
+     * @return the identifiers of the APIs belonging to the view.
+     */
+    Collection<String> searchIdsByView(String viewId);
+
+    /**
+     * Remove the view from the given APIs, which are loaded at once.
+     */
+    void deleteViewFromAPIs(Collection<String> apiIds, String viewId);
+
     void deleteTagFromAPIs(String tagId);
 
+    /**
+     * @return the identifiers of the APIs restricted to the sharding tag.
+     */
+    Collection<String> searchIdsByTag(String tagId);
+
+    /**
+     * Remove the sharding tag from the given APIs, which are loaded at once.
+     */
+    void deleteTagFromAPIs(Collection<String> apiIds, String tagId);
+
     void checkContextPath(String newContextPath) throws TechnicalException;
 
     ApiModelEntity findByIdForTemplates(String apiId);
@@ -111,6 +175,9 @@ public interface ApiService {
         return updateApiEntity;
     }
 
+    /**
+     * Like {@link #findByUser(String, ApiQuery)}, only the context path and the tags are read from the definitions.
+     */
     Collection<ApiEntity> search(ApiQuery query);
 
     Collection<ApiEntity> search(String query, Map<String, Object> filters) throws TechnicalException;
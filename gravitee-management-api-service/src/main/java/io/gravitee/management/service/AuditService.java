@@ -17,9 +17,12 @@ package io.gravitee.management.service;
 
 import io.gravitee.common.data.domain.MetadataPage;
 import io.gravitee.management.model.audit.AuditEntity;
+import io.gravitee.management.model.audit.AuditExportFormat;
 import io.gravitee.management.model.audit.AuditQuery;
+import io.gravitee.management.model.audit.AuditQueueStatisticsEntity;
 import io.gravitee.repository.management.model.Audit;
 
+import java.io.OutputStream;
 import java.util.Date;
 import java.util.Map;
 
@@ -36,4 +39,16 @@ public interface AuditService {
     void createPortalAuditLog(Map<Audit.AuditProperties,String> properties, Audit.AuditEvent event, String username, Date createdAt, Object oldValue, Object newValue);
 
     MetadataPage<AuditEntity> search(AuditQuery query);
+
+    /**
+     * Write all the audit logs matching the query, whatever its page and size, one page after the other so that the
+     * export does not depend on the number of audit logs. Audit logs created during the export are left out.
+     */
+    void export(AuditQuery query, AuditExportFormat format, OutputStream outputStream);
+
+    /**
+     * @return the number of audit logs waiting to be written, and of those written by the caller because the queue
+     * was full.
+     */
+    AuditQueueStatisticsEntity getQueueStatistics();
 }
@@ -38,6 +38,16 @@ public interface EventService {
     
     void delete(String eventId);
 
+    /**
+     * Delete the oldest lifecycle events of an API, only the last <code>deploymentsToKeep</code> deployments (and
+     * the events which follow them) are kept.
+     *
+     * @param apiId the API id
+     * @param deploymentsToKeep the number of deployments to keep, must be greater than 0
+     * @return the number of deleted events
+     */
+    int purgeApiEvents(String apiId, int deploymentsToKeep);
+
     Page<EventEntity> search(
             List<EventType> eventTypes, Map<String, Object> properties, long from, long to, int page, int size);
 
@@ -16,9 +16,12 @@
 package io.gravitee.management.service;
 
 import io.gravitee.management.idp.api.identity.SearchableUser;
+import io.gravitee.management.idp.core.authentication.IdentitySearchResult;
+import io.gravitee.management.model.SearchLatencyEntity;
 import io.gravitee.management.model.providers.User;
 
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -27,7 +30,17 @@ import java.util.Optional;
  */
 public interface IdentityService {
 
-    Collection<SearchableUser> search(String query);
+    IdentitySearchResult search(String query);
 
     Optional<User> findByReference(String reference);
+
+    /**
+     * Resolve users from their exact username, usernames unknown by the identity providers are not part of the result.
+     */
+    Map<String, SearchableUser> searchByUsernames(Collection<String> usernames);
+
+    /**
+     * @return the latencies of the searches, keyed by identity provider.
+     */
+    Map<String, SearchLatencyEntity> getSearchLatencies();
 }
@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.model.ClusterLeaseEntity;
+
+import java.util.Collection;
+
+/**
+ * Elects, for each cluster-singleton background job, the management node expected to run it.
+ *
+ * @author GraviteeSource Team
+ */
+public interface LeaderElectionService {
+
+    String SUBSCRIPTIONS_REFRESHER_JOB = "subscriptions-refresher";
+    String DYNAMIC_PROPERTIES_JOB = "dynamic-properties";
+    String DICTIONARIES_JOB = "dictionaries";
+    String EVENTS_RETENTION_JOB = "events-retention";
+
+    /**
+     * Check whether the current node owns the lease of the job, from the last known lease, without blocking. The leases
+     * are acquired and renewed in background, a job unknown so far is not the leader until its lease is acquired.
+     *
+     * @param job the job name
+     * @return <code>true</code> if the current node is the leader for this job and must run it
+     */
+    boolean isLeader(String job);
+
+    String getNodeId();
+
+    Collection<ClusterLeaseEntity> findLeases();
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.model.InlinePictureEntity;
+
+/**
+ * Decodes the pictures (API logos, user avatars) and keeps them in a bounded cache, indexed by their content so that
+ * the same picture is decoded only once.
+ *
+ * @author GraviteeSource Team
+ */
+public interface PictureService {
+
+    /**
+     * Decode a picture stored as a data URI (<code>data:image/png;base64,...</code>).
+     */
+    InlinePictureEntity decode(String dataUri);
+
+    /**
+     * Load a picture from the file system, the file is read again only if it has been modified.
+     */
+    InlinePictureEntity load(String path, String type);
+
+    /**
+     * Scale down the picture so that it fits in a square of the given size. The picture is returned as is if it is
+     * already smaller or if its format is not supported.
+     */
+    InlinePictureEntity resize(InlinePictureEntity picture, int size);
+}
@@ -15,10 +15,12 @@
  */
 package io.gravitee.management.service;
 
+import io.gravitee.management.model.BulkUpdateJobEntity;
 import io.gravitee.management.model.notification.NewPortalNotificationEntity;
 import io.gravitee.management.model.notification.PortalNotificationEntity;
 import io.gravitee.management.service.notification.Hook;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -31,6 +33,24 @@ public interface PortalNotificationService {
 
     void create(Hook hook, List<String> users, Object param);
 
+    /**
+     * Notify a large number of users in the background. The notification is rendered during the call, then written
+     * by chunks.
+     */
+    BulkUpdateJobEntity createInBackground(Hook hook, Collection<String> users, Object param);
+
+    /**
+     * @return the running and the most recent notification jobs.
+     */
+    Collection<BulkUpdateJobEntity> findJobs();
+
+    /**
+     * Run again a failed notification job, the users notified before the failure being skipped.
+     *
+     * @return the job, unchanged if it has not failed.
+     */
+    BulkUpdateJobEntity retry(String jobId);
+
     void delete(String notificationId);
 
     void deleteAll(String user);
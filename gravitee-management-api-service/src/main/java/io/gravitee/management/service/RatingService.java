@@ -19,6 +19,9 @@ import io.gravitee.common.data.domain.Page;
 import io.gravitee.management.model.*;
 import io.gravitee.repository.management.api.search.Pageable;
 
+import java.util.Map;
+import java.util.Set;
+
 /**
  * @author Azize ELAMRANI (azize at graviteesource.com)
  * @author GraviteeSource Team
@@ -33,6 +36,13 @@ public interface RatingService {
 
     RatingSummaryEntity findSummaryByApi(String api);
 
+    /**
+     * Find the rating summaries of several APIs at once, for the lists of APIs.
+     *
+     * @return the summaries by API id
+     */
+    Map<String, RatingSummaryEntity> findSummariesByApis(Set<String> apis);
+
     RatingEntity findByApiForConnectedUser(String api);
 
     RatingEntity update(UpdateRatingEntity rating);
@@ -40,4 +40,5 @@ public interface RoleService {
     List<RoleEntity> findByScope(RoleScope scope);
     List<RoleEntity> findDefaultRoleByScopes(RoleScope... scopes);
     boolean hasPermission(Map<String, char[]> userPermissions, Permission permission, RolePermissionAction[] acls);
+    boolean hasRolePermission(RoleEntity role, Permission permission, RolePermissionAction[] acls);
 }
@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.common;
+
+import io.gravitee.management.service.exceptions.TechnicalManagementException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes / decodes the payload of an event.
+ *
+ * Compressed payloads are GZIP'ed, base64 encoded and prefixed with {@link #GZIP_PREFIX} so that plain (legacy)
+ * payloads can still be read transparently.
+ *
+ * @author GraviteeSource Team
+ */
+public final class EventPayloadCodec {
+
+    public static final String GZIP_PREFIX = "gzip+base64:";
+
+    private EventPayloadCodec() {
+    }
+
+    public static String encode(String payload) {
+        if (payload == null || isEncoded(payload)) {
+            return payload;
+        }
+
+        try {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(payload.getBytes(StandardCharsets.UTF_8));
+            }
+            return GZIP_PREFIX + Base64.getEncoder().encodeToString(out.toByteArray());
+        } catch (IOException ioe) {
+            throw new TechnicalManagementException("An error occurs while compressing event payload", ioe);
+        }
+    }
+
+    public static String decode(String payload) {
+        if (payload == null || !isEncoded(payload)) {
+            return payload;
+        }
+
+        final byte[] compressed = Base64.getDecoder().decode(payload.substring(GZIP_PREFIX.length()));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = gzip.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } catch (IOException ioe) {
+            throw new TechnicalManagementException("An error occurs while decompressing event payload", ioe);
+        }
+    }
+
+    public static boolean isEncoded(String payload) {
+        return payload != null && payload.startsWith(GZIP_PREFIX);
+    }
+}
@@ -279,7 +279,7 @@ public class AnalyticsServiceImpl implements AnalyticsService {
         Map<String, String> metadata = new HashMap<>();
 
         try {
-            ApiEntity apiEntity = apiService.findById(api);
+            ApiEntity apiEntity = apiService.findByIdLight(api);
             metadata.put("name", apiEntity.getName());
             metadata.put("version", apiEntity.getVersion());
         } catch (ApiNotFoundException anfe) {
@@ -0,0 +1,215 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.management.model.NewGroupEntity;
+import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.model.api.ApiImportResultEntity;
+import io.gravitee.management.service.ApiArchiveService;
+import io.gravitee.management.service.ApiService;
+import io.gravitee.management.service.GroupService;
+import io.gravitee.management.service.exceptions.TechnicalManagementException;
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * APIs are exported one after the other straight into the archive, so that only one definition is held in memory at
+ * a time.
+ *
+ * On import, entries are read sequentially from the archive and each API is created or updated by a pool of
+ * <code>api.import.threads</code> workers. The service is not transactional itself: each call to the {@link ApiService}
+ * runs in its own transaction. The number of definitions read ahead of the workers is bounded.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class ApiArchiveServiceImpl implements ApiArchiveService {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ApiArchiveServiceImpl.class);
+
+    private static final String ENTRY_EXTENSION = ".json";
+
+    @Autowired
+    private ApiService apiService;
+
+    @Autowired
+    private GroupService groupService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${api.import.threads:4}")
+    private int threads;
+
+    @Override
+    public void export(Collection<String> apiIds, String exportVersion, OutputStream outputStream, String... filteredFields) {
+        try {
+            final ZipOutputStream zip = new ZipOutputStream(outputStream);
+            for (String apiId : apiIds) {
+                zip.putNextEntry(new ZipEntry(apiId + ENTRY_EXTENSION));
+                apiService.exportAsJson(apiId, exportVersion, zip, filteredFields);
+                zip.closeEntry();
+            }
+            zip.finish();
+        } catch (IOException ioe) {
+            LOGGER.error("An error occurs while trying to export APIs {}", apiIds, ioe);
+            throw new TechnicalManagementException("An error occurs while trying to export APIs " + apiIds, ioe);
+        }
+    }
+
+    @Override
+    public List<ApiImportResultEntity> importArchive(InputStream inputStream, String userId, Predicate<String> canUpdate) {
+        final List<Future<ApiImportResultEntity>> futures = new ArrayList<>();
+        final ExecutorService executor = threads > 1 ?
+                new DelegatingSecurityContextExecutorService(
+                        Executors.newFixedThreadPool(threads), SecurityContextHolder.getContext()) :
+                null;
+        final Semaphore readAhead = new Semaphore(Math.max(threads, 1) * 2);
+
+        try (ZipInputStream zip = new ZipInputStream(inputStream)) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                final String entryName = entry.getName();
+                if (entry.isDirectory() || !entryName.endsWith(ENTRY_EXTENSION)) {
+                    continue;
+                }
+
+                final String apiId = getApiId(entryName);
+                final String apiDefinition = new String(IOUtils.toByteArray(zip), StandardCharsets.UTF_8);
+                final Callable<ApiImportResultEntity> task =
+                        prepareImport(entryName, apiId, apiDefinition, userId, canUpdate);
+
+                if (executor == null) {
+                    futures.add(CompletableFuture.completedFuture(task.call()));
+                } else {
+                    readAhead.acquire();
+                    futures.add(executor.submit(() -> {
+                        try {
+                            return task.call();
+                        } finally {
+                            readAhead.release();
+                        }
+                    }));
+                }
+            }
+
+            final List<ApiImportResultEntity> results = new ArrayList<>(futures.size());
+            for (Future<ApiImportResultEntity> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new TechnicalManagementException("The import of the APIs has been interrupted", ie);
+        } catch (Exception ex) {
+            LOGGER.error("An error occurs while trying to import APIs archive", ex);
+            throw new TechnicalManagementException("An error occurs while trying to import APIs archive", ex);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private Callable<ApiImportResultEntity> prepareImport(String entryName, String apiId, String apiDefinition,
+                                                          String userId, Predicate<String> canUpdate) {
+        if (apiService.exists(apiId) && !canUpdate.test(apiId)) {
+            return () -> failure(entryName, apiId, "You are not allowed to update the API " + apiId);
+        }
+
+        try {
+            // groups are created before handing the definition to the workers, to not create them twice
+            createGroups(apiDefinition);
+        } catch (IOException ioe) {
+            LOGGER.error("An error occurs while trying to read API definition {}", entryName, ioe);
+            return () -> failure(entryName, apiId, "Invalid API definition");
+        }
+
+        return () -> importDefinition(entryName, apiId, apiDefinition, userId);
+    }
+
+    private ApiImportResultEntity importDefinition(String entryName, String apiId, String apiDefinition, String userId) {
+        try {
+            ApiEntity existingApi = null;
+            if (apiService.exists(apiId)) {
+                existingApi = new ApiEntity();
+                existingApi.setId(apiId);
+            }
+
+            final ApiEntity api = apiService.createOrUpdateWithDefinition(existingApi, apiDefinition, userId);
+            if (api == null) {
+                return failure(entryName, apiId, "Invalid API definition");
+            }
+
+            final ApiImportResultEntity result = new ApiImportResultEntity();
+            result.setEntry(entryName);
+            result.setId(api.getId());
+            result.setName(api.getName());
+            return result;
+        } catch (RuntimeException re) {
+            LOGGER.error("An error occurs while trying to import API definition {}", entryName, re);
+            return failure(entryName, apiId, re.getMessage());
+        }
+    }
+
+    private void createGroups(String apiDefinition) throws IOException {
+        final JsonNode groups = objectMapper.readTree(apiDefinition).path("groups");
+        if (groups.isArray()) {
+            for (JsonNode group : groups) {
+                final String name = group.asText();
+                if (groupService.findByName(name).isEmpty()) {
+                    NewGroupEntity newGroupEntity = new NewGroupEntity();
+                    newGroupEntity.setName(name);
+                    groupService.create(newGroupEntity);
+                }
+            }
+        }
+    }
+
+    private ApiImportResultEntity failure(String entryName, String apiId, String error) {
+        final ApiImportResultEntity result = new ApiImportResultEntity();
+        result.setEntry(entryName);
+        result.setId(apiId);
+        result.setError(error);
+        return result;
+    }
+
+    private static String getApiId(String entryName) {
+        final String fileName = entryName.substring(entryName.lastIndexOf('/') + 1);
+        return fileName.substring(0, fileName.length() - ENTRY_EXTENSION.length());
+    }
+}
@@ -0,0 +1,138 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl;
+
+import io.gravitee.common.utils.UUID;
+import io.gravitee.management.model.BulkUpdateJobEntity;
+import io.gravitee.management.service.ApiBulkUpdateService;
+import io.gravitee.management.service.ApiService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Jobs are run one after the other by a single background thread. The identifiers of the impacted APIs are searched
+ * first, then APIs are updated by batches of {@link #BATCH_SIZE}, each batch in its own transaction.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class ApiBulkUpdateServiceImpl implements ApiBulkUpdateService, DisposableBean {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(ApiBulkUpdateServiceImpl.class);
+
+    static final int BATCH_SIZE = 100;
+    private static final int MAX_FINISHED_JOBS = 20;
+
+    @Autowired
+    private ApiService apiService;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gio-api-bulk-update");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Deque<BulkUpdateJobEntity> jobs = new ArrayDeque<>();
+
+    @Override
+    public BulkUpdateJobEntity deleteViewFromAPIs(String viewId) {
+        return submit(BulkUpdateJobEntity.Type.DELETE_VIEW, viewId,
+                apiService::searchIdsByView, apiService::deleteViewFromAPIs);
+    }
+
+    @Override
+    public BulkUpdateJobEntity deleteTagFromAPIs(String tagId) {
+        return submit(BulkUpdateJobEntity.Type.DELETE_TAG, tagId,
+                apiService::searchIdsByTag, apiService::deleteTagFromAPIs);
+    }
+
+    @Override
+    public Collection<BulkUpdateJobEntity> findJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs);
+        }
+    }
+
+    private BulkUpdateJobEntity submit(BulkUpdateJobEntity.Type type, String reference,
+                                       Function<String, Collection<String>> search,
+                                       BiConsumer<Collection<String>, String> update) {
+        final BulkUpdateJobEntity job = new BulkUpdateJobEntity();
+        job.setId(UUID.toString(UUID.random()));
+        job.setType(type);
+        job.setReference(reference);
+        job.setCreatedAt(new Date());
+
+        synchronized (jobs) {
+            jobs.addFirst(job);
+            // forget the oldest finished jobs
+            long finished = jobs.stream().filter(this::isFinished).count();
+            for (Iterator<BulkUpdateJobEntity> it = jobs.descendingIterator(); it.hasNext() && finished > MAX_FINISHED_JOBS; ) {
+                if (isFinished(it.next())) {
+                    it.remove();
+                    finished--;
+                }
+            }
+        }
+
+        // the job is run on behalf of the current user, for the audit logs
+        executor.execute(new DelegatingSecurityContextRunnable(() -> run(job, search, update)));
+        return job;
+    }
+
+    private void run(BulkUpdateJobEntity job, Function<String, Collection<String>> search,
+                     BiConsumer<Collection<String>, String> update) {
+        LOGGER.debug("Start job {}", job);
+        job.setState(BulkUpdateJobEntity.State.RUNNING);
+        try {
+            final List<String> apiIds = new ArrayList<>(search.apply(job.getReference()));
+            job.setTotal(apiIds.size());
+
+            for (int i = 0; i < apiIds.size(); i += BATCH_SIZE) {
+                final List<String> batch = apiIds.subList(i, Math.min(i + BATCH_SIZE, apiIds.size()));
+                update.accept(batch, job.getReference());
+                job.setProcessed(i + batch.size());
+            }
+
+            job.setState(BulkUpdateJobEntity.State.SUCCESS);
+            LOGGER.debug("Job {} done", job);
+        } catch (Exception ex) {
+            LOGGER.error("An error occurs while running job {}", job, ex);
+            job.setError(ex.getMessage());
+            job.setState(BulkUpdateJobEntity.State.FAILURE);
+        } finally {
+            job.setEndedAt(new Date());
+        }
+    }
+
+    private boolean isFinished(BulkUpdateJobEntity job) {
+        return job.getState() == BulkUpdateJobEntity.State.SUCCESS || job.getState() == BulkUpdateJobEntity.State.FAILURE;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -15,14 +15,21 @@
  */
 package io.gravitee.management.service.impl;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import freemarker.template.Configuration;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import io.gravitee.common.component.Lifecycle;
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.definition.model.EndpointGroup;
 import io.gravitee.definition.model.Path;
@@ -42,6 +49,7 @@ import io.gravitee.management.model.notification.GenericNotificationConfigEntity
 import io.gravitee.management.model.permissions.SystemRole;
 import io.gravitee.management.model.plan.PlanQuery;
 import io.gravitee.management.service.*;
+import io.gravitee.management.service.event.MembershipEvent;
 import io.gravitee.management.service.exceptions.*;
 import io.gravitee.management.service.jackson.ser.api.ApiSerializer;
 import io.gravitee.management.service.notification.ApiHook;
@@ -58,18 +66,21 @@ import io.gravitee.repository.management.api.search.ApiCriteria;
 import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
 import io.gravitee.repository.management.model.*;
 import io.gravitee.repository.management.model.Visibility;
-import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.ui.freemarker.FreeMarkerTemplateUtils;
 
-import javax.xml.bind.DatatypeConverter;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -91,16 +102,30 @@ import static org.apache.commons.lang3.StringUtils.isBlank;
  * @author GraviteeSource Team
  */
 @Component
-public class ApiServiceImpl extends TransactionalService implements ApiService {
+public class ApiServiceImpl extends TransactionalService implements ApiService, InitializingBean {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(ApiServiceImpl.class);
 
+    /**
+     * Event property holding the hash of the deployment required fields of the deployed API.
+     */
+    static final String DEPLOYMENT_HASH_PROPERTY = "deployment_hash";
+    /**
+     * Event property holding the digests of each deployment required field of the deployed API, as a JSON object.
+     */
+    static final String DEPLOYMENT_DIGESTS_PROPERTY = "deployment_digests";
+    /**
+     * Under this number of APIs, converting them in parallel costs more than it saves.
+     */
+    private static final int PARALLEL_CONVERSION_THRESHOLD = 50;
+
     @Autowired
     private ApiRepository apiRepository;
     @Autowired
     private MembershipRepository membershipRepository;
     @Autowired
     private ObjectMapper objectMapper;
+    private volatile JsonCodecs codecs;
     @Autowired
     private EventService eventService;
     @Autowired
@@ -117,6 +142,12 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
     private ApiSynchronizationProcessor apiSynchronizationProcessor;
     @Value("${configuration.default-icon:${gravitee.home}/assets/default_api_logo.png}")
     private String defaultIcon;
+    @Value("${api.contextPath.index.resync:10}")
+    private long contextPathIndexResync;
+    @Value("${api.cache.maxSize:1000}")
+    private int cacheMaxSize;
+    @Value("${api.cache.ttl:60}")
+    private long cacheTtl;
     @Autowired
     private ApiMetadataService apiMetadataService;
     @Autowired
@@ -139,6 +170,63 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
     private ApiHeaderService apiHeaderService;
     @Autowired
     private Configuration freemarkerConfiguration;
+    @Autowired
+    private PictureService pictureService;
+    @Autowired
+    private EventManager eventManager;
+
+    /**
+     * Deployment hash of the current state of each API, valid as long as the API has not been updated
+     * (it is then lazily recomputed).
+     */
+    private final Map<String, DeploymentHash> deploymentHashes = new ConcurrentHashMap<>();
+
+    /**
+     * Sub-context paths of all the APIs. The APIs created, updated or deleted by this node are indexed once committed.
+     * The changes made by the other management nodes are caught up at most every <code>api.contextPath.index.resync</code>
+     * seconds: the index is then synchronized with the headers (identifier and update date) of the APIs, and only the
+     * definitions of the APIs changed since are read.
+     */
+    private final ContextPathIndex contextPathIndex = new ContextPathIndex();
+    /**
+     * Update date of each indexed API, guarded by the index.
+     */
+    private final Map<String, Date> contextPathIndexUpdates = new HashMap<>();
+    private final Lock contextPathIndexSync = new ReentrantLock();
+    private volatile long contextPathIndexSyncedAt;
+
+    /**
+     * Last APIs found by id (definition parsed and primary owner resolved), reused as long as the API has not been
+     * updated. The time to live bounds the staleness of the data not tracked by the update date (primary owner).
+     * The parsed definition models are shared by all the hits and never modified.
+     */
+    private final Map<String, CachedApi> cachedApis = new LinkedHashMap<String, CachedApi>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedApi> eldest) {
+            return size() > cacheMaxSize;
+        }
+    };
+    /**
+     * Hits and misses of the cache, by caller.
+     */
+    private final Map<String, CacheStatistics> cacheStatistics = new ConcurrentHashMap<>();
+
+    /**
+     * API and group memberships of the last users having listed their APIs, evicted when the memberships of the user
+     * are updated on this node. The time to live bounds the staleness of the updates made on the other nodes.
+     */
+    private final Map<String, UserVisibility> userVisibilities = new LinkedHashMap<String, UserVisibility>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, UserVisibility> eldest) {
+            return size() > cacheMaxSize;
+        }
+    };
+
+    @Override
+    public void afterPropertiesSet() {
+        final EventListener<MembershipEvent, String> membershipListener = event -> evictUserVisibility(event.content());
+        eventManager.subscribeForEvents(membershipListener, MembershipEvent.class);
+    }
 
     @Override
     public ApiEntity create(NewApiEntity newApiEntity, String userId) throws ApiAlreadyExistsException {
@@ -224,6 +312,9 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
                 }
 
                 Api createdApi = apiRepository.create(repoApi);
+                final String contextPath = api.getProxy().getContextPath();
+                TransactionCallbacks.afterCommit(() ->
+                        indexContextPath(createdApi.getId(), contextPath, createdApi.getUpdatedAt()));
                 // Audit
                 auditService.createApiAuditLog(
                         createdApi.getId(),
@@ -240,6 +331,7 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
                 membership.setCreatedAt(repoApi.getCreatedAt());
                 membership.setUpdatedAt(repoApi.getCreatedAt());
                 membershipRepository.create(membership);
+                evictUserVisibility(primaryOwner.getId());
                 // create the default mail notification
                 if (primaryOwner.getEmail() != null && !primaryOwner.getEmail().isEmpty()) {
                     GenericNotificationConfigEntity notificationConfigEntity = new GenericNotificationConfigEntity();
@@ -271,37 +363,134 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
     }
 
     private void checkContextPath(String newContextPath, final String apiId) throws TechnicalException {
-        if (newContextPath.charAt(0) != '/') {
-            newContextPath = '/' + newContextPath;
+        final String newSubContextPath = ContextPathIndex.subContextPath(newContextPath);
+
+        resynchronizeContextPathIndex();
+        if (contextPathIndex.overlaps(newSubContextPath, apiId)) {
+            throw new ApiContextPathAlreadyExistsException(newSubContextPath);
+        }
+    }
+
+    private boolean isContextPathIndexStale() {
+        return contextPathIndexSyncedAt == 0 ||
+                System.currentTimeMillis() - contextPathIndexSyncedAt >= contextPathIndexResync * 1000;
+    }
+
+    /**
+     * Catches up the changes made by the other management nodes if the last synchronization is too old. Only the first
+     * synchronization is waited for, the checks then go on with the current index while another thread synchronizes it.
+     */
+    private void resynchronizeContextPathIndex() throws TechnicalException {
+        if (!isContextPathIndexStale()) {
+            return;
+        }
+        if (contextPathIndexSyncedAt == 0) {
+            contextPathIndexSync.lock();
+        } else if (!contextPathIndexSync.tryLock()) {
+            return;
         }
-        if (newContextPath.charAt(newContextPath.length() - 1) == '/') {
-            newContextPath = newContextPath.substring(0, newContextPath.length() - 1);
+        try {
+            if (isContextPathIndexStale()) {
+                final long now = System.currentTimeMillis();
+                synchronizeContextPathIndex();
+                contextPathIndexSyncedAt = now;
+            }
+        } finally {
+            contextPathIndexSync.unlock();
         }
+    }
 
-        final int indexOfEndOfNewSubContextPath = newContextPath.lastIndexOf('/', 1);
-        final String newSubContextPath = newContextPath.substring(0, indexOfEndOfNewSubContextPath <= 0 ?
-                newContextPath.length() : indexOfEndOfNewSubContextPath) + '/';
+    /**
+     * Reads the repository without holding the index, the APIs committed meanwhile by this node being indexed by the
+     * after commit callbacks.
+     */
+    private void synchronizeContextPathIndex() throws TechnicalException {
+        final Map<String, Date> indexedApis;
+        synchronized (contextPathIndex) {
+            indexedApis = new HashMap<>(contextPathIndexUpdates);
+        }
 
-        final boolean contextPathExists = apiRepository.search(null).stream()
-                .filter(api -> !api.getId().equals(apiId))
-                .anyMatch(api -> {
-                    final String contextPath = convert(api, null).getProxy().getContextPath();
-                    final int indexOfEndOfSubContextPath = contextPath.lastIndexOf('/', 1);
-                    final String subContextPath = contextPath.substring(0, indexOfEndOfSubContextPath <= 0 ?
-                            contextPath.length() : indexOfEndOfSubContextPath) + '/';
+        final List<Api> headers = apiRepository.search(null,
+                new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build());
 
-                    return subContextPath.startsWith(newSubContextPath) || newSubContextPath.startsWith(subContextPath);
-                });
-        if (contextPathExists) {
-            throw new ApiContextPathAlreadyExistsException(newSubContextPath);
+        final Set<String> apiIds = new HashSet<>(headers.size());
+        final List<String> updatedApiIds = new ArrayList<>();
+        for (Api header : headers) {
+            apiIds.add(header.getId());
+            if (!indexedApis.containsKey(header.getId()) ||
+                    !Objects.equals(indexedApis.get(header.getId()), header.getUpdatedAt())) {
+                updatedApiIds.add(header.getId());
+            }
+        }
+
+        // The APIs indexed before reading the headers, but missing from them, have been deleted
+        indexedApis.keySet().stream()
+                .filter(indexedApiId -> !apiIds.contains(indexedApiId))
+                .forEach(this::unindexContextPath);
+
+        if (!updatedApiIds.isEmpty()) {
+            LOGGER.debug("Index the context paths of {} APIs", updatedApiIds.size());
+            final ApiCriteria criteria = updatedApiIds.size() == headers.size() ? null :
+                    new ApiCriteria.Builder().ids(updatedApiIds.toArray(new String[0])).build();
+            for (Api api : apiRepository.search(criteria, new ApiFieldExclusionFilter.Builder().excludePicture().build())) {
+                indexContextPath(api.getId(), getContextPath(api), api.getUpdatedAt());
+            }
+        }
+    }
+
+    private void indexContextPath(String apiId, String contextPath, Date updatedAt) {
+        synchronized (contextPathIndex) {
+            final Date indexedUpdatedAt = contextPathIndexUpdates.get(apiId);
+            if (indexedUpdatedAt != null && updatedAt != null && indexedUpdatedAt.after(updatedAt)) {
+                // Indexed meanwhile from a more recent state of the API
+                return;
+            }
+            if (contextPath == null) {
+                contextPathIndex.remove(apiId);
+            } else {
+                contextPathIndex.put(apiId, contextPath);
+            }
+            contextPathIndexUpdates.put(apiId, updatedAt);
+        }
+    }
+
+    private void unindexContextPath(String apiId) {
+        synchronized (contextPathIndex) {
+            contextPathIndex.remove(apiId);
+            contextPathIndexUpdates.remove(apiId);
+        }
+    }
+
+    private String getContextPath(Api api) {
+        if (api.getDefinition() == null) {
+            return null;
+        }
+        try {
+            final io.gravitee.definition.model.Api apiDefinition = codecs().definitionReader.readValue(api.getDefinition());
+            return apiDefinition.getProxy() == null ? null : apiDefinition.getProxy().getContextPath();
+        } catch (IOException ioe) {
+            LOGGER.error("Unexpected error while reading the context path of API {}", api.getId(), ioe);
+            return null;
         }
     }
 
     @Override
     public ApiEntity findById(String apiId) {
+        return findById(apiId, "findById");
+    }
+
+    /**
+     * @param caller the name under which the cache hits and misses are counted
+     */
+    private ApiEntity findById(String apiId, String caller) {
         try {
             LOGGER.debug("Find API by ID: {}", apiId);
 
+            final ApiEntity cachedApi = findCachedApi(apiId, caller);
+            if (cachedApi != null) {
+                return cachedApi;
+            }
+
             Optional<Api> api = apiRepository.findById(apiId);
 
             if (api.isPresent()) {
@@ -317,7 +506,9 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
                     throw new TechnicalException("The API " + apiId + " doesn't have any primary owner.");
                 }
 
-                return convert(api.get(), userService.findById(primaryOwnerMembership.get().getUserId()));
+                final ApiEntity apiEntity = convert(api.get(), userService.findById(primaryOwnerMembership.get().getUserId()));
+                cacheApi(apiEntity);
+                return apiEntity;
             }
 
             throw new ApiNotFoundException(apiId);
@@ -327,11 +518,125 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
         }
     }
 
+    @Override
+    public ApiEntity findByIdLight(String apiId) {
+        try {
+            LOGGER.debug("Find API by ID without some fields (definition, picture...): {}", apiId);
+
+            final List<Api> apis = apiRepository.search(new ApiCriteria.Builder().ids(apiId).build(),
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build());
+            if (apis.isEmpty()) {
+                throw new ApiNotFoundException(apiId);
+            }
+            return convert(apis.get(0), null);
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to find an API using its ID: {}", apiId, ex);
+            throw new TechnicalManagementException("An error occurs while trying to find an API using its ID: " + apiId, ex);
+        }
+    }
+
+    /**
+     * Returns a copy of the cached API if it has not been updated since it has been cached, null otherwise.
+     * Only the header of the API is copied, the parsed definition models are shared.
+     */
+    private ApiEntity findCachedApi(String apiId, String caller) throws TechnicalException {
+        if (cacheMaxSize <= 0) {
+            return null;
+        }
+
+        final CacheStatistics statistics = cacheStatistics.computeIfAbsent(caller, c -> new CacheStatistics());
+
+        final CachedApi cachedApi;
+        synchronized (cachedApis) {
+            cachedApi = cachedApis.get(apiId);
+        }
+
+        if (cachedApi != null && System.currentTimeMillis() - cachedApi.cachedAt < cacheTtl * 1000) {
+            // Only read the header of the API to check if it has been updated
+            final List<Api> apis = apiRepository.search(new ApiCriteria.Builder().ids(apiId).build(),
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build());
+            if (!apis.isEmpty() && Objects.equals(apis.get(0).getUpdatedAt(), cachedApi.api.getUpdatedAt())) {
+                statistics.hits.incrementAndGet();
+                return copy(cachedApi.api);
+            }
+        }
+
+        statistics.misses.incrementAndGet();
+        return null;
+    }
+
+    private void cacheApi(ApiEntity apiEntity) {
+        if (cacheMaxSize > 0) {
+            final CachedApi cachedApi = new CachedApi(copy(apiEntity));
+            synchronized (cachedApis) {
+                cachedApis.put(apiEntity.getId(), cachedApi);
+            }
+        }
+    }
+
+    @Override
+    public Map<String, CacheStatisticsEntity> getCacheStatistics() {
+        final Map<String, CacheStatisticsEntity> statistics = new TreeMap<>();
+        cacheStatistics.forEach((caller, callerStatistics) -> {
+            final CacheStatisticsEntity entity = new CacheStatisticsEntity();
+            entity.setHits(callerStatistics.hits.get());
+            entity.setMisses(callerStatistics.misses.get());
+            statistics.put(caller, entity);
+        });
+        return statistics;
+    }
+
+    private void evictCachedApi(String apiId) {
+        synchronized (cachedApis) {
+            cachedApis.remove(apiId);
+        }
+    }
+
+    /**
+     * Copy of the header of the API, sharing its definition models (proxy, paths, services, resources and properties).
+     */
+    private ApiEntity copy(ApiEntity api) {
+        final ApiEntity copy = copyHeader(api);
+        copy.setProxy(api.getProxy());
+        copy.setPaths(api.getPaths());
+        copy.setServices(api.getServices());
+        copy.setResources(api.getResources());
+        copy.setProperties(api.getProperties());
+        return copy;
+    }
+
+    /**
+     * Copy of the API without its definition models (proxy, paths, services, resources and properties).
+     */
+    private ApiEntity copyHeader(ApiEntity api) {
+        final ApiEntity copy = new ApiEntity();
+        copy.setId(api.getId());
+        copy.setName(api.getName());
+        copy.setVersion(api.getVersion());
+        copy.setDescription(api.getDescription());
+        copy.setGroups(api.getGroups() == null ? null : new HashSet<>(api.getGroups()));
+        copy.setContextPath(api.getContextPath());
+        copy.setDeployedAt(api.getDeployedAt());
+        copy.setCreatedAt(api.getCreatedAt());
+        copy.setUpdatedAt(api.getUpdatedAt());
+        copy.setVisibility(api.getVisibility());
+        copy.setState(api.getState());
+        copy.setPrimaryOwner(api.getPrimaryOwner());
+        copy.setTags(api.getTags() == null ? null : new HashSet<>(api.getTags()));
+        copy.setPicture(api.getPicture());
+        copy.setPictureUrl(api.getPictureUrl());
+        copy.setViews(api.getViews() == null ? null : new HashSet<>(api.getViews()));
+        copy.setLabels(api.getLabels() == null ? null : new ArrayList<>(api.getLabels()));
+        copy.setPathMappings(api.getPathMappings() == null ? null : new HashSet<>(api.getPathMappings()));
+        copy.setMetadata(api.getMetadata() == null ? null : new HashMap<>(api.getMetadata()));
+        return copy;
+    }
+
     @Override
     public Set<ApiEntity> findByVisibility(io.gravitee.management.model.Visibility visibility) {
         try {
             LOGGER.debug("Find APIs by visibility {}", visibility);
-            return convert(apiRepository.search(new ApiCriteria.Builder().visibility(Visibility.valueOf(visibility.name())).build()));
+            return convert(apiRepository.search(new ApiCriteria.Builder().visibility(Visibility.valueOf(visibility.name())).build()), true);
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to find all APIs", ex);
             throw new TechnicalManagementException("An error occurs while trying to find all APIs", ex);
@@ -365,43 +670,72 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
     public Set<ApiEntity> findByUser(String userId, ApiQuery apiQuery) {
         try {
             LOGGER.debug("Find APIs by user {}", userId);
-
-            //get all public apis
-            List<Api> publicApis = apiRepository.search(queryToCriteria(apiQuery).visibility(PUBLIC).build());
-
-            // get user apis
-            List<Api> userApis = emptyList();
-            final String[] userApiIds = membershipRepository
-                    .findByUserAndReferenceType(userId, MembershipReferenceType.API).stream()
-                    .map(Membership::getReferenceId)
-                    .toArray(String[]::new);
-            if (userApiIds.length > 0) {
-                userApis = apiRepository.search(queryToCriteria(apiQuery).ids(userApiIds).build());
-            }
-
-            // get user groups apis
-            List<Api> groupApis = emptyList();
-            final String[] groupIds = membershipRepository
-                    .findByUserAndReferenceType(userId, MembershipReferenceType.GROUP).stream()
-                    .filter(m -> m.getRoles().keySet().contains(RoleScope.API.getId()))
-                    .map(Membership::getReferenceId)
-                    .toArray(String[]::new);
-            if (groupIds.length > 0 && groupIds[0] != null) {
-                groupApis = apiRepository.search(queryToCriteria(apiQuery).groups(groupIds).build());
+            final Set<String> apiIds = findIdsByUser(userId, apiQuery);
+            if (apiIds.isEmpty()) {
+                return emptySet();
             }
+            return convert(apiRepository.search(new ApiCriteria.Builder().ids(apiIds.toArray(new String[0])).build()), true);
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to find APIs for user {}", userId, ex);
+            throw new TechnicalManagementException("An error occurs while trying to find APIs for user " + userId, ex);
+        }
+    }
 
-            // merge all apis
-            final Set<ApiEntity> apis = new HashSet<>(publicApis.size() + userApis.size() + groupApis.size());
-            apis.addAll(convert(publicApis));
-            apis.addAll(convert(userApis));
-            apis.addAll(convert(groupApis));
-            return apis;
+    @Override
+    public Set<String> findIdsByUser(String userId, ApiQuery apiQuery) {
+        try {
+            LOGGER.debug("Find APIs ids by user {}", userId);
+            final UserVisibility userVisibility = findUserVisibility(userId);
+
+            // the criteria can not express "public or member or group member", the headers of the APIs are filtered here
+            return apiRepository.search(queryToCriteria(apiQuery).build(),
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build()).stream()
+                    .filter(userVisibility::isVisible)
+                    .map(Api::getId)
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to find APIs for user {}", userId, ex);
             throw new TechnicalManagementException("An error occurs while trying to find APIs for user " + userId, ex);
         }
     }
 
+    private UserVisibility findUserVisibility(String userId) throws TechnicalException {
+        if (cacheMaxSize > 0) {
+            final UserVisibility userVisibility;
+            synchronized (userVisibilities) {
+                userVisibility = userVisibilities.get(userId);
+            }
+            if (userVisibility != null && System.currentTimeMillis() - userVisibility.loadedAt < cacheTtl * 1000) {
+                return userVisibility;
+            }
+        }
+
+        final Set<String> apiIds = membershipRepository
+                .findByUserAndReferenceType(userId, MembershipReferenceType.API).stream()
+                .map(Membership::getReferenceId)
+                .collect(Collectors.toSet());
+        final Set<String> groupIds = membershipRepository
+                .findByUserAndReferenceType(userId, MembershipReferenceType.GROUP).stream()
+                .filter(m -> m.getRoles().keySet().contains(RoleScope.API.getId()))
+                .map(Membership::getReferenceId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        final UserVisibility userVisibility = new UserVisibility(apiIds, groupIds);
+
+        if (cacheMaxSize > 0) {
+            synchronized (userVisibilities) {
+                userVisibilities.put(userId, userVisibility);
+            }
+        }
+        return userVisibility;
+    }
+
+    private void evictUserVisibility(String userId) {
+        synchronized (userVisibilities) {
+            userVisibilities.remove(userId);
+        }
+    }
+
     @Override
     public ApiEntity update(String apiId, UpdateApiEntity updateApiEntity) {
         try {
@@ -449,6 +783,9 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
                 }
 
                 Api updatedApi = apiRepository.update(api);
+                final String contextPath = updateApiEntity.getProxy().getContextPath();
+                TransactionCallbacks.afterCommit(() ->
+                        indexContextPath(updatedApi.getId(), contextPath, updatedApi.getUpdatedAt()));
 
                 // Audit
                 auditService.createApiAuditLog(
@@ -512,6 +849,9 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
 
                 // Delete API
                 apiRepository.delete(apiId);
+                deploymentHashes.remove(apiId);
+                TransactionCallbacks.afterCommit(() -> unindexContextPath(apiId));
+                evictCachedApi(apiId);
                 // Delete top API
                 topApiService.delete(apiId);
                 // Audit
@@ -570,32 +910,32 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
     @Override
     public boolean isSynchronized(String apiId) {
         try {
-            // 1_ First, check the API state
-            ApiEntity api = findById(apiId);
-
-            Map<String, Object> properties = new HashMap<>();
-            properties.put(Event.EventProperties.API_ID.getValue(), apiId);
-
-            io.gravitee.common.data.domain.Page<EventEntity> events =
-                    eventService.search(Arrays.asList(PUBLISH_API, EventType.UNPUBLISH_API),
-                            properties, 0, 0, 0, 1);
+            // 1_ First, check the API state, from its header as long as its deployment hash is known
+            final List<Api> apis = apiRepository.search(new ApiCriteria.Builder().ids(apiId).build(),
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build());
+            if (apis.isEmpty()) {
+                throw new ApiNotFoundException(apiId);
+            }
+            final Api api = apis.get(0);
 
-            if (!events.getContent().isEmpty()) {
-                // According to page size, we know that we have only one element in the list
-                EventEntity lastEvent = events.getContent().get(0);
+            final Optional<EventEntity> optLastEvent = findLastDeploymentEvent(apiId);
+            if (optLastEvent.isPresent()) {
+                final EventEntity lastEvent = optLastEvent.get();
 
-                //TODO: Done only for backward compatibility with 0.x. Must be removed later (1.1.x ?)
-                boolean enabled = objectMapper.getDeserializationConfig().isEnabled(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
-                objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-                Api payloadEntity = objectMapper.readValue(lastEvent.getPayload(), Api.class);
-                objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, enabled);
+                final String deployedHash = lastEvent.getProperties() != null ?
+                        lastEvent.getProperties().get(DEPLOYMENT_HASH_PROPERTY) : null;
 
-                final ApiEntity deployedApi = convert(payloadEntity);
-                // Remove policy description from sync check
-                removeDescriptionFromPolicies(api);
-                removeDescriptionFromPolicies(deployedApi);
+                boolean sync;
+                if (deployedHash != null) {
+                    sync = deployedHash.equals(getDeploymentHash(api));
+                } else {
+                    // Events created before deployment hashes were introduced, compare with the event payload
+                    //TODO: Done only for backward compatibility with 0.x. Must be removed later (1.1.x ?)
+                    Api payloadEntity = codecs().eventPayloadReader.readValue(lastEvent.getPayload());
 
-                boolean sync = apiSynchronizationProcessor.processCheckSynchronization(deployedApi, api);
+                    final ApiEntity deployedApi = convert(payloadEntity);
+                    sync = apiSynchronizationProcessor.processCheckSynchronization(deployedApi, findById(apiId));
+                }
 
                 // 2_ If API definition is synchronized, check if there is any modification for API's plans
                 // but only for published or closed plan
@@ -615,15 +955,68 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
         return false;
     }
 
-    private void removeDescriptionFromPolicies(final ApiEntity api) {
-        if (api.getPaths() != null) {
-            api.getPaths().forEach((s, path) -> {
-                if (path.getRules() != null) {
-                    path.getRules().forEach(rule -> rule.setDescription(""));
-                }
-            });
+    @Override
+    public List<String> getDeploymentChanges(String apiId) {
+        try {
+            final ApiEntity api = findById(apiId);
+
+            final Optional<EventEntity> optLastEvent = findLastDeploymentEvent(apiId);
+            if (!optLastEvent.isPresent()) {
+                return emptyList();
+            }
+            final EventEntity lastEvent = optLastEvent.get();
+
+            final String deployedDigests = lastEvent.getProperties() != null ?
+                    lastEvent.getProperties().get(DEPLOYMENT_DIGESTS_PROPERTY) : null;
+            if (deployedDigests != null) {
+                return apiSynchronizationProcessor.processDeploymentChanges(
+                        codecs().deploymentDigestsReader.readValue(deployedDigests),
+                        apiSynchronizationProcessor.computeDeploymentDigests(api));
+            }
+
+            // Deployments recorded without digests, compare with the event payload
+            final Api payloadEntity = codecs().eventPayloadReader.readValue(lastEvent.getPayload());
+            return apiSynchronizationProcessor.processDeploymentChanges(convert(payloadEntity), api);
+        } catch (IOException ioe) {
+            LOGGER.error("An error occurs while trying to get the deployment changes of API {}", apiId, ioe);
+            throw new TechnicalManagementException(
+                    "An error occurs while trying to get the deployment changes of API " + apiId, ioe);
         }
+    }
 
+    /**
+     * Get the last publication or unpublication event of the API.
+     */
+    private Optional<EventEntity> findLastDeploymentEvent(String apiId) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(Event.EventProperties.API_ID.getValue(), apiId);
+
+        io.gravitee.common.data.domain.Page<EventEntity> events =
+                eventService.search(Arrays.asList(PUBLISH_API, EventType.UNPUBLISH_API),
+                        properties, 0, 0, 0, 1);
+
+        // According to page size, we know that we have only one element in the list
+        return events.getContent().stream().findFirst();
+    }
+
+    /**
+     * Get the deployment hash of the current state of the API, computed only once per API update: the API is only
+     * found by id and converted when its header has been updated since the last computation.
+     */
+    private String getDeploymentHash(Api api) {
+        DeploymentHash deploymentHash = deploymentHashes.get(api.getId());
+        if (deploymentHash == null || !Objects.equals(deploymentHash.updatedAt, api.getUpdatedAt())) {
+            deploymentHash = computeDeploymentHash(findById(api.getId()));
+        }
+        return deploymentHash.hash;
+    }
+
+    private DeploymentHash computeDeploymentHash(ApiEntity api) {
+        // Policy descriptions are left out by the processor, the API is not modified
+        final DeploymentHash deploymentHash =
+                new DeploymentHash(api.getUpdatedAt(), apiSynchronizationProcessor.computeDeploymentHash(api));
+        deploymentHashes.put(api.getId(), deploymentHash);
+        return deploymentHash;
     }
 
     @Override
@@ -666,10 +1059,20 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
             // Clear useless field for history
             apiValue.setPicture(null);
 
+            final ApiEntity deployedApi = convert(singletonList(apiValue)).iterator().next();
+            final String deploymentHash = computeDeploymentHash(deployedApi).hash;
+            if (deploymentHash != null) {
+                properties.put(DEPLOYMENT_HASH_PROPERTY, deploymentHash);
+            }
+            final Map<String, String> deploymentDigests = apiSynchronizationProcessor.computeDeploymentDigests(deployedApi);
+            if (!deploymentDigests.isEmpty()) {
+                properties.put(DEPLOYMENT_DIGESTS_PROPERTY, codecs().deploymentDigestsWriter.writeValueAsString(deploymentDigests));
+            }
+
             // And create event
-            eventService.create(eventType, objectMapper.writeValueAsString(apiValue), properties);
+            eventService.create(eventType, codecs().eventPayloadWriter.writeValueAsString(apiValue), properties);
 
-            return convert(singletonList(apiValue)).iterator().next();
+            return deployedApi;
         } else {
             throw new ApiNotFoundException(apiId);
         }
@@ -693,20 +1096,24 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
         try {
             if (optEvent.isPresent()) {
                 EventEntity event = optEvent.get();
-                JsonNode node = objectMapper.readTree(event.getPayload());
-                Api lastPublishedAPI = objectMapper.convertValue(node, Api.class);
+                Api lastPublishedAPI = codecs().lastPublishedPayloadReader.readValue(event.getPayload());
                 lastPublishedAPI.setLifecycleState(convert(eventType));
                 lastPublishedAPI.setUpdatedAt(new Date());
                 lastPublishedAPI.setDeployedAt(new Date());
                 Map<String, String> properties = new HashMap<>();
                 properties.put(Event.EventProperties.API_ID.getValue(), lastPublishedAPI.getId());
                 properties.put(Event.EventProperties.USER.getValue(), userId);
+                if (event.getProperties() != null) {
+                    Stream.of(DEPLOYMENT_HASH_PROPERTY, DEPLOYMENT_DIGESTS_PROPERTY)
+                            .filter(event.getProperties()::containsKey)
+                            .forEach(property -> properties.put(property, event.getProperties().get(property)));
+                }
 
                 // Clear useless field for history
                 lastPublishedAPI.setPicture(null);
 
                 // And create event
-                eventService.create(eventType, objectMapper.writeValueAsString(lastPublishedAPI), properties);
+                eventService.create(eventType, codecs().eventPayloadWriter.writeValueAsString(lastPublishedAPI), properties);
                 return null;
             } else {
                 // this is the first time we start the api without previously deployed id.
@@ -721,29 +1128,50 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
 
     @Override
     public String exportAsJson(final String apiId, String exportVersion, String... filteredFields) {
-        ApiEntity apiEntity = findById(apiId);
-
-        // set metadata for serialize process
-        Map<String, Object> metadata = new HashMap<>();
-        metadata.put(ApiSerializer.METADATA_EXPORT_VERSION, exportVersion);
-        metadata.put(ApiSerializer.METADATA_FILTERED_FIELDS_LIST, Arrays.asList(filteredFields));
-        apiEntity.setMetadata(metadata);
+        ApiEntity apiEntity = findById(apiId, "exportAsJson");
+        setExportMetadata(apiEntity, exportVersion, filteredFields);
 
         try {
-            return objectMapper.writeValueAsString(apiEntity);
+            return codecs().exportWriter.writeValueAsString(apiEntity);
         } catch (final Exception e) {
             LOGGER.error("An error occurs while trying to JSON serialize the API {}", apiEntity, e);
         }
         return "";
     }
 
+    @Override
+    public void exportAsJson(final String apiId, String exportVersion, OutputStream outputStream, String... filteredFields) {
+        ApiEntity apiEntity = findById(apiId, "exportAsJson");
+        setExportMetadata(apiEntity, exportVersion, filteredFields);
+
+        // the definition is written straight to the output, the caller keeps the ownership of the stream
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            codecs().exportWriter.writeValue(generator, apiEntity);
+        } catch (final IOException e) {
+            LOGGER.error("An error occurs while trying to JSON serialize the API {}", apiId, e);
+            throw new TechnicalManagementException("An error occurs while trying to JSON serialize the API " + apiId, e);
+        }
+    }
+
+    private void setExportMetadata(ApiEntity apiEntity, String exportVersion, String... filteredFields) {
+        // set metadata for serialize process
+        Map<String, Object> metadata = new HashMap<>();
+        metadata.put(ApiSerializer.METADATA_EXPORT_VERSION, exportVersion);
+        metadata.put(ApiSerializer.METADATA_FILTERED_FIELDS_LIST, Arrays.asList(filteredFields));
+        apiEntity.setMetadata(metadata);
+    }
+
     @Override
     public ApiEntity createOrUpdateWithDefinition(final ApiEntity apiEntity, String apiDefinition, String userId) {
         try {
-            final UpdateApiEntity importedApi = objectMapper
-                    // because definition could contains other values than the api itself (pages, members)
-                    .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
-                    .readValue(apiDefinition, UpdateApiEntity.class);
+            // Read the whole definition once, the api itself, members, pages and plans are all bound from this tree
+            final JsonNode jsonNode = objectMapper.readTree(apiDefinition);
+
+            // because definition could contains other values than the api itself (pages, members)
+            final ObjectReader definitionReader = codecs().importReader;
+
+            final UpdateApiEntity importedApi = definitionReader.forType(UpdateApiEntity.class).readValue(jsonNode);
 
             // Initialize with a default path
             if (importedApi.getPaths() == null || importedApi.getPaths().isEmpty()) {
@@ -782,21 +1210,26 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
                         .map(member -> new MemberToImport(member.getUsername(), member.getRole())).collect(Collectors.toSet());
             }
 
-            // Read the whole definition
-            final JsonNode jsonNode = objectMapper.readTree(apiDefinition);
-
             // Members
             final JsonNode membersDefinition = jsonNode.path("members");
             if (membersDefinition != null && membersDefinition.isArray()) {
                 MemberEntity memberAsPrimaryOwner = null;
 
+                final List<MemberToImport> membersToImport = new ArrayList<>();
                 for (final JsonNode memberNode : membersDefinition) {
-                    MemberToImport memberEntity = objectMapper.readValue(memberNode.toString(), MemberToImport.class);
-                    Collection<SearchableUser> idpUsers = identityService.search(memberEntity.getUsername());
+                    membersToImport.add(definitionReader.forType(MemberToImport.class).readValue(memberNode));
+                }
+
+                // Resolve all the members at once from the identity providers
+                final Map<String, SearchableUser> idpUsers = identityService.searchByUsernames(membersToImport.stream()
+                        .map(MemberToImport::getUsername)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toSet()));
 
-                    if (!idpUsers.isEmpty()) {
-                        SearchableUser user = idpUsers.iterator().next();
+                for (final MemberToImport memberEntity : membersToImport) {
+                    SearchableUser user = memberEntity.getUsername() == null ? null : idpUsers.get(memberEntity.getUsername());
 
+                    if (user != null) {
                         if (!members.contains(memberEntity)
                                 || members.stream().anyMatch(m ->
                                 m.getUsername().equals(memberEntity.getUsername())
@@ -832,9 +1265,9 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
                             build();
                     List<PageEntity> pageEntities = pageService.search(query);
                     if (pageEntities == null || pageEntities.isEmpty()) {
-                        pageService.createApiPage(createdOrUpdatedApiEntity.getId(), objectMapper.readValue(pageNode.toString(), NewPageEntity.class));
+                        pageService.createApiPage(createdOrUpdatedApiEntity.getId(), definitionReader.forType(NewPageEntity.class).readValue(pageNode));
                     } else if (pageEntities.size() == 1) {
-                        UpdatePageEntity updatePageEntity = objectMapper.readValue(pageNode.toString(), UpdatePageEntity.class);
+                        UpdatePageEntity updatePageEntity = definitionReader.forType(UpdatePageEntity.class).readValue(pageNode);
                         pageService.update(pageEntities.get(0).getId(), updatePageEntity);
                     } else {
                         LOGGER.error("Not able to identify the page to update: {}. Too much page with the same name", pageNode.get("name").asText());
@@ -854,11 +1287,11 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
                             build();
                     List<PlanEntity> planEntities = planService.search(query);
                     if (planEntities == null || planEntities.isEmpty()) {
-                        NewPlanEntity newPlanEntity = objectMapper.readValue(planNode.toString(), NewPlanEntity.class);
+                        NewPlanEntity newPlanEntity = definitionReader.forType(NewPlanEntity.class).readValue(planNode);
                         newPlanEntity.setApi(createdOrUpdatedApiEntity.getId());
                         planService.create(newPlanEntity);
                     } else if (planEntities.size() == 1) {
-                        UpdatePlanEntity updatePlanEntity = objectMapper.readValue(planNode.toString(), UpdatePlanEntity.class);
+                        UpdatePlanEntity updatePlanEntity = definitionReader.forType(UpdatePlanEntity.class).readValue(planNode);
                         planService.update(updatePlanEntity);
                     } else {
                         LOGGER.error("Not able to identify the plan to update: {}. Too much plan with the same name", planNode.get("name").asText());
@@ -875,78 +1308,149 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
 
     @Override
     public InlinePictureEntity getPicture(String apiId) {
-        ApiEntity apiEntity = findById(apiId);
-        InlinePictureEntity imageEntity = new InlinePictureEntity();
-        if (apiEntity.getPicture() == null) {
-            imageEntity.setType("image/png");
-            imageEntity.setContent(getDefaultPicture());
-        } else {
-            String[] parts = apiEntity.getPicture().split(";", 2);
-            imageEntity.setType(parts[0].split(":")[1]);
-            String base64Content = apiEntity.getPicture().split(",", 2)[1];
-            imageEntity.setContent(DatatypeConverter.parseBase64Binary(base64Content));
+        try {
+            // the definition is neither read nor parsed to get the picture
+            final List<Api> apis = apiRepository.search(new ApiCriteria.Builder().ids(apiId).build(),
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().build());
+            if (apis.isEmpty()) {
+                throw new ApiNotFoundException(apiId);
+            }
+            final String picture = apis.get(0).getPicture();
+            return picture == null ? getDefaultInlinePicture() : pictureService.decode(picture);
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to get the picture of API {}", apiId, ex);
+            throw new TechnicalManagementException("An error occurs while trying to get the picture of API " + apiId, ex);
         }
-
-        return imageEntity;
     }
 
     @Override
     public byte[] getDefaultPicture() {
+        final InlinePictureEntity defaultPicture = getDefaultInlinePicture();
+        return defaultPicture == null ? null : defaultPicture.getContent();
+    }
+
+    private InlinePictureEntity getDefaultInlinePicture() {
         try {
-            return IOUtils.toByteArray(new FileInputStream(defaultIcon));
-        } catch (IOException ioe) {
-            LOGGER.error("Default icon for API does not exist", ioe);
+            return pictureService.load(defaultIcon, "image/png");
+        } catch (TechnicalManagementException tme) {
+            LOGGER.error("Default icon for API does not exist", tme);
         }
         return null;
     }
 
     @Override
     public void deleteViewFromAPIs(final String viewId) {
-        findAll().forEach(api -> {
-            if (api.getViews() != null && api.getViews().contains(viewId)) {
-                removeView(api.getId(), viewId);
-            }
-        });
+        deleteViewFromAPIs(searchIdsByView(viewId), viewId);
     }
 
-    private void removeView(String apiId, String viewId) throws TechnicalManagementException {
+    @Override
+    public Collection<String> searchIdsByView(final String viewId) {
         try {
-            Optional<Api> optApi = apiRepository.findById(apiId);
-            if (optApi.isPresent()) {
-                Api api = optApi.get();
-                Api previousApi = new Api(api);
-                api.getViews().remove(viewId);
-                api.setUpdatedAt(new Date());
-                apiRepository.update(api);
-                // Audit
-                auditService.createApiAuditLog(
-                        apiId,
-                        Collections.emptyMap(),
-                        API_UPDATED,
-                        api.getUpdatedAt(),
-                        previousApi,
-                        api);
-            } else {
-                throw new ApiNotFoundException(apiId);
+            return apiRepository.search(new ApiCriteria.Builder().view(viewId).build(),
+                    new ApiFieldExclusionFilter.Builder().excludeDefinition().excludePicture().build())
+                    .stream()
+                    .map(Api::getId)
+                    .collect(toList());
+        } catch (Exception ex) {
+            LOGGER.error("An error occurs while searching for APIs of view: {}", viewId, ex);
+            throw new TechnicalManagementException("An error occurs while searching for APIs of view: " + viewId, ex);
+        }
+    }
+
+    @Override
+    public void deleteViewFromAPIs(final Collection<String> apiIds, final String viewId) {
+        try {
+            for (Api api : findApisForUpdate(apiIds)) {
+                if (api.getViews() != null && api.getViews().contains(viewId)) {
+                    Api previousApi = new Api(api);
+                    api.getViews().remove(viewId);
+                    api.setUpdatedAt(new Date());
+                    apiRepository.update(api);
+                    // Audit
+                    auditService.createApiAuditLog(
+                            api.getId(),
+                            Collections.emptyMap(),
+                            API_UPDATED,
+                            api.getUpdatedAt(),
+                            previousApi,
+                            api);
+                }
             }
         } catch (Exception ex) {
-            LOGGER.error("An error occurs while removing view from API: {}", apiId, ex);
-            throw new TechnicalManagementException("An error occurs while removing view from API: " + apiId, ex);
+            LOGGER.error("An error occurs while removing view {} from APIs: {}", viewId, apiIds, ex);
+            throw new TechnicalManagementException("An error occurs while removing view " + viewId + " from APIs: " + apiIds, ex);
         }
     }
 
     @Override
     public void deleteTagFromAPIs(final String tagId) {
-        findAll().forEach(api -> {
-            if (api.getTags() != null && api.getTags().contains(tagId)) {
-                removeTag(api.getId(), tagId);
+        deleteTagFromAPIs(searchIdsByTag(tagId), tagId);
+    }
+
+    @Override
+    public Collection<String> searchIdsByTag(final String tagId) {
+        try {
+            // tags are part of the definition, which can not be queried
+            final List<String> apiIds = new ArrayList<>();
+            for (Api api : apiRepository.search(null, new ApiFieldExclusionFilter.Builder().excludePicture().build())) {
+                if (api.getDefinition() != null) {
+                    for (JsonNode tag : objectMapper.readTree(api.getDefinition()).path("tags")) {
+                        if (tagId.equals(tag.asText())) {
+                            apiIds.add(api.getId());
+                            break;
+                        }
+                    }
+                }
             }
-        });
+            return apiIds;
+        } catch (Exception ex) {
+            LOGGER.error("An error occurs while searching for APIs of tag: {}", tagId, ex);
+            throw new TechnicalManagementException("An error occurs while searching for APIs of tag: " + tagId, ex);
+        }
+    }
+
+    @Override
+    public void deleteTagFromAPIs(final Collection<String> apiIds, final String tagId) {
+        try {
+            final List<Api> updatedApis = new ArrayList<>();
+            for (Api api : findApisForUpdate(apiIds)) {
+                final io.gravitee.definition.model.Api apiDefinition = codecs().definitionReader.readValue(api.getDefinition());
+                if (apiDefinition.getTags() != null && apiDefinition.getTags().remove(tagId)) {
+                    Api previousApi = new Api(api);
+                    api.setDefinition(codecs().definitionWriter.writeValueAsString(apiDefinition));
+                    api.setUpdatedAt(new Date());
+                    updatedApis.add(apiRepository.update(api));
+                    // Audit
+                    auditService.createApiAuditLog(
+                            api.getId(),
+                            Collections.emptyMap(),
+                            API_UPDATED,
+                            api.getUpdatedAt(),
+                            previousApi,
+                            api);
+                }
+            }
+            // primary owners of the whole batch are loaded at once for the indexation
+            convert(updatedApis).forEach(searchEngineService::index);
+        } catch (Exception ex) {
+            LOGGER.error("An error occurs while removing tag {} from APIs: {}", tagId, apiIds, ex);
+            throw new TechnicalManagementException("An error occurs while removing tag " + tagId + " from APIs: " + apiIds, ex);
+        }
+    }
+
+    /**
+     * Load the given APIs with a single query, with all their fields as they are about to be updated.
+     */
+    private List<Api> findApisForUpdate(Collection<String> apiIds) throws TechnicalException {
+        if (apiIds == null || apiIds.isEmpty()) {
+            return emptyList();
+        }
+        return apiRepository.search(new ApiCriteria.Builder().ids(apiIds.toArray(new String[0])).build());
     }
 
     @Override
     public ApiModelEntity findByIdForTemplates(String apiId) {
-        final ApiEntity apiEntity = findById(apiId);
+        final ApiEntity apiEntity = findById(apiId, "findByIdForTemplates");
 
         final ApiModelEntity apiModelEntity = new ApiModelEntity();
 
@@ -1007,7 +1511,7 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
     public Collection<ApiEntity> search(final ApiQuery query) {
         try {
             LOGGER.debug("Search APIs by {}", query);
-            return convert(apiRepository.search(queryToCriteria(query).build())).stream()
+            return convert(apiRepository.search(queryToCriteria(query).build()), true).stream()
                     .filter(api -> query.getTag() == null || (api.getTags() != null && api.getTags().contains(query.getTag())))
                     .filter(api -> query.getContextPath() == null || query.getContextPath().equals(api.getProxy().getContextPath()))
                     .collect(toList());
@@ -1072,17 +1576,6 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
         return builder;
     }
 
-    private void removeTag(String apiId, String tagId) throws TechnicalManagementException {
-        try {
-            ApiEntity apiEntity = this.findById(apiId);
-            apiEntity.getTags().remove(tagId);
-            update(apiId, ApiService.convert(apiEntity));
-        } catch (Exception ex) {
-            LOGGER.error("An error occurs while removing tag from API: {}", apiId, ex);
-            throw new TechnicalManagementException("An error occurs while removing tag from API: " + apiId, ex);
-        }
-    }
-
     private ApiEntity updateLifecycle(String apiId, LifecycleState lifecycleState, String username) throws TechnicalException {
         Optional<Api> optApi = apiRepository.findById(apiId);
         if (optApi.isPresent()) {
@@ -1122,6 +1615,14 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
     }
 
     private Set<ApiEntity> convert(final List<Api> apis) throws TechnicalException {
+        return convert(apis, false);
+    }
+
+    /**
+     * @param listProjection only read from the definition the fields displayed in the lists of APIs (context path and
+     *                       tags), instead of binding the whole definition.
+     */
+    private Set<ApiEntity> convert(final List<Api> apis, final boolean listProjection) throws TechnicalException {
         if (apis == null || apis.isEmpty()) {
             return Collections.emptySet();
         }
@@ -1153,11 +1654,15 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
         memberships.forEach(membership -> apiToUser.put(membership.getReferenceId(), membership.getUserId()));
 
         Map<String, UserEntity> userIdToUserEntity = new HashMap<>(memberships.size());
-        userService.findByIds(memberships.stream().map(Membership::getUserId).collect(toList()))
+        userService.findByIds(memberships.stream().map(Membership::getUserId).distinct().collect(toList()))
                 .forEach(userEntity -> userIdToUserEntity.put(userEntity.getId(), userEntity));
 
+        if (apis.size() >= PARALLEL_CONVERSION_THRESHOLD) {
+            streamApis = streamApis.parallel();
+        }
         return streamApis
-                .map(publicApi -> this.convert(publicApi, userIdToUserEntity.get(apiToUser.get(publicApi.getId()))))
+                .map(publicApi -> this.convert(publicApi,
+                        userIdToUserEntity.get(apiToUser.get(publicApi.getId())), listProjection))
                 .collect(Collectors.toSet());
     }
 
@@ -1166,6 +1671,10 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
     }
 
     private ApiEntity convert(Api api, UserEntity primaryOwner) {
+        return convert(api, primaryOwner, false);
+    }
+
+    private ApiEntity convert(Api api, UserEntity primaryOwner, boolean listProjection) {
         ApiEntity apiEntity = new ApiEntity();
 
         apiEntity.setId(api.getId());
@@ -1174,10 +1683,22 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
         apiEntity.setCreatedAt(api.getCreatedAt());
         apiEntity.setGroups(api.getGroups());
 
-        if (api.getDefinition() != null) {
+        if (api.getDefinition() != null && listProjection) {
             try {
-                io.gravitee.definition.model.Api apiDefinition = objectMapper.readValue(api.getDefinition(),
-                        io.gravitee.definition.model.Api.class);
+                ListProjection projection = codecs().listProjectionReader.readValue(api.getDefinition());
+
+                if (projection.proxy != null) {
+                    final Proxy proxy = new Proxy();
+                    proxy.setContextPath(projection.proxy.contextPath);
+                    apiEntity.setProxy(proxy);
+                }
+                apiEntity.setTags(projection.tags);
+            } catch (IOException ioe) {
+                LOGGER.error("Unexpected error while reading API definition", ioe);
+            }
+        } else if (api.getDefinition() != null) {
+            try {
+                io.gravitee.definition.model.Api apiDefinition = codecs().definitionReader.readValue(api.getDefinition());
 
                 apiEntity.setProxy(apiDefinition.getProxy());
                 apiEntity.setPaths(apiDefinition.getPaths());
@@ -1250,7 +1771,7 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
                         .collect(toMap(pathMapping -> pathMapping, pathMapping -> Pattern.compile(""))));
             }
 
-            String definition = objectMapper.writeValueAsString(apiDefinition);
+            String definition = codecs().definitionWriter.writeValueAsString(apiDefinition);
             api.setDefinition(definition);
             return api;
         } catch (JsonProcessingException jse) {
@@ -1275,6 +1796,117 @@ public class ApiServiceImpl extends TransactionalService implements ApiService {
         return lifecycleState;
     }
 
+    /**
+     * Readers and writers are immutable and thread-safe, they are built once from the shared mapper, when it is fully
+     * configured, instead of on each call.
+     */
+    private JsonCodecs codecs() {
+        JsonCodecs codecs = this.codecs;
+        if (codecs == null) {
+            codecs = new JsonCodecs(objectMapper);
+            this.codecs = codecs;
+        }
+        return codecs;
+    }
+
+    private static class JsonCodecs {
+        /**
+         * Strict reader of the API definitions stored in the repository.
+         */
+        private final ObjectReader definitionReader;
+        private final ObjectWriter definitionWriter;
+        /**
+         * Reader of the only fields of the definition displayed in the lists of APIs, the others are skipped.
+         */
+        private final ObjectReader listProjectionReader;
+        /**
+         * Lenient reader of the APIs published in events, which may have been written by a previous version.
+         */
+        private final ObjectReader eventPayloadReader;
+        private final ObjectReader lastPublishedPayloadReader;
+        private final ObjectWriter eventPayloadWriter;
+        /**
+         * Lenient reader of imported definitions, which contain other values than the api itself (pages, members).
+         */
+        private final ObjectReader importReader;
+        /**
+         * The export version and the filtered fields are given to the serializer by the exported entity itself.
+         */
+        private final ObjectWriter exportWriter;
+        private final ObjectReader deploymentDigestsReader;
+        private final ObjectWriter deploymentDigestsWriter;
+
+        JsonCodecs(ObjectMapper objectMapper) {
+            definitionReader = objectMapper.readerFor(io.gravitee.definition.model.Api.class);
+            definitionWriter = objectMapper.writerFor(io.gravitee.definition.model.Api.class);
+            listProjectionReader = objectMapper.readerFor(ListProjection.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+            eventPayloadReader = objectMapper.readerFor(Api.class)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+            lastPublishedPayloadReader = objectMapper.readerFor(Api.class);
+            eventPayloadWriter = objectMapper.writerFor(Api.class);
+            importReader = objectMapper.reader()
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+            exportWriter = objectMapper.writerFor(ApiEntity.class);
+            final TypeReference<Map<String, String>> deploymentDigestsType = new TypeReference<Map<String, String>>() {};
+            deploymentDigestsReader = objectMapper.readerFor(deploymentDigestsType);
+            deploymentDigestsWriter = objectMapper.writerFor(deploymentDigestsType);
+        }
+    }
+
+    private static class ListProjection {
+        @JsonProperty("proxy")
+        private ProxyProjection proxy;
+        @JsonProperty("tags")
+        private Set<String> tags;
+    }
+
+    private static class ProxyProjection {
+        @JsonProperty("context_path")
+        private String contextPath;
+    }
+
+    private static class UserVisibility {
+        private final Set<String> apiIds;
+        private final Set<String> groupIds;
+        private final long loadedAt = System.currentTimeMillis();
+
+        UserVisibility(Set<String> apiIds, Set<String> groupIds) {
+            this.apiIds = apiIds;
+            this.groupIds = groupIds;
+        }
+
+        boolean isVisible(Api api) {
+            return PUBLIC.equals(api.getVisibility())
+                    || apiIds.contains(api.getId())
+                    || (api.getGroups() != null && api.getGroups().stream().anyMatch(groupIds::contains));
+        }
+    }
+
+    private static class CachedApi {
+        private final ApiEntity api;
+        private final long cachedAt = System.currentTimeMillis();
+
+        CachedApi(ApiEntity api) {
+            this.api = api;
+        }
+    }
+
+    private static class CacheStatistics {
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+    }
+
+    private static class DeploymentHash {
+        private final Date updatedAt;
+        private final String hash;
+
+        DeploymentHash(Date updatedAt, String hash) {
+            this.updatedAt = updatedAt;
+            this.hash = hash;
+        }
+    }
+
     private static class MemberToImport {
         private String username;
         private String role;
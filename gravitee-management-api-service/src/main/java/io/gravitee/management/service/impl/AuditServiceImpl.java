@@ -22,33 +22,68 @@ import io.gravitee.common.data.domain.MetadataPage;
 import io.gravitee.common.data.domain.Page;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.management.model.audit.AuditEntity;
+import io.gravitee.management.model.audit.AuditExportFormat;
 import io.gravitee.management.model.audit.AuditQuery;
+import io.gravitee.management.model.audit.AuditQueueStatisticsEntity;
 import io.gravitee.management.service.AuditService;
+import io.gravitee.management.service.exceptions.TechnicalManagementException;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.*;
+import io.gravitee.repository.management.api.search.AuditCriteria;
 import io.gravitee.repository.management.api.search.AuditCriteria.Builder;
 import io.gravitee.repository.management.api.search.builder.PageableBuilder;
 import io.gravitee.repository.management.model.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import static io.gravitee.management.service.impl.MetadataServiceImpl.getDefautReferenceId;
 
 /**
+ * In <code>sync</code> mode (the default), each audit log is written during the call, within its transaction.
+ * With <code>audit.mode</code> set to <code>async</code>, audit logs are queued once the transaction of the call is
+ * committed, and written by a background thread, by batches of {@link #WRITE_BATCH_SIZE}. At most
+ * <code>audit.queue.capacity</code> audit logs are queued: when the queue stays full, the audit log is written by the
+ * caller instead. The queue is written out on shutdown.
+ *
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
  * @author GraviteeSource Team
  */
 @Component
-public class AuditServiceImpl extends AbstractService implements AuditService {
+public class AuditServiceImpl extends AbstractService implements AuditService, InitializingBean, DisposableBean {
 
     private final Logger LOGGER = LoggerFactory.getLogger(AuditServiceImpl.class);
 
+    /**
+     * Number of audit logs read at once while exporting.
+     */
+    private static final int EXPORT_PAGE_SIZE = 500;
+
+    private static final int WRITE_BATCH_SIZE = 100;
+
+    /**
+     * Time to wait for room in the queue before writing the audit log synchronously, and time the writer waits for a
+     * new audit log before checking whether it must stop.
+     */
+    private static final long QUEUE_WAIT_MILLIS = 100;
+
+    private static final String CSV_HEADER = "id,createdAt,referenceType,referenceId,event,user,userName,properties,patch\n";
+
     @Autowired
     private AuditRepository auditRepository;
 
@@ -70,9 +105,99 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
     @Autowired
     private ObjectMapper mapper;
 
+    @Value("${audit.mode:sync}")
+    private String mode;
+
+    @Value("${audit.queue.capacity:10000}")
+    private int queueCapacity;
+
+    private BlockingQueue<PendingAudit> pendingAudits;
+
+    private ExecutorService writerExecutor;
+
+    private volatile boolean stopping;
+
+    private final AtomicLong overflowedAudits = new AtomicLong();
+
+    @Override
+    public void afterPropertiesSet() {
+        if (mode != null && !"sync".equalsIgnoreCase(mode) && !"async".equalsIgnoreCase(mode)) {
+            throw new IllegalArgumentException("Unknown audit mode '" + mode + "', expected 'sync' or 'async'");
+        }
+        if ("async".equalsIgnoreCase(mode) && queueCapacity > 0) {
+            pendingAudits = new ArrayBlockingQueue<>(queueCapacity);
+            writerExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "gio-audit-writer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            writerExecutor.execute(this::writePendingAudits);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        if (writerExecutor != null) {
+            // the writer completes its current batch and stops once the queue is empty
+            stopping = true;
+            writerExecutor.shutdown();
+            if (!writerExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                writerExecutor.shutdownNow();
+                writerExecutor.awaitTermination(5, TimeUnit.SECONDS);
+            }
+            flushPendingAudits();
+        }
+    }
+
     @Override
     public MetadataPage<AuditEntity> search(AuditQuery query) {
+        Page<Audit> auditPage = auditRepository.search(
+                getCriteria(query).build(),
+                new PageableBuilder().pageNumber(query.getPage() - 1).pageSize(query.getSize()).build());
+
+        List<AuditEntity> content = auditPage.getContent().stream().map(this::convert).collect(Collectors.toList());
+
+        return new MetadataPage<>(content, query.getPage(), query.getSize() , auditPage.getTotalElements(), getMetadata(content));
+    }
+
+    @Override
+    public void export(AuditQuery query, AuditExportFormat format, OutputStream outputStream) {
+        // audit logs created during the export are left out, not to shift the pages being read
+        final long now = System.currentTimeMillis();
+        final AuditCriteria criteria = getCriteria(query)
+                .to(query.getTo() > 0 ? Math.min(query.getTo(), now) : now)
+                .build();
+
+        try {
+            final Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            if (format == AuditExportFormat.CSV) {
+                writer.write(CSV_HEADER);
+            }
+
+            int pageNumber = 0;
+            List<Audit> audits;
+            do {
+                audits = auditRepository.search(criteria,
+                        new PageableBuilder().pageNumber(pageNumber++).pageSize(EXPORT_PAGE_SIZE).build()).getContent();
+
+                final List<AuditEntity> content = audits.stream().map(this::convert).collect(Collectors.toList());
+                final Map<String, String> metadata = getMetadata(content);
+                for (AuditEntity auditEntity : content) {
+                    if (format == AuditExportFormat.CSV) {
+                        writeCsv(writer, auditEntity, metadata);
+                    } else {
+                        writeJson(writer, auditEntity, metadata);
+                    }
+                }
+                writer.flush();
+            } while (audits.size() == EXPORT_PAGE_SIZE);
+        } catch (IOException ioe) {
+            LOGGER.error("An error occurs while trying to export audit logs", ioe);
+            throw new TechnicalManagementException("An error occurs while trying to export audit logs", ioe);
+        }
+    }
 
+    private Builder getCriteria(AuditQuery query) {
         Audit.AuditReferenceType referenceType =
                 query.isManagementLogsOnly() ? Audit.AuditReferenceType.PORTAL :
                         (query.getApiIds() != null && !query.getApiIds().isEmpty()) ? Audit.AuditReferenceType.API :
@@ -98,97 +223,148 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
         if (query.getEvents() != null && !query.getEvents().isEmpty()) {
             criteria.events(query.getEvents());
         }
+        return criteria;
+    }
 
-        Page<Audit> auditPage = auditRepository.search(
-                criteria.build(),
-                new PageableBuilder().pageNumber(query.getPage() - 1).pageSize(query.getSize()).build());
+    private void writeCsv(Writer writer, AuditEntity auditEntity, Map<String, String> metadata) throws IOException {
+        final StringJoiner properties = new StringJoiner("; ");
+        if (auditEntity.getProperties() != null) {
+            auditEntity.getProperties().forEach((key, value) -> {
+                final String name = metadata.get(getMetadataKey(key, value));
+                properties.add(key + '=' + value + (name == null || name.equals(value) ? "" : " (" + name + ')'));
+            });
+        }
 
-        List<AuditEntity> content = auditPage.getContent().stream().map(this::convert).collect(Collectors.toList());
+        writer.write(new StringJoiner(",", "", "\n")
+                .add(csv(auditEntity.getId()))
+                .add(csv(auditEntity.getCreatedAt() == null ? null : auditEntity.getCreatedAt().toInstant().toString()))
+                .add(csv(auditEntity.getReferenceType()))
+                .add(csv(auditEntity.getReferenceId()))
+                .add(csv(auditEntity.getEvent()))
+                .add(csv(auditEntity.getUser()))
+                .add(csv(metadata.get(getMetadataKey(Audit.AuditProperties.USER.name(), auditEntity.getUser()))))
+                .add(csv(properties.toString()))
+                .add(csv(auditEntity.getPatch()))
+                .toString());
+    }
 
-        return new MetadataPage<>(content, query.getPage(), query.getSize() , auditPage.getTotalElements(), getMetadata(content));
+    private static String csv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        // neutralize the values a spreadsheet would evaluate as formulas
+        final char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@') {
+            value = '\'' + value;
+        }
+        if (value.indexOf(',') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1 && value.indexOf('\r') == -1) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
     }
 
+    private void writeJson(Writer writer, AuditEntity auditEntity, Map<String, String> metadata) throws IOException {
+        final ObjectNode node = mapper.valueToTree(auditEntity);
+        final ObjectNode names = node.putObject("metadata");
+        final String userKey = getMetadataKey(Audit.AuditProperties.USER.name(), auditEntity.getUser());
+        names.put(userKey, metadata.get(userKey));
+        if (auditEntity.getProperties() != null) {
+            auditEntity.getProperties().forEach((key, value) -> {
+                final String metadataKey = getMetadataKey(key, value);
+                names.put(metadataKey, metadata.get(metadataKey));
+            });
+        }
+        writer.write(mapper.writeValueAsString(node));
+        writer.write('\n');
+    }
+
+    /**
+     * Names of the users, pages, plans, metadata and groups referenced by the audit logs. All the references of a same
+     * type are resolved at once, references which can't be resolved are named after their identifier.
+     */
     private Map<String, String> getMetadata(List<AuditEntity> content) {
-        Map<String, String> metadata = new HashMap<>();
+        final Set<String> userIds = new HashSet<>();
+        final Set<String> groupIds = new HashSet<>();
+        final Set<String> pageIds = new HashSet<>();
+        final Set<String> planIds = new HashSet<>();
+        final Set<String> apiIds = new HashSet<>();
+        final Map<MetadataReferenceType, Map<String, Set<String>>> metadataKeys = new EnumMap<>(MetadataReferenceType.class);
+
         for (AuditEntity auditEntity : content) {
-            //add user's display name
-            String metadataKey = "USER:"+auditEntity.getUser()+":name";
-            String name = auditEntity.getUser();
-            try {
-                Optional<User> optUser = userRepository.findById(auditEntity.getUser());
-                if (optUser.isPresent()) {
-                    if (optUser.get().getFirstname() != null && optUser.get().getLastname() != null) {
-                        name = optUser.get().getFirstname() + " " + optUser.get().getLastname();
-                    } else {
-                        name = optUser.get().getUsername();
+            if (auditEntity.getUser() != null) {
+                userIds.add(auditEntity.getUser());
+            }
+            if (auditEntity.getProperties() != null) {
+                for (Map.Entry<String, String> property : auditEntity.getProperties().entrySet()) {
+                    switch (Audit.AuditProperties.valueOf(property.getKey())) {
+                        case PAGE:
+                            pageIds.add(property.getValue());
+                            break;
+                        case PLAN:
+                            planIds.add(property.getValue());
+                            if (Audit.AuditReferenceType.API.name().equals(auditEntity.getReferenceType())) {
+                                apiIds.add(auditEntity.getReferenceId());
+                            }
+                            break;
+                        case METADATA:
+                            final MetadataReferenceType refType = getMetadataReferenceType(auditEntity);
+                            metadataKeys.computeIfAbsent(refType, type -> new HashMap<>())
+                                    .computeIfAbsent(getMetadataReferenceId(auditEntity, refType), id -> new HashSet<>())
+                                    .add(property.getValue());
+                            break;
+                        case GROUP:
+                            groupIds.add(property.getValue());
+                            break;
+                        case USER:
+                            userIds.add(property.getValue());
+                            break;
+                        default:
+                            break;
                     }
                 }
-            } catch (TechnicalException e) {
-                LOGGER.error("Error finding metadata {}", auditEntity.getUser());
-
             }
-            metadata.put(metadataKey, name);
+        }
+
+        final Map<String, String> userNames = getUserNames(userIds);
+        final Map<String, String> groupNames = getGroupNames(groupIds);
+        final Map<String, String> pageNames = getPageNames(pageIds);
+        final Map<String, String> planNames = getPlanNames(planIds, apiIds);
+        final Map<MetadataReferenceType, Map<String, Map<String, String>>> metadataNames = getMetadataNames(metadataKeys);
+
+        Map<String, String> metadata = new HashMap<>();
+        for (AuditEntity auditEntity : content) {
+            //add user's display name
+            metadata.put(getMetadataKey(Audit.AuditProperties.USER.name(), auditEntity.getUser()),
+                    userNames.getOrDefault(auditEntity.getUser(), auditEntity.getUser()));
 
             //add property metadata
             if (auditEntity.getProperties() != null) {
                 for (Map.Entry<String, String> property : auditEntity.getProperties().entrySet()) {
-                    metadataKey = new StringJoiner(":").
-                            add(property.getKey()).
-                            add(property.getValue()).
-                            add("name").
-                            toString();
+                    final String metadataKey = getMetadataKey(property.getKey(), property.getValue());
                     if (!metadata.containsKey(metadataKey)) {
-                        name = property.getValue();
-                        try {
-                            switch (Audit.AuditProperties.valueOf(property.getKey())) {
-                                case PAGE:
-                                    Optional<io.gravitee.repository.management.model.Page> optPage = pageRepository.findById(property.getValue());
-                                    if (optPage.isPresent()) {
-                                        name = optPage.get().getName();
-                                    }
-                                    break;
-                                case PLAN:
-                                    Optional<Plan> optPlan = planRepository.findById(property.getValue());
-                                    if (optPlan.isPresent()) {
-                                        name = optPlan.get().getName();
-                                    }
-                                    break;
-                                case METADATA:
-                                    MetadataReferenceType refType = (Audit.AuditReferenceType.API.name().equals(auditEntity.getReferenceType()))
-                                            ? MetadataReferenceType.API :
-                                            (Audit.AuditReferenceType.APPLICATION.name().equals(auditEntity.getReferenceType())) ?
-                                                    MetadataReferenceType.APPLICATION :
-                                                    MetadataReferenceType.DEFAULT;
-                                    String refId = refType.equals(MetadataReferenceType.DEFAULT) ? getDefautReferenceId() : auditEntity.getReferenceId();
-
-                                    Optional<Metadata> optMetadata = metadataRepository.findById(property.getValue(), refId, refType);
-                                    if (optMetadata.isPresent()) {
-                                        name = optMetadata.get().getName();
-                                    }
-                                    break;
-                                case GROUP:
-                                    Optional<Group> optGroup = groupRepository.findById(property.getValue());
-                                    if (optGroup.isPresent()) {
-                                        name = optGroup.get().getName();
-                                    }
-                                    break;
-                                case USER:
-                                    Optional<User> optUser = userRepository.findById(property.getValue());
-                                    if (optUser.isPresent()) {
-                                        if (optUser.get().getFirstname() != null && optUser.get().getLastname() != null) {
-                                            name = optUser.get().getFirstname() + " " + optUser.get().getLastname();
-                                        } else {
-                                            name = optUser.get().getUsername();
-                                        }
-                                    }
-                                default:
-                                    break;
-                            }
-                        } catch (TechnicalException e) {
-                            LOGGER.error("Error finding metadata {}", metadataKey);
-                            name = property.getValue();
+                        final Map<String, String> names;
+                        switch (Audit.AuditProperties.valueOf(property.getKey())) {
+                            case PAGE:
+                                names = pageNames;
+                                break;
+                            case PLAN:
+                                names = planNames;
+                                break;
+                            case METADATA:
+                                final MetadataReferenceType refType = getMetadataReferenceType(auditEntity);
+                                names = metadataNames.get(refType).get(getMetadataReferenceId(auditEntity, refType));
+                                break;
+                            case GROUP:
+                                names = groupNames;
+                                break;
+                            case USER:
+                                names = userNames;
+                                break;
+                            default:
+                                names = Collections.emptyMap();
+                                break;
                         }
-                        metadata.put(metadataKey, name);
+                        metadata.put(metadataKey, names.getOrDefault(property.getValue(), property.getValue()));
                     }
                 }
             }
@@ -196,6 +372,114 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
         return metadata;
     }
 
+    private static String getMetadataKey(String type, String id) {
+        return new StringJoiner(":").add(type).add(id).add("name").toString();
+    }
+
+    private static MetadataReferenceType getMetadataReferenceType(AuditEntity auditEntity) {
+        return (Audit.AuditReferenceType.API.name().equals(auditEntity.getReferenceType()))
+                ? MetadataReferenceType.API :
+                (Audit.AuditReferenceType.APPLICATION.name().equals(auditEntity.getReferenceType())) ?
+                        MetadataReferenceType.APPLICATION :
+                        MetadataReferenceType.DEFAULT;
+    }
+
+    private static String getMetadataReferenceId(AuditEntity auditEntity, MetadataReferenceType refType) {
+        return refType.equals(MetadataReferenceType.DEFAULT) ? getDefautReferenceId() : auditEntity.getReferenceId();
+    }
+
+    private Map<String, String> getUserNames(Set<String> userIds) {
+        final Map<String, String> names = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            try {
+                for (User user : userRepository.findByIds(new ArrayList<>(userIds))) {
+                    if (user.getFirstname() != null && user.getLastname() != null) {
+                        names.put(user.getId(), user.getFirstname() + " " + user.getLastname());
+                    } else {
+                        names.put(user.getId(), user.getUsername());
+                    }
+                }
+            } catch (TechnicalException e) {
+                LOGGER.error("Error finding metadata of users {}", userIds, e);
+            }
+        }
+        return names;
+    }
+
+    private Map<String, String> getGroupNames(Set<String> groupIds) {
+        final Map<String, String> names = new HashMap<>();
+        if (!groupIds.isEmpty()) {
+            try {
+                groupRepository.findByIds(groupIds).forEach(group -> names.put(group.getId(), group.getName()));
+            } catch (TechnicalException e) {
+                LOGGER.error("Error finding metadata of groups {}", groupIds, e);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Only the pages referenced by the audit logs are read, the repository not being able to find several pages by
+     * id at once.
+     */
+    private Map<String, String> getPageNames(Set<String> pageIds) {
+        final Map<String, String> names = new HashMap<>();
+        try {
+            for (String pageId : pageIds) {
+                pageRepository.findById(pageId).ifPresent(page -> names.put(pageId, page.getName()));
+            }
+        } catch (TechnicalException e) {
+            LOGGER.error("Error finding metadata of pages {}", pageIds, e);
+        }
+        return names;
+    }
+
+    /**
+     * Plans are listed by API, the plans not found this way being resolved one by one.
+     */
+    private Map<String, String> getPlanNames(Set<String> planIds, Set<String> apiIds) {
+        final Map<String, String> names = new HashMap<>();
+        if (planIds.isEmpty()) {
+            return names;
+        }
+        try {
+            for (String apiId : apiIds) {
+                planRepository.findByApi(apiId).stream()
+                        .filter(plan -> planIds.contains(plan.getId()))
+                        .forEach(plan -> names.put(plan.getId(), plan.getName()));
+            }
+
+            for (String planId : planIds) {
+                if (!names.containsKey(planId)) {
+                    planRepository.findById(planId).ifPresent(plan -> names.put(planId, plan.getName()));
+                }
+            }
+        } catch (TechnicalException e) {
+            LOGGER.error("Error finding metadata of plans {}", planIds, e);
+        }
+        return names;
+    }
+
+    /**
+     * Metadata are listed by reference, and named by reference type, reference id and key.
+     */
+    private Map<MetadataReferenceType, Map<String, Map<String, String>>> getMetadataNames(
+            Map<MetadataReferenceType, Map<String, Set<String>>> metadataKeys) {
+        final Map<MetadataReferenceType, Map<String, Map<String, String>>> names = new EnumMap<>(MetadataReferenceType.class);
+        metadataKeys.forEach((refType, keysByRefId) -> keysByRefId.forEach((refId, keys) -> {
+            final Map<String, String> referenceNames = new HashMap<>();
+            try {
+                metadataRepository.findByReferenceTypeAndReferenceId(refType, refId).stream()
+                        .filter(metadata -> keys.contains(metadata.getKey()))
+                        .forEach(metadata -> referenceNames.put(metadata.getKey(), metadata.getName()));
+            } catch (TechnicalException e) {
+                LOGGER.error("Error finding metadata {} of {} {}", keys, refType, refId, e);
+            }
+            names.computeIfAbsent(refType, type -> new HashMap<>()).put(refId, referenceNames);
+        }));
+        return names;
+    }
+
     @Override
     public void createApiAuditLog(String apiId, Map<Audit.AuditProperties,String> properties, Audit.AuditEvent event, Date createdAt,
                                   Object oldValue, Object newValue) {
@@ -257,7 +541,6 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
                 newValue);
     }
 
-    @Async
     protected void create(Audit.AuditReferenceType referenceType, String referenceId, Map<Audit.AuditProperties,String> properties,
                           Audit.AuditEvent event, String userId, Date createdAt,
                           Object oldValue, Object newValue) {
@@ -275,6 +558,7 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
         audit.setReferenceId(referenceId);
         audit.setEvent(event.name());
 
+        // values are copied right away, they may be modified by the caller before the audit log is written
         ObjectNode oldNode = oldValue == null
                 ? mapper.createObjectNode()
                 : mapper.convertValue(oldValue, ObjectNode.class).remove(Arrays.asList("updatedAt", "createdAt"));
@@ -282,7 +566,67 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
                 ? mapper.createObjectNode()
                 : mapper.convertValue(newValue, ObjectNode.class).remove(Arrays.asList("updatedAt", "createdAt"));
 
-        audit.setPatch(JsonDiff.asJson(oldNode, newNode).toString());
+        final PendingAudit pendingAudit = new PendingAudit(audit, oldNode, newNode);
+        if (writerExecutor == null) {
+            write(pendingAudit);
+        } else {
+            // audit logs of rolled back operations are never queued
+            TransactionCallbacks.afterCommit(() -> enqueue(pendingAudit));
+        }
+    }
+
+    private void enqueue(PendingAudit pendingAudit) {
+        try {
+            if (!stopping && pendingAudits.offer(pendingAudit, QUEUE_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!stopping) {
+            LOGGER.warn("The audit queue is full, audit log {} written synchronously ({} so far)",
+                    pendingAudit.audit.getEvent(), overflowedAudits.incrementAndGet());
+        }
+        write(pendingAudit);
+    }
+
+    private void writePendingAudits() {
+        final List<PendingAudit> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        try {
+            while (!stopping || !pendingAudits.isEmpty()) {
+                final PendingAudit pendingAudit = pendingAudits.poll(QUEUE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                if (pendingAudit == null) {
+                    continue;
+                }
+                batch.add(pendingAudit);
+                pendingAudits.drainTo(batch, WRITE_BATCH_SIZE - 1);
+                for (PendingAudit pendingAudit : batch) {
+                    try {
+                        write(pendingAudit);
+                    } catch (RuntimeException re) {
+                        LOGGER.error("Error occurs during the creation of an Audit Log", re);
+                    }
+                }
+                LOGGER.debug("{} audit logs written, {} queued, {} written synchronously",
+                        batch.size(), pendingAudits.size(), overflowedAudits.get());
+                batch.clear();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void flushPendingAudits() {
+        final List<PendingAudit> batch = new ArrayList<>();
+        pendingAudits.drainTo(batch);
+        LOGGER.info("Writing {} queued audit logs", batch.size());
+        batch.forEach(this::write);
+    }
+
+    private void write(PendingAudit pendingAudit) {
+        final Audit audit = pendingAudit.audit;
+        audit.setPatch(JsonDiff.asJson(pendingAudit.oldNode, pendingAudit.newNode).toString());
 
         try {
             auditRepository.create(audit);
@@ -291,6 +635,17 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
         }
     }
 
+    @Override
+    public AuditQueueStatisticsEntity getQueueStatistics() {
+        final BlockingQueue<PendingAudit> queue = pendingAudits;
+        final AuditQueueStatisticsEntity statistics = new AuditQueueStatisticsEntity();
+        statistics.setEnabled(queue != null);
+        statistics.setCapacity(queue == null ? 0 : queueCapacity);
+        statistics.setDepth(queue == null ? 0 : queue.size());
+        statistics.setOverflowCount(overflowedAudits.get());
+        return statistics;
+    }
+
     private AuditEntity convert(Audit audit) {
         AuditEntity auditEntity = new AuditEntity();
 
@@ -309,4 +664,17 @@ public class AuditServiceImpl extends AbstractService implements AuditService {
     private String getAuthenticatedUsernameOrSystem() {
         return isAuthenticated() ? getAuthenticatedUsername() : "system";
     }
+
+    private static class PendingAudit {
+
+        private final Audit audit;
+        private final ObjectNode oldNode;
+        private final ObjectNode newNode;
+
+        PendingAudit(Audit audit, ObjectNode oldNode, ObjectNode newNode) {
+            this.audit = audit;
+            this.oldNode = oldNode;
+            this.newNode = newNode;
+        }
+    }
 }
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory index of the sub-context paths of the APIs, used to check that a context path does not overlap an
+ * existing one.
+ *
+ * Sub-context paths are stored in a trie by path segment so that an overlap (one path being a prefix of the other)
+ * is found in a time proportional to the length of the checked path, whatever the number of APIs.
+ *
+ * @author GraviteeSource Team
+ */
+class ContextPathIndex {
+
+    private final Node root = new Node();
+    private final Map<String, String> subContextPaths = new HashMap<>();
+
+    /**
+     * Returns the sub-context path of the given context path, with a leading and a trailing slash.
+     */
+    static String subContextPath(String contextPath) {
+        if (contextPath.charAt(0) != '/') {
+            contextPath = '/' + contextPath;
+        }
+        if (contextPath.charAt(contextPath.length() - 1) == '/') {
+            contextPath = contextPath.substring(0, contextPath.length() - 1);
+        }
+
+        final int indexOfEndOfSubContextPath = contextPath.lastIndexOf('/', 1);
+        return contextPath.substring(0, indexOfEndOfSubContextPath <= 0 ?
+                contextPath.length() : indexOfEndOfSubContextPath) + '/';
+    }
+
+    synchronized void put(String apiId, String contextPath) {
+        remove(apiId);
+
+        final String subContextPath = subContextPath(contextPath);
+        Node node = root;
+        node.size++;
+        for (String segment : segments(subContextPath)) {
+            node = node.children.computeIfAbsent(segment, s -> new Node());
+            node.size++;
+        }
+        node.apis++;
+        subContextPaths.put(apiId, subContextPath);
+    }
+
+    synchronized void remove(String apiId) {
+        final String subContextPath = subContextPaths.remove(apiId);
+        if (subContextPath == null) {
+            return;
+        }
+
+        Node node = root;
+        node.size--;
+        for (String segment : segments(subContextPath)) {
+            final Node child = node.children.get(segment);
+            if (--child.size == 0) {
+                node.children.remove(segment);
+            }
+            node = child;
+        }
+        node.apis--;
+    }
+
+    /**
+     * Returns true if the given sub-context path overlaps the one of an API other than the given one (which may be
+     * null when checking the context path of a new API).
+     */
+    synchronized boolean overlaps(String subContextPath, String apiId) {
+        final String ownSubContextPath = apiId == null ? null : subContextPaths.get(apiId);
+
+        Node node = root;
+        final StringBuilder path = new StringBuilder();
+        for (String segment : segments(subContextPath)) {
+            node = node.children.get(segment);
+            if (node == null) {
+                return false;
+            }
+            path.append(segment).append('/');
+            // An existing sub-context path is a prefix of the checked one
+            if (node.apis > (path.toString().equals(ownSubContextPath) ? 1 : 0)) {
+                return true;
+            }
+        }
+
+        // The checked sub-context path is a prefix of existing ones
+        final boolean ownPathInSubtree = ownSubContextPath != null && ownSubContextPath.startsWith(subContextPath);
+        return node.size > (ownPathInSubtree ? 1 : 0);
+    }
+
+    private static String[] segments(String subContextPath) {
+        // Drop the trailing slash, the leading one gives the empty root segment
+        return subContextPath.substring(0, subContextPath.length() - 1).split("/", -1);
+    }
+
+    private static class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        /**
+         * Number of APIs using this node or one of its descendants as sub-context path.
+         */
+        private int size;
+        /**
+         * Number of APIs using this node as sub-context path.
+         */
+        private int apis;
+    }
+}
@@ -20,6 +20,7 @@ import io.gravitee.common.utils.UUID;
 import io.gravitee.management.model.*;
 import io.gravitee.management.service.EventService;
 import io.gravitee.management.service.UserService;
+import io.gravitee.management.service.common.EventPayloadCodec;
 import io.gravitee.management.service.exceptions.EventNotFoundException;
 import io.gravitee.management.service.exceptions.TechnicalManagementException;
 import io.gravitee.management.service.exceptions.UserNotFoundException;
@@ -31,6 +32,7 @@ import io.gravitee.repository.management.model.Event;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.net.InetAddress;
@@ -54,6 +56,16 @@ public class EventServiceImpl extends TransactionalService implements EventServi
     private EventRepository eventRepository;
     @Autowired
     private UserService userService;
+    @Value("${events.compression.enabled:false}")
+    private boolean compressionEnabled;
+
+    private static final long HOST_ADDRESS_REFRESH_INTERVAL = 5 * 60 * 1000;
+    /**
+     * Number of outdated events read and deleted at once when purging the events of an API.
+     */
+    private static final int PURGE_BATCH_SIZE = 100;
+    private volatile String cachedHostAddress;
+    private volatile long hostAddressResolvedAt;
 
     @Override
     public EventEntity findById(String id) {
@@ -77,7 +89,7 @@ public class EventServiceImpl extends TransactionalService implements EventServi
     public EventEntity create(NewEventEntity newEventEntity) {
         String hostAddress = "";
         try {
-            hostAddress = InetAddress.getLocalHost().getHostAddress();
+            hostAddress = getHostAddress();
             LOGGER.debug("Create {} for server {}", newEventEntity, hostAddress);
 
             Event event = convert(newEventEntity);
@@ -101,6 +113,26 @@ public class EventServiceImpl extends TransactionalService implements EventServi
         }
     }
 
+    /**
+     * The server IP address is resolved once and then only refreshed every {@link #HOST_ADDRESS_REFRESH_INTERVAL}
+     * milliseconds, to avoid a potential DNS lookup for each created event.
+     */
+    private String getHostAddress() throws UnknownHostException {
+        final long now = System.currentTimeMillis();
+        if (cachedHostAddress == null || now - hostAddressResolvedAt > HOST_ADDRESS_REFRESH_INTERVAL) {
+            try {
+                cachedHostAddress = InetAddress.getLocalHost().getHostAddress();
+            } catch (UnknownHostException uhe) {
+                if (cachedHostAddress == null) {
+                    throw uhe;
+                }
+                LOGGER.warn("Unable to refresh the server IP address, keep using {}", cachedHostAddress, uhe);
+            }
+            hostAddressResolvedAt = now;
+        }
+        return cachedHostAddress;
+    }
+
     @Override
     public EventEntity create(EventType type, String payload, Map<String, String> properties) {
         NewEventEntity event = new NewEventEntity();
@@ -121,6 +153,56 @@ public class EventServiceImpl extends TransactionalService implements EventServi
         }
     }
 
+    @Override
+    public int purgeApiEvents(String apiId, int deploymentsToKeep) {
+        if (deploymentsToKeep < 1) {
+            throw new IllegalArgumentException("At least one deployment must be kept for API " + apiId);
+        }
+
+        LOGGER.debug("Purge events of API {}, keeping the last {} deployments", apiId, deploymentsToKeep);
+
+        // Events are returned from the most recent to the oldest one
+        final List<Event> deployments = eventRepository.search(
+                new EventCriteria.Builder()
+                        .property(API_ID.getValue(), apiId)
+                        .types(io.gravitee.repository.management.model.EventType.PUBLISH_API)
+                        .build(),
+                new PageableBuilder().pageNumber(0).pageSize(deploymentsToKeep).build()).getContent();
+
+        if (deployments.size() < deploymentsToKeep) {
+            return 0;
+        }
+
+        // Everything older than the oldest kept deployment can be safely removed
+        final Date oldestKeptDeployment = deployments.get(deployments.size() - 1).getCreatedAt();
+        final EventCriteria outdatedEventsCriteria = new EventCriteria.Builder()
+                .property(API_ID.getValue(), apiId)
+                .types(io.gravitee.repository.management.model.EventType.PUBLISH_API,
+                        io.gravitee.repository.management.model.EventType.UNPUBLISH_API,
+                        io.gravitee.repository.management.model.EventType.START_API,
+                        io.gravitee.repository.management.model.EventType.STOP_API)
+                .from(1)
+                .to(oldestKeptDeployment.getTime() - 1)
+                .build();
+
+        // Deleted by batches, the first page always holding the most recent outdated events left
+        int purged = 0;
+        List<Event> outdatedEvents;
+        do {
+            outdatedEvents = eventRepository.search(outdatedEventsCriteria,
+                    new PageableBuilder().pageNumber(0).pageSize(PURGE_BATCH_SIZE).build())
+                    .getContent()
+                    .stream()
+                    .filter(event -> event.getCreatedAt().before(oldestKeptDeployment))
+                    .collect(Collectors.toList());
+
+            outdatedEvents.forEach(event -> delete(event.getId()));
+            purged += outdatedEvents.size();
+        } while (outdatedEvents.size() == PURGE_BATCH_SIZE);
+
+        return purged;
+    }
+
     private Set<EventEntity> findByProperty(String property, String value) {
         return convert(eventRepository.search(new EventCriteria.Builder().property(property, value).build()));
     }
@@ -146,7 +228,10 @@ public class EventServiceImpl extends TransactionalService implements EventServi
                 builder.build(),
                 new PageableBuilder().pageNumber(page).pageSize(size).build());
 
-        List<EventEntity> content = pageEvent.getContent().stream().map(this::convert).collect(Collectors.toList());
+        final Map<String, UserEntity> users = findUsers(pageEvent.getContent());
+        List<EventEntity> content = pageEvent.getContent().stream()
+                .map(event -> convert(event, users))
+                .collect(Collectors.toList());
 
         return new Page<>(content, page, size, pageEvent.getTotalElements());
     }
@@ -182,41 +267,76 @@ public class EventServiceImpl extends TransactionalService implements EventServi
     }
 
     private Set<EventEntity> convert(List<Event> events) {
-        return events.stream().map(this::convert).collect(Collectors.toSet());
+        final Map<String, UserEntity> users = findUsers(events);
+        return events.stream().map(event -> convert(event, users)).collect(Collectors.toSet());
     }
 
     private EventEntity convert(Event event) {
+        return convert(event, findUsers(Collections.singletonList(event)));
+    }
+
+    private EventEntity convert(Event event, Map<String, UserEntity> users) {
         EventEntity eventEntity = new EventEntity();
         eventEntity.setId(event.getId());
         eventEntity.setType(io.gravitee.management.model.EventType.valueOf(event.getType().toString()));
-        eventEntity.setPayload(event.getPayload());
+        eventEntity.setPayload(EventPayloadCodec.decode(event.getPayload()));
         eventEntity.setParentId(event.getParentId());
         eventEntity.setProperties(event.getProperties());
         eventEntity.setCreatedAt(event.getCreatedAt());
         eventEntity.setUpdatedAt(event.getUpdatedAt());
 
+        final String userId = getUserId(event);
+        if (userId != null) {
+            UserEntity user = users.get(userId);
+            if (user == null) {
+                user = new UserEntity();
+                user.setSource("system");
+                user.setId(userId);
+                user.setUsername("system");
+            }
+            eventEntity.setUser(user);
+        }
+
+        return eventEntity;
+    }
+
+    /**
+     * Resolve all the distinct users of the given events in a single call.
+     */
+    private Map<String, UserEntity> findUsers(Collection<Event> events) {
+        final List<String> userIds = events.stream()
+                .map(this::getUserId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+        if (userIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        try {
+            return userService.findByIds(userIds).stream()
+                    .collect(Collectors.toMap(UserEntity::getId, user -> user));
+        } catch (UserNotFoundException unfe) {
+            return Collections.emptyMap();
+        }
+    }
+
+    private String getUserId(Event event) {
         if (event.getProperties() != null) {
             final String userId = event.getProperties().get(Event.EventProperties.USER.getValue());
             if (userId != null && !userId.isEmpty()) {
-                try {
-                    eventEntity.setUser(userService.findById(userId));
-                } catch (UserNotFoundException unfe) {
-                    UserEntity user = new UserEntity();
-                    user.setSource("system");
-                    user.setId(userId);
-                    user.setUsername("system");
-                    eventEntity.setUser(user);
-                }
+                return userId;
             }
         }
-
-        return eventEntity;
+        return null;
     }
 
     private Event convert(NewEventEntity newEventEntity) {
         Event event = new Event();
         event.setType(io.gravitee.repository.management.model.EventType.valueOf(newEventEntity.getType().toString()));
-        event.setPayload(newEventEntity.getPayload());
+        event.setPayload(compressionEnabled ?
+                EventPayloadCodec.encode(newEventEntity.getPayload()) : newEventEntity.getPayload());
         event.setParentId(newEventEntity.getParentId());
         event.setProperties(newEventEntity.getProperties());
 
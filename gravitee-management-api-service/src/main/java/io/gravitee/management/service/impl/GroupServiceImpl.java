@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service.impl;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.management.model.*;
 import io.gravitee.management.model.Visibility;
@@ -25,6 +26,7 @@ import io.gravitee.management.service.AuditService;
 import io.gravitee.management.service.GroupService;
 import io.gravitee.management.service.MembershipService;
 import io.gravitee.management.service.PermissionService;
+import io.gravitee.management.service.event.MembershipEvent;
 import io.gravitee.management.service.exceptions.GroupNameAlreadyExistsException;
 import io.gravitee.management.service.exceptions.GroupNotFoundException;
 import io.gravitee.management.service.exceptions.GroupsNotFoundException;
@@ -78,6 +80,9 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
     @Autowired
     private PermissionService permissionService;
 
+    @Autowired
+    private EventManager eventManager;
+
     @Override
     public List<GroupEntity> findAll() {
         try {
@@ -281,6 +286,8 @@ public class GroupServiceImpl extends AbstractService implements GroupService {
                     .forEach(member -> {
                         try {
                             membershipRepository.delete(member);
+                            TransactionCallbacks.afterCommit(() ->
+                                    eventManager.publishEvent(MembershipEvent.UPDATE, member.getUserId()));
                         } catch (TechnicalException ex) {
                             logger.error("An error occurs while trying to delete a group", ex);
                             throw new TechnicalManagementException("An error occurs while trying to delete a group", ex);
@@ -17,15 +17,21 @@ package io.gravitee.management.service.impl;
 
 import io.gravitee.management.idp.api.identity.SearchableUser;
 import io.gravitee.management.idp.core.authentication.IdentityManager;
+import io.gravitee.management.idp.core.authentication.IdentitySearchResult;
+import io.gravitee.management.model.SearchLatencyEntity;
 import io.gravitee.management.model.providers.User;
 import io.gravitee.management.service.IdentityService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Collection;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Function;
 
 /**
+ * Identities are kept for <code>identity.cache.ttl</code> seconds (0 to disable the cache), so that a same user is
+ * resolved only once by the identity providers while importing an API, adding members or searching for users.
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author GraviteeSource Team
  */
@@ -35,15 +41,76 @@ public class IdentityServiceImpl implements IdentityService {
     @Autowired
     private IdentityManager identityManager;
 
+    @Value("${identity.cache.ttl:30}")
+    private long cacheTtl;
+
+    @Value("${identity.cache.maxSize:1000}")
+    private int cacheMaxSize;
+
+    private final IdentityCache<IdentitySearchResult> searches = new IdentityCache<>();
+    private final IdentityCache<Optional<User>> usersByReference = new IdentityCache<>();
+    private final IdentityCache<Optional<SearchableUser>> usersByUsername = new IdentityCache<>();
+
     @Override
-    public Collection<SearchableUser> search(String query) {
-        return identityManager.search(query);
+    public IdentitySearchResult search(String query) {
+        IdentitySearchResult users = searches.get(query);
+        if (users == null) {
+            users = identityManager.search(query);
+            // partial results are not cached, for the providers which timed out to be searched again
+            if (users.isComplete()) {
+                searches.put(query, users);
+            }
+        }
+        return users;
     }
 
     @Override
     public Optional<User> findByReference(String reference) {
-        Optional<io.gravitee.management.idp.api.identity.User> optUser = identityManager.lookup(reference);
-        return optUser.flatMap(user -> Optional.of(convert(user)));
+        return usersByReference.get(reference, ref -> {
+            Optional<io.gravitee.management.idp.api.identity.User> optUser = identityManager.lookup(ref);
+            return optUser.flatMap(user -> Optional.of(convert(user)));
+        }).map(this::copy);
+    }
+
+    @Override
+    public Map<String, SearchableUser> searchByUsernames(Collection<String> usernames) {
+        final Map<String, SearchableUser> users = new HashMap<>();
+        final Set<String> missingUsernames = new HashSet<>();
+        for (String username : usernames) {
+            Optional<SearchableUser> user = usersByUsername.get(username);
+            if (user == null) {
+                missingUsernames.add(username);
+            } else {
+                user.ifPresent(searchableUser -> users.put(username, searchableUser));
+            }
+        }
+
+        if (!missingUsernames.isEmpty()) {
+            final Map<String, SearchableUser> foundUsers = identityManager.searchByUsernames(missingUsernames);
+            for (String username : missingUsernames) {
+                final SearchableUser user = foundUsers.get(username);
+                // unknown usernames are cached too, to not query the providers again for them
+                usersByUsername.put(username, Optional.ofNullable(user));
+                if (user != null) {
+                    users.put(username, user);
+                }
+            }
+        }
+
+        return users;
+    }
+
+    @Override
+    public Map<String, SearchLatencyEntity> getSearchLatencies() {
+        final Map<String, SearchLatencyEntity> latencies = new TreeMap<>();
+        identityManager.getSearchLatencies().forEach((provider, histogram) -> {
+            final SearchLatencyEntity latency = new SearchLatencyEntity();
+            latency.setCount(histogram.getCount());
+            latency.setTotalTime(histogram.getTotalTime());
+            latency.setBuckets(histogram.getCounts());
+            latencies.put(provider, latency);
+        });
+        return latencies;
     }
 
     private User convert(io.gravitee.management.idp.api.identity.User identity) {
@@ -58,4 +125,69 @@ public class IdentityServiceImpl implements IdentityService {
         user.setDisplayName(identity.getDisplayName());
         return user;
     }
+
+    private User copy(User cachedUser) {
+        User user = new User();
+        user.setId(cachedUser.getId());
+        user.setSourceId(cachedUser.getSourceId());
+        user.setSource(cachedUser.getSource());
+        user.setEmail(cachedUser.getEmail());
+        user.setUsername(cachedUser.getUsername());
+        user.setFirstname(cachedUser.getFirstname());
+        user.setLastname(cachedUser.getLastname());
+        user.setDisplayName(cachedUser.getDisplayName());
+        return user;
+    }
+
+    /**
+     * Least recently used entries are evicted once <code>identity.cache.maxSize</code> entries are cached.
+     */
+    private class IdentityCache<V> {
+
+        private final Map<String, CachedIdentity<V>> entries = new LinkedHashMap<String, CachedIdentity<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedIdentity<V>> eldest) {
+                return size() > cacheMaxSize;
+            }
+        };
+
+        V get(String key) {
+            if (cacheTtl <= 0) {
+                return null;
+            }
+
+            final CachedIdentity<V> cached;
+            synchronized (entries) {
+                cached = entries.get(key);
+            }
+            return cached != null && System.currentTimeMillis() - cached.cachedAt < cacheTtl * 1000 ?
+                    cached.value : null;
+        }
+
+        V get(String key, Function<String, V> loader) {
+            V value = get(key);
+            if (value == null) {
+                value = loader.apply(key);
+                put(key, value);
+            }
+            return value;
+        }
+
+        void put(String key, V value) {
+            if (cacheTtl > 0 && value != null) {
+                synchronized (entries) {
+                    entries.put(key, new CachedIdentity<>(value));
+                }
+            }
+        }
+    }
+
+    private static class CachedIdentity<V> {
+        private final V value;
+        private final long cachedAt = System.currentTimeMillis();
+
+        CachedIdentity(V value) {
+            this.value = value;
+        }
+    }
 }
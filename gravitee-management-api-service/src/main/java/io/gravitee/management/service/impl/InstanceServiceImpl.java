@@ -16,6 +16,7 @@
 package io.gravitee.management.service.impl;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.gravitee.management.model.*;
 import io.gravitee.management.service.EventService;
 import io.gravitee.management.service.InstanceService;
@@ -45,6 +46,8 @@ public class InstanceServiceImpl implements InstanceService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    private volatile ObjectReader instanceInfoReader;
+
     private static final List<EventType> instancesAllState = new ArrayList<>();
 
     {
@@ -79,7 +82,7 @@ public class InstanceServiceImpl implements InstanceService {
 
                     if (event.getPayload() != null) {
                         try {
-                            InstanceInfo info = objectMapper.readValue(event.getPayload(), InstanceInfo.class);
+                            InstanceInfo info = instanceInfoReader().readValue(event.getPayload());
                             instance.setHostname(info.getHostname());
                             instance.setIp(info.getIp());
                             instance.setPort(info.getPort());
@@ -121,7 +124,7 @@ public class InstanceServiceImpl implements InstanceService {
 
         if (event.getPayload() != null) {
             try {
-                InstanceInfo info = objectMapper.readValue(event.getPayload(), InstanceInfo.class);
+                InstanceInfo info = instanceInfoReader().readValue(event.getPayload());
                 instance.setHostname(info.getHostname());
                 instance.setIp(info.getIp());
                 instance.setPort(info.getPort());
@@ -150,6 +153,14 @@ public class InstanceServiceImpl implements InstanceService {
         return instance;
     }
 
+    private ObjectReader instanceInfoReader() {
+        ObjectReader reader = instanceInfoReader;
+        if (reader == null) {
+            reader = objectMapper.readerFor(InstanceInfo.class);
+            instanceInfoReader = reader;
+        }
+        return reader;
+    }
 
     private static class InstanceInfo {
         private String id;
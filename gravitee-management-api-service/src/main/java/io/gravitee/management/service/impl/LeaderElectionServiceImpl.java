@@ -0,0 +1,283 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl;
+
+import io.gravitee.common.utils.UUID;
+import io.gravitee.management.model.ClusterLeaseEntity;
+import io.gravitee.management.service.LeaderElectionService;
+import io.gravitee.management.service.exceptions.TechnicalManagementException;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ParameterRepository;
+import io.gravitee.repository.management.model.Parameter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Lease based leader election, leases are stored as parameters of the management repository.
+ *
+ * The leases of the known jobs are acquired at startup, and then renewed by a background thread every third of
+ * <code>cluster.leader.lease</code> seconds, whatever the schedule of the jobs. Any other job is added to the renewed
+ * ones the first time it asks for leadership. Checking the leadership only reads the last known lease, it never
+ * accesses the repository, so that it can be called from an event loop. If the owner stops renewing the lease, any
+ * other node takes it over as soon as it expires.
+ *
+ * The repository has no conditional update, so the election is best-effort: a node taking over a lease writes it,
+ * waits <code>cluster.leader.takeover-delay</code> milliseconds for the other candidates to write it too, and only
+ * becomes the leader if it is still the owner when reading it again. Two nodes may still act as leader for a short
+ * time if a write takes longer than this delay, so the elected jobs must tolerate an occasional concurrent run.
+ *
+ * When <code>cluster.leader.enabled</code> is false (the default), the current node is considered as the leader of
+ * every job, which is the expected behavior for a single node installation.
+ *
+ * @author GraviteeSource Team
+ */
+@Component
+public class LeaderElectionServiceImpl implements LeaderElectionService, InitializingBean, DisposableBean {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(LeaderElectionServiceImpl.class);
+
+    private static final String LEASE_KEY_PREFIX = "cluster.lease.";
+    private static final String SEPARATOR = ";";
+    private static final List<String> KNOWN_JOBS =
+            Arrays.asList(SUBSCRIPTIONS_REFRESHER_JOB, DYNAMIC_PROPERTIES_JOB, DICTIONARIES_JOB, EVENTS_RETENTION_JOB);
+
+    @Autowired
+    private ParameterRepository parameterRepository;
+
+    @Value("${cluster.leader.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cluster.leader.lease:30}")
+    private long leaseDuration;
+
+    @Value("${cluster.leader.takeover-delay:1000}")
+    private long takeoverDelay;
+
+    private final String nodeId = getHostName() + '/' + UUID.toString(UUID.random());
+
+    /**
+     * Jobs whose leases are acquired and renewed in background by this node.
+     */
+    private final Set<String> jobs = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Last known lease by job.
+     */
+    private final Map<String, ClusterLeaseEntity> leases = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService renewalExecutor;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (enabled) {
+            jobs.addAll(KNOWN_JOBS);
+            final long period = Math.max(1, getLeaseDurationMillis() / 3);
+            renewalExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "gio-leader-election");
+                thread.setDaemon(true);
+                return thread;
+            });
+            renewalExecutor.scheduleWithFixedDelay(this::renewLeases, 0, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (renewalExecutor != null) {
+            renewalExecutor.shutdownNow();
+        }
+        if (enabled) {
+            releaseLeases();
+        }
+    }
+
+    @Override
+    public boolean isLeader(String job) {
+        if (!enabled) {
+            leases.computeIfAbsent(job, j -> convert(j, nodeId, Long.MAX_VALUE));
+            return true;
+        }
+
+        if (jobs.add(job) && renewalExecutor != null && !renewalExecutor.isShutdown()) {
+            // Never access the repository from the caller thread, the job is not the leader until the lease is acquired
+            renewalExecutor.execute(() -> acquire(job));
+        }
+
+        final ClusterLeaseEntity lease = leases.get(job);
+        return lease != null && lease.isOwnedByCurrentNode()
+                && lease.getExpiresAt().getTime() > System.currentTimeMillis();
+    }
+
+    private void renewLeases() {
+        for (String job : jobs) {
+            acquire(job);
+        }
+    }
+
+    /**
+     * Acquire the lease of the job if it is free or expired, renew it if it is owned by the current node.
+     */
+    private void acquire(String job) {
+        final long now = System.currentTimeMillis();
+        final ClusterLeaseEntity knownLease = leases.get(job);
+
+        try {
+            final String key = LEASE_KEY_PREFIX + job;
+            final Optional<Parameter> optLease = parameterRepository.findById(key);
+            final Parameter lease = new Parameter();
+            lease.setKey(key);
+            lease.setValue(nodeId + SEPARATOR + (now + getLeaseDurationMillis()));
+
+            final boolean takeOver;
+            if (!optLease.isPresent()) {
+                parameterRepository.create(lease);
+                takeOver = true;
+            } else {
+                final ClusterLeaseEntity currentLease = convert(job, optLease.get());
+                if (currentLease.isOwnedByCurrentNode()) {
+                    parameterRepository.update(lease);
+                    takeOver = false;
+                } else if (currentLease.getExpiresAt().getTime() <= now) {
+                    parameterRepository.update(lease);
+                    takeOver = true;
+                } else {
+                    register(job, currentLease);
+                    return;
+                }
+            }
+
+            if (takeOver && takeoverDelay > 0) {
+                // Let the other nodes taking over the lease at the same time write it, the last writer wins
+                Thread.sleep(takeoverDelay);
+            }
+
+            // Read again the lease, another node may have acquired it concurrently
+            final Optional<Parameter> acquiredLease = parameterRepository.findById(key);
+            if (!acquiredLease.isPresent()) {
+                register(job, null);
+                return;
+            }
+            final ClusterLeaseEntity newLease = convert(job, acquiredLease.get());
+            if (newLease.isOwnedByCurrentNode() && (knownLease == null || !knownLease.isOwnedByCurrentNode())) {
+                LOGGER.info("Node {} is now the leader for job {}", nodeId, job);
+            }
+            register(job, newLease);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            register(job, null);
+        } catch (TechnicalException | RuntimeException ex) {
+            LOGGER.error("An error occurs while trying to acquire the lease of job {}", job, ex);
+            register(job, null);
+        }
+    }
+
+    private void register(String job, ClusterLeaseEntity lease) {
+        if (lease == null) {
+            leases.remove(job);
+        } else {
+            leases.put(job, lease);
+        }
+    }
+
+    /**
+     * Make the leases owned by the current node expire, so that the other nodes take them over right away.
+     */
+    private void releaseLeases() {
+        leases.values().stream().filter(ClusterLeaseEntity::isOwnedByCurrentNode).forEach(lease -> {
+            final Parameter parameter = new Parameter();
+            parameter.setKey(LEASE_KEY_PREFIX + lease.getJob());
+            parameter.setValue(nodeId + SEPARATOR + 0);
+            try {
+                parameterRepository.update(parameter);
+            } catch (TechnicalException | RuntimeException ex) {
+                LOGGER.warn("Unable to release the lease of job {}", lease.getJob(), ex);
+            }
+        });
+        leases.clear();
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public Collection<ClusterLeaseEntity> findLeases() {
+        if (!enabled || leases.isEmpty()) {
+            return new ArrayList<>(leases.values());
+        }
+
+        try {
+            return parameterRepository.findAll(leases.keySet().stream().map(job -> LEASE_KEY_PREFIX + job).collect(toList()))
+                    .stream()
+                    .map(parameter -> convert(parameter.getKey().substring(LEASE_KEY_PREFIX.length()), parameter))
+                    .collect(toList());
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurs while trying to find cluster leases", ex);
+            throw new TechnicalManagementException("An error occurs while trying to find cluster leases", ex);
+        }
+    }
+
+    private long getLeaseDurationMillis() {
+        return leaseDuration * 1000;
+    }
+
+    private ClusterLeaseEntity convert(String job, Parameter parameter) {
+        final String value = parameter.getValue();
+        final int separatorIndex = value == null ? -1 : value.lastIndexOf(SEPARATOR);
+        if (separatorIndex > 0) {
+            try {
+                return convert(job, value.substring(0, separatorIndex), Long.parseLong(value.substring(separatorIndex + 1)));
+            } catch (NumberFormatException nfe) {
+                LOGGER.warn("Malformed lease for job {}: {}", job, value);
+            }
+        }
+        // Malformed lease, consider it as expired
+        return convert(job, null, 0);
+    }
+
+    private ClusterLeaseEntity convert(String job, String owner, long expiresAt) {
+        final ClusterLeaseEntity lease = new ClusterLeaseEntity();
+        lease.setJob(job);
+        lease.setOwner(owner);
+        lease.setExpiresAt(new Date(expiresAt));
+        lease.setOwnedByCurrentNode(nodeId.equals(owner));
+        return lease;
+    }
+
+    private static String getHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException uhe) {
+            return "unknown";
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service.impl;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.*;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.api.ApiQuery;
@@ -23,6 +24,7 @@ import io.gravitee.management.model.permissions.SystemRole;
 import io.gravitee.management.model.providers.User;
 import io.gravitee.management.service.*;
 import io.gravitee.management.service.builder.EmailNotificationBuilder;
+import io.gravitee.management.service.event.MembershipEvent;
 import io.gravitee.management.service.exceptions.*;
 import io.gravitee.management.service.notification.NotificationParamsBuilder;
 import io.gravitee.repository.exceptions.TechnicalException;
@@ -39,6 +41,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static io.gravitee.management.model.permissions.SystemRole.PRIMARY_OWNER;
@@ -95,6 +98,9 @@ public class MembershipServiceImpl extends AbstractService implements Membership
     @Autowired
     private ApplicationRepository applicationRepository;
 
+    @Autowired
+    private EventManager eventManager;
+
     @Override
     public Set<MemberEntity> getMembers(MembershipReferenceType referenceType, String referenceId, RoleScope roleScope) {
         return getMembers(referenceType, referenceId, roleScope, null);
@@ -111,9 +117,7 @@ public class MembershipServiceImpl extends AbstractService implements Membership
                     roleScope,
                     roleName);
 
-            return memberships.stream()
-                    .map(m -> convert(m, roleScope))
-                    .collect(Collectors.toSet());
+            return convert(memberships, roleScope);
 
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to get members for {} {}", referenceType, referenceId, ex);
@@ -278,6 +282,7 @@ public class MembershipServiceImpl extends AbstractService implements Membership
                 updatedMembership.setUpdatedAt(updateDate);
                 returnedMembership = membershipRepository.update(optionalMembership.get());
                 createAuditLog(MEMBERSHIP_UPDATED, updatedMembership.getUpdatedAt(), previousMembership, updatedMembership);
+                publishMembershipUpdate(updatedMembership);
             } else {
                 Membership membership = new Membership(userEntity.getId(), reference.getId(), reference.getType());
                 membership.setRoles(Collections.singletonMap(role.getScope().getId(), role.getName()));
@@ -285,6 +290,7 @@ public class MembershipServiceImpl extends AbstractService implements Membership
                 membership.setUpdatedAt(updateDate);
                 returnedMembership = membershipRepository.create(membership);
                 createAuditLog(MEMBERSHIP_CREATED, membership.getCreatedAt(), null, membership);
+                publishMembershipUpdate(membership);
 
                 if (userEntity.getEmail() != null && !userEntity.getEmail().isEmpty()) {
                     EmailNotification emailNotification = buildEmailNotification(userEntity, reference.getType(), reference.getId());
@@ -319,6 +325,7 @@ public class MembershipServiceImpl extends AbstractService implements Membership
             Membership membership = new Membership(userId, referenceId, referenceType);
             membershipRepository.delete(membership);
             createAuditLog(MEMBERSHIP_DELETED, new Date(), membership, null);
+            publishMembershipUpdate(membership);
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to delete member {} for {} {}", userId, referenceType, referenceId, ex);
             throw new TechnicalManagementException("An error occurs while trying to delete member " + userId + " for " + referenceType + " " + referenceId, ex);
@@ -395,6 +402,7 @@ public class MembershipServiceImpl extends AbstractService implements Membership
                 } else {
                     membershipRepository.update(membership);
                     createAuditLog(MEMBERSHIP_UPDATED, membership.getUpdatedAt(), previousMembership, membership);
+                    publishMembershipUpdate(membership);
                     return true;
                 }
             }
@@ -425,6 +433,7 @@ public class MembershipServiceImpl extends AbstractService implements Membership
             for(Membership membership : membershipRepository.findByUser(userId)) {
                 membershipRepository.delete(membership);
             }
+            TransactionCallbacks.afterCommit(() -> eventManager.publishEvent(MembershipEvent.UPDATE, userId));
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to remove user {}", userId, ex);
             throw new TechnicalManagementException("An error occurs while trying to remove user " + userId, ex);
@@ -559,21 +568,64 @@ public class MembershipServiceImpl extends AbstractService implements Membership
         return Collections.emptyMap();
     }
 
-    private MemberEntity convert(Membership membership, RoleScope roleScope) {
-        final MemberEntity member = new MemberEntity();
+    /**
+     * Converts the memberships with one lookup of their users and of the roles of the scope. The memberships of
+     * unknown users are skipped, whether some or all of the users are unknown.
+     *
+     * @return the members, without the memberships having no role in the scope
+     */
+    private Set<MemberEntity> convert(Collection<Membership> memberships, RoleScope roleScope) {
+        if (memberships == null || memberships.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Map<String, UserEntity> users;
+        try {
+            users = userService.findByIds(memberships.stream()
+                    .map(Membership::getUserId)
+                    .distinct()
+                    .collect(Collectors.toList()))
+                    .stream()
+                    .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+        } catch (UserNotFoundException unfe) {
+            // none of the users exists
+            users = Collections.emptyMap();
+        }
+        final Map<String, RoleEntity> roles = roleService.findByScope(roleScope).stream()
+                .collect(Collectors.toMap(RoleEntity::getName, Function.identity()));
+
+        final Set<MemberEntity> members = new HashSet<>();
+        for (Membership membership : memberships) {
+            final UserEntity userEntity = users.get(membership.getUserId());
+            if (userEntity == null) {
+                LOGGER.warn("User {} of the {} {} is unknown", membership.getUserId(),
+                        membership.getReferenceType(), membership.getReferenceId());
+                continue;
+            }
+            final String roleName = membership.getRoles().get(roleScope.getId());
+            final MemberEntity member = convert(membership, userEntity, roleName == null ? null : roles.get(roleName));
+            if (member != null) {
+                members.add(member);
+            }
+        }
+        return members;
+    }
 
+    private MemberEntity convert(Membership membership, RoleScope roleScope) {
         final UserEntity userEntity = userService.findById(membership.getUserId());
-        final RoleEntity role = getRole(
-                membership.getReferenceType(),
-                membership.getReferenceId(),
-                membership.getUserId(),
-                roleScope);
+        final String roleName = membership.getRoles().get(roleScope.getId());
+        return convert(membership, userEntity, roleName == null ? null : roleService.findById(roleScope, roleName));
+    }
+
+    private MemberEntity convert(Membership membership, UserEntity userEntity, RoleEntity role) {
         // because API and APPLICATION RoleScope is not mandatory for a group,
         // role could be null
         if (role == null) {
             return null;
         }
 
+        final MemberEntity member = new MemberEntity();
+
         member.setPermissions(role.getPermissions());
         member.setId(membership.getUserId());
         member.setCreatedAt(membership.getCreatedAt());
@@ -643,6 +695,17 @@ public class MembershipServiceImpl extends AbstractService implements Membership
         }
     }
 
+    /**
+     * The APIs visible by a user depend on its API and group memberships. The event is published once the change is
+     * committed, for the listeners not to read the memberships before.
+     */
+    private void publishMembershipUpdate(Membership membership) {
+        if (API.equals(membership.getReferenceType()) || GROUP.equals(membership.getReferenceType())) {
+            final String userId = membership.getUserId();
+            TransactionCallbacks.afterCommit(() -> eventManager.publishEvent(MembershipEvent.UPDATE, userId));
+        }
+    }
+
     private void createAuditLog(Audit.AuditEvent event, Date date, Membership oldValue, Membership newValue) {
         MembershipReferenceType referenceType = oldValue != null ? oldValue.getReferenceType() : newValue.getReferenceType();
         String referenceId = oldValue != null ? oldValue.getReferenceId() : newValue.getReferenceId();
@@ -155,7 +155,8 @@ public class MessageServiceImpl extends AbstractService implements MessageServic
 
             case PORTAL:
                 Hook hook = api==null ? PortalHook.MESSAGE : ApiHook.MESSAGE;
-                portalNotificationService.create(hook, new ArrayList<>(recipientsId), getPortalParams(api, message));
+                // recipients can be numerous, notifications are written by a background job
+                portalNotificationService.createInBackground(hook, recipientsId, getPortalParams(api, message));
                 return recipientsId.size();
 
             case HTTP:
@@ -191,15 +192,14 @@ public class MessageServiceImpl extends AbstractService implements MessageServic
         // the first 2 cases are for admin communication, the last one for the api publisher communication.
 
         try {
+            // memberships are added to the recipients as they are read, without intermediate collections
             final Set<String> recipientIds = new HashSet<>();
             // CASE 1 : global sending
             if (api == null && RoleScope.MANAGEMENT.name().equals(recipientEntity.getRoleScope())) {
                 for (String roleName: recipientEntity.getRoleValues()) {
-                    recipientIds.addAll(
-                            membershipRepository.findByRole(RoleScope.MANAGEMENT, roleName)
-                                    .stream()
-                                    .map(Membership::getUserId)
-                                    .collect(Collectors.toSet()));
+                    for (Membership membership : membershipRepository.findByRole(RoleScope.MANAGEMENT, roleName)) {
+                        recipientIds.add(membership.getUserId());
+                    }
                 }
             }
             // CASE 2 : specific api consumers
@@ -213,32 +213,30 @@ public class MessageServiceImpl extends AbstractService implements MessageServic
                                 .build())
                         .stream()
                         .map(Subscription::getApplication)
+                        .distinct()
                         .collect(Collectors.toList());
 
                 // Get members of the applications (direct members)
                 for (String roleName: recipientEntity.getRoleValues()) {
-                    recipientIds.addAll(
-                            membershipRepository.findByReferencesAndRole(
-                                    MembershipReferenceType.APPLICATION,
-                                    applicationIds,
-                                    RoleScope.APPLICATION,
-                                    roleName)
-                                    .stream()
-                                    .map(Membership::getUserId)
-                                    .collect(Collectors.toSet()));
+                    for (Membership membership : membershipRepository.findByReferencesAndRole(
+                            MembershipReferenceType.APPLICATION,
+                            applicationIds,
+                            RoleScope.APPLICATION,
+                            roleName)) {
+                        recipientIds.add(membership.getUserId());
+                    }
                 }
                 // Get members of the applications (group members)
                 if (api.getGroups() != null && !api.getGroups().isEmpty()) {
+                    final List<String> groupIds = new ArrayList<>(api.getGroups());
                     for (String roleName: recipientEntity.getRoleValues()) {
-                        recipientIds.addAll(
-                                membershipRepository.findByReferencesAndRole(
-                                        MembershipReferenceType.GROUP,
-                                        new ArrayList<>(api.getGroups()),
-                                        RoleScope.APPLICATION,
-                                        roleName)
-                                        .stream()
-                                        .map(Membership::getUserId)
-                                        .collect(Collectors.toSet()));
+                        for (Membership membership : membershipRepository.findByReferencesAndRole(
+                                MembershipReferenceType.GROUP,
+                                groupIds,
+                                RoleScope.APPLICATION,
+                                roleName)) {
+                            recipientIds.add(membership.getUserId());
+                        }
                     }
                 }
             }
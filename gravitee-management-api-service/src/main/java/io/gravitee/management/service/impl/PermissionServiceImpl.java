@@ -85,7 +85,7 @@ public class PermissionServiceImpl extends AbstractService implements Permission
             Set<String> groups = null;
             if (MembershipReferenceType.GROUP.equals(groupMembershipReferenceType)) {
                 try {
-                    groups = apiService.findById(referenceId).getGroups();
+                    groups = apiService.findByIdLight(referenceId).getGroups();
                 } catch (ApiNotFoundException ane) {
                     groups = applicationService.findById(referenceId).getGroups();
                 }
@@ -96,7 +96,7 @@ public class PermissionServiceImpl extends AbstractService implements Permission
             }
         }
         for (RoleEntity roleEntity : roles) {
-            if (roleService.hasPermission(roleEntity.getPermissions(), permission.getPermission(), acls)) {
+            if (roleService.hasRolePermission(roleEntity, permission.getPermission(), acls)) {
                 return true;
             }
         }
@@ -0,0 +1,177 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service.impl;
+
+import io.gravitee.management.model.InlinePictureEntity;
+import io.gravitee.management.service.PictureService;
+import io.gravitee.management.service.exceptions.TechnicalManagementException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.xml.bind.DatatypeConverter;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @author GraviteeSource Team
+ */
+@Component
+public class PictureServiceImpl implements PictureService {
+
+    private final Logger LOGGER = LoggerFactory.getLogger(PictureServiceImpl.class);
+
+    private static final String THUMBNAIL_TYPE = "image/png";
+
+    @Value("${pictures.cache.maxSize:16}")
+    private int cacheMaxSize;
+
+    /**
+     * Decoded pictures by data URI, file path or thumbnail key, the least recently used are evicted once the cache
+     * exceeds its maximum size (in MB).
+     */
+    private final Map<String, CachedPicture> pictures = new LinkedHashMap<>(16, 0.75f, true);
+    private long cacheSize;
+
+    @Override
+    public InlinePictureEntity decode(String dataUri) {
+        CachedPicture cachedPicture = get(dataUri);
+        if (cachedPicture == null) {
+            final String[] parts = dataUri.split(";", 2);
+            final String type = parts[0].split(":")[1];
+            final String base64Content = dataUri.split(",", 2)[1];
+            cachedPicture = put(dataUri, dataUri.length(), picture(type, DatatypeConverter.parseBase64Binary(base64Content)), 0);
+        }
+        return cachedPicture.picture;
+    }
+
+    @Override
+    public InlinePictureEntity load(String path, String type) {
+        final File file = new File(path);
+        final long lastModified = file.lastModified();
+        CachedPicture cachedPicture = get(path);
+        if (cachedPicture == null || cachedPicture.lastModified != lastModified) {
+            try {
+                cachedPicture = put(path, 0, picture(type, Files.readAllBytes(file.toPath())), lastModified);
+            } catch (IOException ioe) {
+                LOGGER.error("Unable to read the picture {}", path, ioe);
+                throw new TechnicalManagementException("Unable to read the picture " + path, ioe);
+            }
+        }
+        return cachedPicture.picture;
+    }
+
+    @Override
+    public InlinePictureEntity resize(InlinePictureEntity picture, int size) {
+        final String key = picture.getHash() + '@' + size;
+        CachedPicture cachedPicture = get(key);
+        if (cachedPicture == null) {
+            cachedPicture = put(key, 0, scale(picture, size), 0);
+        }
+        return cachedPicture.picture;
+    }
+
+    private InlinePictureEntity scale(InlinePictureEntity picture, int size) {
+        try {
+            final BufferedImage image = ImageIO.read(new ByteArrayInputStream(picture.getContent()));
+            if (image == null || (image.getWidth() <= size && image.getHeight() <= size)) {
+                return picture;
+            }
+
+            final double ratio = Math.min((double) size / image.getWidth(), (double) size / image.getHeight());
+            final int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+            final int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+
+            final BufferedImage thumbnail = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            final Graphics2D graphics = thumbnail.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(image, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            ImageIO.write(thumbnail, "png", baos);
+            return picture(THUMBNAIL_TYPE, baos.toByteArray());
+        } catch (IOException ioe) {
+            LOGGER.warn("Unable to resize the picture {}, the original one is used", picture.getHash(), ioe);
+            return picture;
+        }
+    }
+
+    private InlinePictureEntity picture(String type, byte[] content) {
+        final InlinePictureEntity picture = new InlinePictureEntity();
+        picture.setType(type);
+        picture.setContent(content);
+        picture.setHash(hash(content));
+        return picture;
+    }
+
+    private synchronized CachedPicture get(String key) {
+        return pictures.get(key);
+    }
+
+    private synchronized CachedPicture put(String key, int keySize, InlinePictureEntity picture, long lastModified) {
+        final CachedPicture cachedPicture = new CachedPicture(picture, keySize + picture.getContent().length, lastModified);
+        final CachedPicture previous = pictures.put(key, cachedPicture);
+        if (previous != null) {
+            cacheSize -= previous.size;
+        }
+        cacheSize += cachedPicture.size;
+
+        final long maxSize = cacheMaxSize * 1024L * 1024L;
+        final Iterator<CachedPicture> ite = pictures.values().iterator();
+        while (cacheSize > maxSize && ite.hasNext()) {
+            cacheSize -= ite.next().size;
+            ite.remove();
+        }
+        return cachedPicture;
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            return DatatypeConverter.printHexBinary(MessageDigest.getInstance("SHA-256").digest(content)).toLowerCase();
+        } catch (NoSuchAlgorithmException nsae) {
+            throw new IllegalStateException(nsae);
+        }
+    }
+
+    private static class CachedPicture {
+        private final InlinePictureEntity picture;
+        private final long size;
+        private final long lastModified;
+
+        CachedPicture(InlinePictureEntity picture, long size, long lastModified) {
+            this.picture = picture;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
@@ -18,6 +18,7 @@ package io.gravitee.management.service.impl;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import io.gravitee.common.utils.UUID;
 import io.gravitee.definition.model.Path;
 import io.gravitee.management.model.*;
@@ -66,6 +67,8 @@ public class PlanServiceImpl extends TransactionalService implements PlanService
     @Autowired
     private ObjectMapper objectMapper;
 
+    private volatile ObjectReader planDefinitionReader;
+
     @Autowired
     private AuditService auditService;
 
@@ -489,6 +492,15 @@ public class PlanServiceImpl extends TransactionalService implements PlanService
                 });
     }
 
+    private ObjectReader planDefinitionReader() {
+        ObjectReader reader = planDefinitionReader;
+        if (reader == null) {
+            reader = objectMapper.readerFor(new TypeReference<HashMap<String, Path>>() {});
+            planDefinitionReader = reader;
+        }
+        return reader;
+    }
+
     private PlanEntity convert(Plan plan) {
         PlanEntity entity = new PlanEntity();
 
@@ -503,8 +515,7 @@ public class PlanServiceImpl extends TransactionalService implements PlanService
 
         if (plan.getDefinition() != null && ! plan.getDefinition().isEmpty()) {
             try {
-                HashMap<String, Path> rules = objectMapper.readValue(plan.getDefinition(),
-                        new TypeReference<HashMap<String, Path>>() {});
+                HashMap<String, Path> rules = planDefinitionReader().readValue(plan.getDefinition());
 
                 entity.setPaths(rules);
             } catch (IOException ioe) {
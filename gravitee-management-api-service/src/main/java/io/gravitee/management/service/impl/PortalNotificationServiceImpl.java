@@ -17,10 +17,13 @@ package io.gravitee.management.service.impl;
 
 import freemarker.template.Configuration;
 import freemarker.template.Template;
+import freemarker.template.TemplateException;
 import io.gravitee.common.utils.UUID;
+import io.gravitee.management.model.BulkUpdateJobEntity;
 import io.gravitee.management.model.notification.NewPortalNotificationEntity;
 import io.gravitee.management.model.notification.PortalNotificationEntity;
 import io.gravitee.management.service.PortalNotificationService;
+import io.gravitee.management.service.exceptions.BulkUpdateJobNotFoundException;
 import io.gravitee.management.service.exceptions.TechnicalManagementException;
 import io.gravitee.management.service.notification.Hook;
 import io.gravitee.repository.exceptions.TechnicalException;
@@ -28,31 +31,61 @@ import io.gravitee.repository.management.api.PortalNotificationRepository;
 import io.gravitee.repository.management.model.PortalNotification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.yaml.snakeyaml.Yaml;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.springframework.ui.freemarker.FreeMarkerTemplateUtils.processTemplateIntoString;
 
 /**
+ * Notifications are written by chunks of {@link #CHUNK_SIZE}. Notifications sent to a large number of users are
+ * written by a single background thread, one job after the other. On shutdown, the running job is given
+ * {@link #SHUTDOWN_TIMEOUT_SECONDS} seconds to write its current chunk, then the unfinished jobs are failed. A failed
+ * job can be retried as long as it is listed, starting from the first user not notified.
+ *
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
  * @author GraviteeSource Team
  */
 @Component
-public class PortalNotificationServiceImpl extends AbstractService implements PortalNotificationService {
+public class PortalNotificationServiceImpl extends AbstractService implements PortalNotificationService, DisposableBean {
 
     private final Logger LOGGER = LoggerFactory.getLogger(PortalNotificationServiceImpl.class);
     private final static String RELATIVE_TPL_PATH = "notifications/portal/";
 
+    static final int CHUNK_SIZE = 500;
+    private static final int MAX_FINISHED_JOBS = 20;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
     @Autowired
     private PortalNotificationRepository portalNotificationRepository;
 
     @Autowired
     private Configuration freemarkerConfiguration;
 
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gio-portal-notifications");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Deque<BulkUpdateJobEntity> jobs = new ArrayDeque<>();
+
+    /**
+     * Recipients and rendered notification of the listed jobs not yet successful, by job id.
+     */
+    private final Map<String, Notification> notifications = new ConcurrentHashMap<>();
+
+    private volatile boolean stopping;
+
     @Override
     public List<PortalNotificationEntity> findByUser(String user) {
         try {
@@ -70,29 +103,162 @@ public class PortalNotificationServiceImpl extends AbstractService implements Po
     @Override
     public void create(Hook hook, List<String> users, Object params) {
         try {
-            // get notification template
-            String tpl = RELATIVE_TPL_PATH + hook.getScope().name() + "." + hook.name() + ".yml";
-            final Template template = freemarkerConfiguration.getTemplate(tpl);
-            final String yamlContent = processTemplateIntoString(template, params);
-            Yaml yaml = new Yaml();
-            Map<String, String> load = yaml.loadAs(yamlContent, HashMap.class);
-
-            List<NewPortalNotificationEntity> notifications = new ArrayList<>(users.size());
-            users.forEach(user -> {
-                NewPortalNotificationEntity notification = new NewPortalNotificationEntity();
-                notification.setUser(user);
-                notification.setTitle(load.get("title"));
-                notification.setMessage(load.get("message"));
-                notifications.add(notification);
-            });
-
-            create(notifications);
+            final Map<String, String> load = render(hook, params);
+            for (int i = 0; i < users.size(); i += CHUNK_SIZE) {
+                create(users.subList(i, Math.min(i + CHUNK_SIZE, users.size())), load);
+            }
         } catch (final Exception ex) {
             LOGGER.error("Error while sending notification", ex);
             throw new TechnicalManagementException("Error while sending notification", ex);
         }
     }
 
+    @Override
+    public BulkUpdateJobEntity createInBackground(Hook hook, Collection<String> users, Object params) {
+        final Map<String, String> load;
+        try {
+            load = render(hook, params);
+        } catch (final Exception ex) {
+            LOGGER.error("Error while sending notification", ex);
+            throw new TechnicalManagementException("Error while sending notification", ex);
+        }
+
+        final List<String> recipients = new ArrayList<>(users);
+        final BulkUpdateJobEntity job = new BulkUpdateJobEntity();
+        job.setId(UUID.toString(UUID.random()));
+        job.setType(BulkUpdateJobEntity.Type.NOTIFY_USERS);
+        job.setReference(hook.name());
+        job.setTotal(recipients.size());
+        job.setCreatedAt(new Date());
+
+        final Notification notification = new Notification(recipients, load);
+        synchronized (jobs) {
+            jobs.addFirst(job);
+            notifications.put(job.getId(), notification);
+            // forget the oldest finished jobs
+            long finished = jobs.stream().filter(this::isFinished).count();
+            for (Iterator<BulkUpdateJobEntity> it = jobs.descendingIterator(); it.hasNext() && finished > MAX_FINISHED_JOBS; ) {
+                final BulkUpdateJobEntity finishedJob = it.next();
+                if (isFinished(finishedJob)) {
+                    it.remove();
+                    notifications.remove(finishedJob.getId());
+                    finished--;
+                }
+            }
+        }
+
+        executor.execute(() -> run(job, notification));
+        return job;
+    }
+
+    @Override
+    public BulkUpdateJobEntity retry(String jobId) {
+        final BulkUpdateJobEntity job;
+        final Notification notification;
+        synchronized (jobs) {
+            job = jobs.stream()
+                    .filter(listedJob -> listedJob.getId().equals(jobId))
+                    .findFirst()
+                    .orElseThrow(() -> new BulkUpdateJobNotFoundException(jobId));
+            notification = notifications.get(jobId);
+            if (job.getState() != BulkUpdateJobEntity.State.FAILURE || notification == null || stopping) {
+                return job;
+            }
+            job.setState(BulkUpdateJobEntity.State.PENDING);
+            job.setError(null);
+            job.setEndedAt(null);
+        }
+
+        LOGGER.debug("Retry job {} from user {}", job, job.getProcessed());
+        executor.execute(() -> run(job, notification));
+        return job;
+    }
+
+    @Override
+    public Collection<BulkUpdateJobEntity> findJobs() {
+        synchronized (jobs) {
+            return new ArrayList<>(jobs);
+        }
+    }
+
+    private void run(BulkUpdateJobEntity job, Notification notification) {
+        LOGGER.debug("Start job {}", job);
+        job.setState(BulkUpdateJobEntity.State.RUNNING);
+        try {
+            final List<String> users = notification.recipients;
+            // the users of the chunks already written, before a failure, are skipped
+            for (int i = job.getProcessed(); i < users.size(); i += CHUNK_SIZE) {
+                if (stopping) {
+                    fail(job, "Interrupted by the shutdown of the node");
+                    return;
+                }
+                final List<String> chunk = users.subList(i, Math.min(i + CHUNK_SIZE, users.size()));
+                create(chunk, notification.load);
+                job.setProcessed(i + chunk.size());
+            }
+
+            notifications.remove(job.getId());
+            job.setState(BulkUpdateJobEntity.State.SUCCESS);
+            job.setEndedAt(new Date());
+            LOGGER.debug("Job {} done", job);
+        } catch (Exception ex) {
+            LOGGER.error("An error occurs while running job {}", job, ex);
+            fail(job, ex.getMessage());
+        }
+    }
+
+    private void fail(BulkUpdateJobEntity job, String error) {
+        job.setError(error);
+        job.setState(BulkUpdateJobEntity.State.FAILURE);
+        job.setEndedAt(new Date());
+    }
+
+    private boolean isFinished(BulkUpdateJobEntity job) {
+        return job.getState() == BulkUpdateJobEntity.State.SUCCESS || job.getState() == BulkUpdateJobEntity.State.FAILURE;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        stopping = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            LOGGER.warn("Portal notification jobs still running after {} seconds, interrupting them", SHUTDOWN_TIMEOUT_SECONDS);
+            executor.shutdownNow();
+        }
+
+        // the jobs not run (or still running) are abandoned
+        synchronized (jobs) {
+            jobs.stream()
+                    .filter(job -> !isFinished(job))
+                    .forEach(job -> {
+                        LOGGER.warn("Job {} abandoned after {} of {} users", job.getId(), job.getProcessed(), job.getTotal());
+                        fail(job, "Interrupted by the shutdown of the node");
+                    });
+        }
+    }
+
+    private Map<String, String> render(Hook hook, Object params) throws IOException, TemplateException {
+        // get notification template
+        String tpl = RELATIVE_TPL_PATH + hook.getScope().name() + "." + hook.name() + ".yml";
+        final Template template = freemarkerConfiguration.getTemplate(tpl);
+        final String yamlContent = processTemplateIntoString(template, params);
+        Yaml yaml = new Yaml();
+        return yaml.loadAs(yamlContent, HashMap.class);
+    }
+
+    private void create(List<String> users, Map<String, String> load) {
+        List<NewPortalNotificationEntity> notifications = new ArrayList<>(users.size());
+        users.forEach(user -> {
+            NewPortalNotificationEntity notification = new NewPortalNotificationEntity();
+            notification.setUser(user);
+            notification.setTitle(load.get("title"));
+            notification.setMessage(load.get("message"));
+            notifications.add(notification);
+        });
+
+        create(notifications);
+    }
+
     @Override
     public void deleteAll(String user) {
         try {
@@ -131,6 +297,17 @@ public class PortalNotificationServiceImpl extends AbstractService implements Po
         }
     }
 
+    private static class Notification {
+
+        private final List<String> recipients;
+        private final Map<String, String> load;
+
+        Notification(List<String> recipients, Map<String, String> load) {
+            this.recipients = recipients;
+            this.load = load;
+        }
+    }
+
     private PortalNotification convert(NewPortalNotificationEntity entity) {
         PortalNotification notification = new PortalNotification();
         notification.setTitle(entity.getTitle());
@@ -36,12 +36,11 @@ import io.gravitee.repository.management.model.RatingAnswer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
-import java.util.OptionalDouble;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Comparator.comparing;
 import static java.util.Comparator.reverseOrder;
@@ -57,6 +56,8 @@ public class RatingServiceImpl extends AbstractService implements RatingService
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RatingServiceImpl.class);
 
+    private static final int MAX_RATE = 5;
+
     @Autowired
     private RatingRepository ratingRepository;
     @Autowired
@@ -77,6 +78,15 @@ public class RatingServiceImpl extends AbstractService implements RatingService
     @Autowired
     private ApiService apiService;
 
+    @Value("${rating.summary.ttl:300}")
+    private long summaryTtl;
+
+    /**
+     * Rating counters of the APIs, loaded from the ratings of the API and evicted once a rating change is committed.
+     * The time to live (0 to always load them) bounds the staleness of the changes made on the other nodes.
+     */
+    private final Map<String, RatingCounters> ratingCounters = new ConcurrentHashMap<>();
+
     @Override
     public RatingEntity create(final NewRatingEntity ratingEntity) {
         if (!isEnabled()) {
@@ -88,6 +98,7 @@ public class RatingServiceImpl extends AbstractService implements RatingService
                 throw new RatingAlreadyExistsException(ratingEntity.getApi(), getAuthenticatedUsername());
             }
             Rating rating = ratingRepository.create(convert(ratingEntity));
+            evictRatingCounters(rating.getApi());
             auditService.createApiAuditLog(rating.getApi(), null, Rating.RatingEvent.RATING_CREATED, rating.getCreatedAt(), null, rating);
 
             notifierService.trigger(
@@ -159,22 +170,52 @@ public class RatingServiceImpl extends AbstractService implements RatingService
             throw new ApiRatingUnavailableException();
         }
         try {
-            final List<Rating> ratings = ratingRepository.findByApi(api);
-            final RatingSummaryEntity ratingSummary = new RatingSummaryEntity();
-            ratingSummary.setApi(api);
-            ratingSummary.setNumberOfRatings(ratings.size());
-            final OptionalDouble optionalAvg = ratings.stream().mapToInt(Rating::getRate).average();
-            if (optionalAvg.isPresent()) {
-                ratingSummary.setAverageRate(optionalAvg.getAsDouble());
-            }
-            ratingSummary.setNumberOfRatingsByRate(ratings.stream().collect(groupingBy(Rating::getRate, counting())));
-            return ratingSummary;
+            return findRatingCounters(api).toSummary(api);
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurred while trying to find summary rating for api {}", api, ex);
             throw new TechnicalManagementException("An error occurred while trying to find summary rating for api " + api, ex);
         }
     }
 
+    /**
+     * The ratings of the APIs whose counters are not cached are read API by API, the repository having no aggregate
+     * query on several APIs.
+     */
+    @Override
+    public Map<String, RatingSummaryEntity> findSummariesByApis(final Set<String> apis) {
+        if (!isEnabled()) {
+            throw new ApiRatingUnavailableException();
+        }
+        try {
+            final Map<String, RatingSummaryEntity> ratingSummaries = new HashMap<>(apis.size());
+            for (String api : apis) {
+                ratingSummaries.put(api, findRatingCounters(api).toSummary(api));
+            }
+            return ratingSummaries;
+        } catch (TechnicalException ex) {
+            LOGGER.error("An error occurred while trying to find summary ratings for apis {}", apis, ex);
+            throw new TechnicalManagementException("An error occurred while trying to find summary ratings for apis " + apis, ex);
+        }
+    }
+
+    private RatingCounters findRatingCounters(String api) throws TechnicalException {
+        RatingCounters counters = ratingCounters.get(api);
+        if (counters == null || System.currentTimeMillis() - counters.loadedAt >= summaryTtl * 1000) {
+            counters = new RatingCounters();
+            for (Rating rating : ratingRepository.findByApi(api)) {
+                counters.add(rating.getRate());
+            }
+            if (summaryTtl > 0) {
+                ratingCounters.put(api, counters);
+            }
+        }
+        return counters;
+    }
+
+    private void evictRatingCounters(String api) {
+        TransactionCallbacks.afterCommit(() -> ratingCounters.remove(api));
+    }
+
     @Override
     public RatingEntity findByApiForConnectedUser(final String api) {
         if (!isEnabled()) {
@@ -216,6 +257,7 @@ public class RatingServiceImpl extends AbstractService implements RatingService
                 rating.setComment(ratingEntity.getComment());
             }
             Rating updatedRating = ratingRepository.update(rating);
+            evictRatingCounters(rating.getApi());
             auditService.createApiAuditLog(rating.getApi(), null, Rating.RatingEvent.RATING_UPDATED, updatedRating.getUpdatedAt(), oldRating, updatedRating);
             return convert(updatedRating);
         } catch (TechnicalException ex) {
@@ -232,6 +274,7 @@ public class RatingServiceImpl extends AbstractService implements RatingService
         try {
             Rating rating = findById(id);
             ratingRepository.delete(id);
+            evictRatingCounters(rating.getApi());
             auditService.createApiAuditLog(rating.getApi(), null, Rating.RatingEvent.RATING_DELETED, new Date(), rating, null);
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to delete rating {}", id, ex);
@@ -324,6 +367,43 @@ public class RatingServiceImpl extends AbstractService implements RatingService
         return ratingEntity;
     }
 
+    /**
+     * Number of ratings of an API by rate.
+     */
+    private static class RatingCounters {
+        private final long[] counters = new long[MAX_RATE];
+        private final long loadedAt = System.currentTimeMillis();
+
+        synchronized void add(Byte rate) {
+            if (rate != null && rate >= 1 && rate <= MAX_RATE) {
+                counters[rate - 1]++;
+            }
+        }
+
+        synchronized RatingSummaryEntity toSummary(String api) {
+            final RatingSummaryEntity ratingSummary = new RatingSummaryEntity();
+            ratingSummary.setApi(api);
+
+            final Map<Byte, Long> numberOfRatingsByRate = new HashMap<>();
+            long numberOfRatings = 0;
+            long sumOfRates = 0;
+            for (int i = 0; i < MAX_RATE; i++) {
+                if (counters[i] > 0) {
+                    final byte rate = (byte) (i + 1);
+                    numberOfRatingsByRate.put(rate, counters[i]);
+                    numberOfRatings += counters[i];
+                    sumOfRates += rate * counters[i];
+                }
+            }
+            ratingSummary.setNumberOfRatings((int) numberOfRatings);
+            if (numberOfRatings > 0) {
+                ratingSummary.setAverageRate((double) sumOfRates / numberOfRatings);
+            }
+            ratingSummary.setNumberOfRatingsByRate(numberOfRatingsByRate);
+            return ratingSummary;
+        }
+    }
+
     private Rating convert(final NewRatingEntity ratingEntity) {
         final Rating rating = new Rating();
         rating.setId(UUID.toString(UUID.random()));
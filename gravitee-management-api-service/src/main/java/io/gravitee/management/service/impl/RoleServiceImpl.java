@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service.impl;
 
+import io.gravitee.common.utils.UUID;
 import io.gravitee.management.model.NewRoleEntity;
 import io.gravitee.management.model.RoleEntity;
 import io.gravitee.management.model.UpdateRoleEntity;
@@ -24,13 +25,17 @@ import io.gravitee.management.service.MembershipService;
 import io.gravitee.management.service.RoleService;
 import io.gravitee.management.service.exceptions.*;
 import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ParameterRepository;
 import io.gravitee.repository.management.api.RoleRepository;
+import io.gravitee.repository.management.model.Parameter;
 import io.gravitee.repository.management.model.Role;
 import io.gravitee.repository.management.model.RoleScope;
 import org.apache.commons.lang3.ArrayUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.awt.*;
@@ -46,28 +51,66 @@ import static io.gravitee.repository.management.model.Role.AuditEvent.ROLE_DELET
 import static io.gravitee.repository.management.model.Role.AuditEvent.ROLE_UPDATED;
 
 /**
+ * Roles are read from an immutable in-memory catalogue, loaded at startup and replaced as a whole each time a role is
+ * created, updated or deleted. Each change also writes a new catalogue version in the parameters repository, which is
+ * compared with the version of the local catalogue at most every <code>roles.catalogue.refresh</code> seconds, so that
+ * the other nodes of the cluster reload their own catalogue. Setting this value to 0 disables the catalogue.
+ *
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
  * @author GraviteeSource Team
  */
 @Component
-public class RoleServiceImpl extends AbstractService implements RoleService {
+public class RoleServiceImpl extends AbstractService implements RoleService, InitializingBean {
 
     private final Logger LOGGER = LoggerFactory.getLogger(RoleServiceImpl.class);
 
+    private static final String CATALOGUE_VERSION_KEY = "roles.catalogue.version";
+
     @Autowired
     private RoleRepository roleRepository;
 
+    @Autowired
+    private ParameterRepository parameterRepository;
+
     @Autowired
     private MembershipService membershipService;
 
     @Autowired
     private AuditService auditService;
 
+    @Value("${roles.catalogue.refresh:10}")
+    private long catalogueRefresh;
+
+    private volatile RoleCatalogue catalogue;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (isCatalogueEnabled()) {
+            try {
+                getCatalogue(true);
+            } catch (TechnicalException | RuntimeException ex) {
+                LOGGER.warn("Unable to load the role catalogue, it will be loaded on first use", ex);
+            }
+        }
+    }
+
     @Override
     public RoleEntity findById(final RoleScope scope, final String name) {
         try {
             LOGGER.debug("Find Role by id");
 
+            if (isCatalogueEnabled()) {
+                RoleEntity role = getCatalogue(false).findById(scope, name);
+                if (role == null) {
+                    // the role may have been created by another node since the last check
+                    role = getCatalogue(true).findById(scope, name);
+                }
+                if (role == null) {
+                    throw new RoleNotFoundException(scope, name);
+                }
+                return role;
+            }
+
             Optional<Role> role = roleRepository.findById(scope, name);
             if (!role.isPresent()) {
                 throw new RoleNotFoundException(scope, name);
@@ -83,6 +126,9 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
     public List<RoleEntity> findAll() {
         try {
             LOGGER.debug("Find all Roles");
+            if (isCatalogueEnabled()) {
+                return getCatalogue(false).findAll();
+            }
             return roleRepository.findAll()
                     .stream()
                     .map(this::convert).collect(Collectors.toList());
@@ -111,6 +157,7 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
             if (entity.isDefaultRole()) {
                 toggleDefaultRole(convert(roleEntity.getScope()), entity.getName());
             }
+            publishCatalogueChange();
             return entity;
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to create role {}", roleEntity.getName(), ex);
@@ -123,7 +170,7 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
                 Arrays.stream(role2.getPermissions()).reduce(Math::addExact).orElse(0);
     }
 
-    private void createOrUpdateSystemRole(SystemRole roleName, RoleScope roleScope, io.gravitee.management.model.permissions.RoleScope permRoleScope, Permission[] permissions) throws TechnicalException {
+    private boolean createOrUpdateSystemRole(SystemRole roleName, RoleScope roleScope, io.gravitee.management.model.permissions.RoleScope permRoleScope, Permission[] permissions) throws TechnicalException {
         Role systemRole = createSystemRoleWithoutPermissions(roleName.name(), roleScope, new Date());
         Map<String, char[]> perms = new HashMap<>();
         for (Permission perm : permissions) {
@@ -140,6 +187,7 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
                     systemRole.getCreatedAt(),
                     existingRole,
                     systemRole);
+            return true;
         } else if (!existingRole.isPresent()) {
             roleRepository.create(systemRole);
             auditService.createPortalAuditLog(
@@ -148,22 +196,28 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
                     systemRole.getCreatedAt(),
                     null,
                     systemRole);
+            return true;
         }
+        return false;
     }
 
     @Override
     public void createOrUpdateSystemRoles() {
         try {
+            boolean changed = false;
             //MANAGEMENT - ADMIN
-            createOrUpdateSystemRole(SystemRole.ADMIN, RoleScope.MANAGEMENT, io.gravitee.management.model.permissions.RoleScope.MANAGEMENT, ManagementPermission.values());
+            changed |= createOrUpdateSystemRole(SystemRole.ADMIN, RoleScope.MANAGEMENT, io.gravitee.management.model.permissions.RoleScope.MANAGEMENT, ManagementPermission.values());
             //PORTAL - ADMIN
-            createOrUpdateSystemRole(SystemRole.ADMIN, RoleScope.PORTAL, io.gravitee.management.model.permissions.RoleScope.PORTAL, PortalPermission.values());
+            changed |= createOrUpdateSystemRole(SystemRole.ADMIN, RoleScope.PORTAL, io.gravitee.management.model.permissions.RoleScope.PORTAL, PortalPermission.values());
             //API - PRIMARY_OWNER
-            createOrUpdateSystemRole(SystemRole.PRIMARY_OWNER, RoleScope.API, io.gravitee.management.model.permissions.RoleScope.API, ApiPermission.values());
+            changed |= createOrUpdateSystemRole(SystemRole.PRIMARY_OWNER, RoleScope.API, io.gravitee.management.model.permissions.RoleScope.API, ApiPermission.values());
             //APPLICATION - PRIMARY_OWNER
-            createOrUpdateSystemRole(SystemRole.PRIMARY_OWNER, RoleScope.APPLICATION, io.gravitee.management.model.permissions.RoleScope.APPLICATION, ApplicationPermission.values());
+            changed |= createOrUpdateSystemRole(SystemRole.PRIMARY_OWNER, RoleScope.APPLICATION, io.gravitee.management.model.permissions.RoleScope.APPLICATION, ApplicationPermission.values());
             //GROUP - ADMINISTRATOR
-            createOrUpdateSystemRole(SystemRole.ADMIN, RoleScope.GROUP, io.gravitee.management.model.permissions.RoleScope.GROUP, GroupPermission.values());
+            changed |= createOrUpdateSystemRole(SystemRole.ADMIN, RoleScope.GROUP, io.gravitee.management.model.permissions.RoleScope.GROUP, GroupPermission.values());
+            if (changed) {
+                publishCatalogueChange();
+            }
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to create admin roles", ex);
             throw new TechnicalManagementException("An error occurs while trying to create admin roles ", ex);
@@ -194,6 +248,7 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
             if (entity.isDefaultRole()) {
                 toggleDefaultRole(scope, entity.getName());
             }
+            publishCatalogueChange();
             return entity;
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to update role {}", roleEntity.getName(), ex);
@@ -230,6 +285,8 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
                     role.getUpdatedAt(),
                     role,
                     null);
+
+            publishCatalogueChange();
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to delete role {}/{}", scope, name, ex);
             throw new TechnicalManagementException("An error occurs while trying to delete role " + scope + "/" + name, ex);
@@ -240,6 +297,9 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
     public List<RoleEntity> findByScope(RoleScope scope) {
         try {
             LOGGER.debug("Find Roles by scope");
+            if (isCatalogueEnabled()) {
+                return new ArrayList<>(getCatalogue(false).findByScope(scope));
+            }
             return roleRepository.findByScope(scope)
                     .stream()
                     .map(this::convert).collect(Collectors.toList());
@@ -254,6 +314,15 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
         try {
             LOGGER.debug("Find default Roles by scope");
             List<RoleEntity> roles = new ArrayList<>();
+            if (isCatalogueEnabled()) {
+                final RoleCatalogue currentCatalogue = getCatalogue(false);
+                for (RoleScope scope : scopes) {
+                    currentCatalogue.findByScope(scope).stream()
+                            .filter(RoleEntity::isDefaultRole)
+                            .forEach(roles::add);
+                }
+                return roles;
+            }
             for (RoleScope scope : scopes) {
                 roles.addAll(
                         roleRepository.findByScope(scope).
@@ -272,22 +341,112 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
 
     @Override
     public boolean hasPermission(Map<String, char[]> userPermissions, Permission permission, RolePermissionAction[] acls) {
-        boolean hasPermission = false;
         if (userPermissions != null) {
-            Iterator<Map.Entry<String, char[]>> it = userPermissions.entrySet().iterator();
-            while (it.hasNext() && !hasPermission) {
-                Map.Entry<String, char[]> entry = it.next();
-                if (permission.getName().equals(entry.getKey())) {
-                    String crud = Arrays.toString(entry.getValue());
-                    for (RolePermissionAction perm : acls) {
-                        if (crud.indexOf(perm.getId()) != -1) {
-                            hasPermission = true;
+            final char[] crud = userPermissions.get(permission.getName());
+            if (crud != null) {
+                for (RolePermissionAction perm : acls) {
+                    for (char c : crud) {
+                        if (c == perm.getId()) {
+                            return true;
                         }
                     }
                 }
             }
         }
-        return hasPermission;
+        return false;
+    }
+
+    @Override
+    public boolean hasRolePermission(RoleEntity role, Permission permission, RolePermissionAction[] acls) {
+        if (role == null) {
+            return false;
+        }
+        if (role.getPermissionMasks() == null) {
+            return hasPermission(role.getPermissions(), permission, acls);
+        }
+        final Integer mask = role.getPermissionMasks().get(permission.getName());
+        if (mask != null) {
+            for (RolePermissionAction perm : acls) {
+                if ((mask & perm.getMask()) != 0) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean isCatalogueEnabled() {
+        return catalogueRefresh > 0;
+    }
+
+    /**
+     * Returns the current catalogue, after having checked its version against the repository if the last check is
+     * older than <code>roles.catalogue.refresh</code> seconds or if <code>forceCheck</code> is true.
+     */
+    private RoleCatalogue getCatalogue(boolean forceCheck) throws TechnicalException {
+        final long now = System.currentTimeMillis();
+        RoleCatalogue currentCatalogue = catalogue;
+        if (!forceCheck && currentCatalogue != null && now - currentCatalogue.checkedAt < catalogueRefresh * 1000) {
+            return currentCatalogue;
+        }
+
+        synchronized (this) {
+            currentCatalogue = catalogue;
+            if (!forceCheck && currentCatalogue != null && now - currentCatalogue.checkedAt < catalogueRefresh * 1000) {
+                return currentCatalogue;
+            }
+
+            final String version = parameterRepository.findById(CATALOGUE_VERSION_KEY)
+                    .map(Parameter::getValue)
+                    .orElse(null);
+            if (currentCatalogue != null && Objects.equals(version, currentCatalogue.version)) {
+                catalogue = currentCatalogue.checkedAt(now);
+            } else {
+                catalogue = loadCatalogue(version, now);
+            }
+            return catalogue;
+        }
+    }
+
+    /**
+     * Writes a new catalogue version, for the other nodes to reload their catalogue, and replaces the local one, once
+     * the role change is committed.
+     */
+    private void publishCatalogueChange() {
+        if (isCatalogueEnabled()) {
+            TransactionCallbacks.afterCommit(this::writeCatalogueVersion);
+        }
+    }
+
+    private synchronized void writeCatalogueVersion() {
+        try {
+            final Parameter parameter = new Parameter();
+            parameter.setKey(CATALOGUE_VERSION_KEY);
+            parameter.setValue(UUID.toString(UUID.random()));
+            if (parameterRepository.findById(CATALOGUE_VERSION_KEY).isPresent()) {
+                parameterRepository.update(parameter);
+            } else {
+                parameterRepository.create(parameter);
+            }
+            catalogue = loadCatalogue(parameter.getValue(), System.currentTimeMillis());
+        } catch (TechnicalException | RuntimeException ex) {
+            // The role change is committed, drop the local catalogue so that it is loaded again on next use
+            LOGGER.error("An error occurs while trying to publish the role catalogue change", ex);
+            catalogue = null;
+        }
+    }
+
+    private RoleCatalogue loadCatalogue(String version, long now) throws TechnicalException {
+        final Map<RoleScope, Map<String, RoleEntity>> roles = new EnumMap<>(RoleScope.class);
+        for (Role role : roleRepository.findAll()) {
+            final RoleEntity roleEntity = convert(role);
+            roleEntity.setPermissions(Collections.unmodifiableMap(roleEntity.getPermissions()));
+            roleEntity.setPermissionMasks(Collections.unmodifiableMap(roleEntity.getPermissionMasks()));
+            roles.computeIfAbsent(role.getScope(), scope -> new LinkedHashMap<>()).put(role.getName(), roleEntity);
+        }
+        roles.replaceAll((scope, rolesByName) -> Collections.unmodifiableMap(rolesByName));
+        LOGGER.debug("Role catalogue loaded in version {}", version);
+        return new RoleCatalogue(version, now, roles);
     }
 
     private void toggleDefaultRole(RoleScope scope, String newDefaultRoleName) throws TechnicalException {
@@ -348,6 +507,7 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
         roleEntity.setDefaultRole(role.isDefaultRole());
         roleEntity.setSystem(role.isSystem());
         roleEntity.setPermissions(convertPermissions(roleEntity.getScope(), role.getPermissions()));
+        roleEntity.setPermissionMasks(convertPermissionMasks(roleEntity.getScope(), role.getPermissions()));
         return roleEntity;
     }
 
@@ -389,6 +549,21 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
         return result;
     }
 
+    private Map<String, Integer> convertPermissionMasks(io.gravitee.management.model.permissions.RoleScope scope, int[] perms) {
+        if (perms == null) {
+            return Collections.emptyMap();
+        }
+        Map<String, Integer> result = new HashMap<>();
+        for (Permission perm : Permission.findByScope(scope)) {
+            for (int action : perms) {
+                if (action / 100 == perm.getMask() / 100) {
+                    result.put(perm.getName(), action - perm.getMask());
+                }
+            }
+        }
+        return result;
+    }
+
     private RoleScope convert(io.gravitee.management.model.permissions.RoleScope scope) {
         if (scope== null) {
             return null;
@@ -437,4 +612,40 @@ public class RoleServiceImpl extends AbstractService implements RoleService {
         systemRole.setUpdatedAt(date);
         return systemRole;
     }
+
+    /**
+     * Immutable snapshot of all the roles, by scope and name. Roles are shared between callers and must not be
+     * modified.
+     */
+    private static final class RoleCatalogue {
+
+        private final String version;
+        private final long checkedAt;
+        private final Map<RoleScope, Map<String, RoleEntity>> roles;
+
+        private RoleCatalogue(String version, long checkedAt, Map<RoleScope, Map<String, RoleEntity>> roles) {
+            this.version = version;
+            this.checkedAt = checkedAt;
+            this.roles = roles;
+        }
+
+        private RoleCatalogue checkedAt(long now) {
+            return new RoleCatalogue(version, now, roles);
+        }
+
+        private RoleEntity findById(RoleScope scope, String name) {
+            final Map<String, RoleEntity> rolesByName = roles.get(scope);
+            return rolesByName == null ? null : rolesByName.get(name);
+        }
+
+        private Collection<RoleEntity> findByScope(RoleScope scope) {
+            return roles.getOrDefault(scope, Collections.emptyMap()).values();
+        }
+
+        private List<RoleEntity> findAll() {
+            return roles.values().stream()
+                    .flatMap(rolesByName -> rolesByName.values().stream())
+                    .collect(Collectors.toList());
+        }
+    }
 }
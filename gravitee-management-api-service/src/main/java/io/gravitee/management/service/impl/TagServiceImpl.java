@@ -19,7 +19,7 @@ import io.gravitee.common.utils.IdGenerator;
 import io.gravitee.management.model.NewTagEntity;
 import io.gravitee.management.model.TagEntity;
 import io.gravitee.management.model.UpdateTagEntity;
-import io.gravitee.management.service.ApiService;
+import io.gravitee.management.service.ApiBulkUpdateService;
 import io.gravitee.management.service.AuditService;
 import io.gravitee.management.service.TagService;
 import io.gravitee.management.service.exceptions.DuplicateTagNameException;
@@ -51,7 +51,7 @@ public class TagServiceImpl extends TransactionalService implements TagService {
     private TagRepository tagRepository;
 
     @Autowired
-    private ApiService apiService;
+    private ApiBulkUpdateService apiBulkUpdateService;
 
     @Autowired
     private AuditService auditService;
@@ -133,8 +133,8 @@ public class TagServiceImpl extends TransactionalService implements TagService {
             Optional<Tag> tagOptional = tagRepository.findById(tagId);
             if (tagOptional.isPresent()) {
                 tagRepository.delete(tagId);
-                // delete all reference on APIs
-                apiService.deleteTagFromAPIs(tagId);
+                // delete all reference on APIs, once the tag deletion is committed
+                TransactionCallbacks.afterCommit(() -> apiBulkUpdateService.deleteTagFromAPIs(tagId));
                 auditService.createPortalAuditLog(
                         Collections.singletonMap(TAG, tagId),
                         TAG_DELETED,
@@ -35,10 +35,11 @@ import io.gravitee.repository.management.model.MembershipDefaultReferenceId;
 import io.gravitee.repository.management.model.MembershipReferenceType;
 import io.gravitee.repository.management.model.RoleScope;
 import io.gravitee.repository.management.model.User;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.env.ConfigurableEnvironment;
@@ -48,10 +49,11 @@ import org.springframework.stereotype.Component;
 
 import javax.mail.internet.AddressException;
 import javax.mail.internet.InternetAddress;
-import javax.xml.bind.DatatypeConverter;
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static io.gravitee.management.service.common.JWTHelper.DefaultValues.DEFAULT_JWT_EMAIL_REGISTRATION_EXPIRE_AFTER;
@@ -59,16 +61,23 @@ import static io.gravitee.management.service.common.JWTHelper.DefaultValues.DEFA
 import static io.gravitee.repository.management.model.Audit.AuditProperties.USER;
 
 /**
+ * Only the first connection of a user is recorded during the login request. The following connections are coalesced
+ * by user and written by a background thread every <code>user.connection.flush</code> seconds, by batches of
+ * {@link #CONNECTIONS_BATCH_SIZE} users (0 to record each connection during the login request).
+ *
  * @author David BRASSELY (david.brassely at graviteesource.com)
  * @author Nicolas GERAUD (nicolas.geraud at graviteesource.com)
  * @author Azize Elamrani (azize.elamrani at graviteesource.com)
  * @author GraviteeSource Team
  */
 @Component
-public class UserServiceImpl extends AbstractService implements UserService {
+public class UserServiceImpl extends AbstractService implements UserService, InitializingBean, DisposableBean {
 
     private final Logger LOGGER = LoggerFactory.getLogger(UserServiceImpl.class);
 
+    private static final int CONNECTIONS_BATCH_SIZE = 100;
+    private static final String LAST_CONNECTION_FIELD = "lastConnectionAt";
+
     @Autowired
     private UserRepository userRepository;
 
@@ -99,14 +108,48 @@ public class UserServiceImpl extends AbstractService implements UserService {
     @Autowired
     private ParameterService parameterService;
 
+    @Autowired
+    private PictureService pictureService;
+
     @Value("${user.avatar:${gravitee.home}/assets/default_user_avatar.png}")
     private String defaultAvatar;
 
     @Value("${user.login.defaultApplication:true}")
     private boolean defaultApplicationForFirstConnection;
 
+    @Value("${user.connection.flush:5}")
+    private long connectionFlushInterval;
+
+    /**
+     * Connections not yet written to the repository, last connection date by user id.
+     */
+    private final Map<String, Date> pendingConnections = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService connectionsExecutor;
+
     private PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
+    @Override
+    public void afterPropertiesSet() {
+        if (connectionFlushInterval > 0) {
+            connectionsExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "gio-user-connections");
+                thread.setDaemon(true);
+                return thread;
+            });
+            connectionsExecutor.scheduleWithFixedDelay(this::flushConnections,
+                    connectionFlushInterval, connectionFlushInterval, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (connectionsExecutor != null) {
+            connectionsExecutor.shutdownNow();
+            flushConnections();
+        }
+    }
+
     @Override
     public UserEntity connect(String userId) {
         try {
@@ -117,9 +160,17 @@ public class UserServiceImpl extends AbstractService implements UserService {
             }
 
             User user = checkUser.get();
-            User previousUser = new User(user);
+            final Date previousConnectionAt = user.getLastConnectionAt();
+
+            if (previousConnectionAt != null && connectionsExecutor != null) {
+                final Date connectionAt = new Date();
+                pendingConnections.put(userId, connectionAt);
+                user.setLastConnectionAt(connectionAt);
+                return convert(user, true);
+            }
+
             // First connection: create default application for user & notify
-            if (user.getLastConnectionAt() == null) {
+            if (previousConnectionAt == null) {
                 notifierService.trigger(PortalHook.USER_FIRST_LOGIN, new NotificationParamsBuilder()
                         .user(convert(user, false))
                         .build());
@@ -137,12 +188,7 @@ public class UserServiceImpl extends AbstractService implements UserService {
             user.setUpdatedAt(user.getLastConnectionAt());
 
             User updatedUser = userRepository.update(user);
-            auditService.createPortalAuditLog(
-                    Collections.singletonMap(USER, userId),
-                    User.AuditEvent.USER_CONNECTED,
-                    user.getUpdatedAt(),
-                    previousUser,
-                    user);
+            auditConnection(userId, previousConnectionAt, user.getLastConnectionAt());
             return convert(updatedUser, true);
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to connect {}", userId, ex);
@@ -150,6 +196,55 @@ public class UserServiceImpl extends AbstractService implements UserService {
         }
     }
 
+    /**
+     * Writes the pending connections, each user is only read and updated once whatever its number of connections.
+     * The repository having no partial update, the user is written as read just before, with its connection date.
+     */
+    private void flushConnections() {
+        if (pendingConnections.isEmpty()) {
+            return;
+        }
+
+        final List<String> userIds = new ArrayList<>(pendingConnections.keySet());
+        for (int i = 0; i < userIds.size(); i += CONNECTIONS_BATCH_SIZE) {
+            final Map<String, Date> batch = new HashMap<>();
+            for (String userId : userIds.subList(i, Math.min(i + CONNECTIONS_BATCH_SIZE, userIds.size()))) {
+                final Date connectionAt = pendingConnections.remove(userId);
+                if (connectionAt != null) {
+                    batch.put(userId, connectionAt);
+                }
+            }
+
+            try {
+                for (User user : userRepository.findByIds(new ArrayList<>(batch.keySet()))) {
+                    final Date previousConnectionAt = user.getLastConnectionAt();
+                    final Date connectionAt = batch.get(user.getId());
+                    user.setLastConnectionAt(connectionAt);
+                    user.setUpdatedAt(connectionAt);
+                    userRepository.update(user);
+                    batch.remove(user.getId());
+                    auditConnection(user.getId(), previousConnectionAt, connectionAt);
+                }
+                // the remaining users have been deleted in the meantime
+                batch.clear();
+            } catch (TechnicalException | RuntimeException ex) {
+                LOGGER.error("An error occurs while trying to record the connection of {} users", batch.size(), ex);
+                // keep the connections not written yet for the next flush, unless a newer one has been received
+                batch.forEach(pendingConnections::putIfAbsent);
+            }
+        }
+    }
+
+    private void auditConnection(String userId, Date previousConnectionAt, Date connectionAt) {
+        auditService.createPortalAuditLog(
+                Collections.singletonMap(USER, userId),
+                User.AuditEvent.USER_CONNECTED,
+                userId,
+                connectionAt,
+                Collections.singletonMap(LAST_CONNECTION_FIELD, previousConnectionAt),
+                Collections.singletonMap(LAST_CONNECTION_FIELD, connectionAt));
+    }
+
     @Override
     public UserEntity findById(String id) {
         try {
@@ -291,12 +386,7 @@ public class UserServiceImpl extends AbstractService implements UserService {
                 return new UrlPictureEntity(picture);
             } else {
                 try {
-                    InlinePictureEntity imageEntity = new InlinePictureEntity();
-                    String[] parts = picture.split(";", 2);
-                    imageEntity.setType(parts[0].split(":")[1]);
-                    String base64Content = picture.split(",", 2)[1];
-                    imageEntity.setContent(DatatypeConverter.parseBase64Binary(base64Content));
-                    return imageEntity;
+                    return pictureService.decode(picture);
                 } catch (Exception ex) {
                     LOGGER.warn("Unable to get user picture for id[{}]", id);
                 }
@@ -304,13 +394,13 @@ public class UserServiceImpl extends AbstractService implements UserService {
         }
 
         // Return default inline user avatar
-        InlinePictureEntity imageEntity = new InlinePictureEntity();
-        imageEntity.setType("image/png");
         try {
-            imageEntity.setContent(IOUtils.toByteArray(new FileInputStream(defaultAvatar)));
-        } catch (IOException ioe) {
-            LOGGER.error("Default icon for API does not exist", ioe);
+            return pictureService.load(defaultAvatar, "image/png");
+        } catch (TechnicalManagementException tme) {
+            LOGGER.error("Default icon for API does not exist", tme);
         }
+        InlinePictureEntity imageEntity = new InlinePictureEntity();
+        imageEntity.setType("image/png");
         return imageEntity;
     }
 
@@ -19,7 +19,7 @@ import io.gravitee.common.utils.IdGenerator;
 import io.gravitee.management.model.NewViewEntity;
 import io.gravitee.management.model.UpdateViewEntity;
 import io.gravitee.management.model.ViewEntity;
-import io.gravitee.management.service.ApiService;
+import io.gravitee.management.service.ApiBulkUpdateService;
 import io.gravitee.management.service.AuditService;
 import io.gravitee.management.service.ViewService;
 import io.gravitee.management.service.exceptions.DuplicateViewNameException;
@@ -53,7 +53,7 @@ public class ViewServiceImpl extends TransactionalService implements ViewService
     private ViewRepository viewRepository;
 
     @Autowired
-    private ApiService apiService;
+    private ApiBulkUpdateService apiBulkUpdateService;
 
     @Autowired
     private AuditService auditService;
@@ -183,8 +183,8 @@ public class ViewServiceImpl extends TransactionalService implements ViewService
                         null,
                         viewOptional.get());
 
-                // delete all reference on APIs
-                apiService.deleteViewFromAPIs(viewId);
+                // delete all reference on APIs, once the view deletion is committed
+                TransactionCallbacks.afterCommit(() -> apiBulkUpdateService.deleteViewFromAPIs(viewId));
             }
         } catch (TechnicalException ex) {
             LOGGER.error("An error occurs while trying to delete view {}", viewId, ex);
@@ -15,16 +15,34 @@
  */
 package io.gravitee.management.service.processor;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.xml.bind.DatatypeConverter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.DeploymentRequired;
@@ -36,39 +54,204 @@ import io.gravitee.management.model.DeploymentRequired;
 @Component
 public class ApiSynchronizationProcessor {
 
-    private final Logger LOGGER = LoggerFactory.getLogger(ApiSynchronizationProcessor.class);
+    private final static Logger LOGGER = LoggerFactory.getLogger(ApiSynchronizationProcessor.class);
+
+    /**
+     * Accessors of the {@link DeploymentRequired} fields of {@link ApiEntity}, resolved once, in declaration order.
+     */
+    private final static List<DeploymentField> DEPLOYMENT_FIELDS = compileDeploymentFields();
+
+    private final static String PATHS_FIELD = "paths";
+    private final static String RULE_DESCRIPTION = "description";
+    private final static int FIELD_DIGEST_LENGTH = 16;
 
     @Autowired
     private ObjectMapper objectMapper;
 
+    /**
+     * Compute a content hash of the fields of the API which require a deployment.
+     * APIs that {@link #processCheckSynchronization(ApiEntity, ApiEntity)} considers as synchronized share the same
+     * hash; the converse is not guaranteed.
+     *
+     * @param api the API
+     * @return the SHA-256 hash of the API deployment required fields, as an hexadecimal string
+     */
+    public String computeDeploymentHash(ApiEntity api) {
+        try {
+            final ArrayNode requiredFields = objectMapper.createArrayNode();
+            for (DeploymentField field : DEPLOYMENT_FIELDS) {
+                requiredFields.add(canonicalTree(field, field.get(api)));
+            }
+            return sha256(objectMapper.writeValueAsBytes(requiredFields));
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            LOGGER.error("Unexpected error while computing API deployment required fields hash", e);
+            return null;
+        }
+    }
+
+    /**
+     * Compute a short content digest of each field of the API which requires a deployment. Stored along with a
+     * deployment, they are compared by {@link #processDeploymentChanges(Map, Map)} without reading the deployed API.
+     *
+     * @param api the API
+     * @return the first {@value #FIELD_DIGEST_LENGTH} hexadecimal digits of the SHA-256 hash of each deployment
+     * required field, by field name, or an empty map if they cannot be computed
+     */
+    public Map<String, String> computeDeploymentDigests(ApiEntity api) {
+        try {
+            final Map<String, String> digests = new LinkedHashMap<>();
+            for (DeploymentField field : DEPLOYMENT_FIELDS) {
+                final byte[] fieldDefinition = objectMapper.writeValueAsBytes(canonicalTree(field, field.get(api)));
+                digests.put(field.name, sha256(fieldDefinition).substring(0, FIELD_DIGEST_LENGTH));
+            }
+            return digests;
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            LOGGER.error("Unexpected error while computing API deployment required fields digests", e);
+            return Collections.emptyMap();
+        }
+    }
+
     public boolean processCheckSynchronization(ApiEntity deployedApi, ApiEntity apiToDeploy) {
-        Class<ApiEntity> cl = ApiEntity.class;
-        List<Object> requiredFieldsDeployedApi = new ArrayList<Object>();
-        List<Object> requiredFieldsApiToDeploy = new ArrayList<Object>();
-        for (Field f : cl.getDeclaredFields()) {
+        for (DeploymentField field : DEPLOYMENT_FIELDS) {
+            if (!isSame(field, deployedApi, apiToDeploy)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the names of the deployment required fields which differ between the deployed API and the API to deploy.
+     * Only needed for the deployments recorded without digests, the values being converted to JSON trees to be compared.
+     *
+     * @param deployedApi the deployed API
+     * @param apiToDeploy the API to deploy
+     * @return the names of the fields which must be deployed, empty if the APIs are synchronized
+     */
+    public List<String> processDeploymentChanges(ApiEntity deployedApi, ApiEntity apiToDeploy) {
+        List<String> changes = new ArrayList<>();
+        for (DeploymentField field : DEPLOYMENT_FIELDS) {
+            if (!isSame(field, deployedApi, apiToDeploy)) {
+                changes.add(field.name);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Get the names of the deployment required fields whose digests, as computed by
+     * {@link #computeDeploymentDigests(ApiEntity)}, differ between the deployed API and the API to deploy.
+     *
+     * @param deployedDigests the digests of the deployed API
+     * @param digestsToDeploy the digests of the API to deploy
+     * @return the names of the fields which must be deployed, empty if the APIs are synchronized
+     */
+    public List<String> processDeploymentChanges(Map<String, String> deployedDigests, Map<String, String> digestsToDeploy) {
+        List<String> changes = new ArrayList<>();
+        for (DeploymentField field : DEPLOYMENT_FIELDS) {
+            if (!Objects.equals(deployedDigests.get(field.name), digestsToDeploy.get(field.name))) {
+                changes.add(field.name);
+            }
+        }
+        return changes;
+    }
+
+    private boolean isSame(DeploymentField field, ApiEntity deployedApi, ApiEntity apiToDeploy) {
+        final Object deployedValue = field.get(deployedApi);
+        final Object valueToDeploy = field.get(apiToDeploy);
+        if (deployedValue == valueToDeploy) {
+            return true;
+        }
+        if (deployedValue == null || valueToDeploy == null) {
+            return false;
+        }
+
+        // Definition models do not implement equals, compare their JSON structure
+        return Objects.equals(canonicalTree(field, deployedValue), canonicalTree(field, valueToDeploy));
+    }
+
+    /**
+     * Get the JSON structure of a deployment required field value, with object fields sorted by name and, when the
+     * value is a {@link Set}, its elements sorted too, so that it does not depend on any iteration order. The policy
+     * descriptions are left out, they do not need a deployment. The value itself is never modified.
+     */
+    private JsonNode canonicalTree(DeploymentField field, Object value) {
+        if (value == null) {
+            return NullNode.getInstance();
+        }
+        final JsonNode node = canonical(objectMapper.valueToTree(value));
+        if (PATHS_FIELD.equals(field.name)) {
+            // Paths are written as arrays of rules
+            node.forEach(rules -> rules.forEach(rule -> {
+                if (rule.isObject()) {
+                    ((ObjectNode) rule).remove(RULE_DESCRIPTION);
+                }
+            }));
+        }
+        if (value instanceof Set && node.isArray()) {
+            final List<JsonNode> elements = new ArrayList<>();
+            node.forEach(elements::add);
+            elements.sort(Comparator.comparing(JsonNode::toString));
+            return objectMapper.createArrayNode().addAll(elements);
+        }
+        return node;
+    }
+
+    private JsonNode canonical(JsonNode node) {
+        if (node.isObject()) {
+            final ObjectNode sorted = objectMapper.createObjectNode();
+            final List<String> names = new ArrayList<>();
+            node.fieldNames().forEachRemaining(names::add);
+            Collections.sort(names);
+            names.forEach(name -> sorted.set(name, canonical(node.get(name))));
+            return sorted;
+        }
+        if (node.isArray()) {
+            final ArrayNode elements = objectMapper.createArrayNode();
+            node.forEach(element -> elements.add(canonical(element)));
+            return elements;
+        }
+        return node;
+    }
+
+    private static String sha256(byte[] bytes) throws NoSuchAlgorithmException {
+        return DatatypeConverter.printHexBinary(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+
+    private static List<DeploymentField> compileDeploymentFields() {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final MethodType getterType = MethodType.methodType(Object.class, ApiEntity.class);
+        final List<DeploymentField> fields = new ArrayList<>();
+        for (Field f : ApiEntity.class.getDeclaredFields()) {
             if (f.getAnnotation(DeploymentRequired.class) != null) {
-                boolean previousAccessibleState = f.isAccessible();
-                f.setAccessible(true);
+                final String getterName = "get" + Character.toUpperCase(f.getName().charAt(0)) + f.getName().substring(1);
                 try {
-                    requiredFieldsDeployedApi.add(f.get(deployedApi));
-                    requiredFieldsApiToDeploy.add(f.get(apiToDeploy));
-                } catch (Exception e) {
-                    LOGGER.error("Error access API required deployment fields", e);
-                } finally {
-                    f.setAccessible(previousAccessibleState);
+                    final MethodHandle getter = lookup.unreflect(ApiEntity.class.getMethod(getterName)).asType(getterType);
+                    fields.add(new DeploymentField(f.getName(), getter));
+                } catch (NoSuchMethodException | IllegalAccessException e) {
+                    throw new IllegalStateException("No public getter for API deployment required field " + f.getName(), e);
                 }
             }
         }
+        return Collections.unmodifiableList(fields);
+    }
 
-        try {
-            String requiredFieldsDeployedApiDefinition = objectMapper.writeValueAsString(requiredFieldsDeployedApi);
-            String requiredFieldsApiToDeployDefinition = objectMapper.writeValueAsString(requiredFieldsApiToDeploy);
+    private static class DeploymentField {
+        private final String name;
+        private final MethodHandle getter;
 
-            return requiredFieldsDeployedApiDefinition.equals(requiredFieldsApiToDeployDefinition);
-        } catch (Exception e) {
-            LOGGER.error("Unexpected error while generating API deployment required fields definition", e);
-            return false;
+        DeploymentField(String name, MethodHandle getter) {
+            this.name = name;
+            this.getter = getter;
         }
-    }
 
+        Object get(ApiEntity api) {
+            try {
+                return (Object) getter.invokeExact(api);
+            } catch (Throwable t) {
+                LOGGER.error("Error access API required deployment field {}", name, t);
+                return null;
+            }
+        }
+    }
 }
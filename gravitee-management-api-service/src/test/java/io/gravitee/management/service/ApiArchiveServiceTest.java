@@ -0,0 +1,174 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.management.model.GroupEntity;
+import io.gravitee.management.model.NewGroupEntity;
+import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.model.api.ApiImportResultEntity;
+import io.gravitee.management.service.impl.ApiArchiveServiceImpl;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApiArchiveServiceTest {
+
+    private static final String API_DEFINITION = "{\"name\":\"my-api\",\"version\":\"1\",\"groups\":[\"my-group\"]}";
+
+    @InjectMocks
+    private ApiArchiveService apiArchiveService = new ApiArchiveServiceImpl();
+
+    @Mock
+    private ApiService apiService;
+
+    @Mock
+    private GroupService groupService;
+
+    @Spy
+    private ObjectMapper objectMapper = new GraviteeMapper();
+
+    @Test
+    public void shouldExportOneEntryByApi() throws IOException {
+        doAnswer(invocation -> {
+            final OutputStream output = (OutputStream) invocation.getArguments()[2];
+            output.write(("{\"name\":\"" + invocation.getArguments()[0] + "\"}").getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(apiService).exportAsJson(anyString(), eq("default"), any(OutputStream.class), anyVararg());
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        apiArchiveService.export(Arrays.asList("api1", "api2"), "default", output);
+
+        final Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), IOUtils.toString(zip, StandardCharsets.UTF_8));
+            }
+        }
+
+        assertEquals(Arrays.asList("api1.json", "api2.json"), new ArrayList<>(entries.keySet()));
+        assertEquals("{\"name\":\"api2\"}", entries.get("api2.json"));
+    }
+
+    @Test
+    public void shouldImportArchive() throws IOException {
+        when(apiService.exists("existing")).thenReturn(true);
+        when(apiService.exists("new")).thenReturn(false);
+        when(groupService.findByName("my-group")).thenReturn(Collections.emptyList());
+        when(apiService.createOrUpdateWithDefinition(any(ApiEntity.class), eq(API_DEFINITION), eq("admin")))
+                .thenReturn(api("existing"));
+        when(apiService.createOrUpdateWithDefinition((ApiEntity) isNull(), eq(API_DEFINITION), eq("admin")))
+                .thenReturn(api("created"));
+
+        final List<ApiImportResultEntity> results = apiArchiveService.importArchive(
+                archive("existing.json", "new.json"), "admin", id -> true);
+
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals("existing", results.get(0).getId());
+        assertTrue(results.get(1).isSuccess());
+        assertEquals("created", results.get(1).getId());
+        verify(groupService, times(2)).create(any(NewGroupEntity.class));
+    }
+
+    @Test
+    public void shouldImportArchiveWithWorkers() throws IOException {
+        ReflectionTestUtils.setField(apiArchiveService, "threads", 2);
+        when(groupService.findByName("my-group")).thenReturn(Collections.singletonList(new GroupEntity()));
+        when(apiService.createOrUpdateWithDefinition((ApiEntity) isNull(), eq(API_DEFINITION), eq("admin")))
+                .thenReturn(api("created"));
+
+        final List<ApiImportResultEntity> results = apiArchiveService.importArchive(
+                archive("api1.json", "api2.json", "api3.json"), "admin", id -> true);
+
+        assertEquals(3, results.size());
+        assertEquals("api1.json", results.get(0).getEntry());
+        assertEquals("api3.json", results.get(2).getEntry());
+        assertTrue(results.stream().allMatch(ApiImportResultEntity::isSuccess));
+        verify(groupService, never()).create(any(NewGroupEntity.class));
+    }
+
+    @Test
+    public void shouldNotUpdateApiWithoutPermission() throws IOException {
+        when(apiService.exists("existing")).thenReturn(true);
+
+        final List<ApiImportResultEntity> results = apiArchiveService.importArchive(
+                archive("existing.json"), "user", id -> false);
+
+        assertEquals(1, results.size());
+        assertFalse(results.get(0).isSuccess());
+        verify(apiService, never()).createOrUpdateWithDefinition(any(ApiEntity.class), anyString(), anyString());
+    }
+
+    @Test
+    public void shouldReportInvalidDefinition() throws IOException {
+        when(apiService.createOrUpdateWithDefinition((ApiEntity) isNull(), anyString(), eq("admin")))
+                .thenThrow(new IllegalStateException("Invalid"));
+
+        final List<ApiImportResultEntity> results = apiArchiveService.importArchive(
+                archive("api1.json"), "admin", id -> true);
+
+        assertEquals(1, results.size());
+        assertEquals("Invalid", results.get(0).getError());
+    }
+
+    private ByteArrayInputStream archive(String... entries) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(output)) {
+            for (String entry : entries) {
+                zip.putNextEntry(new ZipEntry(entry));
+                zip.write(API_DEFINITION.getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return new ByteArrayInputStream(output.toByteArray());
+    }
+
+    private ApiEntity api(String id) {
+        final ApiEntity api = new ApiEntity();
+        api.setId(id);
+        api.setName("my-api");
+        return api;
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.model.BulkUpdateJobEntity;
+import io.gravitee.management.service.impl.ApiBulkUpdateServiceImpl;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyCollection;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApiBulkUpdateServiceTest {
+
+    @InjectMocks
+    private ApiBulkUpdateServiceImpl apiBulkUpdateService = new ApiBulkUpdateServiceImpl();
+
+    @Mock
+    private ApiService apiService;
+
+    @Test
+    public void shouldDeleteViewByBatches() throws InterruptedException {
+        final List<String> apiIds = IntStream.range(0, 250).mapToObj(i -> "api" + i).collect(Collectors.toList());
+        when(apiService.searchIdsByView("my-view")).thenReturn(apiIds);
+
+        final BulkUpdateJobEntity job = apiBulkUpdateService.deleteViewFromAPIs("my-view");
+        awaitEnd(job);
+
+        assertEquals(BulkUpdateJobEntity.State.SUCCESS, job.getState());
+        assertEquals(250, job.getTotal());
+        assertEquals(250, job.getProcessed());
+        verify(apiService, times(3)).deleteViewFromAPIs(anyCollection(), eq("my-view"));
+        assertTrue(apiBulkUpdateService.findJobs().contains(job));
+    }
+
+    @Test
+    public void shouldReportFailure() throws InterruptedException {
+        when(apiService.searchIdsByTag("my-tag")).thenThrow(new IllegalStateException("boom"));
+
+        final BulkUpdateJobEntity job = apiBulkUpdateService.deleteTagFromAPIs("my-tag");
+        awaitEnd(job);
+
+        assertEquals(BulkUpdateJobEntity.State.FAILURE, job.getState());
+        assertEquals("boom", job.getError());
+        verify(apiService, never()).deleteTagFromAPIs(anyCollection(), eq("my-tag"));
+    }
+
+    private void awaitEnd(BulkUpdateJobEntity job) throws InterruptedException {
+        for (int i = 0; i < 100 && job.getEndedAt() == null; i++) {
+            Thread.sleep(50);
+        }
+        assertNotNull(job.getEndedAt());
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.gravitee.management.service;
 
+import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Charsets;
 import com.google.common.io.Resources;
@@ -40,10 +41,13 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Mockito.*;
 
 /**
@@ -130,8 +134,7 @@ public class ApiService_CreateOrUpdateWithDefinitionTest {
         MemberEntity memberEntity = new MemberEntity();
         memberEntity.setId(admin.getUsername());
         when(membershipService.addOrUpdateMember(any(), any(), any())).thenReturn(memberEntity);
-        when(identityService.search(admin.getUsername())).thenReturn(Collections.singletonList(new IdOnlySearchableUser(admin.getUsername())));
-        when(identityService.search(user.getUsername())).thenReturn(Collections.singletonList(new IdOnlySearchableUser(user.getUsername())));
+        when(identityService.searchByUsernames(any())).thenReturn(identities(admin.getUsername(), user.getUsername()));
 
         apiService.createOrUpdateWithDefinition(apiEntity, toBeImport, "import");
 
@@ -147,6 +150,8 @@ public class ApiService_CreateOrUpdateWithDefinitionTest {
                 new MembershipService.MembershipRole(RoleScope.API, "OWNER"));
         verify(apiRepository, times(1)).update(any());
         verify(apiRepository, never()).create(any());
+        // the shared mapper must not be reconfigured at request time
+        verify(objectMapper, never()).configure(any(DeserializationFeature.class), anyBoolean());
     }
 
     private ApiEntity prepareUpdateImportApiWithMembers(UserEntity admin, UserEntity user) throws TechnicalException {
@@ -178,8 +183,7 @@ public class ApiService_CreateOrUpdateWithDefinitionTest {
         when(userService.findByUsername(admin.getUsername(), false)).thenReturn(admin);
         when(userService.findByUsername(user.getUsername(), false)).thenReturn(user);
 
-        when(identityService.search(admin.getUsername())).thenReturn(Collections.singletonList(new IdOnlySearchableUser(admin.getUsername())));
-        when(identityService.search(user.getUsername())).thenReturn(Collections.singletonList(new IdOnlySearchableUser(user.getUsername())));
+        when(identityService.searchByUsernames(any())).thenReturn(identities(admin.getUsername(), user.getUsername()));
 
         return apiEntity;
     }
@@ -356,8 +360,7 @@ public class ApiService_CreateOrUpdateWithDefinitionTest {
         MemberEntity memberEntity = new MemberEntity();
         memberEntity.setId(admin.getUsername());
         when(membershipService.addOrUpdateMember(any(), any(), any())).thenReturn(memberEntity);
-        when(identityService.search(admin.getUsername())).thenReturn(Collections.singletonList(new IdOnlySearchableUser(admin.getUsername())));
-        when(identityService.search(user.getUsername())).thenReturn(Collections.singletonList(new IdOnlySearchableUser(user.getUsername())));
+        when(identityService.searchByUsernames(any())).thenReturn(identities(admin.getUsername(), user.getUsername()));
         when(userService.findById(admin.getUsername())).thenReturn(admin);
 
         apiService.createOrUpdateWithDefinition(null, toBeImport, "admin");
@@ -403,8 +406,7 @@ public class ApiService_CreateOrUpdateWithDefinitionTest {
         MemberEntity memberEntity = new MemberEntity();
         memberEntity.setId(admin.getUsername());
         when(membershipService.addOrUpdateMember(any(), any(), any())).thenReturn(memberEntity);
-        when(identityService.search(admin.getUsername())).thenReturn(Collections.singletonList(new IdOnlySearchableUser(admin.getUsername())));
-        when(identityService.search(user.getUsername())).thenReturn(Collections.singletonList(new IdOnlySearchableUser(user.getUsername())));
+        when(identityService.searchByUsernames(any())).thenReturn(identities(admin.getUsername(), user.getUsername()));
 
         apiService.createOrUpdateWithDefinition(null, toBeImport, "admin");
 
@@ -547,6 +549,14 @@ public class ApiService_CreateOrUpdateWithDefinitionTest {
 
     }
 
+    private Map<String, SearchableUser> identities(String... usernames) {
+        final Map<String, SearchableUser> identities = new HashMap<>();
+        for (String username : usernames) {
+            identities.put(username, new IdOnlySearchableUser(username));
+        }
+        return identities;
+    }
+
     private static class IdOnlySearchableUser implements SearchableUser {
 
         private final String id;
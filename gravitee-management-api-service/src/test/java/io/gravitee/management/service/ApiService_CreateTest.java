@@ -29,6 +29,8 @@ import io.gravitee.management.service.search.SearchEngineService;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ApiRepository;
 import io.gravitee.repository.management.api.MembershipRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
 import io.gravitee.repository.management.model.*;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -36,6 +38,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Collections;
 import java.util.Optional;
@@ -45,6 +49,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -171,6 +177,42 @@ public class ApiService_CreateTest {
         testCreationWithContextPath("/context//toto", "/context/toto");
     }
 
+    @Test(expected = ApiContextPathAlreadyExistsException.class)
+    public void shouldNotCreateForUserBecauseContextPathOfCreatedApiExists() throws TechnicalException {
+        testCreationWithContextPath("/context", "/context2");
+        try {
+            apiService.create(newApi, USER_NAME);
+        } finally {
+            // one header search per check, the definitions being loaded only once
+            verify(apiRepository, times(3)).search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class));
+        }
+    }
+
+    @Test(expected = ApiContextPathAlreadyExistsException.class)
+    public void shouldNotResynchronizeContextPathIndexBeforeEachCheck() throws TechnicalException {
+        ReflectionTestUtils.setField(apiService, "contextPathIndexResync", 60L);
+        testCreationWithContextPath("/context", "/context2");
+        try {
+            apiService.create(newApi, USER_NAME);
+        } finally {
+            // the created API is indexed once committed, the repository is only read by the first check
+            verify(apiRepository, times(2)).search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class));
+        }
+    }
+
+    @Test
+    public void shouldNotIndexContextPathOfRolledBackApi() throws TechnicalException {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            testCreationWithContextPath("/context", "/context2");
+        } finally {
+            // rollback: the synchronizations are discarded without being committed
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        apiService.create(newApi, USER_NAME);
+    }
+
     private void testCreationWithContextPath(String existingContextPath, String contextPathToCreate) throws TechnicalException {
         when(apiRepository.findById(anyString())).thenReturn(Optional.empty());
         when(apiRepository.create(any())).thenReturn(api);
@@ -178,7 +220,7 @@ public class ApiService_CreateTest {
         when(newApi.getVersion()).thenReturn("v1");
         when(newApi.getDescription()).thenReturn("Ma description");
 
-        when(apiRepository.search(null)).thenReturn(asList(api));
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(asList(api));
         when(api.getId()).thenReturn(API_ID);
         when(api.getDefinition()).thenReturn("{\"id\": \"" + API_ID + "\",\"name\": \"" + API_NAME + "\",\"proxy\": {\"context_path\": \"" + existingContextPath + "\"}}");
 
@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.management.service.impl.ApiServiceImpl;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
+import io.gravitee.repository.management.model.Api;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.*;
+
+import static io.gravitee.repository.management.model.Api.AuditEvent.API_UPDATED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApiService_DeleteViewFromAPIsTest {
+
+    private static final String VIEW_ID = "my-view";
+
+    @InjectMocks
+    private ApiServiceImpl apiService = new ApiServiceImpl();
+
+    @Mock
+    private ApiRepository apiRepository;
+
+    @Mock
+    private AuditService auditService;
+
+    @Spy
+    private ObjectMapper objectMapper = new GraviteeMapper();
+
+    @Test
+    public void shouldSearchIdsByView() throws TechnicalException {
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class)))
+                .thenReturn(Arrays.asList(api("api1", VIEW_ID), api("api2", VIEW_ID)));
+
+        final Collection<String> apiIds = apiService.searchIdsByView(VIEW_ID);
+
+        assertEquals(Arrays.asList("api1", "api2"), apiIds);
+    }
+
+    @Test
+    public void shouldDeleteViewFromAPIsLoadedAtOnce() throws TechnicalException {
+        final Api api1 = api("api1", VIEW_ID, "other-view");
+        final Api api2 = api("api2", VIEW_ID);
+        when(apiRepository.search(any(ApiCriteria.class))).thenReturn(Arrays.asList(api1, api2));
+
+        apiService.deleteViewFromAPIs(Arrays.asList("api1", "api2"), VIEW_ID);
+
+        assertEquals(Collections.singleton("other-view"), api1.getViews());
+        assertFalse(api2.getViews().contains(VIEW_ID));
+        verify(apiRepository, times(1)).search(any(ApiCriteria.class));
+        verify(apiRepository, never()).findById(any());
+        verify(apiRepository, times(2)).update(any(Api.class));
+        verify(auditService, times(2)).createApiAuditLog(any(), any(), eq(API_UPDATED), any(), any(), any());
+    }
+
+    @Test
+    public void shouldNotLoadApisWithoutIds() throws TechnicalException {
+        apiService.deleteViewFromAPIs(Collections.emptyList(), VIEW_ID);
+
+        verifyZeroInteractions(apiRepository);
+    }
+
+    @Test
+    public void shouldSearchIdsByTag() throws TechnicalException {
+        final Api api1 = api("api1");
+        api1.setDefinition("{\"tags\": [\"public\", \"private\"]}");
+        final Api api2 = api("api2");
+        api2.setDefinition("{\"tags\": [\"public\"]}");
+        final Api api3 = api("api3");
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class)))
+                .thenReturn(Arrays.asList(api1, api2, api3));
+
+        assertEquals(Collections.singletonList("api1"), apiService.searchIdsByTag("private"));
+    }
+
+    private Api api(String id, String... views) {
+        final Api api = new Api();
+        api.setId(id);
+        api.setViews(new HashSet<>(Arrays.asList(views)));
+        return api;
+    }
+}
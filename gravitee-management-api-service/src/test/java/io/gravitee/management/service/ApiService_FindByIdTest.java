@@ -19,6 +19,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ser.PropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.management.model.CacheStatisticsEntity;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.permissions.SystemRole;
 import io.gravitee.management.service.exceptions.ApiNotFoundException;
@@ -28,6 +29,8 @@ import io.gravitee.management.service.jackson.filter.ApiPermissionFilter;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ApiRepository;
 import io.gravitee.repository.management.api.MembershipRepository;
+import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
 import io.gravitee.repository.management.model.Api;
 import io.gravitee.repository.management.model.Membership;
 import io.gravitee.repository.management.model.MembershipReferenceType;
@@ -39,13 +42,21 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
 
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.mockito.Matchers.any;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Azize Elamrani (azize dot elamrani at gmail dot com)
@@ -55,6 +66,9 @@ public class ApiService_FindByIdTest {
 
     private static final String API_ID = "id-api";
     private static final String USER_NAME = "myUser";
+    private static final String DEFINITION = "{\"id\": \"" + API_ID + "\",\"name\": \"test\"," +
+            "\"proxy\": {\"context_path\": \"/test\"}," +
+            "\"paths\": {\"/\": [{\"methods\": [\"GET\"], \"description\": \"Check API key\", \"api-key\": {}}]}}";
 
     @InjectMocks
     private ApiServiceImpl apiService = new ApiServiceImpl();
@@ -74,6 +88,9 @@ public class ApiService_FindByIdTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private ApiMetadataService apiMetadataService;
+
     @Before
     public void setUp() {
         PropertyFilter apiMembershipTypeFilter = new ApiPermissionFilter();
@@ -106,4 +123,111 @@ public class ApiService_FindByIdTest {
 
         apiService.findById(API_ID);
     }
+
+    @Test
+    public void shouldFindByIdFromCache() throws TechnicalException {
+        ReflectionTestUtils.setField(apiService, "cacheMaxSize", 10);
+        ReflectionTestUtils.setField(apiService, "cacheTtl", 60L);
+        final Date updatedAt = new Date();
+        mockApi(updatedAt);
+        final Api header = mock(Api.class);
+        when(header.getUpdatedAt()).thenReturn(updatedAt);
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(singletonList(header));
+
+        final ApiEntity apiEntity = apiService.findById(API_ID);
+        final ApiEntity cachedApiEntity = apiService.findById(API_ID);
+
+        assertEquals(API_ID, cachedApiEntity.getId());
+        assertNotSame(apiEntity, cachedApiEntity);
+        verify(apiRepository, times(1)).findById(API_ID);
+        verify(membershipRepository, times(1)).findByReferenceAndRole(any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldShareParsedDefinitionFromCache() throws TechnicalException {
+        ReflectionTestUtils.setField(apiService, "cacheMaxSize", 10);
+        ReflectionTestUtils.setField(apiService, "cacheTtl", 60L);
+        final Date updatedAt = new Date();
+        mockApi(updatedAt);
+        when(api.getName()).thenReturn("test");
+        final Api header = mock(Api.class);
+        when(header.getUpdatedAt()).thenReturn(updatedAt);
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(singletonList(header));
+
+        final ApiEntity apiEntity = apiService.findById(API_ID);
+        apiEntity.setName("renamed by the caller");
+        final ApiEntity cachedApiEntity = apiService.findById(API_ID);
+
+        assertSame(apiEntity.getPaths(), cachedApiEntity.getPaths());
+        assertSame(apiEntity.getProxy(), cachedApiEntity.getProxy());
+        assertEquals("test", cachedApiEntity.getName());
+        assertEquals("Check API key", cachedApiEntity.getPaths().get("/").getRules().get(0).getDescription());
+    }
+
+    @Test
+    public void shouldCountCacheHitsByCaller() throws TechnicalException {
+        ReflectionTestUtils.setField(apiService, "cacheMaxSize", 10);
+        ReflectionTestUtils.setField(apiService, "cacheTtl", 60L);
+        final Date updatedAt = new Date();
+        mockApi(updatedAt);
+        final Api header = mock(Api.class);
+        when(header.getUpdatedAt()).thenReturn(updatedAt);
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(singletonList(header));
+
+        apiService.findById(API_ID);
+        apiService.findById(API_ID);
+        apiService.findByIdForTemplates(API_ID);
+
+        final Map<String, CacheStatisticsEntity> statistics = apiService.getCacheStatistics();
+        assertEquals(1, statistics.get("findById").getHits());
+        assertEquals(1, statistics.get("findById").getMisses());
+        assertEquals(1, statistics.get("findByIdForTemplates").getHits());
+        assertEquals(0, statistics.get("findByIdForTemplates").getMisses());
+    }
+
+    @Test
+    public void shouldNotFindByIdFromCacheBecauseUpdated() throws TechnicalException {
+        ReflectionTestUtils.setField(apiService, "cacheMaxSize", 10);
+        ReflectionTestUtils.setField(apiService, "cacheTtl", 60L);
+        mockApi(new Date(0));
+        final Api header = mock(Api.class);
+        when(header.getUpdatedAt()).thenReturn(new Date());
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(singletonList(header));
+
+        apiService.findById(API_ID);
+        apiService.findById(API_ID);
+
+        verify(apiRepository, times(2)).findById(API_ID);
+    }
+
+    @Test
+    public void shouldFindByIdLight() throws TechnicalException {
+        when(api.getId()).thenReturn(API_ID);
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(singletonList(api));
+
+        final ApiEntity apiEntity = apiService.findByIdLight(API_ID);
+
+        assertEquals(API_ID, apiEntity.getId());
+        assertNull(apiEntity.getPrimaryOwner());
+        verify(apiRepository, never()).findById(API_ID);
+        verify(membershipRepository, never()).findByReferenceAndRole(any(), any(), any(), any());
+    }
+
+    @Test(expected = ApiNotFoundException.class)
+    public void shouldNotFindByIdLightBecauseNotExists() throws TechnicalException {
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(Collections.emptyList());
+
+        apiService.findByIdLight(API_ID);
+    }
+
+    private void mockApi(Date updatedAt) throws TechnicalException {
+        when(api.getId()).thenReturn(API_ID);
+        when(api.getUpdatedAt()).thenReturn(updatedAt);
+        when(api.getDefinition()).thenReturn(DEFINITION);
+        when(apiRepository.findById(API_ID)).thenReturn(Optional.of(api));
+        Membership po = new Membership(USER_NAME, API_ID, MembershipReferenceType.API);
+        po.setRoles(Collections.singletonMap(RoleScope.API.getId(), SystemRole.PRIMARY_OWNER.name()));
+        when(membershipRepository.findByReferenceAndRole(any(), any(), any(), any()))
+                .thenReturn(Collections.singleton(po));
+    }
 }
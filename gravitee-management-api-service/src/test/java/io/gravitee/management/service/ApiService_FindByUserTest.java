@@ -18,15 +18,20 @@ package io.gravitee.management.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ser.PropertyFilter;
 import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.gravitee.common.event.Event;
+import io.gravitee.common.event.EventListener;
+import io.gravitee.common.event.EventManager;
 import io.gravitee.definition.jackson.datatype.GraviteeMapper;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.permissions.SystemRole;
+import io.gravitee.management.service.event.MembershipEvent;
 import io.gravitee.management.service.impl.ApiServiceImpl;
 import io.gravitee.management.service.jackson.filter.ApiPermissionFilter;
 import io.gravitee.repository.exceptions.TechnicalException;
 import io.gravitee.repository.management.api.ApiRepository;
 import io.gravitee.repository.management.api.MembershipRepository;
 import io.gravitee.repository.management.api.search.ApiCriteria;
+import io.gravitee.repository.management.api.search.ApiFieldExclusionFilter;
 import io.gravitee.repository.management.model.Api;
 import io.gravitee.repository.management.model.Membership;
 import io.gravitee.repository.management.model.MembershipReferenceType;
@@ -34,21 +39,26 @@ import io.gravitee.repository.management.model.RoleScope;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Set;
 
+import static io.gravitee.repository.management.model.Visibility.PRIVATE;
 import static io.gravitee.repository.management.model.Visibility.PUBLIC;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
-import static org.mockito.Mockito.anyString;
-import static org.mockito.Mockito.when;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Azize Elamrani (azize dot elamrani at gmail dot com)
@@ -58,6 +68,7 @@ public class ApiService_FindByUserTest {
 
     private static final String API_ID = "id-api";
     private static final String USER_NAME = "myUser";
+    private static final String GROUP_ID = "group-id";
 
     @InjectMocks
     private ApiServiceImpl apiService = new ApiServiceImpl();
@@ -72,10 +83,10 @@ public class ApiService_FindByUserTest {
     private ObjectMapper objectMapper = new GraviteeMapper();
 
     @Mock
-    private Api api;
+    private UserService userService;
 
     @Mock
-    private UserService userService;
+    private EventManager eventManager;
 
     @Before
     public void setUp() {
@@ -85,18 +96,13 @@ public class ApiService_FindByUserTest {
 
     @Test
     public void shouldFindByUser() throws TechnicalException {
-        when(apiRepository.search(new ApiCriteria.Builder().visibility(PUBLIC).build())).thenReturn(singletonList(api));
-        when(apiRepository.search(new ApiCriteria.Builder().ids(api.getId()).build())).thenReturn(singletonList(api));
-
-        Membership membership = new Membership(USER_NAME, api.getId(), MembershipReferenceType.API);
-        membership.setRoles(Collections.singletonMap(RoleScope.API.getId(), "USER"));
-        Set<Membership> memberships = Collections.singleton(membership);
-        when(membershipRepository.findByUserAndReferenceType(anyString(), any(MembershipReferenceType.class)))
-                .thenReturn(memberships);
-        Membership po = new Membership(USER_NAME, API_ID, MembershipReferenceType.API);
-        po.setRoles(Collections.singletonMap(RoleScope.API.getId(), SystemRole.PRIMARY_OWNER.name()));
+        final Api api = api(API_ID, PRIVATE);
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(singletonList(api));
+        when(apiRepository.search(new ApiCriteria.Builder().ids(API_ID).build())).thenReturn(singletonList(api));
+        when(membershipRepository.findByUserAndReferenceType(USER_NAME, MembershipReferenceType.API))
+                .thenReturn(Collections.singleton(membership(API_ID, MembershipReferenceType.API)));
         when(membershipRepository.findByReferencesAndRole(any(), any(), any(), any()))
-                .thenReturn(Collections.singleton(po));
+                .thenReturn(Collections.singleton(primaryOwner(API_ID)));
 
         final Set<ApiEntity> apiEntities = apiService.findByUser(USER_NAME, null);
 
@@ -106,14 +112,115 @@ public class ApiService_FindByUserTest {
 
     @Test
     public void shouldNotFindByUserBecauseNotExists() throws TechnicalException {
-        when(apiRepository.search(new ApiCriteria.Builder().visibility(PUBLIC).build())).thenReturn(emptyList());
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(emptyList());
         when(membershipRepository.findByUserAndReferenceType(anyString(), any(MembershipReferenceType.class)))
                 .thenReturn(Collections.emptySet());
-        when(apiRepository.search(new ApiCriteria.Builder().ids(USER_NAME).build())).thenReturn(emptyList());
 
         final Set<ApiEntity> apiEntities = apiService.findByUser(USER_NAME, null);
 
         assertNotNull(apiEntities);
         assertTrue(apiEntities.isEmpty());
+        verify(apiRepository, never()).search(any(ApiCriteria.class));
+    }
+
+    @Test
+    public void shouldFindIdsOfPublicMemberAndGroupApis() throws TechnicalException {
+        final Api groupApi = api("group-api", PRIVATE);
+        groupApi.setGroups(Collections.singleton(GROUP_ID));
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class))).thenReturn(Arrays.asList(
+                api("public-api", PUBLIC), api(API_ID, PRIVATE), groupApi, api("other-api", PRIVATE)));
+        when(membershipRepository.findByUserAndReferenceType(USER_NAME, MembershipReferenceType.API))
+                .thenReturn(Collections.singleton(membership(API_ID, MembershipReferenceType.API)));
+        when(membershipRepository.findByUserAndReferenceType(USER_NAME, MembershipReferenceType.GROUP))
+                .thenReturn(Collections.singleton(membership(GROUP_ID, MembershipReferenceType.GROUP)));
+
+        final Set<String> apiIds = apiService.findIdsByUser(USER_NAME, null);
+
+        assertEquals(new HashSet<>(Arrays.asList("public-api", API_ID, "group-api")), apiIds);
+        verify(apiRepository, times(1)).search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class));
+        verify(apiRepository, never()).search(any(ApiCriteria.class));
+    }
+
+    @Test
+    public void shouldConvertVisibleApisWithListProjection() throws TechnicalException {
+        final Api publicApi = api(API_ID, PUBLIC);
+        publicApi.setDefinition("{\"id\": \"" + API_ID + "\",\"name\": \"public\",\"tags\": [\"internal\"]," +
+                "\"paths\": {\"/\": []},\"proxy\": {\"context_path\": \"/public\"," +
+                "\"endpoints\": [{\"name\": \"default\", \"target\": \"http://localhost\"}]}}");
+        final Api memberApi = api("member-api", PRIVATE);
+
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class)))
+                .thenReturn(Arrays.asList(api(API_ID, PUBLIC), api("member-api", PRIVATE)));
+        when(apiRepository.search(new ApiCriteria.Builder().ids(API_ID, "member-api").build()))
+                .thenReturn(Arrays.asList(publicApi, memberApi));
+        when(membershipRepository.findByUserAndReferenceType(USER_NAME, MembershipReferenceType.API))
+                .thenReturn(new HashSet<>(Arrays.asList(
+                        membership(API_ID, MembershipReferenceType.API),
+                        membership("member-api", MembershipReferenceType.API))));
+        when(membershipRepository.findByReferencesAndRole(any(), any(), any(), any()))
+                .thenReturn(new HashSet<>(Arrays.asList(primaryOwner(API_ID), primaryOwner("member-api"))));
+
+        final Set<ApiEntity> apiEntities = apiService.findByUser(USER_NAME, null);
+
+        assertEquals(2, apiEntities.size());
+        verify(membershipRepository, times(1)).findByReferencesAndRole(any(), any(), any(), any());
+        verify(userService, times(1)).findByIds(singletonList(USER_NAME));
+
+        final ApiEntity publicApiEntity = apiEntities.stream()
+                .filter(apiEntity -> API_ID.equals(apiEntity.getId()))
+                .findFirst()
+                .get();
+        assertEquals("/public", publicApiEntity.getProxy().getContextPath());
+        assertEquals(Collections.singleton("internal"), publicApiEntity.getTags());
+        assertNull(publicApiEntity.getPaths());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldCacheUserVisibilityUntilMembershipUpdate() throws TechnicalException {
+        ReflectionTestUtils.setField(apiService, "cacheMaxSize", 10);
+        ReflectionTestUtils.setField(apiService, "cacheTtl", 60L);
+        when(apiRepository.search(any(ApiCriteria.class), any(ApiFieldExclusionFilter.class)))
+                .thenReturn(singletonList(api(API_ID, PRIVATE)));
+        when(membershipRepository.findByUserAndReferenceType(USER_NAME, MembershipReferenceType.API))
+                .thenReturn(Collections.singleton(membership(API_ID, MembershipReferenceType.API)));
+
+        apiService.afterPropertiesSet();
+        final ArgumentCaptor<EventListener> listener = ArgumentCaptor.forClass(EventListener.class);
+        verify(eventManager).subscribeForEvents(listener.capture(), eq(MembershipEvent.class));
+
+        assertEquals(Collections.singleton(API_ID), apiService.findIdsByUser(USER_NAME, null));
+        assertEquals(Collections.singleton(API_ID), apiService.findIdsByUser(USER_NAME, null));
+        verify(membershipRepository, times(1)).findByUserAndReferenceType(USER_NAME, MembershipReferenceType.API);
+
+        final Event<MembershipEvent, String> event = mock(Event.class);
+        when(event.type()).thenReturn(MembershipEvent.UPDATE);
+        when(event.content()).thenReturn(USER_NAME);
+        listener.getValue().onEvent(event);
+        when(membershipRepository.findByUserAndReferenceType(USER_NAME, MembershipReferenceType.API))
+                .thenReturn(Collections.emptySet());
+
+        assertTrue(apiService.findIdsByUser(USER_NAME, null).isEmpty());
+        verify(membershipRepository, times(2)).findByUserAndReferenceType(USER_NAME, MembershipReferenceType.API);
+    }
+
+    private static Api api(String id, io.gravitee.repository.management.model.Visibility visibility) {
+        final Api api = new Api();
+        api.setId(id);
+        api.setName(id);
+        api.setVisibility(visibility);
+        return api;
+    }
+
+    private static Membership membership(String referenceId, MembershipReferenceType referenceType) {
+        final Membership membership = new Membership(USER_NAME, referenceId, referenceType);
+        membership.setRoles(Collections.singletonMap(RoleScope.API.getId(), "USER"));
+        return membership;
+    }
+
+    private static Membership primaryOwner(String apiId) {
+        final Membership po = new Membership(USER_NAME, apiId, MembershipReferenceType.API);
+        po.setRoles(Collections.singletonMap(RoleScope.API.getId(), SystemRole.PRIMARY_OWNER.name()));
+        return po;
     }
 }
@@ -0,0 +1,206 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import io.gravitee.common.data.domain.Page;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.management.model.EventEntity;
+import io.gravitee.management.model.UserEntity;
+import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.model.permissions.SystemRole;
+import io.gravitee.management.service.impl.ApiServiceImpl;
+import io.gravitee.management.service.jackson.filter.ApiPermissionFilter;
+import io.gravitee.management.service.processor.ApiSynchronizationProcessor;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.MembershipRepository;
+import io.gravitee.repository.management.model.Api;
+import io.gravitee.repository.management.model.Membership;
+import io.gravitee.repository.management.model.MembershipReferenceType;
+import io.gravitee.repository.management.model.RoleScope;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApiService_IsSynchronizedTest {
+
+    private static final String API_ID = "id-api";
+    private static final String USER_NAME = "myUser";
+    private static final String DEPLOYMENT_HASH = "0123456789ABCDEF";
+
+    @InjectMocks
+    private ApiServiceImpl apiService = new ApiServiceImpl();
+
+    @Mock
+    private ApiRepository apiRepository;
+
+    @Mock
+    private MembershipRepository membershipRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new GraviteeMapper();
+
+    @Mock
+    private Api api;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private PlanService planService;
+
+    @Mock
+    private ApiSynchronizationProcessor apiSynchronizationProcessor;
+
+    @Before
+    public void setUp() throws TechnicalException {
+        PropertyFilter apiMembershipTypeFilter = new ApiPermissionFilter();
+        objectMapper.setFilterProvider(new SimpleFilterProvider(Collections.singletonMap("apiMembershipTypeFilter", apiMembershipTypeFilter)));
+
+        when(api.getId()).thenReturn(API_ID);
+        when(api.getUpdatedAt()).thenReturn(new Date(1000));
+        when(api.getDeployedAt()).thenReturn(new Date(1000));
+        when(apiRepository.findById(API_ID)).thenReturn(Optional.of(api));
+        when(apiRepository.search(any(), any())).thenReturn(Collections.singletonList(api));
+        Membership po = new Membership(USER_NAME, API_ID, MembershipReferenceType.API);
+        po.setRoles(Collections.singletonMap(RoleScope.API.getId(), SystemRole.PRIMARY_OWNER.name()));
+        when(membershipRepository.findByReferenceAndRole(any(), any(), any(), any()))
+                .thenReturn(Collections.singleton(po));
+        when(userService.findById(USER_NAME)).thenReturn(mock(UserEntity.class));
+        when(planService.findByApi(API_ID)).thenReturn(Collections.emptySet());
+    }
+
+    @Test
+    public void shouldBeSynchronizedWhenHashesMatch() {
+        mockLastEvent(DEPLOYMENT_HASH);
+        when(apiSynchronizationProcessor.computeDeploymentHash(any())).thenReturn(DEPLOYMENT_HASH);
+
+        assertTrue(apiService.isSynchronized(API_ID));
+        assertTrue(apiService.isSynchronized(API_ID));
+
+        // the hash of the current API state is only computed once
+        verify(apiSynchronizationProcessor, times(1)).computeDeploymentHash(any());
+        verify(apiSynchronizationProcessor, never()).processCheckSynchronization(any(), any());
+    }
+
+    @Test
+    public void shouldNotFindApiWhenDeploymentHashIsKnown() throws TechnicalException {
+        mockLastEvent(DEPLOYMENT_HASH);
+        when(apiSynchronizationProcessor.computeDeploymentHash(any())).thenReturn(DEPLOYMENT_HASH);
+
+        assertTrue(apiService.isSynchronized(API_ID));
+        assertTrue(apiService.isSynchronized(API_ID));
+
+        // the full API is only read and converted to compute the first hash, the header is enough afterwards
+        verify(apiRepository, times(1)).findById(API_ID);
+        verify(apiRepository, times(2)).search(any(), any());
+    }
+
+    @Test
+    public void shouldRecomputeDeploymentHashWhenApiIsUpdated() {
+        mockLastEvent(DEPLOYMENT_HASH);
+        when(apiSynchronizationProcessor.computeDeploymentHash(any())).thenReturn(DEPLOYMENT_HASH);
+
+        assertTrue(apiService.isSynchronized(API_ID));
+        when(api.getUpdatedAt()).thenReturn(new Date(2000));
+        assertTrue(apiService.isSynchronized(API_ID));
+
+        verify(apiSynchronizationProcessor, times(2)).computeDeploymentHash(any());
+    }
+
+    @Test
+    public void shouldNotBeSynchronizedWhenHashesDiffer() {
+        mockLastEvent(DEPLOYMENT_HASH);
+        when(apiSynchronizationProcessor.computeDeploymentHash(any())).thenReturn("another-hash");
+
+        assertFalse(apiService.isSynchronized(API_ID));
+    }
+
+    @Test
+    public void shouldFallbackOnPayloadComparisonWithoutHash() {
+        mockLastEvent((String) null);
+        when(apiSynchronizationProcessor.processCheckSynchronization(any(), any())).thenReturn(true);
+
+        assertTrue(apiService.isSynchronized(API_ID));
+
+        verify(apiSynchronizationProcessor, never()).computeDeploymentHash(any());
+    }
+
+    @Test
+    public void shouldGetDeploymentChangesFromDigests() {
+        mockLastEvent(Collections.singletonMap("deployment_digests", "{\"proxy\":\"0123456789ABCDEF\"}"));
+        Map<String, String> digests = Collections.singletonMap("proxy", "FEDCBA9876543210");
+        when(apiSynchronizationProcessor.computeDeploymentDigests(any())).thenReturn(digests);
+        when(apiSynchronizationProcessor.processDeploymentChanges(
+                Collections.singletonMap("proxy", "0123456789ABCDEF"), digests))
+                .thenReturn(Collections.singletonList("proxy"));
+
+        assertEquals(Collections.singletonList("proxy"), apiService.getDeploymentChanges(API_ID));
+
+        verify(apiSynchronizationProcessor, never()).processDeploymentChanges(any(ApiEntity.class), any(ApiEntity.class));
+    }
+
+    @Test
+    public void shouldGetDeploymentChangesFromPayloadWithoutDigests() {
+        mockLastEvent((String) null);
+        when(apiSynchronizationProcessor.processDeploymentChanges(any(ApiEntity.class), any(ApiEntity.class)))
+                .thenReturn(Collections.singletonList("tags"));
+
+        assertEquals(Collections.singletonList("tags"), apiService.getDeploymentChanges(API_ID));
+    }
+
+    private void mockLastEvent(String deploymentHash) {
+        mockLastEvent(deploymentHash == null ?
+                Collections.emptyMap() : Collections.singletonMap("deployment_hash", deploymentHash));
+    }
+
+    private void mockLastEvent(Map<String, String> properties) {
+        EventEntity event = new EventEntity();
+        event.setPayload("{\"id\":\"" + API_ID + "\",\"unknown\":\"property\"}");
+        event.setProperties(properties);
+        when(eventService.search(anyList(), anyMap(), anyLong(), anyLong(), anyInt(), anyInt()))
+                .thenReturn(new Page<>(Collections.singletonList(event), 0, 1, 1));
+    }
+}
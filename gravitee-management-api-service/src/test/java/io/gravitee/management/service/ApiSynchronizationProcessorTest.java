@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.common.http.HttpMethod;
+import io.gravitee.definition.jackson.datatype.GraviteeMapper;
+import io.gravitee.definition.model.*;
+import io.gravitee.definition.model.endpoint.HttpEndpoint;
+import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.service.processor.ApiSynchronizationProcessor;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ApiSynchronizationProcessorTest {
+
+    @InjectMocks
+    private ApiSynchronizationProcessor processor = new ApiSynchronizationProcessor();
+
+    @Spy
+    private ObjectMapper objectMapper = new GraviteeMapper();
+
+    @Test
+    public void shouldBeSynchronized() {
+        ApiEntity deployedApi = createApi("/products", "tag1", "tag2");
+        ApiEntity apiToDeploy = createApi("/products", "tag2", "tag1");
+        apiToDeploy.setName("another name");
+
+        assertTrue(processor.processCheckSynchronization(deployedApi, apiToDeploy));
+        assertTrue(processor.processDeploymentChanges(deployedApi, apiToDeploy).isEmpty());
+        assertEquals(processor.computeDeploymentHash(deployedApi), processor.computeDeploymentHash(apiToDeploy));
+    }
+
+    @Test
+    public void shouldNotBeSynchronized() {
+        ApiEntity deployedApi = createApi("/products", "tag1");
+        ApiEntity apiToDeploy = createApi("/products/v2", "tag2");
+
+        assertFalse(processor.processCheckSynchronization(deployedApi, apiToDeploy));
+        assertEquals(Arrays.asList("proxy", "tags"), processor.processDeploymentChanges(deployedApi, apiToDeploy));
+        assertNotEquals(processor.computeDeploymentHash(deployedApi), processor.computeDeploymentHash(apiToDeploy));
+    }
+
+    @Test
+    public void shouldGetDeploymentChangesFromDigests() {
+        ApiEntity deployedApi = createApi("/products", "tag1", "tag2");
+        ApiEntity apiToDeploy = createApi("/products/v2", "tag2", "tag1");
+
+        Map<String, String> deployedDigests = processor.computeDeploymentDigests(deployedApi);
+        assertEquals(16, deployedDigests.get("proxy").length());
+        assertTrue(processor.processDeploymentChanges(deployedDigests, processor.computeDeploymentDigests(deployedApi)).isEmpty());
+        assertEquals(Collections.singletonList("proxy"),
+                processor.processDeploymentChanges(deployedDigests, processor.computeDeploymentDigests(apiToDeploy)));
+    }
+
+    @Test
+    public void shouldNotBeSynchronizedWhenFieldRemoved() {
+        ApiEntity deployedApi = createApi("/products", "tag1");
+        ApiEntity apiToDeploy = createApi("/products", "tag1");
+        apiToDeploy.setPathMappings(null);
+
+        assertEquals(Collections.singletonList("pathMappings"), processor.processDeploymentChanges(deployedApi, apiToDeploy));
+    }
+
+    @Test
+    public void shouldComputeSameHashWhateverSetsOrder() {
+        ApiEntity deployedApi = createApi("/products");
+        deployedApi.setTags(new LinkedHashSet<>(Arrays.asList("tag1", "tag2", "tag3")));
+        deployedApi.setPathMappings(new LinkedHashSet<>(Arrays.asList("/products/:id", "/products")));
+        ApiEntity apiToDeploy = createApi("/products");
+        apiToDeploy.setTags(new LinkedHashSet<>(Arrays.asList("tag3", "tag1", "tag2")));
+        apiToDeploy.setPathMappings(new LinkedHashSet<>(Arrays.asList("/products", "/products/:id")));
+
+        assertTrue(processor.processCheckSynchronization(deployedApi, apiToDeploy));
+        assertEquals(processor.computeDeploymentHash(deployedApi), processor.computeDeploymentHash(apiToDeploy));
+    }
+
+    @Test
+    public void shouldIgnorePolicyDescriptionsWithoutModifyingApi() {
+        ApiEntity deployedApi = createApi("/products", "tag1");
+        deployedApi.setPaths(Collections.singletonMap("/", createPath("Check API key")));
+        ApiEntity apiToDeploy = createApi("/products", "tag1");
+        apiToDeploy.setPaths(Collections.singletonMap("/", createPath("Check the API key")));
+
+        assertTrue(processor.processCheckSynchronization(deployedApi, apiToDeploy));
+        assertEquals(processor.computeDeploymentHash(deployedApi), processor.computeDeploymentHash(apiToDeploy));
+        assertEquals("Check API key", deployedApi.getPaths().get("/").getRules().get(0).getDescription());
+    }
+
+    private Path createPath(String description) {
+        Policy policy = new Policy();
+        policy.setName("api-key");
+        policy.setConfiguration("{}");
+        Rule rule = new Rule();
+        rule.setMethods(Collections.singletonList(HttpMethod.GET));
+        rule.setPolicy(policy);
+        rule.setDescription(description);
+        Path path = new Path();
+        path.setPath("/");
+        path.setRules(Collections.singletonList(rule));
+        return path;
+    }
+
+    private ApiEntity createApi(String contextPath, String... tags) {
+        ApiEntity api = new ApiEntity();
+        api.setName("api");
+        Proxy proxy = new Proxy();
+        proxy.setContextPath(contextPath);
+        proxy.setStripContextPath(false);
+        Logging logging = new Logging();
+        logging.setMode(LoggingMode.NONE);
+        proxy.setLogging(logging);
+        EndpointGroup endpointGroup = new EndpointGroup();
+        endpointGroup.setName("default-group");
+        endpointGroup.setEndpoints(Collections.singleton(new HttpEndpoint("default", "http://test")));
+        LoadBalancer loadBalancer = new LoadBalancer();
+        loadBalancer.setType(LoadBalancerType.ROUND_ROBIN);
+        endpointGroup.setLoadBalancer(loadBalancer);
+        proxy.setGroups(Collections.singleton(endpointGroup));
+        api.setProxy(proxy);
+        api.setTags(new HashSet<>(Arrays.asList(tags)));
+        return api;
+    }
+}
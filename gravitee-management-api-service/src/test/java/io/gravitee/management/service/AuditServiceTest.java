@@ -0,0 +1,237 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.gravitee.common.data.domain.MetadataPage;
+import io.gravitee.common.data.domain.Page;
+import io.gravitee.management.model.audit.AuditEntity;
+import io.gravitee.management.model.audit.AuditExportFormat;
+import io.gravitee.management.model.audit.AuditQuery;
+import io.gravitee.management.model.audit.AuditQueueStatisticsEntity;
+import io.gravitee.management.service.impl.AuditServiceImpl;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.*;
+import io.gravitee.repository.management.api.search.AuditCriteria;
+import io.gravitee.repository.management.api.search.Pageable;
+import io.gravitee.repository.management.model.Audit;
+import io.gravitee.repository.management.model.Plan;
+import io.gravitee.repository.management.model.User;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AuditServiceTest {
+
+    @InjectMocks
+    private AuditService auditService = new AuditServiceImpl();
+
+    @Mock
+    private AuditRepository auditRepository;
+
+    @Mock
+    private PageRepository pageRepository;
+
+    @Mock
+    private PlanRepository planRepository;
+
+    @Mock
+    private MetadataRepository metadataRepository;
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void shouldResolveMetadataOncePerPage() throws TechnicalException {
+        when(auditRepository.search(any(AuditCriteria.class), any(Pageable.class))).thenReturn(
+                new Page<>(Arrays.asList(audit("1", "plan-1"), audit("2", "plan-2"), audit("3", "plan-1")), 0, 3, 3));
+        when(userRepository.findByIds(anyList())).thenReturn(Collections.singleton(user()));
+        when(planRepository.findByApi("api")).thenReturn(new HashSet<>(Arrays.asList(plan("plan-1"), plan("plan-2"))));
+
+        AuditQuery query = new AuditQuery();
+        query.setApiIds(Collections.singletonList("api"));
+        query.setPage(1);
+        query.setSize(20);
+        MetadataPage<AuditEntity> page = auditService.search(query);
+
+        assertEquals(3, page.getContent().size());
+        assertEquals("John Doe", page.getMetadata().get("USER:john:name"));
+        assertEquals("Plan plan-1", page.getMetadata().get("PLAN:plan-1:name"));
+        assertEquals("Plan plan-2", page.getMetadata().get("PLAN:plan-2:name"));
+        verify(userRepository, times(1)).findByIds(anyList());
+        verify(planRepository, times(1)).findByApi("api");
+        verify(planRepository, never()).findById(any());
+    }
+
+    @Test
+    public void shouldExportAsCsv() throws TechnicalException {
+        when(auditRepository.search(any(AuditCriteria.class), any(Pageable.class))).thenReturn(
+                new Page<>(Collections.singletonList(audit("1", "plan-1")), 0, 1, 1));
+        when(userRepository.findByIds(anyList())).thenReturn(Collections.singleton(user()));
+        when(planRepository.findByApi("api")).thenReturn(Collections.singleton(plan("plan-1")));
+
+        AuditQuery query = new AuditQuery();
+        query.setApiIds(Collections.singletonList("api"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        auditService.export(query, AuditExportFormat.CSV, output);
+
+        String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("1,1970-01-01T00:00:00Z,API,api,PLAN_CREATED,john,John Doe,PLAN=plan-1 (Plan plan-1),\"{\"\"op\"\":\"\"add\"\"}\"",
+                lines[1]);
+        verify(auditRepository, times(1)).search(any(AuditCriteria.class), any(Pageable.class));
+    }
+
+    @Test
+    public void shouldResolveOnlyReferencedPages() throws TechnicalException {
+        Audit audit = audit("1", "plan-1");
+        audit.setProperties(Collections.singletonMap(Audit.AuditProperties.PAGE.name(), "page-1"));
+        when(auditRepository.search(any(AuditCriteria.class), any(Pageable.class))).thenReturn(
+                new Page<>(Collections.singletonList(audit), 0, 1, 1));
+        io.gravitee.repository.management.model.Page page = new io.gravitee.repository.management.model.Page();
+        page.setId("page-1");
+        page.setName("Documentation");
+        when(pageRepository.findById("page-1")).thenReturn(Optional.of(page));
+
+        AuditQuery query = new AuditQuery();
+        query.setPage(1);
+        query.setSize(20);
+        MetadataPage<AuditEntity> result = auditService.search(query);
+
+        assertEquals("Documentation", result.getMetadata().get("PAGE:page-1:name"));
+        verify(pageRepository, never()).findApiPageByApiId(any());
+        verify(pageRepository, never()).findPortalPages();
+    }
+
+    @Test
+    public void shouldNeutralizeFormulasInCsv() throws TechnicalException {
+        when(auditRepository.search(any(AuditCriteria.class), any(Pageable.class))).thenReturn(
+                new Page<>(Collections.singletonList(audit("1", "plan-1")), 0, 1, 1));
+        User user = user();
+        user.setFirstname("=HYPERLINK(\"http://evil\")");
+        when(userRepository.findByIds(anyList())).thenReturn(Collections.singleton(user));
+        when(planRepository.findByApi("api")).thenReturn(Collections.singleton(plan("plan-1")));
+
+        AuditQuery query = new AuditQuery();
+        query.setApiIds(Collections.singletonList("api"));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        auditService.export(query, AuditExportFormat.CSV, output);
+
+        String[] lines = new String(output.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        assertEquals("1,1970-01-01T00:00:00Z,API,api,PLAN_CREATED,john,\"'=HYPERLINK(\"\"http://evil\"\") Doe\"," +
+                "PLAN=plan-1 (Plan plan-1),\"{\"\"op\"\":\"\"add\"\"}\"", lines[1]);
+    }
+
+    @Test
+    public void shouldWriteQueuedAuditLogsOnShutdown() throws Exception {
+        ReflectionTestUtils.setField(auditService, "mode", "async");
+        ReflectionTestUtils.setField(auditService, "queueCapacity", 10);
+        ((AuditServiceImpl) auditService).afterPropertiesSet();
+
+        for (int i = 0; i < 3; i++) {
+            auditService.createPortalAuditLog(Collections.emptyMap(), User.AuditEvent.USER_CONNECTED, "john",
+                    null, null, Collections.singletonMap("lastConnectionAt", i));
+        }
+        ((AuditServiceImpl) auditService).destroy();
+
+        verify(auditRepository, times(3)).create(any(Audit.class));
+        AuditQueueStatisticsEntity statistics = auditService.getQueueStatistics();
+        assertTrue(statistics.isEnabled());
+        assertEquals(10, statistics.getCapacity());
+        assertEquals(0, statistics.getDepth());
+        assertEquals(0, statistics.getOverflowCount());
+    }
+
+    @Test
+    public void shouldNotWriteAuditLogsOfRolledBackTransaction() throws Exception {
+        ReflectionTestUtils.setField(auditService, "mode", "async");
+        ReflectionTestUtils.setField(auditService, "queueCapacity", 10);
+        ((AuditServiceImpl) auditService).afterPropertiesSet();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            auditService.createPortalAuditLog(Collections.emptyMap(), User.AuditEvent.USER_CONNECTED, "john",
+                    null, null, null);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        ((AuditServiceImpl) auditService).destroy();
+
+        verify(auditRepository, never()).create(any(Audit.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnknownMode() {
+        ReflectionTestUtils.setField(auditService, "mode", "fire-and-forget");
+        ((AuditServiceImpl) auditService).afterPropertiesSet();
+    }
+
+    private static Audit audit(String id, String planId) {
+        Audit audit = new Audit();
+        audit.setId(id);
+        audit.setUser("john");
+        audit.setReferenceType(Audit.AuditReferenceType.API);
+        audit.setReferenceId("api");
+        audit.setEvent("PLAN_CREATED");
+        audit.setCreatedAt(new Date(0));
+        audit.setProperties(Collections.singletonMap(Audit.AuditProperties.PLAN.name(), planId));
+        audit.setPatch("{\"op\":\"add\"}");
+        return audit;
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId("john");
+        user.setFirstname("John");
+        user.setLastname("Doe");
+        return user;
+    }
+
+    private static Plan plan(String id) {
+        Plan plan = new Plan();
+        plan.setId(id);
+        plan.setName("Plan " + id);
+        return plan;
+    }
+}
@@ -18,6 +18,8 @@ package io.gravitee.management.service;
 import io.gravitee.common.data.domain.Page;
 import io.gravitee.management.model.EventEntity;
 import io.gravitee.management.model.NewEventEntity;
+import io.gravitee.management.model.UserEntity;
+import io.gravitee.management.service.common.EventPayloadCodec;
 import io.gravitee.management.service.exceptions.EventNotFoundException;
 import io.gravitee.management.service.exceptions.TechnicalManagementException;
 import io.gravitee.management.service.impl.EventServiceImpl;
@@ -29,16 +31,17 @@ import io.gravitee.repository.management.model.Event;
 import io.gravitee.repository.management.model.EventType;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentMatcher;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.*;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
-import static org.mockito.Mockito.verify;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 /**
  * @author Titouan COMPIEGNE (titouan.compiegne at graviteesource.com)
@@ -292,4 +295,140 @@ public class EventServiceTest {
         assertTrue("event1".equals(eventPageEntity.getContent().get(0).getId()));
     }
 
+    @Test
+    public void shouldCreateCompressedEvent() throws TechnicalException {
+        ReflectionTestUtils.setField(eventService, "compressionEnabled", true);
+        when(eventRepository.create(any())).thenAnswer(invocation -> invocation.getArguments()[0]);
+
+        when(newEvent.getType()).thenReturn(io.gravitee.management.model.EventType.PUBLISH_API);
+        when(newEvent.getPayload()).thenReturn(EVENT_PAYLOAD);
+        when(newEvent.getProperties()).thenReturn(new HashMap<>(EVENT_PROPERTIES));
+
+        final EventEntity eventEntity = eventService.create(newEvent);
+
+        verify(eventRepository).create(argThat(new ArgumentMatcher<Event>() {
+            @Override
+            public boolean matches(Object argument) {
+                return EventPayloadCodec.isEncoded(((Event) argument).getPayload());
+            }
+        }));
+        assertEquals(EVENT_PAYLOAD, eventEntity.getPayload());
+    }
+
+    @Test
+    public void shouldDecodeCompressedPayload() throws TechnicalException {
+        when(event.getType()).thenReturn(EventType.PUBLISH_API);
+        when(event.getPayload()).thenReturn(EventPayloadCodec.encode(EVENT_PAYLOAD));
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
+
+        final EventEntity eventEntity = eventService.findById(EVENT_ID);
+
+        assertEquals(EVENT_PAYLOAD, eventEntity.getPayload());
+    }
+
+    @Test
+    public void shouldPurgeApiEvents() throws TechnicalException {
+        when(event.getCreatedAt()).thenReturn(new Date(2000));
+        when(eventPage.getContent()).thenReturn(Collections.singletonList(event));
+        when(eventRepository.search(
+                new EventCriteria.Builder()
+                        .property(Event.EventProperties.API_ID.getValue(), API_ID)
+                        .types(EventType.PUBLISH_API)
+                        .build(),
+                new PageableBuilder().pageNumber(0).pageSize(1).build()
+        )).thenReturn(eventPage);
+
+        when(event2.getId()).thenReturn("event2");
+        when(event2.getCreatedAt()).thenReturn(new Date(1000));
+        when(eventRepository.search(
+                outdatedEventsCriteria(1999),
+                new PageableBuilder().pageNumber(0).pageSize(100).build()
+        )).thenReturn(new Page<>(Collections.singletonList(event2), 0, 1, 1));
+
+        int purged = eventService.purgeApiEvents(API_ID, 1);
+
+        assertEquals(1, purged);
+        verify(eventRepository).delete("event2");
+        verify(eventRepository, never()).delete(EVENT_ID);
+        verify(eventRepository, never()).search(any(EventCriteria.class));
+    }
+
+    @Test
+    public void shouldPurgeApiEventsByBatches() throws TechnicalException {
+        when(event.getCreatedAt()).thenReturn(new Date(200_000));
+        when(eventPage.getContent()).thenReturn(Collections.singletonList(event));
+        when(eventRepository.search(
+                new EventCriteria.Builder()
+                        .property(Event.EventProperties.API_ID.getValue(), API_ID)
+                        .types(EventType.PUBLISH_API)
+                        .build(),
+                new PageableBuilder().pageNumber(0).pageSize(1).build()
+        )).thenReturn(eventPage);
+
+        final List<Event> firstBatch = outdatedEvents(0, 100);
+        final List<Event> lastBatch = outdatedEvents(100, 1);
+        when(eventRepository.search(
+                outdatedEventsCriteria(199_999),
+                new PageableBuilder().pageNumber(0).pageSize(100).build()
+        )).thenReturn(new Page<>(firstBatch, 0, 100, 101), new Page<>(lastBatch, 0, 1, 1));
+
+        int purged = eventService.purgeApiEvents(API_ID, 1);
+
+        assertEquals(101, purged);
+        verify(eventRepository, times(101)).delete(any());
+        verify(eventRepository).delete("outdated-100");
+    }
+
+    private static EventCriteria outdatedEventsCriteria(long to) {
+        return new EventCriteria.Builder()
+                .property(Event.EventProperties.API_ID.getValue(), API_ID)
+                .types(EventType.PUBLISH_API, EventType.UNPUBLISH_API, EventType.START_API, EventType.STOP_API)
+                .from(1).to(to)
+                .build();
+    }
+
+    private static List<Event> outdatedEvents(int first, int count) {
+        final List<Event> events = new ArrayList<>();
+        for (int i = first; i < first + count; i++) {
+            final Event outdatedEvent = new Event();
+            outdatedEvent.setId("outdated-" + i);
+            outdatedEvent.setCreatedAt(new Date(1000 + i));
+            events.add(outdatedEvent);
+        }
+        return events;
+    }
+
+    @Test
+    public void shouldNotPurgeApiEventsWhenNotEnoughDeployments() throws TechnicalException {
+        when(eventPage.getContent()).thenReturn(Collections.singletonList(event));
+        when(eventRepository.search(any(EventCriteria.class), any())).thenReturn(eventPage);
+
+        int purged = eventService.purgeApiEvents(API_ID, 2);
+
+        assertEquals(0, purged);
+        verify(eventRepository, never()).delete(any());
+    }
+
+    @Test
+    public void shouldResolveEventUsersOnce() {
+        when(event.getId()).thenReturn("event1");
+        when(event.getType()).thenReturn(EventType.START_API);
+        when(event.getProperties()).thenReturn(EVENT_PROPERTIES);
+        when(event2.getId()).thenReturn("event2");
+        when(event2.getType()).thenReturn(EventType.STOP_API);
+        when(event2.getProperties()).thenReturn(EVENT_PROPERTIES);
+        when(eventPage.getContent()).thenReturn(Arrays.asList(event, event2));
+        when(eventRepository.search(any(EventCriteria.class), any())).thenReturn(eventPage);
+
+        UserEntity user = new UserEntity();
+        user.setId(EVENT_USERNAME);
+        when(userService.findByIds(Collections.singletonList(EVENT_USERNAME))).thenReturn(Collections.singleton(user));
+
+        Page<EventEntity> eventPageEntity = eventService.search(null, null, 0, 0, 0, 10);
+
+        assertSame(user, eventPageEntity.getContent().get(0).getUser());
+        assertSame(user, eventPageEntity.getContent().get(1).getUser());
+        verify(userService, times(1)).findByIds(any());
+        verify(userService, never()).findById(any());
+    }
 }
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.common.event.EventManager;
+import io.gravitee.management.service.event.MembershipEvent;
+import io.gravitee.management.service.impl.GroupServiceImpl;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ApiRepository;
+import io.gravitee.repository.management.api.ApplicationRepository;
+import io.gravitee.repository.management.api.GroupRepository;
+import io.gravitee.repository.management.api.MembershipRepository;
+import io.gravitee.repository.management.model.Group;
+import io.gravitee.repository.management.model.Membership;
+import io.gravitee.repository.management.model.MembershipReferenceType;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static java.util.Optional.of;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class GroupService_DeleteTest {
+
+    private static final String GROUP_ID = "my-group";
+
+    @InjectMocks
+    private GroupService groupService = new GroupServiceImpl();
+
+    @Mock
+    private GroupRepository groupRepository;
+
+    @Mock
+    private MembershipRepository membershipRepository;
+
+    @Mock
+    private ApiRepository apiRepository;
+
+    @Mock
+    private ApplicationRepository applicationRepository;
+
+    @Mock
+    private AuditService auditService;
+
+    @Mock
+    private EventManager eventManager;
+
+    @Before
+    public void init() throws TechnicalException {
+        Group group = new Group();
+        group.setId(GROUP_ID);
+        when(groupRepository.findById(GROUP_ID)).thenReturn(of(group));
+        when(membershipRepository.findByReferenceAndRole(MembershipReferenceType.GROUP, GROUP_ID, null, null))
+                .thenReturn(new HashSet<>(Arrays.asList(
+                        new Membership("john", GROUP_ID, MembershipReferenceType.GROUP),
+                        new Membership("jane", GROUP_ID, MembershipReferenceType.GROUP))));
+    }
+
+    @Test
+    public void shouldPublishMembershipUpdateOfEachMember() throws TechnicalException {
+        groupService.delete(GROUP_ID);
+
+        verify(membershipRepository, times(2)).delete(any(Membership.class));
+        verify(eventManager).publishEvent(MembershipEvent.UPDATE, "john");
+        verify(eventManager).publishEvent(MembershipEvent.UPDATE, "jane");
+        verify(groupRepository).delete(GROUP_ID);
+    }
+
+    @Test
+    public void shouldPublishMembershipUpdatesOnceCommitted() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            groupService.delete(GROUP_ID);
+            verify(eventManager, never()).publishEvent(any(MembershipEvent.class), any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(eventManager).publishEvent(MembershipEvent.UPDATE, "john");
+        verify(eventManager).publishEvent(MembershipEvent.UPDATE, "jane");
+    }
+}
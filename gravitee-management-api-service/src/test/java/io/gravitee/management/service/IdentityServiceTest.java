@@ -0,0 +1,132 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.idp.api.identity.SearchableUser;
+import io.gravitee.management.idp.core.authentication.IdentityManager;
+import io.gravitee.management.idp.core.authentication.IdentitySearchResult;
+import io.gravitee.management.idp.core.authentication.LatencyHistogram;
+import io.gravitee.management.model.SearchLatencyEntity;
+import io.gravitee.management.service.impl.IdentityServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class IdentityServiceTest {
+
+    @InjectMocks
+    private IdentityService identityService = new IdentityServiceImpl();
+
+    @Mock
+    private IdentityManager identityManager;
+
+    @Mock
+    private SearchableUser john;
+
+    @Before
+    public void init() {
+        ReflectionTestUtils.setField(identityService, "cacheTtl", 30L);
+        ReflectionTestUtils.setField(identityService, "cacheMaxSize", 100);
+    }
+
+    @Test
+    public void shouldResolveOnlyUnknownUsernames() {
+        when(identityManager.searchByUsernames(new HashSet<>(Arrays.asList("john", "jane"))))
+                .thenReturn(Collections.singletonMap("john", john));
+        when(identityManager.searchByUsernames(Collections.singleton("paul")))
+                .thenReturn(Collections.emptyMap());
+
+        Map<String, SearchableUser> users = identityService.searchByUsernames(Arrays.asList("john", "jane"));
+        assertEquals(1, users.size());
+        assertSame(john, users.get("john"));
+
+        users = identityService.searchByUsernames(Arrays.asList("john", "jane", "paul"));
+        assertEquals(1, users.size());
+        assertSame(john, users.get("john"));
+
+        verify(identityManager).searchByUsernames(new HashSet<>(Arrays.asList("john", "jane")));
+        verify(identityManager).searchByUsernames(Collections.singleton("paul"));
+        verifyNoMoreInteractions(identityManager);
+    }
+
+    @Test
+    public void shouldCacheSearch() {
+        when(identityManager.search("jo")).thenReturn(result(john));
+
+        assertEquals(1, identityService.search("jo").getUsers().size());
+        assertEquals(1, identityService.search("jo").getUsers().size());
+
+        verify(identityManager, times(1)).search("jo");
+    }
+
+    @Test
+    public void shouldNotCacheWhenDisabled() {
+        ReflectionTestUtils.setField(identityService, "cacheTtl", 0L);
+        when(identityManager.search("jo")).thenReturn(result(john));
+
+        identityService.search("jo");
+        identityService.search("jo");
+
+        verify(identityManager, times(2)).search("jo");
+    }
+
+    @Test
+    public void shouldNotCachePartialSearch() {
+        final IdentitySearchResult partialResult = result(john);
+        partialResult.addTimedOutProvider("ldap");
+        when(identityManager.search("jo")).thenReturn(partialResult);
+
+        assertSame(partialResult, identityService.search("jo"));
+        identityService.search("jo");
+
+        verify(identityManager, times(2)).search("jo");
+    }
+
+    private static IdentitySearchResult result(SearchableUser... users) {
+        final IdentitySearchResult result = new IdentitySearchResult();
+        result.addUsers(Arrays.asList(users));
+        return result;
+    }
+
+    @Test
+    public void shouldGetSearchLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(5);
+        histogram.record(30);
+        when(identityManager.getSearchLatencies()).thenReturn(Collections.singletonMap("ldap", histogram));
+
+        Map<String, SearchLatencyEntity> latencies = identityService.getSearchLatencies();
+
+        assertEquals(1, latencies.size());
+        assertEquals(2, latencies.get("ldap").getCount());
+        assertEquals(35, latencies.get("ldap").getTotalTime());
+        assertEquals(1L, (long) latencies.get("ldap").getBuckets().get("50"));
+    }
+}
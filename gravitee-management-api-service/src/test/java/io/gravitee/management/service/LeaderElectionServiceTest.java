@@ -0,0 +1,190 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.service.impl.LeaderElectionServiceImpl;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ParameterRepository;
+import io.gravitee.repository.management.model.Parameter;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static io.gravitee.management.service.LeaderElectionService.SUBSCRIPTIONS_REFRESHER_JOB;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class LeaderElectionServiceTest {
+
+    private static final String LEASE_KEY = "cluster.lease." + SUBSCRIPTIONS_REFRESHER_JOB;
+
+    @InjectMocks
+    private LeaderElectionService leaderElectionService = new LeaderElectionServiceImpl();
+
+    @Mock
+    private ParameterRepository parameterRepository;
+
+    private final Map<String, Parameter> parameters = new HashMap<>();
+
+    @Before
+    public void init() throws TechnicalException {
+        ReflectionTestUtils.setField(leaderElectionService, "enabled", true);
+        ReflectionTestUtils.setField(leaderElectionService, "leaseDuration", 30L);
+
+        when(parameterRepository.findById(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(parameters.get((String) invocation.getArguments()[0])));
+        when(parameterRepository.create(any(Parameter.class))).thenAnswer(invocation -> store(invocation.getArguments()[0]));
+        when(parameterRepository.update(any(Parameter.class))).thenAnswer(invocation -> store(invocation.getArguments()[0]));
+    }
+
+    private Parameter store(Object argument) {
+        final Parameter parameter = (Parameter) argument;
+        parameters.put(parameter.getKey(), parameter);
+        return parameter;
+    }
+
+    private boolean isLeaderAfterRenewal() {
+        leaderElectionService.isLeader(SUBSCRIPTIONS_REFRESHER_JOB);
+        renewLeases();
+        return leaderElectionService.isLeader(SUBSCRIPTIONS_REFRESHER_JOB);
+    }
+
+    private void renewLeases() {
+        ReflectionTestUtils.invokeMethod(leaderElectionService, "renewLeases");
+    }
+
+    private void lease(String owner, long expiresAt) {
+        final Parameter parameter = new Parameter();
+        parameter.setKey(LEASE_KEY);
+        parameter.setValue(owner + ';' + expiresAt);
+        parameters.put(LEASE_KEY, parameter);
+    }
+
+    @Test
+    public void shouldAlwaysBeLeaderIfDisabled() {
+        ReflectionTestUtils.setField(leaderElectionService, "enabled", false);
+
+        assertTrue(leaderElectionService.isLeader(SUBSCRIPTIONS_REFRESHER_JOB));
+        assertEquals(1, leaderElectionService.findLeases().size());
+        verifyZeroInteractions(parameterRepository);
+    }
+
+    @Test
+    public void shouldNotAccessRepositoryWhenCheckingLeadership() {
+        assertFalse(leaderElectionService.isLeader(SUBSCRIPTIONS_REFRESHER_JOB));
+        assertFalse(leaderElectionService.isLeader(SUBSCRIPTIONS_REFRESHER_JOB));
+
+        verifyZeroInteractions(parameterRepository);
+    }
+
+    @Test
+    public void shouldAcquireFreeLease() throws TechnicalException {
+        assertTrue(isLeaderAfterRenewal());
+
+        verify(parameterRepository, times(1)).create(any(Parameter.class));
+        assertTrue(parameters.get(LEASE_KEY).getValue().startsWith(leaderElectionService.getNodeId() + ';'));
+    }
+
+    @Test
+    public void shouldNotAcquireLeaseOwnedByAnotherNode() throws TechnicalException {
+        lease("other-node", System.currentTimeMillis() + 60_000);
+
+        assertFalse(isLeaderAfterRenewal());
+
+        verify(parameterRepository, never()).create(any(Parameter.class));
+        verify(parameterRepository, never()).update(any(Parameter.class));
+    }
+
+    @Test
+    public void shouldTakeOverExpiredLease() throws TechnicalException {
+        lease("other-node", System.currentTimeMillis() - 1);
+
+        assertTrue(isLeaderAfterRenewal());
+
+        verify(parameterRepository, times(1)).update(any(Parameter.class));
+    }
+
+    @Test
+    public void shouldNotBeLeaderIfLeaseAcquiredConcurrently() throws TechnicalException {
+        when(parameterRepository.create(any(Parameter.class))).thenAnswer(invocation -> {
+            lease("other-node", System.currentTimeMillis() + 60_000);
+            return invocation.getArguments()[0];
+        });
+
+        assertFalse(isLeaderAfterRenewal());
+    }
+
+    @Test
+    public void shouldUseKnownLeaseUntilRenewal() throws TechnicalException {
+        assertTrue(isLeaderAfterRenewal());
+        assertTrue(leaderElectionService.isLeader(SUBSCRIPTIONS_REFRESHER_JOB));
+
+        verify(parameterRepository, times(2)).findById(LEASE_KEY);
+    }
+
+    @Test
+    public void shouldRenewLeaseInBackground() throws TechnicalException {
+        assertTrue(isLeaderAfterRenewal());
+
+        renewLeases();
+
+        verify(parameterRepository, times(1)).create(any(Parameter.class));
+        verify(parameterRepository, times(1)).update(any(Parameter.class));
+        assertTrue(leaderElectionService.isLeader(SUBSCRIPTIONS_REFRESHER_JOB));
+    }
+
+    @Test
+    public void shouldLoseLeadershipTakenOverDuringRenewal() {
+        assertTrue(isLeaderAfterRenewal());
+        lease("other-node", System.currentTimeMillis() + 60_000);
+
+        renewLeases();
+
+        assertFalse(leaderElectionService.isLeader(SUBSCRIPTIONS_REFRESHER_JOB));
+    }
+
+    @Test
+    public void shouldReleaseLeasesOnShutdown() throws Exception {
+        assertTrue(isLeaderAfterRenewal());
+
+        ((LeaderElectionServiceImpl) leaderElectionService).destroy();
+
+        assertEquals(leaderElectionService.getNodeId() + ";0", parameters.get(LEASE_KEY).getValue());
+    }
+
+    @Test
+    public void shouldNotBeLeaderIfRepositoryFails() throws TechnicalException {
+        when(parameterRepository.findById(LEASE_KEY)).thenThrow(new TechnicalException());
+
+        assertFalse(isLeaderAfterRenewal());
+    }
+}
@@ -15,11 +15,13 @@
  */
 package io.gravitee.management.service;
 
+import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.GroupEntity;
 import io.gravitee.management.model.MemberEntity;
 import io.gravitee.management.model.RoleEntity;
 import io.gravitee.management.model.UserEntity;
 import io.gravitee.management.model.permissions.SystemRole;
+import io.gravitee.management.service.event.MembershipEvent;
 import io.gravitee.management.service.exceptions.AlreadyPrimaryOwnerException;
 import io.gravitee.management.service.exceptions.NotAuthorizedMembershipException;
 import io.gravitee.management.service.exceptions.RoleNotFoundException;
@@ -78,6 +80,9 @@ public class MembershipService_AddOrUpdateMemberTest {
     @Mock
     private IdentityService identityService;
 
+    @Mock
+    private EventManager eventManager;
+
     @Test
     public void shouldAddApiGroupMembership() throws Exception {
         UserEntity userEntity = new UserEntity();
@@ -105,9 +110,10 @@ public class MembershipService_AddOrUpdateMemberTest {
                 new MembershipService.MembershipRole(RoleScope.API, "OWNER"));
 
         verify(userService, times(2)).findById(userEntity.getId());
-        verify(membershipRepository, times(2)).findById(userEntity.getUsername(), MembershipReferenceType.GROUP, GROUP_ID);
+        verify(membershipRepository, times(1)).findById(userEntity.getUsername(), MembershipReferenceType.GROUP, GROUP_ID);
         verify(membershipRepository, times(1)).create(any());
         verify(membershipRepository, never()).update(any());
+        verify(eventManager, times(1)).publishEvent(MembershipEvent.UPDATE, userEntity.getId());
         verify(emailService, times(1)).sendAsyncEmailNotification(any());
     }
 
@@ -128,6 +134,7 @@ public class MembershipService_AddOrUpdateMemberTest {
         newMembership.setUserId(userEntity.getUsername());
         newMembership.setReferenceType(MembershipReferenceType.GROUP);
         newMembership.setReferenceId(GROUP_ID);
+        newMembership.setRoles(Collections.singletonMap(RoleScope.API.getId(), "OWNER"));
         GroupEntity groupEntityMock = mock(GroupEntity.class);
         when(groupEntityMock.getName()).thenReturn("foo");
         RoleEntity role = mock(RoleEntity.class);
@@ -144,7 +151,7 @@ public class MembershipService_AddOrUpdateMemberTest {
                 new MembershipService.MembershipRole(RoleScope.API, "OWNER"));
 
         verify(userService, times(2)).findById(userEntity.getId());
-        verify(membershipRepository, times(2)).findById(userEntity.getId(), MembershipReferenceType.GROUP, GROUP_ID);
+        verify(membershipRepository, times(1)).findById(userEntity.getId(), MembershipReferenceType.GROUP, GROUP_ID);
         verify(membershipRepository, never()).create(any());
         verify(membershipRepository, times(1)).update(any());
         verify(emailService, never()).sendAsyncEmailNotification(any());
@@ -19,6 +19,7 @@ import io.gravitee.management.model.MemberEntity;
 import io.gravitee.management.model.RoleEntity;
 import io.gravitee.management.model.UserEntity;
 import io.gravitee.management.model.permissions.SystemRole;
+import io.gravitee.management.service.exceptions.UserNotFoundException;
 import io.gravitee.management.service.impl.MembershipServiceImpl;
 import io.gravitee.repository.management.api.MembershipRepository;
 import io.gravitee.repository.management.model.Membership;
@@ -31,11 +32,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.Set;
 
-import static java.util.Optional.of;
 import static org.mockito.Mockito.*;
 
 /**
@@ -81,24 +83,25 @@ public class MembershipService_GetMembersTest {
         membership.setRoles(Collections.singletonMap(RoleScope.API.getId(), SystemRole.PRIMARY_OWNER.name()));
         membership.setUserId("user-id");
         UserEntity userEntity = new UserEntity();
+        userEntity.setId(membership.getUserId());
         userEntity.setUsername(membership.getUserId());
         userEntity.setFirstname("John");
         userEntity.setLastname("Doe");
         RoleEntity po = mock(RoleEntity.class);
         po.setScope(io.gravitee.management.model.permissions.RoleScope.API);
-        po.setName(SystemRole.PRIMARY_OWNER.name());
+        when(po.getName()).thenReturn(SystemRole.PRIMARY_OWNER.name());
         when(membershipRepository.findByReferenceAndRole(MembershipReferenceType.API, API_ID, RoleScope.API, SystemRole.PRIMARY_OWNER.name()))
                 .thenReturn(Collections.singleton(membership));
-        when(userService.findById(membership.getUserId())).thenReturn(userEntity);
-        when(membershipRepository.findById(userEntity.getUsername(),MembershipReferenceType.API, API_ID)).thenReturn(of(membership));
-        when(roleService.findById(RoleScope.API, SystemRole.PRIMARY_OWNER.name())).thenReturn(po);
+        when(userService.findByIds(Collections.singletonList(membership.getUserId()))).thenReturn(Collections.singleton(userEntity));
+        when(roleService.findByScope(RoleScope.API)).thenReturn(Collections.singletonList(po));
 
         Set<MemberEntity> members = membershipService.getMembers(MembershipReferenceType.API, API_ID, RoleScope.API, SystemRole.PRIMARY_OWNER.name());
 
         Assert.assertNotNull(members);
         Assert.assertFalse("members must not be empty", members.isEmpty());
         verify(membershipRepository, times(1)).findByReferenceAndRole(MembershipReferenceType.API, API_ID, RoleScope.API, SystemRole.PRIMARY_OWNER.name());
-        verify(userService, times(1)).findById(membership.getUserId());
+        verify(userService, times(1)).findByIds(Collections.singletonList(membership.getUserId()));
+        verify(membershipRepository, never()).findById(any(), any(), any());
     }
 
     @Test
@@ -111,24 +114,74 @@ public class MembershipService_GetMembersTest {
         membership.setRoles(Collections.singletonMap(RoleScope.API.getId(), SystemRole.PRIMARY_OWNER.name()));
         membership.setUserId("user-id");
         UserEntity userEntity = new UserEntity();
+        userEntity.setId(membership.getUserId());
         userEntity.setUsername(membership.getUserId());
         userEntity.setFirstname("John");
         userEntity.setLastname("Doe");
         RoleEntity po = mock(RoleEntity.class);
         po.setScope(io.gravitee.management.model.permissions.RoleScope.API);
-        po.setName(SystemRole.PRIMARY_OWNER.name());
+        when(po.getName()).thenReturn(SystemRole.PRIMARY_OWNER.name());
         when(membershipRepository.findByReferenceAndRole(MembershipReferenceType.API, API_ID, RoleScope.API, null))
                 .thenReturn(Collections.singleton(membership));
-        when(userService.findById(membership.getUserId())).thenReturn(userEntity);
-        when(membershipRepository.findById(userEntity.getUsername(),MembershipReferenceType.API, API_ID)).thenReturn(of(membership));
-        when(roleService.findById(RoleScope.API, SystemRole.PRIMARY_OWNER.name())).thenReturn(po);
+        when(userService.findByIds(Collections.singletonList(membership.getUserId()))).thenReturn(Collections.singleton(userEntity));
+        when(roleService.findByScope(RoleScope.API)).thenReturn(Collections.singletonList(po));
 
         Set<MemberEntity> members = membershipService.getMembers(MembershipReferenceType.API, API_ID, RoleScope.API);
 
         Assert.assertNotNull(members);
         Assert.assertFalse("members must not be empty", members.isEmpty());
         verify(membershipRepository, times(1)).findByReferenceAndRole(MembershipReferenceType.API, API_ID, RoleScope.API, null);
-        verify(userService, times(1)).findById(membership.getUserId());
+        verify(userService, times(1)).findByIds(Collections.singletonList(membership.getUserId()));
+        verify(membershipRepository, never()).findById(any(), any(), any());
     }
 
+    @Test
+    public void shouldSkipUnknownUsers() throws Exception {
+        final Membership owner = membership(API_ID, "owner", SystemRole.PRIMARY_OWNER.name());
+        final Membership unknown = membership(API_ID, "unknown", "USER");
+        when(membershipRepository.findByReferenceAndRole(MembershipReferenceType.API, API_ID, RoleScope.API, null))
+                .thenReturn(new HashSet<>(Arrays.asList(owner, unknown)));
+        when(userService.findByIds(any())).thenReturn(Collections.singleton(user("owner")));
+        when(roleService.findByScope(RoleScope.API)).thenReturn(Arrays.asList(
+                role(SystemRole.PRIMARY_OWNER.name()), role("USER")));
+
+        final Set<MemberEntity> members = membershipService.getMembers(MembershipReferenceType.API, API_ID, RoleScope.API);
+
+        Assert.assertEquals(1, members.size());
+        Assert.assertEquals("owner", members.iterator().next().getId());
+        verify(userService, times(1)).findByIds(any());
+        verify(roleService, never()).findById(any(), any());
+    }
+
+    @Test
+    public void shouldSkipMembershipsWhenAllUsersAreUnknown() throws Exception {
+        when(membershipRepository.findByReferenceAndRole(MembershipReferenceType.API, API_ID, RoleScope.API, null))
+                .thenReturn(Collections.singleton(membership(API_ID, "unknown", "USER")));
+        when(userService.findByIds(any())).thenThrow(new UserNotFoundException("unknown"));
+        when(roleService.findByScope(RoleScope.API)).thenReturn(Collections.singletonList(role("USER")));
+
+        final Set<MemberEntity> members = membershipService.getMembers(MembershipReferenceType.API, API_ID, RoleScope.API);
+
+        Assert.assertTrue("members must be empty", members.isEmpty());
+    }
+
+    private static Membership membership(String apiId, String userId, String roleName) {
+        final Membership membership = new Membership(userId, apiId, MembershipReferenceType.API);
+        membership.setRoles(Collections.singletonMap(RoleScope.API.getId(), roleName));
+        return membership;
+    }
+
+    private static UserEntity user(String userId) {
+        final UserEntity userEntity = new UserEntity();
+        userEntity.setId(userId);
+        userEntity.setUsername(userId);
+        return userEntity;
+    }
+
+    private static RoleEntity role(String name) {
+        final RoleEntity role = new RoleEntity();
+        role.setScope(io.gravitee.management.model.permissions.RoleScope.API);
+        role.setName(name);
+        return role;
+    }
 }
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.model.InlinePictureEntity;
+import io.gravitee.management.service.impl.PictureServiceImpl;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import javax.xml.bind.DatatypeConverter;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+public class PictureServiceTest {
+
+    private PictureService pictureService = new PictureServiceImpl();
+
+    @Before
+    public void init() {
+        ReflectionTestUtils.setField(pictureService, "cacheMaxSize", 1);
+    }
+
+    @Test
+    public void shouldDecodeDataUriOnce() throws IOException {
+        final String dataUri = dataUri(64, 32);
+
+        final InlinePictureEntity picture = pictureService.decode(dataUri);
+
+        assertEquals("image/png", picture.getType());
+        assertEquals(64, ImageIO.read(new ByteArrayInputStream(picture.getContent())).getWidth());
+        assertNotNull(picture.getHash());
+        assertSame(picture, pictureService.decode(new String(dataUri)));
+    }
+
+    @Test
+    public void shouldHaveDifferentHashes() throws IOException {
+        assertNotEquals(pictureService.decode(dataUri(64, 32)).getHash(), pictureService.decode(dataUri(32, 64)).getHash());
+    }
+
+    @Test
+    public void shouldResize() throws IOException {
+        final InlinePictureEntity picture = pictureService.decode(dataUri(64, 32));
+
+        final InlinePictureEntity thumbnail = pictureService.resize(picture, 16);
+
+        final BufferedImage image = ImageIO.read(new ByteArrayInputStream(thumbnail.getContent()));
+        assertEquals(16, image.getWidth());
+        assertEquals(8, image.getHeight());
+        assertNotEquals(picture.getHash(), thumbnail.getHash());
+        assertSame(thumbnail, pictureService.resize(picture, 16));
+    }
+
+    @Test
+    public void shouldNotResizeSmallerPicture() throws IOException {
+        final InlinePictureEntity picture = pictureService.decode(dataUri(64, 32));
+
+        assertSame(picture, pictureService.resize(picture, 128));
+    }
+
+    @Test
+    public void shouldNotResizeUnsupportedPicture() {
+        final InlinePictureEntity picture = pictureService.decode("data:image/svg+xml;base64," +
+                DatatypeConverter.printBase64Binary("<svg xmlns=\"http://www.w3.org/2000/svg\"/>".getBytes()));
+
+        assertSame(picture, pictureService.resize(picture, 16));
+    }
+
+    private static String dataUri(int width, int height) throws IOException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB), "png", baos);
+        return "data:image/png;base64," + DatatypeConverter.printBase64Binary(baos.toByteArray());
+    }
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import freemarker.template.Configuration;
+import freemarker.template.Template;
+import io.gravitee.management.model.BulkUpdateJobEntity;
+import io.gravitee.management.service.exceptions.BulkUpdateJobNotFoundException;
+import io.gravitee.management.service.impl.PortalNotificationServiceImpl;
+import io.gravitee.management.service.notification.PortalHook;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.PortalNotificationRepository;
+import io.gravitee.repository.management.model.PortalNotification;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.anyList;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PortalNotificationServiceTest {
+
+    @InjectMocks
+    private PortalNotificationServiceImpl portalNotificationService = new PortalNotificationServiceImpl();
+
+    @Mock
+    private PortalNotificationRepository portalNotificationRepository;
+
+    @Mock
+    private Configuration freemarkerConfiguration;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldNotifyUsersByChunksInBackground() throws Exception {
+        when(freemarkerConfiguration.getTemplate(anyString())).thenReturn(
+                new Template("message", "title: Hello\nmessage: World", new Configuration(Configuration.VERSION_2_3_0)));
+        final List<String> users = IntStream.range(0, 1200).mapToObj(i -> "user" + i).collect(Collectors.toList());
+
+        final BulkUpdateJobEntity job = portalNotificationService.createInBackground(PortalHook.MESSAGE, users,
+                Collections.emptyMap());
+        awaitEnd(job);
+
+        assertEquals(BulkUpdateJobEntity.State.SUCCESS, job.getState());
+        assertEquals(1200, job.getTotal());
+        assertEquals(1200, job.getProcessed());
+        final ArgumentCaptor<List> notifications = ArgumentCaptor.forClass(List.class);
+        verify(portalNotificationRepository, times(3)).create(notifications.capture());
+        assertEquals(500, notifications.getAllValues().get(0).size());
+        assertEquals(200, notifications.getAllValues().get(2).size());
+        assertEquals("Hello", ((PortalNotification) notifications.getValue().get(0)).getTitle());
+        assertTrue(portalNotificationService.findJobs().contains(job));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRetryFailedJobFromFirstUserNotNotified() throws Exception {
+        mockTemplate();
+        final AtomicInteger calls = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (calls.incrementAndGet() == 2) {
+                throw new TechnicalException("Repository unavailable");
+            }
+            return null;
+        }).when(portalNotificationRepository).create(anyList());
+
+        final BulkUpdateJobEntity job = portalNotificationService.createInBackground(PortalHook.MESSAGE, users(1200),
+                Collections.emptyMap());
+        awaitEnd(job);
+
+        assertEquals(BulkUpdateJobEntity.State.FAILURE, job.getState());
+        assertEquals(500, job.getProcessed());
+
+        portalNotificationService.retry(job.getId());
+        awaitEnd(job);
+
+        assertEquals(BulkUpdateJobEntity.State.SUCCESS, job.getState());
+        assertEquals(1200, job.getProcessed());
+        final ArgumentCaptor<List> notifications = ArgumentCaptor.forClass(List.class);
+        verify(portalNotificationRepository, times(4)).create(notifications.capture());
+        assertEquals("user500", ((PortalNotification) notifications.getAllValues().get(2).get(0)).getUser());
+        assertEquals(200, notifications.getAllValues().get(3).size());
+    }
+
+    @Test(expected = BulkUpdateJobNotFoundException.class)
+    public void shouldNotRetryUnknownJob() {
+        portalNotificationService.retry("unknown");
+    }
+
+    @Test
+    public void shouldFailUnfinishedJobsOnShutdown() throws Exception {
+        mockTemplate();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            released.await();
+            return null;
+        }).when(portalNotificationRepository).create(anyList());
+
+        final BulkUpdateJobEntity runningJob = portalNotificationService.createInBackground(PortalHook.MESSAGE,
+                users(1200), Collections.emptyMap());
+        final BulkUpdateJobEntity pendingJob = portalNotificationService.createInBackground(PortalHook.MESSAGE,
+                users(10), Collections.emptyMap());
+        started.await();
+
+        final Thread shutdown = new Thread(() -> {
+            try {
+                portalNotificationService.destroy();
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        shutdown.start();
+        while (!(Boolean) ReflectionTestUtils.getField(portalNotificationService, "stopping")) {
+            Thread.sleep(10);
+        }
+        released.countDown();
+        shutdown.join();
+
+        // the chunk being written is completed, the following ones are abandoned
+        assertEquals(BulkUpdateJobEntity.State.FAILURE, runningJob.getState());
+        assertEquals(500, runningJob.getProcessed());
+        assertEquals(BulkUpdateJobEntity.State.FAILURE, pendingJob.getState());
+        assertEquals(0, pendingJob.getProcessed());
+        assertNotNull(pendingJob.getEndedAt());
+        verify(portalNotificationRepository, times(1)).create(anyList());
+    }
+
+    private void mockTemplate() throws Exception {
+        when(freemarkerConfiguration.getTemplate(anyString())).thenReturn(
+                new Template("message", "title: Hello\nmessage: World", new Configuration(Configuration.VERSION_2_3_0)));
+    }
+
+    private static List<String> users(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "user" + i).collect(Collectors.toList());
+    }
+
+    private void awaitEnd(BulkUpdateJobEntity job) throws InterruptedException {
+        for (int i = 0; i < 100 && job.getEndedAt() == null; i++) {
+            Thread.sleep(50);
+        }
+        assertNotNull(job.getEndedAt());
+    }
+}
@@ -39,8 +39,12 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Date;
+import java.util.HashSet;
+import java.util.Map;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
@@ -307,4 +311,71 @@ public class RatingServiceTest {
         assertEquals(1, ratingSummary.getNumberOfRatingsByRate().get(new Byte("3")), 0);
         assertEquals(1, ratingSummary.getNumberOfRatingsByRate().get(new Byte("4")), 0);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldFindSummariesByApis() throws TechnicalException {
+        final Rating r = new Rating();
+        r.setRate(new Byte("5"));
+
+        when(ratingRepository.findByApi(API_ID)).thenReturn(asList(rating, r));
+        when(ratingRepository.findByApi("other-api")).thenReturn(emptyList());
+
+        final Map<String, RatingSummaryEntity> ratingSummaries =
+                ratingService.findSummariesByApis(new HashSet<>(asList(API_ID, "other-api")));
+
+        assertEquals(2, ratingSummaries.size());
+        assertEquals(2, ratingSummaries.get(API_ID).getNumberOfRatings());
+        assertEquals(4, ratingSummaries.get(API_ID).getAverageRate(), 0);
+        assertEquals(0, ratingSummaries.get("other-api").getNumberOfRatings());
+        assertNull(ratingSummaries.get("other-api").getAverageRate());
+    }
+
+    @Test
+    public void shouldReloadSummaryOnRatingChanges() throws TechnicalException {
+        ReflectionTestUtils.setField(ratingService, "summaryTtl", 300L);
+        when(ratingRepository.findByApi(API_ID)).thenReturn(singletonList(rating));
+        assertEquals(1, ratingService.findSummaryByApi(API_ID).getNumberOfRatings());
+        assertEquals(1, ratingService.findSummaryByApi(API_ID).getNumberOfRatings());
+        verify(ratingRepository, times(1)).findByApi(API_ID);
+
+        // create a rate 4
+        final Rating newRating = newRating();
+        when(ratingRepository.create(any())).thenReturn(newRating);
+        ratingService.create(newRatingEntity);
+
+        when(ratingRepository.findByApi(API_ID)).thenReturn(asList(rating, newRating));
+        final RatingSummaryEntity ratingSummary = ratingService.findSummaryByApi(API_ID);
+        assertEquals(2, ratingSummary.getNumberOfRatings());
+        assertEquals(3.5, ratingSummary.getAverageRate(), 0);
+        verify(ratingRepository, times(2)).findByApi(API_ID);
+    }
+
+    @Test
+    public void shouldKeepSummaryOnRolledBackRatingChanges() throws TechnicalException {
+        ReflectionTestUtils.setField(ratingService, "summaryTtl", 300L);
+        when(ratingRepository.findByApi(API_ID)).thenReturn(singletonList(rating));
+        assertEquals(1, ratingService.findSummaryByApi(API_ID).getNumberOfRatings());
+
+        when(ratingRepository.create(any())).thenReturn(newRating());
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ratingService.create(newRatingEntity);
+        } finally {
+            // rollback: the synchronizations are discarded without being committed
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1, ratingService.findSummaryByApi(API_ID).getNumberOfRatings());
+        verify(ratingRepository, times(1)).findByApi(API_ID);
+    }
+
+    private Rating newRating() throws TechnicalException {
+        final Rating newRating = new Rating();
+        newRating.setApi(API_ID);
+        newRating.setRate(new Byte("4"));
+        newRating.setUser(USER);
+        when(ratingRepository.findByApiAndUser(API_ID, USER)).thenReturn(empty());
+        when(newRatingEntity.getApi()).thenReturn(API_ID);
+        return newRating;
+    }
+}
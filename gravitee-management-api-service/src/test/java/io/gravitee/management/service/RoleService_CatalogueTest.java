@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.service;
+
+import io.gravitee.management.model.RoleEntity;
+import io.gravitee.management.model.permissions.RolePermissionAction;
+import io.gravitee.management.service.exceptions.RoleNotFoundException;
+import io.gravitee.management.service.impl.RoleServiceImpl;
+import io.gravitee.repository.exceptions.TechnicalException;
+import io.gravitee.repository.management.api.ParameterRepository;
+import io.gravitee.repository.management.api.RoleRepository;
+import io.gravitee.repository.management.model.Parameter;
+import io.gravitee.repository.management.model.Role;
+import io.gravitee.repository.management.model.RoleScope;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Optional;
+
+import static io.gravitee.management.model.permissions.PortalPermission.DOCUMENTATION;
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class RoleService_CatalogueTest {
+
+    @InjectMocks
+    private RoleServiceImpl roleService = new RoleServiceImpl();
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private ParameterRepository parameterRepository;
+
+    @Mock
+    private MembershipService membershipService;
+
+    @Mock
+    private AuditService auditService;
+
+    @Before
+    public void init() {
+        ReflectionTestUtils.setField(roleService, "catalogueRefresh", 10L);
+    }
+
+    @Test
+    public void shouldFindRolesFromCatalogue() throws TechnicalException {
+        when(parameterRepository.findById(anyString())).thenReturn(Optional.of(version("v1")));
+        when(roleRepository.findAll()).thenReturn(new HashSet<>(Arrays.asList(
+                role(RoleScope.PORTAL, "USER", true, 1104),
+                role(RoleScope.PORTAL, "WRITER", false, 1115),
+                role(RoleScope.API, "USER", true, 1104))));
+
+        RoleEntity role = roleService.findById(RoleScope.PORTAL, "WRITER");
+        assertEquals("WRITER", role.getName());
+        assertSame(role, roleService.findById(RoleScope.PORTAL, "WRITER"));
+        assertEquals(2, roleService.findByScope(RoleScope.PORTAL).size());
+        assertEquals(3, roleService.findAll().size());
+        assertEquals(2, roleService.findDefaultRoleByScopes(RoleScope.PORTAL, RoleScope.API).size());
+
+        verify(roleRepository, times(1)).findAll();
+        verify(roleRepository, never()).findById(any(), anyString());
+        verify(roleRepository, never()).findByScope(any());
+        verify(parameterRepository, times(1)).findById(anyString());
+    }
+
+    @Test
+    public void shouldReloadCatalogueWhenVersionChanges() throws TechnicalException {
+        when(parameterRepository.findById(anyString()))
+                .thenReturn(Optional.of(version("v1")))
+                .thenReturn(Optional.of(version("v2")));
+        when(roleRepository.findAll())
+                .thenReturn(Collections.singleton(role(RoleScope.PORTAL, "USER", true, 1104)))
+                .thenReturn(new HashSet<>(Arrays.asList(
+                        role(RoleScope.PORTAL, "USER", true, 1104),
+                        role(RoleScope.PORTAL, "WRITER", false, 1115))));
+
+        roleService.findById(RoleScope.PORTAL, "USER");
+        RoleEntity role = roleService.findById(RoleScope.PORTAL, "WRITER");
+
+        assertEquals("WRITER", role.getName());
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    @Test(expected = RoleNotFoundException.class)
+    public void shouldNotReloadCatalogueWhenVersionIsUnchanged() throws TechnicalException {
+        when(parameterRepository.findById(anyString())).thenReturn(Optional.of(version("v1")));
+        when(roleRepository.findAll()).thenReturn(Collections.singleton(role(RoleScope.PORTAL, "USER", true, 1104)));
+
+        roleService.findById(RoleScope.PORTAL, "USER");
+        try {
+            roleService.findById(RoleScope.PORTAL, "WRITER");
+        } finally {
+            verify(roleRepository, times(1)).findAll();
+            verify(parameterRepository, times(2)).findById(anyString());
+        }
+    }
+
+    @Test
+    public void shouldCheckPermissionsWithCompiledMasks() throws TechnicalException {
+        when(parameterRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(roleRepository.findAll()).thenReturn(Collections.singleton(role(RoleScope.PORTAL, "REVIEWER", false, 1106)));
+
+        RoleEntity role = roleService.findById(RoleScope.PORTAL, "REVIEWER");
+
+        assertEquals(Integer.valueOf(6), role.getPermissionMasks().get(DOCUMENTATION.getName()));
+        assertTrue(roleService.hasRolePermission(role, DOCUMENTATION, new RolePermissionAction[]{RolePermissionAction.UPDATE}));
+        assertTrue(roleService.hasRolePermission(role, DOCUMENTATION, new RolePermissionAction[]{RolePermissionAction.CREATE, RolePermissionAction.READ}));
+        assertFalse(roleService.hasRolePermission(role, DOCUMENTATION, new RolePermissionAction[]{RolePermissionAction.DELETE}));
+    }
+
+    @Test
+    public void shouldKeepCatalogueOnRolledBackDeletion() throws TechnicalException {
+        mockDeletableRole();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            roleService.delete(RoleScope.PORTAL, "WRITER");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals("WRITER", roleService.findById(RoleScope.PORTAL, "WRITER").getName());
+        verify(parameterRepository, never()).update(any(Parameter.class));
+        verify(parameterRepository, never()).create(any(Parameter.class));
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void shouldPublishCatalogueChangeOnCommittedDeletion() throws TechnicalException {
+        mockDeletableRole();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            roleService.delete(RoleScope.PORTAL, "WRITER");
+            verify(parameterRepository, never()).update(any(Parameter.class));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(parameterRepository, times(1)).update(any(Parameter.class));
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    private void mockDeletableRole() throws TechnicalException {
+        final Role writer = role(RoleScope.PORTAL, "WRITER", false, 1115);
+        when(parameterRepository.findById(anyString())).thenReturn(Optional.of(version("v1")));
+        when(roleRepository.findAll()).thenReturn(new HashSet<>(Arrays.asList(
+                role(RoleScope.PORTAL, "USER", true, 1104), writer)));
+        when(roleRepository.findById(RoleScope.PORTAL, "WRITER")).thenReturn(Optional.of(writer));
+    }
+
+    private Role role(RoleScope scope, String name, boolean defaultRole, int... permissions) {
+        Role role = new Role();
+        role.setScope(scope);
+        role.setName(name);
+        role.setDefaultRole(defaultRole);
+        role.setPermissions(permissions);
+        return role;
+    }
+
+    private Parameter version(String value) {
+        Parameter parameter = new Parameter();
+        parameter.setKey("roles.catalogue.version");
+        parameter.setValue(value);
+        return parameter;
+    }
+}
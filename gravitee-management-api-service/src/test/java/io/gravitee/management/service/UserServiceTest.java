@@ -37,6 +37,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.StringUtils;
 
 import java.util.*;
@@ -247,6 +248,51 @@ public class UserServiceTest {
         verify(applicationService, never()).create(any(), eq(USER_NAME));
     }
 
+    @Test
+    public void shouldRecordConnectionsInBackground() throws TechnicalException {
+        ReflectionTestUtils.setField(userService, "connectionFlushInterval", 60L);
+        userService.afterPropertiesSet();
+        User registeredUser = new User();
+        registeredUser.setId(USER_NAME);
+        registeredUser.setLastConnectionAt(new Date(0));
+        when(userRepository.findById(USER_NAME)).thenReturn(of(new User(registeredUser)));
+        when(userRepository.findByIds(Collections.singletonList(USER_NAME))).thenReturn(Collections.singleton(registeredUser));
+
+        userService.connect(USER_NAME);
+        userService.connect(USER_NAME);
+
+        verify(userRepository, never()).update(any());
+        verify(auditService, never()).createPortalAuditLog(any(), any(), any(), any(), any(), any());
+
+        userService.destroy();
+
+        verify(userRepository, times(1)).update(registeredUser);
+        verify(auditService, times(1)).createPortalAuditLog(any(), eq(User.AuditEvent.USER_CONNECTED), eq(USER_NAME), any(), any(), any());
+        verify(applicationService, never()).create(any(), any());
+        assertEquals(registeredUser.getLastConnectionAt(), registeredUser.getUpdatedAt());
+    }
+
+    @Test
+    public void shouldKeepConnectionsNotRecorded() throws TechnicalException {
+        ReflectionTestUtils.setField(userService, "connectionFlushInterval", 60L);
+        userService.afterPropertiesSet();
+        User registeredUser = new User();
+        registeredUser.setId(USER_NAME);
+        registeredUser.setLastConnectionAt(new Date(0));
+        when(userRepository.findById(USER_NAME)).thenReturn(of(new User(registeredUser)));
+        when(userRepository.findByIds(Collections.singletonList(USER_NAME))).thenReturn(Collections.singleton(registeredUser));
+        when(userRepository.update(registeredUser)).thenThrow(TechnicalException.class).thenReturn(registeredUser);
+
+        userService.connect(USER_NAME);
+        ReflectionTestUtils.invokeMethod(userService, "flushConnections");
+        verify(auditService, never()).createPortalAuditLog(any(), any(), any(), any(), any(), any());
+
+        userService.destroy();
+
+        verify(userRepository, times(2)).update(registeredUser);
+        verify(auditService, times(1)).createPortalAuditLog(any(), eq(User.AuditEvent.USER_CONNECTED), eq(USER_NAME), any(), any(), any());
+    }
+
     @Test(expected = IllegalStateException.class)
     public void shouldNotCreateUserIfRegistrationIsDisabled() {
         when(mockParameterService.findAsBoolean(Key.PORTAL_USERCREATION_ENABLED)).thenReturn(Boolean.FALSE);
@@ -26,6 +26,7 @@ import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -55,7 +56,7 @@ public class ViewService_DeleteTest {
     private AuditService mockAuditService;
 
     @Mock
-    private ApiService mockApiService;
+    private ApiBulkUpdateService mockApiBulkUpdateService;
 
     @Test
     public void shouldNotDeleteUnknownView() throws TechnicalException {
@@ -68,7 +69,7 @@ public class ViewService_DeleteTest {
         verify(mockViewRepository, times(1)).findById(any());
         verify(mockViewRepository, never()).delete(any());
         verify(mockAuditService, never()).createPortalAuditLog(any(), eq(VIEW_UPDATED), any(), any(), any());
-        verify(mockApiService, never()).deleteViewFromAPIs(eq("unknown"));
+        verify(mockApiBulkUpdateService, never()).deleteViewFromAPIs(eq("unknown"));
     }
 
     @Test
@@ -82,7 +83,21 @@ public class ViewService_DeleteTest {
         verify(mockViewRepository, times(1)).findById(eq("known"));
         verify(mockViewRepository, times(1)).delete(eq("known"));
         verify(mockAuditService, times(1)).createPortalAuditLog(any(), eq(VIEW_DELETED), any(), any(), any());
-        verify(mockApiService, times(1)).deleteViewFromAPIs(eq("known"));
+        verify(mockApiBulkUpdateService, times(1)).deleteViewFromAPIs(eq("known"));
     }
-}
 
+    @Test
+    public void shouldNotDeleteViewFromAPIsOnRollback() throws TechnicalException {
+        when(mockViewRepository.findById("known")).thenReturn(Optional.of(new View()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            viewService.delete("known");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(mockViewRepository, times(1)).delete(eq("known"));
+        verify(mockApiBulkUpdateService, never()).deleteViewFromAPIs(any());
+    }
+}
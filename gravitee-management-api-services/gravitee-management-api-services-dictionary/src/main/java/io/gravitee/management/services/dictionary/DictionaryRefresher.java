@@ -18,6 +18,7 @@ package io.gravitee.management.services.dictionary;
 import io.gravitee.definition.model.Property;
 import io.gravitee.management.model.configuration.dictionary.DictionaryEntity;
 import io.gravitee.management.model.configuration.dictionary.UpdateDictionaryEntity;
+import io.gravitee.management.service.LeaderElectionService;
 import io.gravitee.management.services.dictionary.model.DynamicProperty;
 import io.gravitee.management.services.dictionary.provider.Provider;
 import io.vertx.core.Handler;
@@ -39,6 +40,7 @@ public class DictionaryRefresher implements Handler<Long> {
     private DictionaryEntity dictionary;
     private Provider provider;
     private io.gravitee.management.service.configuration.dictionary.DictionaryService dictionaryService;
+    private LeaderElectionService leaderElectionService;
 
     public DictionaryRefresher(final DictionaryEntity dictionary) {
         this.dictionary = dictionary;
@@ -46,6 +48,11 @@ public class DictionaryRefresher implements Handler<Long> {
 
     @Override
     public void handle(Long event) {
+        if (leaderElectionService != null && !leaderElectionService.isLeader(LeaderElectionService.DICTIONARIES_JOB)) {
+            logger.debug("Skipping dictionary refresher task for {}, current node is not the leader", dictionary);
+            return;
+        }
+
         logger.debug("Running dictionary refresher task for {}", dictionary);
 
         provider.get()
@@ -97,6 +104,10 @@ public class DictionaryRefresher implements Handler<Long> {
         this.dictionaryService = dictionaryService;
     }
 
+    public void setLeaderElectionService(LeaderElectionService leaderElectionService) {
+        this.leaderElectionService = leaderElectionService;
+    }
+
     public void setProvider(Provider provider) {
         this.provider = provider;
     }
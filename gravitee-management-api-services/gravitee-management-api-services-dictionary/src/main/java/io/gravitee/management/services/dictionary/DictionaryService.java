@@ -24,6 +24,7 @@ import io.gravitee.common.service.AbstractService;
 import io.gravitee.management.model.configuration.dictionary.DictionaryEntity;
 import io.gravitee.management.model.configuration.dictionary.DictionaryProviderEntity;
 import io.gravitee.management.model.configuration.dictionary.DictionaryTriggerEntity;
+import io.gravitee.management.service.LeaderElectionService;
 import io.gravitee.management.service.event.DictionaryEvent;
 import io.gravitee.management.services.dictionary.provider.http.HttpProvider;
 import io.gravitee.management.services.dictionary.provider.http.configuration.HttpProviderConfiguration;
@@ -57,6 +58,9 @@ public class DictionaryService extends AbstractService implements EventListener<
     @Autowired
     private io.gravitee.management.service.configuration.dictionary.DictionaryService dictionaryService;
 
+    @Autowired
+    private LeaderElectionService leaderElectionService;
+
     @Autowired
     private Vertx vertx;
 
@@ -107,6 +111,7 @@ public class DictionaryService extends AbstractService implements EventListener<
 
                     refresher.setProvider(provider);
                     refresher.setDictionaryService(dictionaryService);
+                    refresher.setLeaderElectionService(leaderElectionService);
                     logger.info("Add a scheduled task to poll dictionary provider each {} {} ", dictionary.getTrigger().getRate(),
                             dictionary.getTrigger().getUnit());
 
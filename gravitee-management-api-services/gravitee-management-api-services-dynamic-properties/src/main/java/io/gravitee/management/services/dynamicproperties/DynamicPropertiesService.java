@@ -25,6 +25,7 @@ import io.gravitee.definition.model.services.dynamicproperty.DynamicPropertyServ
 import io.gravitee.definition.model.services.schedule.Trigger;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.service.ApiService;
+import io.gravitee.management.service.LeaderElectionService;
 import io.gravitee.management.service.event.ApiEvent;
 import io.gravitee.management.services.dynamicproperties.provider.http.HttpProvider;
 import io.vertx.core.Vertx;
@@ -51,6 +52,9 @@ public class DynamicPropertiesService extends AbstractService implements EventLi
     @Autowired
     private ApiService apiService;
 
+    @Autowired
+    private LeaderElectionService leaderElectionService;
+
     @Autowired
     private Vertx vertx;
 
@@ -103,6 +107,7 @@ public class DynamicPropertiesService extends AbstractService implements EventLi
 
                     updater.setProvider(provider);
                     updater.setApiService(apiService);
+                    updater.setLeaderElectionService(leaderElectionService);
                     logger.info("Add a scheduled task to poll dynamic properties each {} {} ", dynamicPropertyService.getTrigger().getRate(),
                             dynamicPropertyService.getTrigger().getUnit());
 
@@ -20,6 +20,7 @@ import io.gravitee.definition.model.Property;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.EventType;
 import io.gravitee.management.service.ApiService;
+import io.gravitee.management.service.LeaderElectionService;
 import io.gravitee.management.services.dynamicproperties.model.DynamicProperty;
 import io.gravitee.management.services.dynamicproperties.provider.Provider;
 import io.vertx.core.Handler;
@@ -40,6 +41,7 @@ public class DynamicPropertyUpdater implements Handler<Long> {
     private ApiEntity api;
     private Provider provider;
     private ApiService apiService;
+    private LeaderElectionService leaderElectionService;
 
     public DynamicPropertyUpdater(final ApiEntity api) {
         this.api = api;
@@ -47,6 +49,11 @@ public class DynamicPropertyUpdater implements Handler<Long> {
 
     @Override
     public void handle(Long event) {
+        if (leaderElectionService != null && !leaderElectionService.isLeader(LeaderElectionService.DYNAMIC_PROPERTIES_JOB)) {
+            logger.debug("Skipping dynamic-properties poller for {}, current node is not the leader", api);
+            return;
+        }
+
         logger.debug("Running dynamic-properties poller for {}", api);
 
         provider.get()
@@ -120,6 +127,10 @@ public class DynamicPropertyUpdater implements Handler<Long> {
         this.apiService = apiService;
     }
 
+    public void setLeaderElectionService(LeaderElectionService leaderElectionService) {
+        this.leaderElectionService = leaderElectionService;
+    }
+
     public void setProvider(Provider provider) {
         this.provider = provider;
     }
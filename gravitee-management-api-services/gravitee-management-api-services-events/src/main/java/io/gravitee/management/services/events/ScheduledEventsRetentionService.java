@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.services.events;
+
+import io.gravitee.common.service.AbstractService;
+import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.service.ApiService;
+import io.gravitee.management.service.EventService;
+import io.gravitee.management.service.LeaderElectionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.support.CronTrigger;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically removes the oldest lifecycle events of each API so that only the last deployments are kept.
+ *
+ * @author GraviteeSource Team
+ */
+public class ScheduledEventsRetentionService extends AbstractService implements Runnable {
+
+    /**
+     * Logger.
+     */
+    private final Logger logger = LoggerFactory.getLogger(ScheduledEventsRetentionService.class);
+
+    @Autowired
+    private TaskScheduler scheduler;
+
+    @Value("${services.events.retention.cron:0 0 3 * * *}")
+    private String cronTrigger;
+
+    @Value("${services.events.retention.enabled:false}")
+    private boolean enabled;
+
+    @Value("${services.events.retention.deployments:10}")
+    private int deploymentsToKeep;
+
+    private final AtomicLong counter = new AtomicLong(0);
+
+    @Autowired
+    private ApiService apiService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private LeaderElectionService leaderElectionService;
+
+    @Override
+    protected String name() {
+        return "Events Retention Service";
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (enabled) {
+            super.doStart();
+            logger.info("Events Retention service has been initialized with cron [{}], keeping the last {} deployments",
+                    cronTrigger, deploymentsToKeep);
+            scheduler.schedule(this, new CronTrigger(cronTrigger));
+        } else {
+            logger.warn("Events Retention service has been disabled");
+        }
+    }
+
+    @Override
+    public void run() {
+        if (!leaderElectionService.isLeader(LeaderElectionService.EVENTS_RETENTION_JOB)) {
+            logger.debug("Skipping events retention, current node is not the leader");
+            return;
+        }
+
+        logger.debug("Events retention #{} started at {}", counter.incrementAndGet(), Instant.now().toString());
+
+        long purged = 0;
+        for (ApiEntity api : apiService.findAllLight()) {
+            try {
+                purged += eventService.purgeApiEvents(api.getId(), deploymentsToKeep);
+            } catch (Exception ex) {
+                logger.error("An error occurs while purging events of API {}", api.getId(), ex);
+            }
+        }
+
+        logger.debug("Events retention #{} ended at {}, {} events purged", counter.get(), Instant.now().toString(), purged);
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (C) 2015 The Gravitee team (http://gravitee.io)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.gravitee.management.services.events;
+
+import io.gravitee.management.model.api.ApiEntity;
+import io.gravitee.management.service.ApiService;
+import io.gravitee.management.service.EventService;
+import io.gravitee.management.service.LeaderElectionService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * @author GraviteeSource Team
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class ScheduledEventsRetentionServiceTest {
+
+    @InjectMocks
+    ScheduledEventsRetentionService service = new ScheduledEventsRetentionService();
+
+    @Mock
+    ApiService apiService;
+
+    @Mock
+    EventService eventService;
+
+    @Mock
+    LeaderElectionService leaderElectionService;
+
+    @Test
+    public void shouldPurgeEventsOfEachApi() {
+        ReflectionTestUtils.setField(service, "deploymentsToKeep", 5);
+        when(leaderElectionService.isLeader(LeaderElectionService.EVENTS_RETENTION_JOB)).thenReturn(true);
+        ApiEntity api1 = mock(ApiEntity.class);
+        when(api1.getId()).thenReturn("api-1");
+        ApiEntity api2 = mock(ApiEntity.class);
+        when(api2.getId()).thenReturn("api-2");
+        when(apiService.findAllLight()).thenReturn(new HashSet<>(Arrays.asList(api1, api2)));
+        when(eventService.purgeApiEvents("api-1", 5)).thenThrow(new IllegalStateException());
+
+        service.run();
+
+        verify(eventService, times(1)).purgeApiEvents("api-1", 5);
+        verify(eventService, times(1)).purgeApiEvents("api-2", 5);
+    }
+}
@@ -21,6 +21,7 @@ import io.gravitee.management.model.SubscriptionStatus;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.subscription.SubscriptionQuery;
 import io.gravitee.management.service.ApiService;
+import io.gravitee.management.service.LeaderElectionService;
 import io.gravitee.management.service.SubscriptionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,6 +67,9 @@ public class ScheduledSubscriptionsService extends AbstractService implements Ru
     @Autowired
     private SubscriptionService subscriptionService;
 
+    @Autowired
+    private LeaderElectionService leaderElectionService;
+
     @Override
     protected String name() {
         return "Subscriptions Refresher Service";
@@ -84,6 +88,11 @@ public class ScheduledSubscriptionsService extends AbstractService implements Ru
 
     @Override
     public void run() {
+        if (!leaderElectionService.isLeader(LeaderElectionService.SUBSCRIPTIONS_REFRESHER_JOB)) {
+            logger.debug("Skipping subscriptions refresh, current node is not the leader");
+            return;
+        }
+
         logger.debug("Refresh subscriptions #{} started at {}", counter.incrementAndGet(), Instant.now().toString());
         final Set<String> apiIds = apiService.findAllLight().stream()
                 .map(ApiEntity::getId)
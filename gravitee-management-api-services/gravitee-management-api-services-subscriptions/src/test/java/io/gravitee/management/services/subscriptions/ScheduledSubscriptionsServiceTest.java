@@ -20,6 +20,7 @@ import io.gravitee.management.model.SubscriptionEntity;
 import io.gravitee.management.model.SubscriptionStatus;
 import io.gravitee.management.model.subscription.SubscriptionQuery;
 import io.gravitee.management.service.ApiService;
+import io.gravitee.management.service.LeaderElectionService;
 import io.gravitee.management.service.SubscriptionService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -50,8 +51,12 @@ public class ScheduledSubscriptionsServiceTest {
     @Mock
     SubscriptionService subscriptionService;
 
+    @Mock
+    LeaderElectionService leaderElectionService;
+
     @Test
     public void shouldCloseOutdatedSubscriptions() {
+        when(leaderElectionService.isLeader(LeaderElectionService.SUBSCRIPTIONS_REFRESHER_JOB)).thenReturn(true);
         ApiEntity apiEntity = mock(ApiEntity.class);
         when(apiEntity.getId()).thenReturn("API_ID");
         SubscriptionEntity endDateInThePast = createSubscription(
@@ -87,6 +92,16 @@ public class ScheduledSubscriptionsServiceTest {
         verify(subscriptionService, never()).close("end_date_in_the_future");
     }
 
+    @Test
+    public void shouldNotRefreshSubscriptionsIfNotLeader() {
+        when(leaderElectionService.isLeader(LeaderElectionService.SUBSCRIPTIONS_REFRESHER_JOB)).thenReturn(false);
+
+        service.run();
+
+        verify(apiService, never()).findAllLight();
+        verify(subscriptionService, never()).search(any());
+    }
+
     private SubscriptionEntity createSubscription(String id, SubscriptionStatus status, Date endingDate) {
         SubscriptionEntity subscriptionEntity = mock(SubscriptionEntity.class);
         when(subscriptionEntity.getId()).thenReturn(id);
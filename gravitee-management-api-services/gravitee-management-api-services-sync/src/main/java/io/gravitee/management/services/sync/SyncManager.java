@@ -20,6 +20,7 @@ import io.gravitee.common.component.Lifecycle;
 import io.gravitee.common.event.EventManager;
 import io.gravitee.management.model.api.ApiEntity;
 import io.gravitee.management.model.configuration.dictionary.DictionaryEntity;
+import io.gravitee.management.service.common.EventPayloadCodec;
 import io.gravitee.management.service.configuration.dictionary.DictionaryService;
 import io.gravitee.management.service.event.DictionaryEvent;
 import io.gravitee.repository.management.api.ApiRepository;
@@ -206,7 +207,7 @@ public class SyncManager {
                     try {
                         // Read API definition from event
                         io.gravitee.repository.management.model.Api payloadApi =
-                                objectMapper.readValue(apiEvent.getPayload(), io.gravitee.repository.management.model.Api.class);
+                                objectMapper.readValue(EventPayloadCodec.decode(apiEvent.getPayload()), io.gravitee.repository.management.model.Api.class);
 
                         // API to deploy
                         ApiEntity apiToDeploy = convert(payloadApi);